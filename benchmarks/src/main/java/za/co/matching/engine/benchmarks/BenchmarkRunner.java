@@ -0,0 +1,23 @@
+package za.co.matching.engine.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks matching the first argument (all of them by default) with the GC profiler, which adds the
+ * allocation rate and bytes allocated per operation to the results. Equivalent to
+ * {@code java -jar benchmarks.jar <regex> -prof gc}.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : ".*";
+        new Runner(new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,90 @@
+package za.co.matching.engine.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import za.co.matching.engine.core.MatchingEngine;
+import za.co.matching.engine.core.OrderBook;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+
+import java.util.SplittableRandom;
+
+/**
+ * An engine with {@code depth} levels resting on each side of {@link #MID}, {@link #ORDERS_PER_LEVEL} orders of
+ * {@link #QUANTITY} per level. Benchmarks that take liquidity put back what they took, so the book keeps its shape
+ * across invocations without a per-invocation setup.
+ */
+@State(Scope.Thread)
+public class BookState {
+
+    public static final String SYMBOL = "BENCH";
+    public static final long MID = 1_000_000;
+    public static final int ORDERS_PER_LEVEL = 4;
+    public static final int QUANTITY = 100;
+    private static final long CUSTOMER_ID = 1;
+
+    @Param({"10", "100", "1000"})
+    public int depth;
+
+    @Param({"DENSE", "SPARSE"})
+    public PriceDistribution distribution;
+
+    public MatchingEngine engine;
+    private long nextOrderId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new MatchingEngine();
+        nextOrderId = 0;
+        SplittableRandom random = new SplittableRandom(42);
+        long bid = MID - 1;
+        long ask = MID + 1;
+        for (int i = 0; i < depth; i++) {
+            rest(Side.BUY, bid, ORDERS_PER_LEVEL);
+            rest(Side.SELL, ask, ORDERS_PER_LEVEL);
+            bid -= distribution.gap(random);
+            ask += distribution.gap(random);
+        }
+    }
+
+    public OrderBook book(Side side) {
+        return side == Side.BUY ? engine.getBuyOrderBook() : engine.getSellOrderBook();
+    }
+
+    /**
+     * A pooled order ready to submit.
+     */
+    public Order order(Side side, OrderType type, long price, int quantity, TimeInForce timeInForce) {
+        return engine.getOrderPool().acquire()
+                .init(++nextOrderId, CUSTOMER_ID, SYMBOL, price, quantity, side, type, -1L, timeInForce);
+    }
+
+    public Order stop(Side side, long stopPrice, int quantity) {
+        return engine.getOrderPool().acquire()
+                .init(++nextOrderId, CUSTOMER_ID, SYMBOL, 0, quantity, side, OrderType.STOP, stopPrice, TimeInForce.GTC);
+    }
+
+    /**
+     * Submits {@code count} resting limit orders of {@link #QUANTITY} at {@code price}.
+     */
+    public void rest(Side side, long price, int count) {
+        for (int i = 0; i < count; i++) {
+            engine.match(order(side, OrderType.LIMIT, price, QUANTITY, TimeInForce.GTC));
+        }
+    }
+
+    /**
+     * Copies the prices of the best {@code prices.length} levels of a side.
+     */
+    public void bestPrices(Side side, long[] prices) {
+        OrderBook book = book(side);
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = book.level(i).getPrice();
+        }
+    }
+}
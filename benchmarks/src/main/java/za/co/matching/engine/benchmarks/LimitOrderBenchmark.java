@@ -0,0 +1,68 @@
+package za.co.matching.engine.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limit orders that rest without matching. Each invocation inserts an order and cancels it again, so the book keeps
+ * its depth and the cost reported is one insert plus one cancel.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LimitOrderBenchmark {
+
+    private static final int PRICES = 1024;
+
+    private final long[] prices = new long[PRICES];
+    private int next;
+
+    @Setup
+    public void setUp(BookState book) {
+        long worstBid = book.book(Side.BUY).level(book.depth - 1).getPrice();
+        long span = BookState.MID - worstBid;
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < PRICES; i++) {
+            prices[i] = BookState.MID - 1 - random.nextLong(span);
+        }
+    }
+
+    /**
+     * Joins, or opens, a level somewhere inside the resting bids.
+     */
+    @Benchmark
+    public boolean insertInsideBook(BookState book) {
+        long price = prices[next++ & (PRICES - 1)];
+        Order order = book.order(Side.BUY, OrderType.LIMIT, price, BookState.QUANTITY, TimeInForce.GTC);
+        book.engine.match(order);
+        return book.engine.cancel(order.getOrderId());
+    }
+
+    /**
+     * Opens a new best bid level inside the spread.
+     */
+    @Benchmark
+    public boolean insertAtNewBest(BookState book) {
+        Order order = book.order(Side.BUY, OrderType.LIMIT, BookState.MID, BookState.QUANTITY, TimeInForce.GTC);
+        book.engine.match(order);
+        return book.engine.cancel(order.getOrderId());
+    }
+}
@@ -0,0 +1,75 @@
+package za.co.matching.engine.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import za.co.matching.engine.core.DepthSnapshot;
+import za.co.matching.engine.core.MarketData;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading level-1 and level-2 data. The {@code contended} group reads level 1 on one thread while another keeps
+ * moving the best bid, which is how market data is read in production.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarketDataBenchmark {
+
+    private final MarketData marketData = new MarketData();
+    private final DepthSnapshot depth = new DepthSnapshot(10);
+
+    /**
+     * Shares one engine between the threads of a group.
+     */
+    @State(Scope.Group)
+    public static class SharedBook extends BookState {
+    }
+
+    @Benchmark
+    public MarketData getMarketData(BookState book) {
+        return book.engine.getMarketData();
+    }
+
+    @Benchmark
+    public MarketData readMarketData(BookState book) {
+        return book.engine.getMarketDataTracker().read(marketData);
+    }
+
+    @Benchmark
+    public DepthSnapshot depthSnapshot(BookState book) {
+        return book.engine.depthSnapshot(depth);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public MarketData contendedRead(SharedBook book) {
+        return book.engine.getMarketDataTracker().read(marketData);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public boolean contendedWrite(SharedBook book) {
+        Order order = book.order(Side.BUY, OrderType.LIMIT, BookState.MID, BookState.QUANTITY, TimeInForce.GTC);
+        book.engine.match(order);
+        return book.engine.cancel(order.getOrderId());
+    }
+}
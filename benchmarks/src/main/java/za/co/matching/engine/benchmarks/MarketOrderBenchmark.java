@@ -0,0 +1,48 @@
+package za.co.matching.engine.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Market orders against the best ask. Whatever they take is rested again at the same price.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarketOrderBenchmark {
+
+    /**
+     * Fills against the head order of the best level.
+     */
+    @Benchmark
+    public long takeOneOrder(BookState book) {
+        long price = book.book(Side.SELL).bestLevel().getPrice();
+        book.engine.match(book.order(Side.BUY, OrderType.MARKET, 0, BookState.QUANTITY, TimeInForce.GTC));
+        book.rest(Side.SELL, price, 1);
+        return book.engine.getSequence();
+    }
+
+    /**
+     * Takes the whole best level, so it is removed and opened again.
+     */
+    @Benchmark
+    public long takeBestLevel(BookState book) {
+        long price = book.book(Side.SELL).bestLevel().getPrice();
+        int quantity = BookState.ORDERS_PER_LEVEL * BookState.QUANTITY;
+        book.engine.match(book.order(Side.BUY, OrderType.MARKET, 0, quantity, TimeInForce.GTC));
+        book.rest(Side.SELL, price, BookState.ORDERS_PER_LEVEL);
+        return book.engine.getSequence();
+    }
+}
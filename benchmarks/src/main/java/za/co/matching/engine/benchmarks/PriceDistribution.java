@@ -0,0 +1,32 @@
+package za.co.matching.engine.benchmarks;
+
+import java.util.SplittableRandom;
+
+/**
+ * How the resting levels of a benchmark book are spread away from the touch.
+ */
+public enum PriceDistribution {
+    /**
+     * A level on every tick.
+     */
+    DENSE {
+        @Override
+        long gap(SplittableRandom random) {
+            return 1;
+        }
+    },
+    /**
+     * Levels one to ten ticks apart, so inserts regularly open new levels between existing ones.
+     */
+    SPARSE {
+        @Override
+        long gap(SplittableRandom random) {
+            return 1 + random.nextInt(10);
+        }
+    };
+
+    /**
+     * @return ticks between one level and the next level away from the touch
+     */
+    abstract long gap(SplittableRandom random);
+}
@@ -0,0 +1,49 @@
+package za.co.matching.engine.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sell stops, either triggered by a trade at the best bid or parked far from the market.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StopOrderBenchmark {
+
+    /**
+     * Parks a stop at the best bid, then sells into the best bid. The trade triggers the stop, which sells into the
+     * same level as a market order; both taken orders are rested again.
+     */
+    @Benchmark
+    public long triggered(BookState book) {
+        long price = book.book(Side.BUY).bestLevel().getPrice();
+        book.engine.match(book.stop(Side.SELL, price, BookState.QUANTITY));
+        book.engine.match(book.order(Side.SELL, OrderType.LIMIT, price, BookState.QUANTITY, TimeInForce.GTC));
+        book.rest(Side.BUY, price, 2);
+        return book.engine.getSequence();
+    }
+
+    /**
+     * Adds a stop no trade reaches and cancels it.
+     */
+    @Benchmark
+    public boolean parkedAndCancelled(BookState book) {
+        Order stop = book.stop(Side.SELL, 1, BookState.QUANTITY);
+        book.engine.match(stop);
+        return book.engine.cancel(stop.getOrderId());
+    }
+}
@@ -0,0 +1,53 @@
+package za.co.matching.engine.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An aggressive limit order that takes every order on the best {@code levels} ask levels. The swept levels are put
+ * back afterwards, so each invocation also pays for {@code levels * ORDERS_PER_LEVEL} resting inserts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SweepBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int levels;
+
+    private long[] prices;
+    private int quantity;
+
+    @Setup
+    public void setUp(BookState book) {
+        prices = new long[Math.min(levels, book.depth)];
+        book.bestPrices(Side.SELL, prices);
+        quantity = prices.length * BookState.ORDERS_PER_LEVEL * BookState.QUANTITY;
+    }
+
+    @Benchmark
+    public long sweep(BookState book) {
+        book.engine.match(book.order(Side.BUY, OrderType.LIMIT, prices[prices.length - 1], quantity, TimeInForce.GTC));
+        for (long price : prices) {
+            book.rest(Side.SELL, price, BookState.ORDERS_PER_LEVEL);
+        }
+        return book.engine.getSequence();
+    }
+}
@@ -0,0 +1,56 @@
+package za.co.matching.engine.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fill-or-kill and immediate-or-cancel limit orders priced at the best ask.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeInForceBenchmark {
+
+    private static final int LEVEL_QUANTITY = BookState.ORDERS_PER_LEVEL * BookState.QUANTITY;
+
+    /**
+     * Asks for one more than the best level holds, so the pre-check rejects it and the book is untouched.
+     */
+    @Benchmark
+    public long fillOrKillRejected(BookState book) {
+        long price = book.book(Side.SELL).bestLevel().getPrice();
+        book.engine.match(book.order(Side.BUY, OrderType.LIMIT, price, LEVEL_QUANTITY + 1, TimeInForce.FOK));
+        return book.engine.getSequence();
+    }
+
+    @Benchmark
+    public long fillOrKillFilled(BookState book) {
+        long price = book.book(Side.SELL).bestLevel().getPrice();
+        book.engine.match(book.order(Side.BUY, OrderType.LIMIT, price, BookState.QUANTITY, TimeInForce.FOK));
+        book.rest(Side.SELL, price, 1);
+        return book.engine.getSequence();
+    }
+
+    /**
+     * Takes the best level and cancels the other half.
+     */
+    @Benchmark
+    public long immediateOrCancelPartial(BookState book) {
+        long price = book.book(Side.SELL).bestLevel().getPrice();
+        book.engine.match(book.order(Side.BUY, OrderType.LIMIT, price, 2 * LEVEL_QUANTITY, TimeInForce.IOC));
+        book.rest(Side.SELL, price, BookState.ORDERS_PER_LEVEL);
+        return book.engine.getSequence();
+    }
+}
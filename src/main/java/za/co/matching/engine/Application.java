@@ -1,21 +1,43 @@
 package za.co.matching.engine;
 
 import za.co.matching.engine.core.MatchingEngine;
+import za.co.matching.engine.core.TickSizeTable;
+import za.co.matching.engine.metrics.EngineMetricsJmx;
+import za.co.matching.engine.metrics.MetricsReporter;
+import za.co.matching.engine.metrics.MetricsSnapshot;
 import za.co.matching.engine.model.Order;
 import za.co.matching.engine.model.OrderType;
 import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TickSize;
 import za.co.matching.engine.model.TimeInForce;
 
+import java.math.RoundingMode;
+import java.time.Duration;
 import java.util.List;
 import java.util.Random;
-import java.util.UUID;
 
 public class Application {
 
+    private static final TickSizeTable TICK_SIZES = new TickSizeTable(TickSize.of("0.01"))
+            .register("BTC", TickSize.of("0.5"));
+
+    // Fixed so that runs can be compared with each other
+    private static final long RANDOM_SEED = 42;
+
+    private static long orderIds;
+
+    private static long nextOrderId() {
+        return ++orderIds;
+    }
+
+    // Decimal prices are only used at this edge, the engine works in ticks
+    private static long ticks(String symbol, double price) {
+        return TICK_SIZES.forSymbol(symbol).toTicks(price);
+    }
 
     public static void generateRandomOrders(MatchingEngine matchingEngine) {
         // 1. Single, reusable Random object for better performance and randomness
-        Random random = new Random();
+        Random random = new Random(RANDOM_SEED);
 
         // 2. Control the number of orders with a constant or parameter
         final int NUM_ORDERS = 1_000_000; // Increased count for better simulation
@@ -34,7 +56,7 @@ public class Application {
         for (int i = 0; i < NUM_ORDERS; i++) {
             // --- Key Improvement 1: Price and Quantity Generation ---
             // Generates a price within a realistic range
-            double price = MIN_PRICE + (MAX_PRICE - MIN_PRICE) * random.nextDouble();
+            long price = TICK_SIZES.forSymbol(SYMBOL).toTicks(MIN_PRICE + (MAX_PRICE - MIN_PRICE) * random.nextDouble(), RoundingMode.HALF_EVEN);
             // Generates an integer quantity
             int quantity = random.nextInt(MAX_QUANTITY - MIN_QUANTITY + 1) + MIN_QUANTITY;
 
@@ -44,16 +66,19 @@ public class Application {
 
             // Ensure Market orders don't have a price (if your Order object handles null/optional price)
             // If your Order class requires a price, set it to 0 or MAX_VALUE for Market orders
-            double orderPrice = (type == OrderType.MARKET) ? 0.0 : price;
+            long orderPrice = (type == OrderType.MARKET) ? 0 : price;
 
-            Order order = new Order(
-                    UUID.randomUUID().toString(), // Unique ID for the Order
-                    UUID.randomUUID().toString(), // Unique ID for the User/Account
+            // Pooled orders are recycled by the engine once filled or cancelled
+            Order order = matchingEngine.getOrderPool().acquire().init(
+                    nextOrderId(), // Unique ID for the Order
+                    random.nextInt(10_000), // ID of the User/Account
                     SYMBOL,
                     orderPrice, // Use the adjusted price
                     quantity,
                     side,
-                    type);
+                    type,
+                    -1L,
+                    TimeInForce.GTC);
 
             // Optionally, print only every Nth order to avoid excessive console output
             if (i % (NUM_ORDERS / 10) == 0) {
@@ -67,26 +92,26 @@ public class Application {
     public static List<Order> generateTestOrders() {
         return List.of(
                 // --- Normal orders to set initial market ---
-                new Order(UUID.randomUUID().toString(), UUID.randomUUID().toString(), "BTC", 100d, 10, Side.BUY, OrderType.LIMIT),
-                new Order(UUID.randomUUID().toString(), UUID.randomUUID().toString(), "BTC", 101d, 10, Side.BUY, OrderType.LIMIT),
-                new Order(UUID.randomUUID().toString(), UUID.randomUUID().toString(), "BTC", 102d, 15, Side.SELL, OrderType.LIMIT),
-                new Order(UUID.randomUUID().toString(), UUID.randomUUID().toString(), "BTC", 103d, 10, Side.SELL, OrderType.LIMIT),
+                new Order(nextOrderId(), 1L, "BTC", ticks("BTC", 100d), 10, Side.BUY, OrderType.LIMIT),
+                new Order(nextOrderId(), 1L, "BTC", ticks("BTC", 101d), 10, Side.BUY, OrderType.LIMIT),
+                new Order(nextOrderId(), 1L, "BTC", ticks("BTC", 102d), 15, Side.SELL, OrderType.LIMIT),
+                new Order(nextOrderId(), 1L, "BTC", ticks("BTC", 103d), 10, Side.SELL, OrderType.LIMIT),
 
                 // --- Stop orders: will trigger when price moves ---
                 // Stop Sell: triggers when price drops to 99 or below
-                new Order(UUID.randomUUID().toString(), UUID.randomUUID().toString(), "BTC", 99d, 10, Side.SELL, OrderType.STOP, 99d),
+                new Order(nextOrderId(), 1L, "BTC", ticks("BTC", 99d), 10, Side.SELL, OrderType.STOP, ticks("BTC", 99d)),
 
                 // Stop Buy: triggers when price rises to 104 or above
-                new Order(UUID.randomUUID().toString(), UUID.randomUUID().toString(), "BTC", 0, 8, Side.BUY, OrderType.STOP, 104d),
+                new Order(nextOrderId(), 1L, "BTC", 0, 8, Side.BUY, OrderType.STOP, ticks("BTC", 104d)),
 
                 // --- Stop-Limit orders ---
                 // Stop-Limit Sell: trigger 99, limit 98.5
-                new Order(UUID.randomUUID().toString(), UUID.randomUUID().toString(), "BTC", 98.5, 12, Side.SELL, OrderType.STOP_LIMIT, 99d),
+                new Order(nextOrderId(), 1L, "BTC", ticks("BTC", 98.5), 12, Side.SELL, OrderType.STOP_LIMIT, ticks("BTC", 99d)),
 
                 // Stop-Limit Buy: trigger 104, limit 104.5
-                new Order(UUID.randomUUID().toString(), UUID.randomUUID().toString(), "BTC", 104.5, 10, Side.BUY, OrderType.STOP_LIMIT, 104d),
+                new Order(nextOrderId(), 1L, "BTC", ticks("BTC", 104.5), 10, Side.BUY, OrderType.STOP_LIMIT, ticks("BTC", 104d)),
 
-                new Order(UUID.randomUUID().toString(), UUID.randomUUID().toString(), "BTC", 104.5d, 5, Side.SELL, OrderType.MARKET)
+                new Order(nextOrderId(), 1L, "BTC", ticks("BTC", 104.5d), 5, Side.SELL, OrderType.MARKET)
 
 
         );
@@ -95,12 +120,15 @@ public class Application {
     public static void main(String[] args) {
 
         MatchingEngine matchingEngine = new MatchingEngine();
-        Order order1 = new Order(UUID.randomUUID().toString(), UUID.randomUUID().toString(), "BTC", 102d, 5, Side.SELL, OrderType.LIMIT);
-        Order order2 = new Order(UUID.randomUUID().toString(), UUID.randomUUID().toString(), "BTC", 103d, 10, Side.SELL, OrderType.LIMIT);
-        Order order3 = new Order(UUID.randomUUID().toString(), UUID.randomUUID().toString(), "BTC", 101d, 15, Side.SELL, OrderType.LIMIT);
-        Order order4 = new Order(UUID.randomUUID().toString(), UUID.randomUUID().toString(), "BTC", 96d, 15, Side.BUY, OrderType.LIMIT);
-        Order order5 = new Order(UUID.randomUUID().toString(), UUID.randomUUID().toString(), "BTC", 104d, 120, Side.BUY, OrderType.LIMIT);
-        Order order = new Order(UUID.randomUUID().toString(), UUID.randomUUID().toString(), "BTC", 45d, 100, Side.SELL, OrderType.LIMIT, TimeInForce.FOK);
+        EngineMetricsJmx.register("BTC/USD", matchingEngine.getMetrics());
+        MetricsReporter metricsReporter = new MetricsReporter(matchingEngine.getMetrics(), Duration.ofSeconds(1),
+                snapshot -> System.out.println("metrics = " + snapshot));
+        Order order1 = new Order(nextOrderId(), 1L, "BTC", ticks("BTC", 102d), 5, Side.SELL, OrderType.LIMIT);
+        Order order2 = new Order(nextOrderId(), 1L, "BTC", ticks("BTC", 103d), 10, Side.SELL, OrderType.LIMIT);
+        Order order3 = new Order(nextOrderId(), 1L, "BTC", ticks("BTC", 101d), 15, Side.SELL, OrderType.LIMIT);
+        Order order4 = new Order(nextOrderId(), 1L, "BTC", ticks("BTC", 96d), 15, Side.BUY, OrderType.LIMIT);
+        Order order5 = new Order(nextOrderId(), 1L, "BTC", ticks("BTC", 104d), 120, Side.BUY, OrderType.LIMIT);
+        Order order = new Order(nextOrderId(), 1L, "BTC", ticks("BTC", 45d), 100, Side.SELL, OrderType.LIMIT, TimeInForce.FOK);
 
         long startTime = System.currentTimeMillis();
         matchingEngine.match(order1);
@@ -112,6 +140,7 @@ public class Application {
 
         generateRandomOrders(matchingEngine);
         long endTime = System.currentTimeMillis();
+        metricsReporter.close();
 
 
 //        generateTestOrders().forEach(matchingEngine::match);
@@ -120,17 +149,23 @@ public class Application {
 
 
         System.out.println("\n\n\n");
-        System.out.println("matchingEngine.getStopOrderRegistry().orders().size() = " + matchingEngine.getStopOrderRegistry().orders().size());
-        System.out.println("matchingEngine.getSellOrderBook().orders().size() = " + matchingEngine.getSellOrderBook().orders().size());
-        System.out.println("matchingEngine.getBuyOrderBook().orders().size() = " + matchingEngine.getBuyOrderBook().orders().size());
-        System.out.println("matchingEngine.getTradeRecord().getTrades() = " + matchingEngine.getTradeRecord().trades().size());
+        System.out.println("matchingEngine.getStopOrderBook().size() = " + matchingEngine.getStopOrderBook().size());
+        System.out.println("matchingEngine.getSellOrderBook().size() = " + matchingEngine.getSellOrderBook().size());
+        System.out.println("matchingEngine.getBuyOrderBook().size() = " + matchingEngine.getBuyOrderBook().size());
+        System.out.println("matchingEngine.getTradeRecord().totalCount() = " + matchingEngine.getTradeRecord().totalCount());
 
         System.out.println("Time = " + (endTime - startTime));
 
+        MetricsSnapshot metrics = matchingEngine.getMetrics().snapshot();
+        System.out.println("matchingEngine.getMetrics() = " + metrics);
+        for (OrderType orderType : OrderType.values()) {
+            System.out.println("Latency " + orderType + " = " + metrics.latency(orderType));
+        }
+
         System.out.println("\n\n\n");
         System.out.println("matchingEngine.getBuyOrderBook() = " + matchingEngine.getBuyOrderBook());
         System.out.println("matchingEngine.getSellOrderBook() = " + matchingEngine.getSellOrderBook());
-        System.out.println("matchingEngine.getStopOrderRegistry() = " + matchingEngine.getStopOrderRegistry());
+        System.out.println("matchingEngine.getStopOrderBook() = " + matchingEngine.getStopOrderBook());
         System.out.println("\n\nTrade Record\n");
 //        matchingEngine.getTradeRecord().trades().forEach(System.out::println);
 
@@ -0,0 +1,194 @@
+package za.co.matching.engine.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import za.co.matching.engine.event.EngineEvent;
+import za.co.matching.engine.event.EngineEventBus;
+import za.co.matching.engine.event.EventHandler;
+import za.co.matching.engine.event.Subscription;
+import za.co.matching.engine.ingress.WaitStrategy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary audit trail of every engine event. A background thread reads the {@link EngineEventBus} and writes each
+ * event as a fixed-size record into a memory-mapped file, so the matching thread does no formatting or I/O for it.
+ * Use {@link AuditLogReader} to render a file readably.
+ * <p>
+ * The file starts with a header the size of one record, followed by the records. The file is mapped in chunks and
+ * grows as they fill up; an all-zero record marks the end of the data.
+ */
+@Slf4j
+public class AuditLog implements AutoCloseable {
+
+    static final int MAGIC = 0x41554454;
+    static final int VERSION = 1;
+    static final int RECORD_SIZE = 80;
+    static final int SYMBOL_LENGTH = 16;
+    // Record kinds are EngineEventType ordinals plus one, so zero means no record
+    static final byte GAP = 127;
+
+    static final int KIND = 0;
+    static final int SIDE = 1;
+    static final int SYMBOL_SIZE = 2;
+    static final int QUANTITY = 4;
+    static final int SEQUENCE = 8;
+    static final int TIMESTAMP = 16;
+    static final int ORDER_ID = 24;
+    static final int BUY_ORDER_ID = 32;
+    static final int SELL_ORDER_ID = 40;
+    static final int PRICE = 48;
+    static final int FILLED_QUANTITY = 56;
+    static final int REMAINING_QUANTITY = 60;
+    static final int SYMBOL = 64;
+
+    private static final long CHUNK_SIZE = RECORD_SIZE * 65_536L;
+    private static final int BATCH_SIZE = 1_024;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final Subscription subscription;
+    private final EventHandler writer = new EventHandler() {
+        @Override
+        public void onEvent(EngineEvent event, long sequence, boolean endOfBatch) {
+            write(event, sequence);
+        }
+
+        @Override
+        public void onGap(long fromSequence, long toSequence) {
+            writeGap(fromSequence, toSequence);
+        }
+    };
+    private final Thread thread;
+    private MappedByteBuffer chunk;
+    private long chunkStart;
+    private long position;
+    private volatile long recordCount;
+    private volatile long droppedCount;
+    private volatile boolean running = true;
+
+    public AuditLog(EngineEventBus bus, Path file) {
+        this.file = file;
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create audit log " + file, e);
+        }
+        map(0);
+        chunk.putInt(0, MAGIC);
+        chunk.putInt(4, VERSION);
+        chunk.putInt(8, RECORD_SIZE);
+        position = RECORD_SIZE;
+
+        this.subscription = bus.newSubscription();
+        this.thread = new Thread(this::run, "audit-log");
+        this.thread.start();
+        log.info("Audit log opened at {}", file);
+    }
+
+    private void run() {
+        int idle = 0;
+        while (running) {
+            if (subscription.poll(writer, BATCH_SIZE) == 0) {
+                idle = WaitStrategy.PARK.idle(idle);
+            } else {
+                idle = 0;
+            }
+        }
+        while (subscription.poll(writer, BATCH_SIZE) > 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void write(EngineEvent event, long sequence) {
+        int offset = nextRecord();
+        MappedByteBuffer buffer = chunk;
+        buffer.put(offset + SIDE, event.getSide() == null ? 0 : (byte) (event.getSide().ordinal() + 1));
+        buffer.putInt(offset + QUANTITY, event.getQuantity());
+        buffer.putLong(offset + SEQUENCE, sequence);
+        buffer.putLong(offset + TIMESTAMP, event.getTimestamp());
+        buffer.putLong(offset + ORDER_ID, event.getOrderId());
+        buffer.putLong(offset + BUY_ORDER_ID, event.getBuyOrderId());
+        buffer.putLong(offset + SELL_ORDER_ID, event.getSellOrderId());
+        buffer.putLong(offset + PRICE, event.getPrice());
+        buffer.putInt(offset + FILLED_QUANTITY, event.getFilledQuantity());
+        buffer.putInt(offset + REMAINING_QUANTITY, event.getRemainingQuantity());
+        String symbol = event.getSymbol();
+        int length = symbol == null ? 0 : Math.min(symbol.length(), SYMBOL_LENGTH);
+        for (int i = 0; i < length; i++) {
+            buffer.put(offset + SYMBOL + i, (byte) symbol.charAt(i));
+        }
+        buffer.put(offset + SYMBOL_SIZE, (byte) length);
+        // Written last, so a reader never sees a half written record as present
+        buffer.put(offset + KIND, (byte) (event.getType().ordinal() + 1));
+        recordCount++;
+    }
+
+    /**
+     * The subscriber fell behind and events were overwritten before they were written; recorded so the trail shows
+     * exactly which bus sequences are missing.
+     */
+    private void writeGap(long fromSequence, long toSequence) {
+        int offset = nextRecord();
+        chunk.putLong(offset + SEQUENCE, fromSequence);
+        chunk.putLong(offset + ORDER_ID, toSequence);
+        chunk.put(offset + KIND, GAP);
+        droppedCount += toSequence - fromSequence + 1;
+        log.warn("Audit log missed bus events {} to {}", fromSequence, toSequence);
+    }
+
+    private int nextRecord() {
+        if (position - chunkStart == CHUNK_SIZE) {
+            map(position);
+        }
+        int offset = (int) (position - chunkStart);
+        position += RECORD_SIZE;
+        return offset;
+    }
+
+    private void map(long start) {
+        try {
+            chunk = channel.map(FileChannel.MapMode.READ_WRITE, start, CHUNK_SIZE);
+            chunkStart = start;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map audit log " + file, e);
+        }
+    }
+
+    public long recordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Events the writer missed because it fell a full bus ring behind.
+     */
+    public long droppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Writes out everything already published on the bus, flushes the file and closes it.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        chunk.force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close audit log " + file, e);
+        }
+        log.info("Audit log closed after {} records, {} events missed", recordCount, droppedCount);
+    }
+}
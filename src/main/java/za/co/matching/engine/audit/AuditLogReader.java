@@ -0,0 +1,109 @@
+package za.co.matching.engine.audit;
+
+import za.co.matching.engine.event.EngineEventType;
+import za.co.matching.engine.model.Side;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+import static za.co.matching.engine.audit.AuditLog.*;
+
+/**
+ * Offline decoder for {@link AuditLog} files.
+ * <p>
+ * Usage: {@code java za.co.matching.engine.audit.AuditLogReader <audit file>}
+ */
+public final class AuditLogReader {
+
+    private static final EngineEventType[] TYPES = EngineEventType.values();
+    private static final Side[] SIDES = Side.values();
+
+    private AuditLogReader() {
+    }
+
+    /**
+     * Decodes every record in {@code file}, in the order written.
+     *
+     * @return number of records read
+     */
+    public static long read(Path file, Consumer<AuditRecord> consumer) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 1_024);
+            readHeader(channel, file);
+            long count = 0;
+            while (true) {
+                buffer.clear();
+                while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+                    // fill the buffer
+                }
+                buffer.flip();
+                while (buffer.remaining() >= RECORD_SIZE) {
+                    int offset = buffer.position();
+                    byte kind = buffer.get(offset + KIND);
+                    if (kind == 0) {
+                        return count;
+                    }
+                    consumer.accept(decode(buffer, offset, kind));
+                    buffer.position(offset + RECORD_SIZE);
+                    count++;
+                }
+                if (buffer.limit() < buffer.capacity()) {
+                    return count;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read audit log " + file, e);
+        }
+    }
+
+    private static void readHeader(FileChannel channel, Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(RECORD_SIZE);
+        while (header.hasRemaining() && channel.read(header) > 0) {
+            // fill the header
+        }
+        if (header.position() < RECORD_SIZE || header.getInt(0) != MAGIC) {
+            throw new IllegalStateException("Not an audit log: " + file);
+        }
+        if (header.getInt(4) != VERSION || header.getInt(8) != RECORD_SIZE) {
+            throw new IllegalStateException("Unsupported audit log version " + header.getInt(4) + " in " + file);
+        }
+    }
+
+    private static AuditRecord decode(ByteBuffer buffer, int offset, byte kind) {
+        if (kind == GAP) {
+            return new AuditRecord(buffer.getLong(offset + SEQUENCE), null, 0, null, buffer.getLong(offset + ORDER_ID),
+                    null, 0, 0, 0, 0, 0, 0);
+        }
+        byte side = buffer.get(offset + SIDE);
+        byte[] symbol = new byte[buffer.get(offset + SYMBOL_SIZE)];
+        buffer.get(offset + SYMBOL, symbol);
+        return new AuditRecord(
+                buffer.getLong(offset + SEQUENCE),
+                TYPES[kind - 1],
+                buffer.getLong(offset + TIMESTAMP),
+                new String(symbol, StandardCharsets.ISO_8859_1),
+                buffer.getLong(offset + ORDER_ID),
+                side == 0 ? null : SIDES[side - 1],
+                buffer.getLong(offset + PRICE),
+                buffer.getInt(offset + QUANTITY),
+                buffer.getInt(offset + FILLED_QUANTITY),
+                buffer.getInt(offset + REMAINING_QUANTITY),
+                buffer.getLong(offset + BUY_ORDER_ID),
+                buffer.getLong(offset + SELL_ORDER_ID));
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage: AuditLogReader <audit file>");
+            System.exit(1);
+        }
+        long count = read(Path.of(args[0]), record -> System.out.println(record.format()));
+        System.out.println(count + " records");
+    }
+}
@@ -0,0 +1,35 @@
+package za.co.matching.engine.audit;
+
+import za.co.matching.engine.event.EngineEventType;
+import za.co.matching.engine.model.Side;
+
+/**
+ * One decoded audit record. Gap records have no type: {@code sequence} to {@code orderId} are the bus sequences the
+ * writer missed.
+ */
+public record AuditRecord(long sequence, EngineEventType type, long timestamp, String symbol, long orderId, Side side,
+                          long price, int quantity, int filledQuantity, int remainingQuantity, long buyOrderId,
+                          long sellOrderId) {
+
+    public boolean isGap() {
+        return type == null;
+    }
+
+    /**
+     * A single human readable line. Prices are in ticks.
+     */
+    public String format() {
+        if (isGap()) {
+            return String.format("%d GAP missed %d..%d", sequence, sequence, orderId);
+        }
+        if (type == EngineEventType.TRADE) {
+            return String.format("%d %d TRADE %s buy=%d sell=%d price=%d qty=%d",
+                    sequence, timestamp, symbol, buyOrderId, sellOrderId, price, quantity);
+        }
+        if (type == EngineEventType.REJECTED) {
+            return String.format("%d %d REJECTED order=%d", sequence, timestamp, orderId);
+        }
+        return String.format("%d %d %s %s order=%d %s price=%d qty=%d filled=%d remaining=%d",
+                sequence, timestamp, type, symbol, orderId, side, price, quantity, filledQuantity, remainingQuantity);
+    }
+}
@@ -0,0 +1,43 @@
+package za.co.matching.engine.codec;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Little-endian absolute reads and writes on a {@link ByteBuffer}, whatever byte order the buffer itself is set to.
+ */
+final class Bits {
+
+    private static final VarHandle SHORT = MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private Bits() {
+    }
+
+    static int getUnsignedShort(ByteBuffer buffer, int index) {
+        return Short.toUnsignedInt((short) SHORT.get(buffer, index));
+    }
+
+    static void putShort(ByteBuffer buffer, int index, int value) {
+        SHORT.set(buffer, index, (short) value);
+    }
+
+    static int getInt(ByteBuffer buffer, int index) {
+        return (int) INT.get(buffer, index);
+    }
+
+    static void putInt(ByteBuffer buffer, int index, int value) {
+        INT.set(buffer, index, value);
+    }
+
+    static long getLong(ByteBuffer buffer, int index) {
+        return (long) LONG.get(buffer, index);
+    }
+
+    static void putLong(ByteBuffer buffer, int index, long value) {
+        LONG.set(buffer, index, value);
+    }
+}
@@ -0,0 +1,48 @@
+package za.co.matching.engine.codec;
+
+public class CancelOrderCodec extends MessageFlyweight<CancelOrderCodec> {
+
+    public static final int TEMPLATE_ID = 2;
+    public static final int BLOCK_LENGTH = 24;
+
+    private static final int SEQUENCE = 0;
+    private static final int TIMESTAMP = 8;
+    private static final int ORDER_ID = 16;
+
+    @Override
+    public int templateId() {
+        return TEMPLATE_ID;
+    }
+
+    @Override
+    public int blockLength() {
+        return BLOCK_LENGTH;
+    }
+
+    public long sequence() {
+        return getLong(SEQUENCE);
+    }
+
+    public CancelOrderCodec sequence(long sequence) {
+        putLong(SEQUENCE, sequence);
+        return this;
+    }
+
+    public long timestamp() {
+        return getLong(TIMESTAMP);
+    }
+
+    public CancelOrderCodec timestamp(long timestamp) {
+        putLong(TIMESTAMP, timestamp);
+        return this;
+    }
+
+    public long orderId() {
+        return getLong(ORDER_ID);
+    }
+
+    public CancelOrderCodec orderId(long orderId) {
+        putLong(ORDER_ID, orderId);
+        return this;
+    }
+}
@@ -0,0 +1,97 @@
+package za.co.matching.engine.codec;
+
+import za.co.matching.engine.core.DepthUpdateType;
+import za.co.matching.engine.model.Side;
+
+/**
+ * One level-2 update, as delivered to a {@code DepthListener}.
+ */
+public class DepthUpdateCodec extends MessageFlyweight<DepthUpdateCodec> {
+
+    public static final int TEMPLATE_ID = 12;
+    public static final int BLOCK_LENGTH = 48;
+
+    private static final int SEQUENCE = 0;
+    private static final int PRICE = 8;
+    private static final int QUANTITY = 16;
+    private static final int ORDER_COUNT = 24;
+    private static final int TYPE = 28;
+    private static final int SIDE = 29;
+    private static final int SYMBOL = 32;
+
+    private static final DepthUpdateType[] TYPES = DepthUpdateType.values();
+    private static final Side[] SIDES = Side.values();
+
+    @Override
+    public int templateId() {
+        return TEMPLATE_ID;
+    }
+
+    @Override
+    public int blockLength() {
+        return BLOCK_LENGTH;
+    }
+
+    public long sequence() {
+        return getLong(SEQUENCE);
+    }
+
+    public DepthUpdateCodec sequence(long sequence) {
+        putLong(SEQUENCE, sequence);
+        return this;
+    }
+
+    public long price() {
+        return getLong(PRICE);
+    }
+
+    public DepthUpdateCodec price(long price) {
+        putLong(PRICE, price);
+        return this;
+    }
+
+    public long quantity() {
+        return getLong(QUANTITY);
+    }
+
+    public DepthUpdateCodec quantity(long quantity) {
+        putLong(QUANTITY, quantity);
+        return this;
+    }
+
+    public int orderCount() {
+        return getInt(ORDER_COUNT);
+    }
+
+    public DepthUpdateCodec orderCount(int orderCount) {
+        putInt(ORDER_COUNT, orderCount);
+        return this;
+    }
+
+    public DepthUpdateType type() {
+        return getEnum(TYPE, TYPES);
+    }
+
+    public DepthUpdateCodec type(DepthUpdateType type) {
+        putByte(TYPE, (byte) type.ordinal());
+        return this;
+    }
+
+    public Side side() {
+        return getEnum(SIDE, SIDES);
+    }
+
+    public DepthUpdateCodec side(Side side) {
+        putByte(SIDE, (byte) side.ordinal());
+        return this;
+    }
+
+    public String symbol() {
+        return getSymbol(SYMBOL);
+    }
+
+    public DepthUpdateCodec symbol(CharSequence symbol) {
+        putSymbol(SYMBOL, symbol);
+        return this;
+    }
+}
@@ -0,0 +1,111 @@
+package za.co.matching.engine.codec;
+
+import za.co.matching.engine.utils.SymbolTable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A reusable view over the fixed-layout body of one message type at an offset in a {@link ByteBuffer}. Fields are
+ * read and written in place with absolute little-endian accesses, so wrapping, encoding and decoding never allocate
+ * and never move the buffer's position. Not thread safe; keep one instance per thread.
+ * <p>
+ * Symbols are fixed 16-byte Latin-1 fields padded with zeros. Decoded symbols are interned by their two 8-byte words
+ * in a {@link SymbolTable}, so every instrument seen before decodes to the same {@code String} without allocating,
+ * however the instruments interleave.
+ */
+public abstract class MessageFlyweight<T extends MessageFlyweight<T>> {
+
+    public static final int SYMBOL_LENGTH = SymbolTable.MAX_LENGTH;
+    // Beyond this many distinct symbols decoding allocates rather than growing the table
+    private static final int MAX_INTERNED_SYMBOLS = 4096;
+
+    protected ByteBuffer buffer;
+    protected int offset;
+    private final SymbolTable symbols = new SymbolTable(MAX_INTERNED_SYMBOLS);
+
+    public abstract int templateId();
+
+    public abstract int blockLength();
+
+    @SuppressWarnings("unchecked")
+    public T wrap(ByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+        return (T) this;
+    }
+
+    /**
+     * Writes a header for this message type at {@code offset} and wraps the body that follows it.
+     */
+    public T wrapAndApplyHeader(ByteBuffer buffer, int offset, MessageHeader header) {
+        header.wrap(buffer, offset).apply(blockLength(), templateId());
+        return wrap(buffer, offset + MessageHeader.ENCODED_LENGTH);
+    }
+
+    /**
+     * Header plus body.
+     */
+    public int encodedLength() {
+        return MessageHeader.ENCODED_LENGTH + blockLength();
+    }
+
+    protected long getLong(int field) {
+        return Bits.getLong(buffer, offset + field);
+    }
+
+    protected void putLong(int field, long value) {
+        Bits.putLong(buffer, offset + field, value);
+    }
+
+    protected int getInt(int field) {
+        return Bits.getInt(buffer, offset + field);
+    }
+
+    protected void putInt(int field, int value) {
+        Bits.putInt(buffer, offset + field, value);
+    }
+
+    protected byte getByte(int field) {
+        return buffer.get(offset + field);
+    }
+
+    /**
+     * @return the constant with the field's ordinal, or null when no constant has it
+     */
+    protected <E extends Enum<E>> E getEnum(int field, E[] values) {
+        byte ordinal = getByte(field);
+        return ordinal >= 0 && ordinal < values.length ? values[ordinal] : null;
+    }
+
+    protected void putByte(int field, byte value) {
+        buffer.put(offset + field, value);
+    }
+
+    protected void putSymbol(int field, CharSequence symbol) {
+        int length = symbol == null ? 0 : symbol.length();
+        if (length > SYMBOL_LENGTH) {
+            throw new IllegalArgumentException("Symbol longer than " + SYMBOL_LENGTH + " characters: " + symbol);
+        }
+        for (int i = 0; i < SYMBOL_LENGTH; i++) {
+            buffer.put(offset + field + i, i < length ? (byte) symbol.charAt(i) : 0);
+        }
+    }
+
+    protected String getSymbol(int field) {
+        long low = getLong(field);
+        long high = getLong(field + Long.BYTES);
+        int id = symbols.intern(low, high);
+        if (id != SymbolTable.NONE || low == 0 && high == 0) {
+            return symbols.symbol(id);
+        }
+        int length = 0;
+        char[] chars = new char[SYMBOL_LENGTH];
+        for (int i = 0; i < SYMBOL_LENGTH; i++) {
+            chars[i] = (char) (buffer.get(offset + field + i) & 0xFF);
+            if (chars[i] != 0) {
+                length = i + 1;
+            }
+        }
+        return new String(chars, 0, length);
+    }
+}
@@ -0,0 +1,62 @@
+package za.co.matching.engine.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The 8-byte header in front of every message: body length, template id, schema id and schema version, each an
+ * unsigned 16-bit little-endian value.
+ */
+public class MessageHeader {
+
+    public static final int ENCODED_LENGTH = 8;
+    public static final int SCHEMA_ID = 1;
+    public static final int SCHEMA_VERSION = 1;
+
+    private static final int BLOCK_LENGTH = 0;
+    private static final int TEMPLATE_ID = 2;
+    private static final int SCHEMA = 4;
+    private static final int VERSION = 6;
+
+    private ByteBuffer buffer;
+    private int offset;
+
+    public MessageHeader wrap(ByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+        return this;
+    }
+
+    public int blockLength() {
+        return Bits.getUnsignedShort(buffer, offset + BLOCK_LENGTH);
+    }
+
+    public int templateId() {
+        return Bits.getUnsignedShort(buffer, offset + TEMPLATE_ID);
+    }
+
+    public int schemaId() {
+        return Bits.getUnsignedShort(buffer, offset + SCHEMA);
+    }
+
+    public int version() {
+        return Bits.getUnsignedShort(buffer, offset + VERSION);
+    }
+
+    MessageHeader apply(int blockLength, int templateId) {
+        Bits.putShort(buffer, offset + BLOCK_LENGTH, blockLength);
+        Bits.putShort(buffer, offset + TEMPLATE_ID, templateId);
+        Bits.putShort(buffer, offset + SCHEMA, SCHEMA_ID);
+        Bits.putShort(buffer, offset + VERSION, SCHEMA_VERSION);
+        return this;
+    }
+
+    /**
+     * @throws IllegalStateException when the header belongs to another schema
+     */
+    public MessageHeader checkSchema() {
+        if (schemaId() != SCHEMA_ID) {
+            throw new IllegalStateException("Unknown schema " + schemaId() + ", expected " + SCHEMA_ID);
+        }
+        return this;
+    }
+}
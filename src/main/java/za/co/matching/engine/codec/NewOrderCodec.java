@@ -0,0 +1,189 @@
+package za.co.matching.engine.codec;
+
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.RejectReason;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+
+/**
+ * A new order, with the engine sequence and timestamp once it has been accepted (0 before). Enum fields holding an
+ * unknown ordinal decode as null, which {@link #validate()} refuses.
+ */
+public class NewOrderCodec extends MessageFlyweight<NewOrderCodec> {
+
+    public static final int TEMPLATE_ID = 1;
+    public static final int BLOCK_LENGTH = 72;
+
+    private static final int SEQUENCE = 0;
+    private static final int TIMESTAMP = 8;
+    private static final int ORDER_ID = 16;
+    private static final int CUSTOMER_ID = 24;
+    private static final int PRICE = 32;
+    private static final int STOP_PRICE = 40;
+    private static final int QUANTITY = 48;
+    private static final int SIDE = 52;
+    private static final int ORDER_TYPE = 53;
+    private static final int TIME_IN_FORCE = 54;
+    private static final int SYMBOL = 56;
+
+    private static final Side[] SIDES = Side.values();
+    private static final OrderType[] ORDER_TYPES = OrderType.values();
+    private static final TimeInForce[] TIMES_IN_FORCE = TimeInForce.values();
+
+    @Override
+    public int templateId() {
+        return TEMPLATE_ID;
+    }
+
+    @Override
+    public int blockLength() {
+        return BLOCK_LENGTH;
+    }
+
+    public long sequence() {
+        return getLong(SEQUENCE);
+    }
+
+    public NewOrderCodec sequence(long sequence) {
+        putLong(SEQUENCE, sequence);
+        return this;
+    }
+
+    public long timestamp() {
+        return getLong(TIMESTAMP);
+    }
+
+    public NewOrderCodec timestamp(long timestamp) {
+        putLong(TIMESTAMP, timestamp);
+        return this;
+    }
+
+    public long orderId() {
+        return getLong(ORDER_ID);
+    }
+
+    public NewOrderCodec orderId(long orderId) {
+        putLong(ORDER_ID, orderId);
+        return this;
+    }
+
+    public long customerId() {
+        return getLong(CUSTOMER_ID);
+    }
+
+    public NewOrderCodec customerId(long customerId) {
+        putLong(CUSTOMER_ID, customerId);
+        return this;
+    }
+
+    public long price() {
+        return getLong(PRICE);
+    }
+
+    public NewOrderCodec price(long price) {
+        putLong(PRICE, price);
+        return this;
+    }
+
+    public long stopPrice() {
+        return getLong(STOP_PRICE);
+    }
+
+    public NewOrderCodec stopPrice(long stopPrice) {
+        putLong(STOP_PRICE, stopPrice);
+        return this;
+    }
+
+    public int quantity() {
+        return getInt(QUANTITY);
+    }
+
+    public NewOrderCodec quantity(int quantity) {
+        putInt(QUANTITY, quantity);
+        return this;
+    }
+
+    public Side side() {
+        return getEnum(SIDE, SIDES);
+    }
+
+    public NewOrderCodec side(Side side) {
+        putByte(SIDE, (byte) side.ordinal());
+        return this;
+    }
+
+    public OrderType orderType() {
+        return getEnum(ORDER_TYPE, ORDER_TYPES);
+    }
+
+    public NewOrderCodec orderType(OrderType orderType) {
+        putByte(ORDER_TYPE, (byte) orderType.ordinal());
+        return this;
+    }
+
+    public TimeInForce timeInForce() {
+        return getEnum(TIME_IN_FORCE, TIMES_IN_FORCE);
+    }
+
+    public NewOrderCodec timeInForce(TimeInForce timeInForce) {
+        putByte(TIME_IN_FORCE, (byte) timeInForce.ordinal());
+        return this;
+    }
+
+    public String symbol() {
+        return getSymbol(SYMBOL);
+    }
+
+    public NewOrderCodec symbol(CharSequence symbol) {
+        putSymbol(SYMBOL, symbol);
+        return this;
+    }
+
+    public NewOrderCodec encode(Order order) {
+        return sequence(order.getSequence())
+                .timestamp(order.getTimestamp())
+                .orderId(order.getOrderId())
+                .customerId(order.getCustomerId())
+                .price(order.getPrice())
+                .stopPrice(order.getStopPrice())
+                .quantity(order.getQuantity())
+                .side(order.getSide())
+                .orderType(order.getOrderType())
+                .timeInForce(order.getTimeInForce())
+                .symbol(order.getSymbol());
+    }
+
+    /**
+     * Initialises {@code order}, typically one taken from an {@code OrderPool}, from this message.
+     *
+     * @return {@code order}
+     */
+    public Order decode(Order order) {
+        order.init(orderId(), customerId(), symbol(), price(), quantity(), side(), orderType(), stopPrice(), timeInForce());
+        order.setSequence(sequence());
+        order.setTimestamp(timestamp());
+        return order;
+    }
+
+    /**
+     * Checks an order entered by a client before it reaches an engine.
+     *
+     * @return why the order must be refused, or null when it is valid
+     */
+    public RejectReason validate() {
+        OrderType orderType = orderType();
+        if (side() == null || orderType == null || timeInForce() == null || symbol() == null) {
+            return RejectReason.INVALID_MESSAGE;
+        }
+        if (quantity() <= 0) {
+            return RejectReason.INVALID_QUANTITY;
+        }
+        boolean needsPrice = orderType == OrderType.LIMIT || orderType == OrderType.STOP_LIMIT;
+        boolean needsStopPrice = orderType == OrderType.STOP || orderType == OrderType.STOP_LIMIT;
+        if (needsPrice && price() <= 0 || needsStopPrice && stopPrice() <= 0) {
+            return RejectReason.INVALID_PRICE;
+        }
+        return null;
+    }
+}
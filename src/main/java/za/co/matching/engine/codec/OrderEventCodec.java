@@ -0,0 +1,144 @@
+package za.co.matching.engine.codec;
+
+import za.co.matching.engine.event.EngineEvent;
+import za.co.matching.engine.event.EngineEventType;
+import za.co.matching.engine.model.Side;
+
+/**
+ * A change in an order's state: accepted, (partially) filled, cancelled or replaced.
+ */
+public class OrderEventCodec extends MessageFlyweight<OrderEventCodec> {
+
+    public static final int TEMPLATE_ID = 11;
+    public static final int BLOCK_LENGTH = 64;
+
+    private static final int SEQUENCE = 0;
+    private static final int TIMESTAMP = 8;
+    private static final int ORDER_ID = 16;
+    private static final int PRICE = 24;
+    private static final int QUANTITY = 32;
+    private static final int FILLED_QUANTITY = 36;
+    private static final int REMAINING_QUANTITY = 40;
+    private static final int TYPE = 44;
+    private static final int SIDE = 45;
+    private static final int SYMBOL = 48;
+
+    private static final EngineEventType[] TYPES = EngineEventType.values();
+    private static final Side[] SIDES = Side.values();
+
+    @Override
+    public int templateId() {
+        return TEMPLATE_ID;
+    }
+
+    @Override
+    public int blockLength() {
+        return BLOCK_LENGTH;
+    }
+
+    public long sequence() {
+        return getLong(SEQUENCE);
+    }
+
+    public OrderEventCodec sequence(long sequence) {
+        putLong(SEQUENCE, sequence);
+        return this;
+    }
+
+    public long timestamp() {
+        return getLong(TIMESTAMP);
+    }
+
+    public OrderEventCodec timestamp(long timestamp) {
+        putLong(TIMESTAMP, timestamp);
+        return this;
+    }
+
+    public long orderId() {
+        return getLong(ORDER_ID);
+    }
+
+    public OrderEventCodec orderId(long orderId) {
+        putLong(ORDER_ID, orderId);
+        return this;
+    }
+
+    public long price() {
+        return getLong(PRICE);
+    }
+
+    public OrderEventCodec price(long price) {
+        putLong(PRICE, price);
+        return this;
+    }
+
+    public int quantity() {
+        return getInt(QUANTITY);
+    }
+
+    public OrderEventCodec quantity(int quantity) {
+        putInt(QUANTITY, quantity);
+        return this;
+    }
+
+    public int filledQuantity() {
+        return getInt(FILLED_QUANTITY);
+    }
+
+    public OrderEventCodec filledQuantity(int filledQuantity) {
+        putInt(FILLED_QUANTITY, filledQuantity);
+        return this;
+    }
+
+    public int remainingQuantity() {
+        return getInt(REMAINING_QUANTITY);
+    }
+
+    public OrderEventCodec remainingQuantity(int remainingQuantity) {
+        putInt(REMAINING_QUANTITY, remainingQuantity);
+        return this;
+    }
+
+    public EngineEventType type() {
+        return getEnum(TYPE, TYPES);
+    }
+
+    public OrderEventCodec type(EngineEventType type) {
+        putByte(TYPE, (byte) type.ordinal());
+        return this;
+    }
+
+    public Side side() {
+        return getEnum(SIDE, SIDES);
+    }
+
+    public OrderEventCodec side(Side side) {
+        putByte(SIDE, (byte) side.ordinal());
+        return this;
+    }
+
+    public String symbol() {
+        return getSymbol(SYMBOL);
+    }
+
+    public OrderEventCodec symbol(CharSequence symbol) {
+        putSymbol(SYMBOL, symbol);
+        return this;
+    }
+
+    /**
+     * @param sequence the event's bus sequence
+     */
+    public OrderEventCodec encode(EngineEvent event, long sequence) {
+        return sequence(sequence)
+                .timestamp(event.getTimestamp())
+                .orderId(event.getOrderId())
+                .price(event.getPrice())
+                .quantity(event.getQuantity())
+                .filledQuantity(event.getFilledQuantity())
+                .remainingQuantity(event.getRemainingQuantity())
+                .type(event.getType())
+                .side(event.getSide())
+                .symbol(event.getSymbol());
+    }
+}
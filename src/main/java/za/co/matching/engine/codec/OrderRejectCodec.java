@@ -0,0 +1,58 @@
+package za.co.matching.engine.codec;
+
+import za.co.matching.engine.model.RejectReason;
+
+/**
+ * A command refused before it reached the engine.
+ */
+public class OrderRejectCodec extends MessageFlyweight<OrderRejectCodec> {
+
+    public static final int TEMPLATE_ID = 13;
+    public static final int BLOCK_LENGTH = 16;
+
+    private static final int ORDER_ID = 0;
+    private static final int REJECTED_TEMPLATE_ID = 8;
+    private static final int REASON = 12;
+
+    private static final RejectReason[] REASONS = RejectReason.values();
+
+    @Override
+    public int templateId() {
+        return TEMPLATE_ID;
+    }
+
+    @Override
+    public int blockLength() {
+        return BLOCK_LENGTH;
+    }
+
+    public long orderId() {
+        return getLong(ORDER_ID);
+    }
+
+    public OrderRejectCodec orderId(long orderId) {
+        putLong(ORDER_ID, orderId);
+        return this;
+    }
+
+    /**
+     * Template id of the command that was rejected.
+     */
+    public int rejectedTemplateId() {
+        return getInt(REJECTED_TEMPLATE_ID);
+    }
+
+    public OrderRejectCodec rejectedTemplateId(int templateId) {
+        putInt(REJECTED_TEMPLATE_ID, templateId);
+        return this;
+    }
+
+    public RejectReason reason() {
+        return getEnum(REASON, REASONS);
+    }
+
+    public OrderRejectCodec reason(RejectReason reason) {
+        putByte(REASON, (byte) reason.ordinal());
+        return this;
+    }
+}
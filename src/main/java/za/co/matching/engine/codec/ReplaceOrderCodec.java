@@ -0,0 +1,82 @@
+package za.co.matching.engine.codec;
+
+import za.co.matching.engine.model.RejectReason;
+
+public class ReplaceOrderCodec extends MessageFlyweight<ReplaceOrderCodec> {
+
+    public static final int TEMPLATE_ID = 3;
+    public static final int BLOCK_LENGTH = 40;
+
+    private static final int SEQUENCE = 0;
+    private static final int TIMESTAMP = 8;
+    private static final int ORDER_ID = 16;
+    private static final int PRICE = 24;
+    private static final int QUANTITY = 32;
+
+    @Override
+    public int templateId() {
+        return TEMPLATE_ID;
+    }
+
+    @Override
+    public int blockLength() {
+        return BLOCK_LENGTH;
+    }
+
+    public long sequence() {
+        return getLong(SEQUENCE);
+    }
+
+    public ReplaceOrderCodec sequence(long sequence) {
+        putLong(SEQUENCE, sequence);
+        return this;
+    }
+
+    public long timestamp() {
+        return getLong(TIMESTAMP);
+    }
+
+    public ReplaceOrderCodec timestamp(long timestamp) {
+        putLong(TIMESTAMP, timestamp);
+        return this;
+    }
+
+    public long orderId() {
+        return getLong(ORDER_ID);
+    }
+
+    public ReplaceOrderCodec orderId(long orderId) {
+        putLong(ORDER_ID, orderId);
+        return this;
+    }
+
+    public long price() {
+        return getLong(PRICE);
+    }
+
+    public ReplaceOrderCodec price(long price) {
+        putLong(PRICE, price);
+        return this;
+    }
+
+    public int quantity() {
+        return getInt(QUANTITY);
+    }
+
+    public ReplaceOrderCodec quantity(int quantity) {
+        putInt(QUANTITY, quantity);
+        return this;
+    }
+
+    /**
+     * Checks a replace entered by a client before it reaches an engine.
+     *
+     * @return why the replace must be refused, or null when it is valid
+     */
+    public RejectReason validate() {
+        if (quantity() <= 0) {
+            return RejectReason.INVALID_QUANTITY;
+        }
+        return price() <= 0 ? RejectReason.INVALID_PRICE : null;
+    }
+}
@@ -0,0 +1,52 @@
+package za.co.matching.engine.codec;
+
+import za.co.matching.engine.model.TradingPhase;
+
+public class StartAuctionCodec extends MessageFlyweight<StartAuctionCodec> {
+
+    public static final int TEMPLATE_ID = 4;
+    public static final int BLOCK_LENGTH = 24;
+
+    private static final int SEQUENCE = 0;
+    private static final int TIMESTAMP = 8;
+    private static final int PHASE = 16;
+
+    private static final TradingPhase[] PHASES = TradingPhase.values();
+
+    @Override
+    public int templateId() {
+        return TEMPLATE_ID;
+    }
+
+    @Override
+    public int blockLength() {
+        return BLOCK_LENGTH;
+    }
+
+    public long sequence() {
+        return getLong(SEQUENCE);
+    }
+
+    public StartAuctionCodec sequence(long sequence) {
+        putLong(SEQUENCE, sequence);
+        return this;
+    }
+
+    public long timestamp() {
+        return getLong(TIMESTAMP);
+    }
+
+    public StartAuctionCodec timestamp(long timestamp) {
+        putLong(TIMESTAMP, timestamp);
+        return this;
+    }
+
+    public TradingPhase phase() {
+        return getEnum(PHASE, PHASES);
+    }
+
+    public StartAuctionCodec phase(TradingPhase phase) {
+        putByte(PHASE, (byte) phase.ordinal());
+        return this;
+    }
+}
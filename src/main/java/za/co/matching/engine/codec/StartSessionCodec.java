@@ -0,0 +1,38 @@
+package za.co.matching.engine.codec;
+
+public class StartSessionCodec extends MessageFlyweight<StartSessionCodec> {
+
+    public static final int TEMPLATE_ID = 6;
+    public static final int BLOCK_LENGTH = 16;
+
+    private static final int SEQUENCE = 0;
+    private static final int TIMESTAMP = 8;
+
+    @Override
+    public int templateId() {
+        return TEMPLATE_ID;
+    }
+
+    @Override
+    public int blockLength() {
+        return BLOCK_LENGTH;
+    }
+
+    public long sequence() {
+        return getLong(SEQUENCE);
+    }
+
+    public StartSessionCodec sequence(long sequence) {
+        putLong(SEQUENCE, sequence);
+        return this;
+    }
+
+    public long timestamp() {
+        return getLong(TIMESTAMP);
+    }
+
+    public StartSessionCodec timestamp(long timestamp) {
+        putLong(TIMESTAMP, timestamp);
+        return this;
+    }
+}
@@ -0,0 +1,106 @@
+package za.co.matching.engine.codec;
+
+import za.co.matching.engine.event.EngineEvent;
+
+/**
+ * A trade, as published to market data and execution report subscribers.
+ */
+public class TradeCodec extends MessageFlyweight<TradeCodec> {
+
+    public static final int TEMPLATE_ID = 10;
+    public static final int BLOCK_LENGTH = 64;
+
+    private static final int SEQUENCE = 0;
+    private static final int TIMESTAMP = 8;
+    private static final int BUY_ORDER_ID = 16;
+    private static final int SELL_ORDER_ID = 24;
+    private static final int PRICE = 32;
+    private static final int QUANTITY = 40;
+    private static final int SYMBOL = 48;
+
+    @Override
+    public int templateId() {
+        return TEMPLATE_ID;
+    }
+
+    @Override
+    public int blockLength() {
+        return BLOCK_LENGTH;
+    }
+
+    public long sequence() {
+        return getLong(SEQUENCE);
+    }
+
+    public TradeCodec sequence(long sequence) {
+        putLong(SEQUENCE, sequence);
+        return this;
+    }
+
+    public long timestamp() {
+        return getLong(TIMESTAMP);
+    }
+
+    public TradeCodec timestamp(long timestamp) {
+        putLong(TIMESTAMP, timestamp);
+        return this;
+    }
+
+    public long buyOrderId() {
+        return getLong(BUY_ORDER_ID);
+    }
+
+    public TradeCodec buyOrderId(long buyOrderId) {
+        putLong(BUY_ORDER_ID, buyOrderId);
+        return this;
+    }
+
+    public long sellOrderId() {
+        return getLong(SELL_ORDER_ID);
+    }
+
+    public TradeCodec sellOrderId(long sellOrderId) {
+        putLong(SELL_ORDER_ID, sellOrderId);
+        return this;
+    }
+
+    public long price() {
+        return getLong(PRICE);
+    }
+
+    public TradeCodec price(long price) {
+        putLong(PRICE, price);
+        return this;
+    }
+
+    public int quantity() {
+        return getInt(QUANTITY);
+    }
+
+    public TradeCodec quantity(int quantity) {
+        putInt(QUANTITY, quantity);
+        return this;
+    }
+
+    public String symbol() {
+        return getSymbol(SYMBOL);
+    }
+
+    public TradeCodec symbol(CharSequence symbol) {
+        putSymbol(SYMBOL, symbol);
+        return this;
+    }
+
+    /**
+     * @param sequence the event's bus sequence
+     */
+    public TradeCodec encode(EngineEvent event, long sequence) {
+        return sequence(sequence)
+                .timestamp(event.getTimestamp())
+                .buyOrderId(event.getBuyOrderId())
+                .sellOrderId(event.getSellOrderId())
+                .price(event.getPrice())
+                .quantity(event.getQuantity())
+                .symbol(event.getSymbol());
+    }
+}
@@ -0,0 +1,48 @@
+package za.co.matching.engine.codec;
+
+public class UncrossCodec extends MessageFlyweight<UncrossCodec> {
+
+    public static final int TEMPLATE_ID = 5;
+    public static final int BLOCK_LENGTH = 24;
+
+    private static final int SEQUENCE = 0;
+    private static final int TIMESTAMP = 8;
+    private static final int REFERENCE_PRICE = 16;
+
+    @Override
+    public int templateId() {
+        return TEMPLATE_ID;
+    }
+
+    @Override
+    public int blockLength() {
+        return BLOCK_LENGTH;
+    }
+
+    public long sequence() {
+        return getLong(SEQUENCE);
+    }
+
+    public UncrossCodec sequence(long sequence) {
+        putLong(SEQUENCE, sequence);
+        return this;
+    }
+
+    public long timestamp() {
+        return getLong(TIMESTAMP);
+    }
+
+    public UncrossCodec timestamp(long timestamp) {
+        putLong(TIMESTAMP, timestamp);
+        return this;
+    }
+
+    public long referencePrice() {
+        return getLong(REFERENCE_PRICE);
+    }
+
+    public UncrossCodec referencePrice(long referencePrice) {
+        putLong(REFERENCE_PRICE, referencePrice);
+        return this;
+    }
+}
@@ -0,0 +1,17 @@
+package za.co.matching.engine.core;
+
+/**
+ * Outcome of uncrossing a call auction.
+ *
+ * @param price     the equilibrium price every auction trade executed at, 0 when nothing could trade
+ * @param volume    quantity executed
+ * @param imbalance demand minus supply left over at the equilibrium price
+ */
+public record AuctionResult(long price, long volume, long imbalance) {
+
+    public static final AuctionResult NONE = new AuctionResult(0, 0, 0);
+
+    public boolean traded() {
+        return volume > 0;
+    }
+}
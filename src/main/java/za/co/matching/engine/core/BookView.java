@@ -0,0 +1,100 @@
+package za.co.matching.engine.core;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The best levels of both sides as of the last completed command that changed a book, readable from any thread.
+ * <p>
+ * Published by the matching thread under a version counter acting as a seqlock, like {@link MarketDataTracker}:
+ * readers copy the levels into their own {@link DepthSnapshot} and retry if a publish overlapped the copy, so many
+ * readers can poll the book without locking, allocating or touching the live books, and the matching thread never
+ * waits for them. A publish costs O(levels kept) and is skipped for commands that left both books unchanged.
+ */
+public class BookView {
+
+    public static final int DEFAULT_LEVELS = 10;
+
+    private final int maxLevels;
+    // Bids in [0, maxLevels), asks in [maxLevels, 2 * maxLevels)
+    private final long[] prices;
+    private final long[] quantities;
+    private final int[] orderCounts;
+    private int bidLevels;
+    private int askLevels;
+    private long sequence;
+    private long depthSequence;
+    private final AtomicLong version = new AtomicLong();
+
+    public BookView(int maxLevels) {
+        if (maxLevels <= 0) {
+            throw new IllegalArgumentException("Level count must be positive: " + maxLevels);
+        }
+        this.maxLevels = maxLevels;
+        this.prices = new long[maxLevels * 2];
+        this.quantities = new long[maxLevels * 2];
+        this.orderCounts = new int[maxLevels * 2];
+    }
+
+    public int maxLevels() {
+        return maxLevels;
+    }
+
+    /**
+     * @param sequence      the command that left the books in this state
+     * @param depthSequence the last depth update the books reflect
+     */
+    void publish(long sequence, long depthSequence, OrderBook buyOrderBook, OrderBook sellOrderBook) {
+        long next = version.get() + 1;
+        version.setOpaque(next);
+        VarHandle.storeStoreFence();
+        this.sequence = sequence;
+        this.depthSequence = depthSequence;
+        bidLevels = copy(buyOrderBook, 0);
+        askLevels = copy(sellOrderBook, maxLevels);
+        version.setRelease(next + 1);
+    }
+
+    private int copy(OrderBook orderBook, int from) {
+        int count = Math.min(orderBook.levelCount(), maxLevels);
+        for (int i = 0; i < count; i++) {
+            PriceLevel level = orderBook.level(i);
+            prices[from + i] = level.getPrice();
+            quantities[from + i] = level.getQuantity();
+            orderCounts[from + i] = level.getOrderCount();
+        }
+        return count;
+    }
+
+    /**
+     * Copies up to {@link DepthSnapshot#maxLevels()} of the published levels per side into {@code target}, all as of
+     * {@link DepthSnapshot#getCommandSequence()}.
+     *
+     * @return {@code target}
+     */
+    public DepthSnapshot read(DepthSnapshot target) {
+        int wanted = Math.min(target.maxLevels(), maxLevels);
+        long before;
+        do {
+            before = version.getAcquire();
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int bids = Math.min(bidLevels, wanted);
+            int asks = Math.min(askLevels, wanted);
+            target.header(depthSequence, sequence, bids, asks);
+            for (int i = 0; i < bids; i++) {
+                target.bid(i, prices[i], quantities[i], orderCounts[i]);
+            }
+            for (int i = 0; i < asks; i++) {
+                int index = maxLevels + i;
+                target.ask(i, prices[index], quantities[index], orderCounts[index]);
+            }
+            VarHandle.loadLoadFence();
+            if (version.getOpaque() == before) {
+                return target;
+            }
+        } while (true);
+    }
+}
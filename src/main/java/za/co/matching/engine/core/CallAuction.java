@@ -0,0 +1,144 @@
+package za.co.matching.engine.core;
+
+import za.co.matching.engine.model.Order;
+
+import java.util.Arrays;
+
+/**
+ * Finds and executes the single price a call auction uncrosses at. Demand and supply are built as cumulative curves
+ * over the price levels of both books, from the per-level totals, so finding the price costs O(levels) however many
+ * orders were collected. The price is the one that:
+ * <ol>
+ *     <li>executes the most quantity,</li>
+ *     <li>then leaves the smallest imbalance,</li>
+ *     <li>then, if the imbalance is on the same side at every remaining price, is the highest when buyers are left
+ *     over and the lowest when sellers are,</li>
+ *     <li>otherwise is the closest to the reference price, the lower one on a tie.</li>
+ * </ol>
+ * Market orders are part of demand or supply at every price and execute first. Only used from the matching thread.
+ */
+class CallAuction {
+
+    // Distinct limit prices of both books, ascending, with the cumulative curves at each
+    private long[] prices = new long[64];
+    private long[] demand = new long[64];
+    private long[] supply = new long[64];
+
+    AuctionResult equilibrium(OrderBook bids, OrderBook asks, long marketDemand, long marketSupply, long referencePrice) {
+        int count = mergePrices(bids, asks);
+        if (count == 0) {
+            long volume = Math.min(marketDemand, marketSupply);
+            return volume > 0 && referencePrice > 0
+                    ? new AuctionResult(referencePrice, volume, marketDemand - marketSupply)
+                    : AuctionResult.NONE;
+        }
+
+        // Supply at p: everything offered at p or lower
+        long cumulative = marketSupply;
+        int level = 0;
+        for (int i = 0; i < count; i++) {
+            while (level < asks.levelCount() && asks.level(level).getPrice() <= prices[i]) {
+                cumulative += asks.level(level++).getQuantity();
+            }
+            supply[i] = cumulative;
+        }
+        // Demand at p: everything bid at p or higher
+        cumulative = marketDemand;
+        level = 0;
+        for (int i = count - 1; i >= 0; i--) {
+            while (level < bids.levelCount() && bids.level(level).getPrice() >= prices[i]) {
+                cumulative += bids.level(level++).getQuantity();
+            }
+            demand[i] = cumulative;
+        }
+
+        long bestVolume = 0;
+        long bestImbalance = Long.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            long volume = Math.min(demand[i], supply[i]);
+            long imbalance = Math.abs(demand[i] - supply[i]);
+            if (volume > bestVolume || volume == bestVolume && volume > 0 && imbalance < bestImbalance) {
+                bestVolume = volume;
+                bestImbalance = imbalance;
+            }
+        }
+        if (bestVolume == 0) {
+            return AuctionResult.NONE;
+        }
+
+        int lowest = -1;
+        int highest = -1;
+        int closest = -1;
+        boolean buyersLeft = true;
+        boolean sellersLeft = true;
+        for (int i = 0; i < count; i++) {
+            if (Math.min(demand[i], supply[i]) != bestVolume || Math.abs(demand[i] - supply[i]) != bestImbalance) {
+                continue;
+            }
+            if (lowest < 0) {
+                lowest = i;
+            }
+            highest = i;
+            buyersLeft &= demand[i] > supply[i];
+            sellersLeft &= demand[i] < supply[i];
+            if (closest < 0 || Math.abs(prices[i] - referencePrice) < Math.abs(prices[closest] - referencePrice)) {
+                closest = i;
+            }
+        }
+        int chosen = buyersLeft ? highest : sellersLeft ? lowest : closest;
+        return new AuctionResult(prices[chosen], bestVolume, demand[chosen] - supply[chosen]);
+    }
+
+    /**
+     * Trades {@code result.volume()} at {@code result.price()}: market orders first, then limit orders best price
+     * first and in time priority within a price. Filled orders leave their books.
+     */
+    void execute(AuctionResult result, OrderBook bids, OrderBook asks, OrderBook marketBuys, OrderBook marketSells,
+                 TradeRecord tradeRecord) {
+        OffHeapOrderStore store = bids.getStore();
+        long price = result.price();
+        long remaining = result.volume();
+        while (remaining > 0) {
+            OrderBook buyBook = marketBuys.isEmpty() ? bids : marketBuys;
+            OrderBook sellBook = marketSells.isEmpty() ? asks : marketSells;
+            int buy = buyBook.bestHandle();
+            int sell = sellBook.bestHandle();
+            if (buy == OffHeapOrderStore.NONE || sell == OffHeapOrderStore.NONE
+                    || buyBook == bids && store.price(buy) < price || sellBook == asks && store.price(sell) > price) {
+                throw new IllegalStateException("Auction ran out of orders with " + remaining + " left to execute at " + price);
+            }
+            int quantity = (int) Math.min(remaining, Math.min(store.remainingQuantity(buy), store.remainingQuantity(sell)));
+            // Each book reads into its own view, so both orders stay valid for the trade
+            Order buyOrder = buyBook.fill(buy, quantity);
+            Order sellOrder = sellBook.fill(sell, quantity);
+            remaining -= quantity;
+            tradeRecord.addTrade(buyOrder, sellOrder, price, quantity);
+        }
+    }
+
+    private int mergePrices(OrderBook bids, OrderBook asks) {
+        int capacity = bids.levelCount() + asks.levelCount();
+        if (capacity > prices.length) {
+            int length = Math.max(capacity, prices.length * 2);
+            prices = Arrays.copyOf(prices, length);
+            demand = Arrays.copyOf(demand, length);
+            supply = Arrays.copyOf(supply, length);
+        }
+        // Bids are best (highest) first, so walk them backwards to go up in price like the asks
+        int bid = bids.levelCount() - 1;
+        int ask = 0;
+        int count = 0;
+        while (bid >= 0 || ask < asks.levelCount()) {
+            long next;
+            if (ask == asks.levelCount() || bid >= 0 && bids.level(bid).getPrice() < asks.level(ask).getPrice()) {
+                next = bids.level(bid--).getPrice();
+            } else {
+                next = asks.level(ask++).getPrice();
+            }
+            if (count == 0 || prices[count - 1] != next) {
+                prices[count++] = next;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,52 @@
+package za.co.matching.engine.core;
+
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.TradingPhase;
+
+/**
+ * Write-ahead log of every command the engine accepts. Commands are appended after they have been sequenced and
+ * timestamped but before they are matched, so replaying the journal rebuilds the same state.
+ */
+public interface CommandJournal {
+
+    CommandJournal NONE = new CommandJournal() {
+        @Override
+        public void appendNew(Order order) {
+        }
+
+        @Override
+        public void appendCancel(long sequence, long timestamp, long orderId) {
+        }
+
+        @Override
+        public void appendReplace(long sequence, long timestamp, long orderId, int newQuantity, long newPrice) {
+        }
+
+        @Override
+        public void appendStartAuction(long sequence, long timestamp, TradingPhase auction) {
+        }
+
+        @Override
+        public void appendUncross(long sequence, long timestamp, long referencePrice) {
+        }
+
+        @Override
+        public void appendStartSession(long sequence, long timestamp) {
+        }
+    };
+
+    /**
+     * @param order a new order carrying its engine sequence and timestamp
+     */
+    void appendNew(Order order);
+
+    void appendCancel(long sequence, long timestamp, long orderId);
+
+    void appendReplace(long sequence, long timestamp, long orderId, int newQuantity, long newPrice);
+
+    void appendStartAuction(long sequence, long timestamp, TradingPhase auction);
+
+    void appendUncross(long sequence, long timestamp, long referencePrice);
+
+    void appendStartSession(long sequence, long timestamp);
+}
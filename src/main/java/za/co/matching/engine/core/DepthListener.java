@@ -0,0 +1,21 @@
+package za.co.matching.engine.core;
+
+import za.co.matching.engine.model.Side;
+
+/**
+ * Receives level-2 changes on the matching thread, once the command that caused them has finished. Sequences are
+ * contiguous per engine, so a jump means updates were missed and the subscriber should resynchronise from a
+ * {@link DepthSnapshot}. Implementations must not block.
+ */
+@FunctionalInterface
+public interface DepthListener {
+
+    DepthListener NONE = (sequence, type, side, price, quantity, orderCount) -> {
+    };
+
+    /**
+     * @param quantity   total remaining quantity at the level, 0 for {@link DepthUpdateType#DELETE}
+     * @param orderCount number of orders at the level, 0 for {@link DepthUpdateType#DELETE}
+     */
+    void onDepthUpdate(long sequence, DepthUpdateType type, Side side, long price, long quantity, int orderCount);
+}
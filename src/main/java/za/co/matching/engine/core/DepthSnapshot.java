@@ -0,0 +1,103 @@
+package za.co.matching.engine.core;
+
+import lombok.Getter;
+
+/**
+ * The best levels of both sides, best price first. Reusable between snapshots. {@link #getSequence()} is the last
+ * depth update already reflected, so a subscriber applies only updates after it, and {@link #getCommandSequence()}
+ * the engine command the books were in this state after.
+ */
+public class DepthSnapshot {
+
+    @Getter
+    private long sequence;
+    @Getter
+    private long commandSequence;
+    @Getter
+    private int bidLevels;
+    @Getter
+    private int askLevels;
+    private final long[] bidPrices;
+    private final long[] bidQuantities;
+    private final int[] bidOrderCounts;
+    private final long[] askPrices;
+    private final long[] askQuantities;
+    private final int[] askOrderCounts;
+
+    public DepthSnapshot(int maxLevels) {
+        this.bidPrices = new long[maxLevels];
+        this.bidQuantities = new long[maxLevels];
+        this.bidOrderCounts = new int[maxLevels];
+        this.askPrices = new long[maxLevels];
+        this.askQuantities = new long[maxLevels];
+        this.askOrderCounts = new int[maxLevels];
+    }
+
+    public int maxLevels() {
+        return bidPrices.length;
+    }
+
+    void fill(long sequence, long commandSequence, OrderBook buyOrderBook, OrderBook sellOrderBook) {
+        this.sequence = sequence;
+        this.commandSequence = commandSequence;
+        this.bidLevels = copy(buyOrderBook, bidPrices, bidQuantities, bidOrderCounts);
+        this.askLevels = copy(sellOrderBook, askPrices, askQuantities, askOrderCounts);
+    }
+
+    private static int copy(OrderBook orderBook, long[] prices, long[] quantities, int[] orderCounts) {
+        int count = 0;
+        for (PriceLevel level : orderBook.levels()) {
+            if (count == prices.length) {
+                break;
+            }
+            prices[count] = level.getPrice();
+            quantities[count] = level.getQuantity();
+            orderCounts[count] = level.getOrderCount();
+            count++;
+        }
+        return count;
+    }
+
+    void header(long sequence, long commandSequence, int bidLevels, int askLevels) {
+        this.sequence = sequence;
+        this.commandSequence = commandSequence;
+        this.bidLevels = bidLevels;
+        this.askLevels = askLevels;
+    }
+
+    void bid(int level, long price, long quantity, int orderCount) {
+        bidPrices[level] = price;
+        bidQuantities[level] = quantity;
+        bidOrderCounts[level] = orderCount;
+    }
+
+    void ask(int level, long price, long quantity, int orderCount) {
+        askPrices[level] = price;
+        askQuantities[level] = quantity;
+        askOrderCounts[level] = orderCount;
+    }
+
+    public long bidPrice(int level) {
+        return bidPrices[level];
+    }
+
+    public long bidQuantity(int level) {
+        return bidQuantities[level];
+    }
+
+    public int bidOrderCount(int level) {
+        return bidOrderCounts[level];
+    }
+
+    public long askPrice(int level) {
+        return askPrices[level];
+    }
+
+    public long askQuantity(int level) {
+        return askQuantities[level];
+    }
+
+    public int askOrderCount(int level) {
+        return askOrderCounts[level];
+    }
+}
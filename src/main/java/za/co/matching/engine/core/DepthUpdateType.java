@@ -0,0 +1,5 @@
+package za.co.matching.engine.core;
+
+public enum DepthUpdateType {
+    ADD, CHANGE, DELETE
+}
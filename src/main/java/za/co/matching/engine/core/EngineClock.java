@@ -0,0 +1,24 @@
+package za.co.matching.engine.core;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Source of the timestamps the engine stamps on accepted commands and trades. Keeping time behind this interface
+ * lets a replay feed back the journaled timestamps, so the rebuilt state is identical.
+ */
+public interface EngineClock {
+
+    /**
+     * @return nanoseconds since the epoch
+     */
+    long nanos();
+
+    /**
+     * Wall-clock anchored, monotonic clock: epoch time read once, then advanced by {@link System#nanoTime()}.
+     */
+    static EngineClock system() {
+        long epochNanos = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+        long startNanos = System.nanoTime();
+        return () -> epochNanos + (System.nanoTime() - startNanos);
+    }
+}
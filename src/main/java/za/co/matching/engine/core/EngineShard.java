@@ -0,0 +1,179 @@
+package za.co.matching.engine.core;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import za.co.matching.engine.ingress.OrderCommand;
+import za.co.matching.engine.ingress.OrderRingBuffer;
+import za.co.matching.engine.ingress.WaitStrategy;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.utils.SymbolTable;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A single matching thread that owns the engines of every symbol assigned to it. Commands are written into the
+ * pre-allocated slots of an {@link OrderRingBuffer} and only ever run on the shard thread, so each engine keeps a
+ * single writer and order entry does not allocate on the way in. Producers wait while the ring is full.
+ * <p>
+ * Producers register themselves before checking whether the shard is closing and deregister once their command is
+ * published, and the shard thread only stops when the shard is closing, no producer is registered and the ring is
+ * empty. A command is therefore either refused or run, never accepted and then dropped.
+ */
+@Slf4j
+public class EngineShard implements AutoCloseable {
+
+    static final int DEFAULT_CAPACITY = 16_384;
+    private static final int BATCH_SIZE = 256;
+
+    @Getter
+    private final int id;
+    private final OrderRingBuffer ring;
+    private final AtomicInteger producers = new AtomicInteger();
+    private final Function<String, MatchingEngine> engineFactory;
+    // Only touched on the shard thread: engines indexed by symbol id
+    private final SymbolTable symbols = new SymbolTable();
+    private MatchingEngine[] engines = new MatchingEngine[16];
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    EngineShard(int id, Function<String, MatchingEngine> engineFactory) {
+        this(id, DEFAULT_CAPACITY, engineFactory);
+    }
+
+    EngineShard(int id, int capacity, Function<String, MatchingEngine> engineFactory) {
+        this.id = id;
+        this.engineFactory = engineFactory;
+        this.ring = new OrderRingBuffer(capacity);
+        this.thread = new Thread(this::run, "matching-shard-" + id);
+        this.thread.start();
+    }
+
+    /**
+     * Queues a copy of {@code order}; the engine matches an order of its own pool.
+     */
+    void submit(Order order) {
+        long sequence = claim();
+        ring.get(sequence).setNew(order.getOrderId(), order.getCustomerId(), order.getSymbol(), order.getPrice(),
+                order.getQuantity(), order.getSide(), order.getOrderType(), order.getStopPrice(), order.getTimeInForce());
+        publish(sequence);
+    }
+
+    void cancel(String symbol, long orderId) {
+        long sequence = claim();
+        OrderCommand command = ring.get(sequence);
+        command.setCancel(orderId);
+        command.setSymbol(symbol);
+        publish(sequence);
+    }
+
+    void replace(String symbol, long orderId, int newQuantity, long newPrice) {
+        long sequence = claim();
+        OrderCommand command = ring.get(sequence);
+        command.setReplace(orderId, newQuantity, newPrice);
+        command.setSymbol(symbol);
+        publish(sequence);
+    }
+
+    /**
+     * Runs any other work against the engine of {@code symbol}, after every command queued before it.
+     */
+    void execute(String symbol, Consumer<MatchingEngine> task) {
+        long sequence = claim();
+        ring.get(sequence).setTask(symbol, task);
+        publish(sequence);
+    }
+
+    private long claim() {
+        producers.incrementAndGet();
+        if (!running) {
+            producers.decrementAndGet();
+            throw new IllegalStateException("Shard " + id + " has been closed");
+        }
+        return ring.next(WaitStrategy.PARK);
+    }
+
+    private void publish(long sequence) {
+        ring.publish(sequence);
+        producers.decrementAndGet();
+    }
+
+    private MatchingEngine engine(String symbol) {
+        int id = symbols.intern(symbol);
+        if (id == SymbolTable.NONE) {
+            throw new IllegalArgumentException("No engine for symbol '" + symbol + "'");
+        }
+        if (id >= engines.length) {
+            engines = Arrays.copyOf(engines, Math.max(id + 1, engines.length * 2));
+        }
+        MatchingEngine engine = engines[id];
+        if (engine == null) {
+            engine = engineFactory.apply(symbols.symbol(id));
+            engines[id] = engine;
+        }
+        return engine;
+    }
+
+    private void run() {
+        log.info("Matching shard {} started", id);
+        long next = ring.consumed() + 1;
+        int idle = 0;
+        while (true) {
+            long available = ring.highestPublished(next, next + BATCH_SIZE - 1);
+            if (available < next) {
+                // Read in this order: a producer registering after the count is read sees the shard closing and
+                // backs off, and one registered before it has published by the time the count is back to zero
+                if (!running && producers.get() == 0 && ring.cursor() < next) {
+                    break;
+                }
+                idle = WaitStrategy.PARK.idle(idle);
+                continue;
+            }
+            idle = 0;
+            for (long sequence = next; sequence <= available; sequence++) {
+                process(ring.get(sequence));
+            }
+            ring.release(available);
+            next = available + 1;
+        }
+        log.info("Matching shard {} stopped", id);
+    }
+
+    private void process(OrderCommand command) {
+        try {
+            MatchingEngine engine = engine(command.getSymbol());
+            if (command.getTask() != null) {
+                command.getTask().accept(engine);
+                return;
+            }
+            switch (command.getType()) {
+                case NEW -> engine.match(engine.getOrderPool().acquire().init(command.getOrderId(),
+                        command.getCustomerId(), command.getSymbol(), command.getPrice(), command.getQuantity(),
+                        command.getSide(), command.getOrderType(), command.getStopPrice(), command.getTimeInForce()));
+                case CANCEL -> engine.cancel(command.getOrderId());
+                case REPLACE -> engine.replace(command.getOrderId(), command.getQuantity(), command.getPrice());
+                default -> log.warn("Matching shard {} cannot run command <{}>", id, command);
+            }
+        } catch (RuntimeException e) {
+            log.error("Matching shard {} failed to process command <{}>", id, command, e);
+        } finally {
+            // Drop the task so the slot does not keep it reachable until it is reused
+            command.clear();
+        }
+    }
+
+    /**
+     * Stops accepting commands, runs every command already accepted and waits for the shard thread to exit.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
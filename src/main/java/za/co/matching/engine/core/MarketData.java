@@ -1,17 +1,33 @@
 package za.co.matching.engine.core;
 
-import lombok.AllArgsConstructor;
 import lombok.Data;
 
+/**
+ * Level-1 view of one symbol. Prices are in ticks; a side with no orders has price and quantity 0, and the mid is 0
+ * unless both sides are present. Open, high, low, close, VWAP, volume and trade count cover the current session.
+ * <p>
+ * Instances are filled by {@link MarketDataTracker#read(MarketData)} and can be reused between reads.
+ */
 @Data
-@AllArgsConstructor
 public class MarketData {
 
-    private double lastTradePrice;
-    private double bestBidPrice;
-    private double bestAskPrice;
-    private double midPrice;
-    private double openPrice;
-    private double closePrice;
+    private long sequence;
+    private long timestamp;
+
+    private long bestBidPrice;
+    private long bestBidQuantity;
+    private long bestAskPrice;
+    private long bestAskQuantity;
+    private long midPrice;
+
+    private long lastTradePrice;
+    private long lastTradeQuantity;
+    private long openPrice;
+    private long highPrice;
+    private long lowPrice;
+    private long closePrice;
+    private double vwap;
+    private long volume;
+    private long tradeCount;
 
 }
@@ -0,0 +1,181 @@
+package za.co.matching.engine.core;
+
+import za.co.matching.engine.model.TradingPhase;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Level-1 market data, updated by the matching thread in O(1) per trade and per command, and readable from any
+ * thread.
+ * <p>
+ * The matching thread works on a private set of values and publishes them once a command has finished, guarded by
+ * a version counter acting as a seqlock. Readers copy the published values and retry if a publish overlapped the
+ * copy, so they never lock, allocate or touch the books, and the matching thread never waits for them.
+ */
+public class MarketDataTracker {
+
+    private static final int SEQUENCE = 0;
+    private static final int TIMESTAMP = 1;
+    private static final int BID_PRICE = 2;
+    private static final int BID_QUANTITY = 3;
+    private static final int ASK_PRICE = 4;
+    private static final int ASK_QUANTITY = 5;
+    private static final int LAST_PRICE = 6;
+    private static final int LAST_QUANTITY = 7;
+    private static final int OPEN = 8;
+    private static final int HIGH = 9;
+    private static final int LOW = 10;
+    private static final int CLOSE = 11;
+    private static final int NOTIONAL = 12;
+    private static final int VOLUME = 13;
+    private static final int TRADE_COUNT = 14;
+    private static final int FIELDS = 15;
+
+    /**
+     * Length of the array filled by {@link #sessionState(long[])}: the last trade and the session statistics.
+     */
+    public static final int SESSION_STATE_LENGTH = FIELDS - LAST_PRICE;
+
+    // Only touched by the matching thread
+    private final long[] working = new long[FIELDS];
+
+    private final long[] published = new long[FIELDS];
+    private final AtomicLong version = new AtomicLong();
+
+    void onTrade(long price, int quantity) {
+        long[] values = working;
+        if (values[TRADE_COUNT] == 0) {
+            values[OPEN] = price;
+            values[HIGH] = price;
+            values[LOW] = price;
+        } else {
+            values[HIGH] = Math.max(values[HIGH], price);
+            values[LOW] = Math.min(values[LOW], price);
+        }
+        values[LAST_PRICE] = price;
+        values[LAST_QUANTITY] = quantity;
+        values[CLOSE] = price;
+        values[NOTIONAL] += price * quantity;
+        values[VOLUME] += quantity;
+        values[TRADE_COUNT]++;
+    }
+
+    void onBook(PriceLevel bestBid, PriceLevel bestAsk) {
+        working[BID_PRICE] = bestBid == null ? 0 : bestBid.getPrice();
+        working[BID_QUANTITY] = bestBid == null ? 0 : bestBid.getQuantity();
+        working[ASK_PRICE] = bestAsk == null ? 0 : bestAsk.getPrice();
+        working[ASK_QUANTITY] = bestAsk == null ? 0 : bestAsk.getQuantity();
+    }
+
+    /**
+     * An opening auction sets the session open and a closing auction the close, whatever traded before them.
+     */
+    void onUncross(TradingPhase auction, long price) {
+        if (auction == TradingPhase.OPENING_AUCTION) {
+            working[OPEN] = price;
+        } else if (auction == TradingPhase.CLOSING_AUCTION) {
+            working[CLOSE] = price;
+        }
+    }
+
+    /**
+     * Clears the session statistics. The book and the last trade are kept.
+     */
+    void startSession() {
+        working[OPEN] = 0;
+        working[HIGH] = 0;
+        working[LOW] = 0;
+        working[CLOSE] = 0;
+        working[NOTIONAL] = 0;
+        working[VOLUME] = 0;
+        working[TRADE_COUNT] = 0;
+    }
+
+    /**
+     * Copies the last trade and the session statistics, which cannot be rebuilt from the books, into {@code target}
+     * so a snapshot can carry them. Must run on the matching thread.
+     *
+     * @param target at least {@link #SESSION_STATE_LENGTH} long
+     * @return {@code target}
+     */
+    public long[] sessionState(long[] target) {
+        System.arraycopy(working, LAST_PRICE, target, 0, SESSION_STATE_LENGTH);
+        return target;
+    }
+
+    /**
+     * Puts back values taken by {@link #sessionState(long[])}; they are published with the next command.
+     */
+    void restoreSessionState(long[] state) {
+        System.arraycopy(state, 0, working, LAST_PRICE, SESSION_STATE_LENGTH);
+    }
+
+    void publish(long sequence, long timestamp) {
+        working[SEQUENCE] = sequence;
+        working[TIMESTAMP] = timestamp;
+
+        long next = version.get() + 1;
+        version.setOpaque(next);
+        VarHandle.storeStoreFence();
+        System.arraycopy(working, 0, published, 0, FIELDS);
+        version.setRelease(next + 1);
+    }
+
+    /**
+     * Copies the latest published values into {@code target}.
+     *
+     * @return {@code target}
+     */
+    public MarketData read(MarketData target) {
+        long sequence, timestamp, bidPrice, bidQuantity, askPrice, askQuantity, lastPrice, lastQuantity;
+        long open, high, low, close, notional, volume, tradeCount;
+        long before;
+        do {
+            before = version.getAcquire();
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            long[] values = published;
+            sequence = values[SEQUENCE];
+            timestamp = values[TIMESTAMP];
+            bidPrice = values[BID_PRICE];
+            bidQuantity = values[BID_QUANTITY];
+            askPrice = values[ASK_PRICE];
+            askQuantity = values[ASK_QUANTITY];
+            lastPrice = values[LAST_PRICE];
+            lastQuantity = values[LAST_QUANTITY];
+            open = values[OPEN];
+            high = values[HIGH];
+            low = values[LOW];
+            close = values[CLOSE];
+            notional = values[NOTIONAL];
+            volume = values[VOLUME];
+            tradeCount = values[TRADE_COUNT];
+            VarHandle.loadLoadFence();
+            if (version.getOpaque() == before) {
+                break;
+            }
+        } while (true);
+
+        target.setSequence(sequence);
+        target.setTimestamp(timestamp);
+        target.setBestBidPrice(bidPrice);
+        target.setBestBidQuantity(bidQuantity);
+        target.setBestAskPrice(askPrice);
+        target.setBestAskQuantity(askQuantity);
+        // rounded down to a whole tick
+        target.setMidPrice(bidQuantity > 0 && askQuantity > 0 ? (bidPrice + askPrice) / 2 : 0);
+        target.setLastTradePrice(lastPrice);
+        target.setLastTradeQuantity(lastQuantity);
+        target.setOpenPrice(open);
+        target.setHighPrice(high);
+        target.setLowPrice(low);
+        target.setClosePrice(close);
+        target.setVwap(volume == 0 ? 0 : (double) notional / volume);
+        target.setVolume(volume);
+        target.setTradeCount(tradeCount);
+        return target;
+    }
+}
@@ -1,86 +1,608 @@
 package za.co.matching.engine.core;
 
 import lombok.Getter;
-import lombok.extern.slf4j.Slf4j;
 import za.co.matching.engine.core.strategies.LimitOrder;
 import za.co.matching.engine.core.strategies.MarketOrder;
+import za.co.matching.engine.event.EngineEventType;
+import za.co.matching.engine.event.EventPublisher;
+import za.co.matching.engine.metrics.EngineCounter;
+import za.co.matching.engine.metrics.EngineGauge;
+import za.co.matching.engine.metrics.EngineMetrics;
 import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderStatus;
 import za.co.matching.engine.model.OrderType;
 import za.co.matching.engine.model.Side;
-import za.co.matching.engine.model.Trade;
+import za.co.matching.engine.model.TimeInForce;
+import za.co.matching.engine.model.TradingPhase;
 
-import java.util.Comparator;
+import java.util.ArrayDeque;
 
-@Slf4j
 public class MatchingEngine {
 
+    // Every resting and pending order of the books below
     @Getter
-    private final OrderBook buyOrderBook = new OrderBook(Comparator.naturalOrder());
+    private final OffHeapOrderStore orderStore = new OffHeapOrderStore();
     @Getter
-    final OrderBook sellOrderBook = new OrderBook(Comparator.reverseOrder());
+    private final OrderBook buyOrderBook = new OrderBook(Side.BUY, orderStore);
     @Getter
-    final TradeRecord tradeRecord = new TradeRecord(Comparator.naturalOrder(), this);
+    final OrderBook sellOrderBook = new OrderBook(Side.SELL, orderStore);
     @Getter
-    final OrderBook stopOrderRegistry = new OrderBook(Comparator.reverseOrder());
+    final TradeRecord tradeRecord;
+    @Getter
+    final StopOrderBook stopOrderBook = new StopOrderBook(orderStore);
+    // Market orders collected during an auction, all at price 0 and in time priority
+    @Getter
+    private final OrderBook auctionMarketBuys = new OrderBook(Side.BUY, orderStore);
+    @Getter
+    private final OrderBook auctionMarketSells = new OrderBook(Side.SELL, orderStore);
+    private final OrderBook[] auctionMarketBooks = {auctionMarketBuys, auctionMarketSells};
+    private final CallAuction callAuction = new CallAuction();
+    @Getter
+    private TradingPhase phase = TradingPhase.CONTINUOUS;
+    @Getter
+    private final MarketDataTracker marketDataTracker = new MarketDataTracker();
+    @Getter
+    private final EngineMetrics metrics = new EngineMetrics();
+    // Read side for other threads, kept current as commands run
+    @Getter
+    private final BookView bookView = new BookView(BookView.DEFAULT_LEVELS);
+    @Getter
+    private final OrderStatusTable orderStatuses = new OrderStatusTable();
+    private DepthListener depthListener = DepthListener.NONE;
+    private long depthSequence;
+    // Stops triggered by trades, released one by one once the order that traded has finished matching
+    private final ArrayDeque<Order> triggeredStops = new ArrayDeque<>();
+    private boolean releasingStops;
+
+    @Getter
+    private final OrderPool orderPool = new OrderPool(0);
+    // Filled, cancelled or rested during the current command, handed back to the pool once the command has finished
+    private final ArrayDeque<Order> finishedOrders = new ArrayDeque<>();
+    // Resting orders taken out of the store to be reported as cancelled
+    private final Order removedOrder = new Order();
+    private final LimitOrder limitOrderHandler = new LimitOrder();
+    private final MarketOrder marketOrderHandler = new MarketOrder();
+
+    private final EngineClock clock;
+    private final CommandJournal journal;
+    private final EventPublisher events;
+
+    @Getter
+    private long sequence;
+    private long currentTimestamp;
+
+    public MatchingEngine() {
+        this(EngineClock.system());
+    }
+
+    public MatchingEngine(EngineClock clock) {
+        this(clock, CommandJournal.NONE);
+    }
+
+    public MatchingEngine(EngineClock clock, CommandJournal journal) {
+        this(clock, journal, EventPublisher.NONE);
+    }
+
+    public MatchingEngine(EngineClock clock, CommandJournal journal, EventPublisher events) {
+        this(clock, journal, events, TradeRecord.DEFAULT_CAPACITY, TradeConsumer.DISCARD);
+    }
+
+    /**
+     * @param tradeHistoryCapacity number of recent trades kept in memory, a power of two
+     * @param tradeOverflow        receives each trade as it drops out of the in-memory history
+     */
+    public MatchingEngine(EngineClock clock, CommandJournal journal, EventPublisher events, int tradeHistoryCapacity,
+                          TradeConsumer tradeOverflow) {
+        this.clock = clock;
+        this.journal = journal;
+        this.events = events;
+        this.tradeRecord = new TradeRecord(tradeHistoryCapacity, tradeOverflow, this);
+    }
 
 
     public void match(Order order) {
+        long startNanos = System.nanoTime();
+        // Read up front: stops change type when triggered and finished orders go back to the pool
+        OrderType orderType = order.getOrderType();
+        TimeInForce timeInForce = order.getTimeInForce();
+        order.setSequence(++sequence);
+        order.setTimestamp(clock.nanos());
+        currentTimestamp = order.getTimestamp();
+        journal.appendNew(order);
+        publishOrder(EngineEventType.ACCEPTED, order);
+        process(order);
+        metrics.recordOrder(orderType, timeInForce, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Re-runs a journaled new order with its original sequence and timestamp, without journaling it again.
+     */
+    public void replayNew(Order order) {
+        sequence = order.getSequence();
+        currentTimestamp = order.getTimestamp();
+        publishOrder(EngineEventType.ACCEPTED, order);
+        process(order);
+    }
 
+    private void process(Order order) {
+        dispatch(order);
+        if (!releasingStops) {
+            releaseTriggeredStops();
+        }
+        finishCommand();
+    }
+
+    private void dispatch(Order order) {
         switch (order.getOrderType()) {
             case LIMIT:
-                new LimitOrder().handleOrder(order, sellOrderBook, buyOrderBook, tradeRecord);
+                if (phase.isAuction()) {
+                    collect(order, order.getSide() == Side.BUY ? buyOrderBook : sellOrderBook);
+                } else {
+                    limitOrderHandler.handleOrder(order, sellOrderBook, buyOrderBook, tradeRecord);
+                }
                 break;
             case MARKET:
-                new MarketOrder().handleOrder(order, sellOrderBook, buyOrderBook, tradeRecord);
+                if (phase.isAuction()) {
+                    collect(order, order.getSide() == Side.BUY ? auctionMarketBuys : auctionMarketSells);
+                } else {
+                    marketOrderHandler.handleOrder(order, sellOrderBook, buyOrderBook, tradeRecord);
+                }
                 break;
             case STOP:
             case STOP_LIMIT:
-                stopOrderRegistry.addOrder(order);
+                stopOrderBook.addOrder(order);
                 break;
             default:
-                log.warn("Unknown order type {}", order.getOrderType());
+                throw new IllegalStateException("Unknown order type " + order.getOrderType());
         }
+        if (order.getStatus() == OrderStatus.CANCELLED) {
+            // IOC / FOK / market order remainder
+            publishOrder(EngineEventType.CANCELLED, order);
+            metrics.increment(EngineCounter.CANCELS);
+            finishedOrders.add(order);
+        } else if (order.getStatus() != OrderStatus.FILLED) {
+            // Rested: the store holds a copy now
+            finishedOrders.add(order);
+        }
+    }
 
+    /**
+     * Queues an order for the auction without matching it. Immediate-or-cancel and fill-or-kill orders cannot wait
+     * for the uncross, so they are cancelled.
+     */
+    private void collect(Order order, OrderBook book) {
+        if (order.getTimeInForce() == TimeInForce.IOC || order.getTimeInForce() == TimeInForce.FOK) {
+            order.setStatus(OrderStatus.CANCELLED);
+        } else {
+            book.addOrder(order);
+        }
     }
 
+    /**
+     * Stops continuous matching. Until {@link #uncross} new orders are collected in the books, which may cross,
+     * while cancels, replaces and stops work as usual.
+     */
+    public void startAuction(TradingPhase auction) {
+        if (!auction.isAuction()) {
+            throw new IllegalArgumentException("Not an auction phase: " + auction);
+        }
+        if (phase.isAuction()) {
+            throw new IllegalStateException("Already in " + phase);
+        }
+        long commandSequence = ++sequence;
+        currentTimestamp = clock.nanos();
+        journal.appendStartAuction(commandSequence, currentTimestamp, auction);
+        applyStartAuction(auction);
+    }
+
+    public void replayStartAuction(long commandSequence, long timestamp, TradingPhase auction) {
+        sequence = commandSequence;
+        currentTimestamp = timestamp;
+        applyStartAuction(auction);
+    }
+
+    private void applyStartAuction(TradingPhase auction) {
+        phase = auction;
+        finishCommand();
+    }
+
+    /**
+     * Uncrosses the auction with the last trade price as the reference price.
+     */
+    public AuctionResult uncross() {
+        return uncross(tradeRecord.isEmpty() ? 0 : tradeRecord.lastPrice());
+    }
+
+    /**
+     * Executes every collected order that can trade at the equilibrium price as one batch of trades at that price,
+     * sets the session open or close to it, cancels unfilled market orders and returns to continuous matching.
+     * Stops triggered by the auction trades run once the batch is complete.
+     *
+     * @param referencePrice breaks ties between otherwise equal prices, and prices an auction of market orders only
+     */
+    public AuctionResult uncross(long referencePrice) {
+        if (!phase.isAuction()) {
+            throw new IllegalStateException("No auction to uncross in " + phase);
+        }
+        long commandSequence = ++sequence;
+        currentTimestamp = clock.nanos();
+        journal.appendUncross(commandSequence, currentTimestamp, referencePrice);
+        return applyUncross(referencePrice);
+    }
+
+    public AuctionResult replayUncross(long commandSequence, long timestamp, long referencePrice) {
+        sequence = commandSequence;
+        currentTimestamp = timestamp;
+        return applyUncross(referencePrice);
+    }
+
+    private AuctionResult applyUncross(long referencePrice) {
+        AuctionResult result = callAuction.equilibrium(buyOrderBook, sellOrderBook,
+                auctionMarketBuys.isEmpty() ? 0 : auctionMarketBuys.bestLevel().getQuantity(),
+                auctionMarketSells.isEmpty() ? 0 : auctionMarketSells.bestLevel().getQuantity(),
+                referencePrice);
+        TradingPhase auction = phase;
+        phase = TradingPhase.CONTINUOUS;
+        if (result.traded()) {
+            callAuction.execute(result, buyOrderBook, sellOrderBook, auctionMarketBuys, auctionMarketSells, tradeRecord);
+            marketDataTracker.onUncross(auction, result.price());
+        }
+        for (OrderBook book : auctionMarketBooks) {
+            cancelAuctionMarketOrders(book);
+        }
+        releaseTriggeredStops();
+        finishCommand();
+        return result;
+    }
+
+    private void cancelAuctionMarketOrders(OrderBook book) {
+        int handle;
+        while ((handle = book.bestHandle()) != OffHeapOrderStore.NONE) {
+            Order order = orderStore.read(handle, removedOrder);
+            book.removeOrder(handle);
+            order.setStatus(OrderStatus.CANCELLED);
+            publishOrder(EngineEventType.CANCELLED, order);
+            metrics.increment(EngineCounter.CANCELS);
+        }
+        // Not part of the published depth; this only recycles the emptied levels
+        book.publishDepth(0, DepthListener.NONE);
+    }
+
+    /**
+     * Cancels a resting or pending stop order.
+     *
+     * @return false when no open order with this id exists
+     */
+    public boolean cancel(long orderId) {
+        long commandSequence = ++sequence;
+        currentTimestamp = clock.nanos();
+        journal.appendCancel(commandSequence, currentTimestamp, orderId);
+        return applyCancel(orderId);
+    }
+
+    public boolean replayCancel(long commandSequence, long timestamp, long orderId) {
+        sequence = commandSequence;
+        currentTimestamp = timestamp;
+        return applyCancel(orderId);
+    }
+
+    private boolean applyCancel(long orderId) {
+        Order order = removeOpenOrder(orderId, removedOrder);
+        if (order == null) {
+            reject(orderId);
+            return false;
+        }
+        order.setStatus(OrderStatus.CANCELLED);
+        publishOrder(EngineEventType.CANCELLED, order);
+        metrics.increment(EngineCounter.CANCELS);
+        finishCommand();
+        return true;
+    }
+
+    /**
+     * Reports a cancel or replace that found no open order as an event, so it reaches the audit log without a log
+     * call on the matching thread.
+     */
+    private void reject(long orderId) {
+        metrics.increment(EngineCounter.REJECTS);
+        events.publishOrder(EngineEventType.REJECTED, currentTimestamp,
+                removedOrder.init(orderId, 0, null, 0, 0, null, null, -1L, null));
+    }
+
+    /**
+     * Amends the total quantity and price of an open order. A pure quantity reduction keeps the order's time
+     * priority, any other amendment takes it out of the book and re-submits it, so it queues behind orders already
+     * resting at the new price and may trade immediately if it now crosses. For a stop or stop-limit order that has
+     * not triggered yet the price is its new stop price; a stop-limit keeps its limit price.
+     *
+     * @return false when no open order with this id exists
+     */
+    public boolean replace(long orderId, int newQuantity, long newPrice) {
+        if (newQuantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive: " + newQuantity);
+        }
+        long commandSequence = ++sequence;
+        currentTimestamp = clock.nanos();
+        journal.appendReplace(commandSequence, currentTimestamp, orderId, newQuantity, newPrice);
+        return applyReplace(orderId, newQuantity, newPrice);
+    }
+
+    public boolean replayReplace(long commandSequence, long timestamp, long orderId, int newQuantity, long newPrice) {
+        sequence = commandSequence;
+        currentTimestamp = timestamp;
+        return applyReplace(orderId, newQuantity, newPrice);
+    }
+
+    private boolean applyReplace(long orderId, int newQuantity, long newPrice) {
+        int handle = findOpenOrder(orderId);
+        if (handle == OffHeapOrderStore.NONE) {
+            reject(orderId);
+            return false;
+        }
+        if (newQuantity <= orderStore.filledQuantity(handle)) {
+            return applyCancel(orderId);
+        }
+
+        OrderBook orderBook = orderStore.side(handle) == Side.BUY ? buyOrderBook : sellOrderBook;
+        if (newPrice == orderStore.price(handle) && newQuantity <= orderStore.quantity(handle) && orderBook.find(orderId) == handle) {
+            orderBook.reduceQuantity(handle, newQuantity);
+            publishOrder(EngineEventType.REPLACED, orderBook.view(handle));
+            metrics.increment(EngineCounter.REPLACES);
+            finishCommand();
+            return true;
+        }
+
+        boolean pendingStop = stopOrderBook.find(orderId) == handle;
+        // Re-submitted, so it leaves the store as a pooled order and rests again, if at all, as a new copy
+        Order order = removeOpenOrder(orderId, orderPool.acquire());
+        if (pendingStop) {
+            // Queued again under its new trigger
+            order.setStopPrice(newPrice);
+        } else {
+            order.setPrice(newPrice);
+        }
+        order.setQuantity(newQuantity);
+        order.setRemainingQuantity(newQuantity - order.getFilledQuantity());
+        order.setSequence(sequence);
+        publishOrder(EngineEventType.REPLACED, order);
+        metrics.increment(EngineCounter.REPLACES);
+        process(order);
+        return true;
+    }
+
+    /**
+     * Timestamp of the command being processed (or last processed), used to stamp the trades it produces.
+     */
+    public long currentTimestamp() {
+        return currentTimestamp;
+    }
+
+    /**
+     * Puts an order taken from a snapshot straight back into its book or the stop registry, without matching it.
+     * Only meant for rebuilding an empty engine, in the order the orders were queued.
+     */
+    public void restoreOrder(Order order) {
+        orderStatuses.put(order, sequence);
+        switch (order.getOrderType()) {
+            case STOP, STOP_LIMIT -> stopOrderBook.addOrder(order);
+            case MARKET -> (order.getSide() == Side.BUY ? auctionMarketBuys : auctionMarketSells).addOrder(order);
+            default -> (order.getSide() == Side.BUY ? buyOrderBook : sellOrderBook).addOrder(order);
+        }
+    }
+
+    public void restorePhase(TradingPhase phase) {
+        this.phase = phase;
+    }
+
+    /**
+     * Restores the last trade and session statistics taken from a snapshot by
+     * {@link MarketDataTracker#sessionState(long[])}.
+     */
+    public void restoreSession(long[] state) {
+        marketDataTracker.restoreSessionState(state);
+    }
+
+    /**
+     * Sets the command sequence and time a snapshot was taken at, so journaled commands after it continue from there.
+     */
+    public void restoreSequence(long sequence, long timestamp) {
+        this.sequence = sequence;
+        this.currentTimestamp = timestamp;
+        finishCommand();
+    }
+
+    /**
+     * @return the handle of the open order with this id in any book, or {@link OffHeapOrderStore#NONE}
+     */
+    private int findOpenOrder(long orderId) {
+        int handle = buyOrderBook.find(orderId);
+        if (handle == OffHeapOrderStore.NONE) {
+            handle = sellOrderBook.find(orderId);
+        }
+        if (handle == OffHeapOrderStore.NONE) {
+            handle = stopOrderBook.find(orderId);
+        }
+        for (int i = 0; handle == OffHeapOrderStore.NONE && i < auctionMarketBooks.length; i++) {
+            handle = auctionMarketBooks[i].find(orderId);
+        }
+        return handle;
+    }
+
+    /**
+     * Takes an open order out of its book, reading it into {@code target} first.
+     *
+     * @return target, or null when no open order with this id exists
+     */
+    private Order removeOpenOrder(long orderId, Order target) {
+        int handle = buyOrderBook.find(orderId);
+        if (handle != OffHeapOrderStore.NONE) {
+            orderStore.read(handle, target);
+            buyOrderBook.removeOrder(handle);
+            return target;
+        }
+        handle = sellOrderBook.find(orderId);
+        if (handle != OffHeapOrderStore.NONE) {
+            orderStore.read(handle, target);
+            sellOrderBook.removeOrder(handle);
+            return target;
+        }
+        handle = stopOrderBook.find(orderId);
+        if (handle != OffHeapOrderStore.NONE) {
+            orderStore.read(handle, target);
+            stopOrderBook.removeOrder(handle);
+            return target;
+        }
+        for (OrderBook book : auctionMarketBooks) {
+            handle = book.find(orderId);
+            if (handle != OffHeapOrderStore.NONE) {
+                orderStore.read(handle, target);
+                book.removeOrder(handle);
+                return target;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Level-1 data as of the last completed command. Safe to call from any thread; use
+     * {@code getMarketDataTracker().read(target)} to avoid allocating.
+     */
     public MarketData getMarketData() {
-        return new MarketData(
-                tradeRecord.trades().getLast().getPrice(),
-                buyOrderBook.orders().getLast().getPrice(),
-                sellOrderBook.orders().getLast().getPrice(),
-                (buyOrderBook.orders().getLast().getPrice() +
-                        sellOrderBook.orders().getLast().getPrice()) / 2,
-                0,
-                0
-        );
-    }
-
-
-    public void triggerStop(Trade trade) {
-        stopOrderRegistry.orders().forEach(order -> {
-            if (order.getOrderType().equals(OrderType.STOP)) {
-                if (trade.getPrice() <= order.getStopPrice() && order.getSide().equals(Side.SELL)) {
-                    log.info("Executing STOP_SELL order trigger reached ==> <tigger:{}> && <market:{}>", order.getStopPrice(), trade.getPrice());
-                    order.setOrderType(OrderType.MARKET);
-                    match(order);
-                } else if (trade.getPrice() >= order.getStopPrice() && order.getSide().equals(Side.BUY)) {
-                    log.info("Executing STOP_BUY order trigger reached ==> <tigger:{}> && <market:{}>", order.getStopPrice(), trade.getPrice());
+        return marketDataTracker.read(new MarketData());
+    }
+
+    /**
+     * Starts a new trading session, clearing open/high/low/close, VWAP, volume and trade count. Must run on the
+     * thread that owns the engine.
+     */
+    public void startSession() {
+        long commandSequence = ++sequence;
+        currentTimestamp = clock.nanos();
+        journal.appendStartSession(commandSequence, currentTimestamp);
+        applyStartSession();
+    }
+
+    public void replayStartSession(long commandSequence, long timestamp) {
+        sequence = commandSequence;
+        currentTimestamp = timestamp;
+        applyStartSession();
+    }
+
+    private void applyStartSession() {
+        marketDataTracker.startSession();
+        finishCommand();
+    }
+
+    /**
+     * Receives level-2 updates from now on. Set it before the first command, or resynchronise with
+     * {@link #depthSnapshot} straight after.
+     */
+    public void setDepthListener(DepthListener depthListener) {
+        this.depthListener = depthListener;
+    }
+
+    /**
+     * Fills {@code target} with up to {@link DepthSnapshot#maxLevels()} of the best levels per side. Must run on the
+     * thread that owns the engine; other threads read the published {@link #getBookView()} instead.
+     */
+    public DepthSnapshot depthSnapshot(DepthSnapshot target) {
+        target.fill(depthSequence, sequence, buyOrderBook, sellOrderBook);
+        return target;
+    }
+
+    /**
+     * State of the open order with this id as of the command returned, or {@link OrderStatusTable#NOT_FOUND}. Safe to
+     * call from any thread.
+     */
+    public long orderStatus(long orderId, Order target) {
+        return orderStatuses.find(orderId, target);
+    }
+
+    /**
+     * Publishes the market data, book view and gauges a command changed and recycles the orders it finished.
+     */
+    private void finishCommand() {
+        marketDataTracker.onBook(buyOrderBook.bestLevel(), sellOrderBook.bestLevel());
+        marketDataTracker.publish(sequence, currentTimestamp);
+        metrics.gauge(EngineGauge.BID_ORDERS, buyOrderBook.size());
+        metrics.gauge(EngineGauge.ASK_ORDERS, sellOrderBook.size());
+        metrics.gauge(EngineGauge.BID_LEVELS, buyOrderBook.levelCount());
+        metrics.gauge(EngineGauge.ASK_LEVELS, sellOrderBook.levelCount());
+        metrics.gauge(EngineGauge.STOP_ORDERS, stopOrderBook.size());
+        boolean booksChanged = buyOrderBook.hasUnpublishedDepth() || sellOrderBook.hasUnpublishedDepth();
+        depthSequence = buyOrderBook.publishDepth(depthSequence, depthListener);
+        depthSequence = sellOrderBook.publishDepth(depthSequence, depthListener);
+        if (booksChanged) {
+            bookView.publish(sequence, depthSequence, buyOrderBook, sellOrderBook);
+        }
+        Order order;
+        while ((order = finishedOrders.poll()) != null) {
+            orderPool.release(order);
+        }
+    }
+
+
+    /**
+     * Publishes a trade recorded by {@link TradeRecord} together with the new state of both orders, then looks for
+     * stops it triggers. The market data picks the trade up when the command finishes.
+     */
+    void onTrade(Order buyOrder, Order sellOrder, long price, int quantity) {
+        marketDataTracker.onTrade(price, quantity);
+        metrics.recordTrade(quantity);
+        events.publishTrade(currentTimestamp, buyOrder, sellOrder, price, quantity);
+        publishFill(buyOrder);
+        publishFill(sellOrder);
+        triggerStop(price);
+    }
+
+    /**
+     * Reports an order event and records the order's new state for {@link #orderStatus} readers.
+     */
+    private void publishOrder(EngineEventType type, Order order) {
+        if (type == EngineEventType.FILLED || type == EngineEventType.CANCELLED) {
+            orderStatuses.remove(order.getOrderId());
+        } else {
+            orderStatuses.put(order, sequence);
+        }
+        events.publishOrder(type, currentTimestamp, order);
+    }
+
+    private void publishFill(Order order) {
+        if (order.getStatus() == OrderStatus.FILLED) {
+            publishOrder(EngineEventType.FILLED, order);
+            metrics.increment(EngineCounter.FILLS);
+            finishedOrders.add(order);
+        } else {
+            publishOrder(EngineEventType.PARTIALLY_FILLED, order);
+        }
+    }
+
+    /**
+     * Pulls the stops this trade triggers out of the stop book. They are queued rather than matched here, because the
+     * order that produced the trade may still be sweeping the book.
+     */
+    private void triggerStop(long tradePrice) {
+        stopOrderBook.drainTriggered(tradePrice, triggeredStops, orderPool);
+    }
+
+    /**
+     * Matches triggered stops one at a time until no more are pending. Trades they produce can trigger further stops,
+     * which join the same queue instead of recursing.
+     */
+    private void releaseTriggeredStops() {
+        releasingStops = true;
+        try {
+            Order order;
+            while ((order = triggeredStops.poll()) != null) {
+                if (order.getOrderType().equals(OrderType.STOP)) {
                     order.setOrderType(OrderType.MARKET);
-                    match(order);
-                }
-            } else if (order.getOrderType().equals(OrderType.STOP_LIMIT)) {
-                if (trade.getPrice() <= order.getStopPrice() && order.getSide().equals(Side.SELL)) {
-                    log.info("Executing STOP_LIMIT_SELL order trigger reached ==> <tigger:{}> && <market:{}>", order.getStopPrice(), trade.getPrice());
+                } else {
                     order.setOrderType(OrderType.LIMIT);
-                    match(order);
-                } else if (trade.getPrice() >= order.getStopPrice() && order.getSide().equals(Side.BUY)) {
-                    log.info("Executing STOP_LIMIT_BUY order trigger reached ==> <tigger:{}> && <market:{}>", order.getStopPrice(), trade.getPrice());
-                    order.setOrderType(OrderType.LIMIT);
-                    match(order);
                 }
+                dispatch(order);
             }
-
-        });
-
+        } finally {
+            releasingStops = false;
+        }
     }
 }
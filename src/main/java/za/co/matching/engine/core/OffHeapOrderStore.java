@@ -0,0 +1,283 @@
+package za.co.matching.engine.core;
+
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderStatus;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+import za.co.matching.engine.utils.SymbolTable;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Resting orders of one engine, kept off the heap in fixed-size slots of a {@link MemorySegment} and addressed by
+ * int handles. The books link their orders through the slots' prev/next handles, so however deep they get the heap
+ * holds no per-order objects for the GC to trace; an {@link Order} is only materialised, into a caller's instance,
+ * when an order is reported or leaves the book. Freed slots are chained into a free list through their next handle
+ * and reused first. When every slot is taken the store doubles into a new segment. Each segment comes from an
+ * automatic arena of its own, which frees the memory once the segment is no longer reachable, so the old segment
+ * is released by the GC after the copy.
+ * <p>
+ * Symbols are stored as their {@link SymbolTable} id. Only used from the thread that owns the engine.
+ */
+public class OffHeapOrderStore {
+
+    /**
+     * The handle of no order: an empty list, the end of a list or a failed lookup.
+     */
+    public static final int NONE = -1;
+
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG;
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT;
+    private static final ValueLayout.OfByte BYTE = ValueLayout.JAVA_BYTE;
+
+    private static final long ORDER_ID = 0;
+    private static final long CUSTOMER_ID = 8;
+    private static final long PRICE = 16;
+    private static final long STOP_PRICE = 24;
+    private static final long TIMESTAMP = 32;
+    private static final long SEQUENCE = 40;
+    private static final long QUANTITY = 48;
+    private static final long FILLED = 52;
+    private static final long PREV = 56;
+    private static final long NEXT = 60;
+    private static final long SYMBOL = 64;
+    private static final long SIDE = 68;
+    private static final long STATUS = 69;
+    private static final long TYPE = 70;
+    private static final long TIME_IN_FORCE = 71;
+    public static final int SLOT_SIZE = 72;
+
+    private static final Side[] SIDES = Side.values();
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final OrderType[] ORDER_TYPES = OrderType.values();
+    private static final TimeInForce[] TIME_IN_FORCES = TimeInForce.values();
+
+    private MemorySegment slots;
+    private int capacity;
+    // Slots below this have been handed out at least once; the rest have never been used
+    private int highWater;
+    private int freeHead = NONE;
+    private int size;
+
+    private final SymbolTable symbols = new SymbolTable();
+    // Orders of one engine nearly always share a symbol, so the last one skips even the table lookup
+    private String lastSymbol;
+    private int lastSymbolId = SymbolTable.NONE;
+
+    public OffHeapOrderStore() {
+        this(1024);
+    }
+
+    public OffHeapOrderStore(int initialCapacity) {
+        this.capacity = Math.max(initialCapacity, 16);
+        this.slots = allocateSlots(capacity);
+    }
+
+    /**
+     * Copies {@code order} into a free slot, unlinked.
+     *
+     * @return the slot's handle
+     */
+    public int allocate(Order order) {
+        int handle = takeSlot();
+        long base = offset(handle);
+        slots.set(LONG, base + ORDER_ID, order.getOrderId());
+        slots.set(LONG, base + CUSTOMER_ID, order.getCustomerId());
+        slots.set(LONG, base + PRICE, order.getPrice());
+        slots.set(LONG, base + STOP_PRICE, order.getStopPrice());
+        slots.set(LONG, base + TIMESTAMP, order.getTimestamp());
+        slots.set(LONG, base + SEQUENCE, order.getSequence());
+        slots.set(INT, base + QUANTITY, order.getQuantity());
+        slots.set(INT, base + FILLED, order.getFilledQuantity());
+        slots.set(INT, base + PREV, NONE);
+        slots.set(INT, base + NEXT, NONE);
+        slots.set(INT, base + SYMBOL, symbolId(order.getSymbol()));
+        slots.set(BYTE, base + SIDE, ordinal(order.getSide()));
+        slots.set(BYTE, base + STATUS, ordinal(order.getStatus()));
+        slots.set(BYTE, base + TYPE, ordinal(order.getOrderType()));
+        slots.set(BYTE, base + TIME_IN_FORCE, ordinal(order.getTimeInForce()));
+        size++;
+        return handle;
+    }
+
+    /**
+     * Returns a slot to the free list. Its handle must not be used afterwards.
+     */
+    public void free(int handle) {
+        slots.set(INT, offset(handle) + NEXT, freeHead);
+        freeHead = handle;
+        size--;
+    }
+
+    /**
+     * Copies the order in slot {@code handle} into {@code target}, leaving the target's pool membership alone.
+     *
+     * @return target
+     */
+    public Order read(int handle, Order target) {
+        long base = offset(handle);
+        target.init(slots.get(LONG, base + ORDER_ID), slots.get(LONG, base + CUSTOMER_ID), symbol(handle),
+                slots.get(LONG, base + PRICE), slots.get(INT, base + QUANTITY), side(handle), orderType(handle),
+                slots.get(LONG, base + STOP_PRICE), timeInForce(handle));
+        target.setFilledQuantity(filledQuantity(handle));
+        target.setRemainingQuantity(remainingQuantity(handle));
+        target.setStatus(status(handle));
+        target.setTimestamp(slots.get(LONG, base + TIMESTAMP));
+        target.setSequence(slots.get(LONG, base + SEQUENCE));
+        return target;
+    }
+
+    public long orderId(int handle) {
+        return slots.get(LONG, offset(handle) + ORDER_ID);
+    }
+
+    public String symbol(int handle) {
+        return symbols.symbol(slots.get(INT, offset(handle) + SYMBOL));
+    }
+
+    public long price(int handle) {
+        return slots.get(LONG, offset(handle) + PRICE);
+    }
+
+    public long stopPrice(int handle) {
+        return slots.get(LONG, offset(handle) + STOP_PRICE);
+    }
+
+    public int quantity(int handle) {
+        return slots.get(INT, offset(handle) + QUANTITY);
+    }
+
+    public int filledQuantity(int handle) {
+        return slots.get(INT, offset(handle) + FILLED);
+    }
+
+    public int remainingQuantity(int handle) {
+        long base = offset(handle);
+        return slots.get(INT, base + QUANTITY) - slots.get(INT, base + FILLED);
+    }
+
+    public Side side(int handle) {
+        byte ordinal = slots.get(BYTE, offset(handle) + SIDE);
+        return ordinal < 0 ? null : SIDES[ordinal];
+    }
+
+    public OrderStatus status(int handle) {
+        byte ordinal = slots.get(BYTE, offset(handle) + STATUS);
+        return ordinal < 0 ? null : STATUSES[ordinal];
+    }
+
+    public OrderType orderType(int handle) {
+        byte ordinal = slots.get(BYTE, offset(handle) + TYPE);
+        return ordinal < 0 ? null : ORDER_TYPES[ordinal];
+    }
+
+    public TimeInForce timeInForce(int handle) {
+        byte ordinal = slots.get(BYTE, offset(handle) + TIME_IN_FORCE);
+        return ordinal < 0 ? null : TIME_IN_FORCES[ordinal];
+    }
+
+    /**
+     * Next order in the same level, or {@link #NONE}.
+     */
+    public int next(int handle) {
+        return slots.get(INT, offset(handle) + NEXT);
+    }
+
+    int prev(int handle) {
+        return slots.get(INT, offset(handle) + PREV);
+    }
+
+    void next(int handle, int next) {
+        slots.set(INT, offset(handle) + NEXT, next);
+    }
+
+    void prev(int handle, int prev) {
+        slots.set(INT, offset(handle) + PREV, prev);
+    }
+
+    /**
+     * Adds a fill to the order and updates its status.
+     *
+     * @return the quantity still open
+     */
+    int fill(int handle, int quantity) {
+        long base = offset(handle);
+        int filled = slots.get(INT, base + FILLED) + quantity;
+        slots.set(INT, base + FILLED, filled);
+        int remaining = slots.get(INT, base + QUANTITY) - filled;
+        slots.set(BYTE, base + STATUS, ordinal(remaining == 0 ? OrderStatus.FILLED : OrderStatus.PARTIALLY_FULFILLED));
+        return remaining;
+    }
+
+    void quantity(int handle, int quantity) {
+        slots.set(INT, offset(handle) + QUANTITY, quantity);
+    }
+
+    /**
+     * Orders currently stored.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Off-heap bytes reserved for slots.
+     */
+    public long byteSize() {
+        return slots.byteSize();
+    }
+
+    private int takeSlot() {
+        if (freeHead != NONE) {
+            int handle = freeHead;
+            freeHead = next(handle);
+            return handle;
+        }
+        if (highWater == capacity) {
+            grow();
+        }
+        return highWater++;
+    }
+
+    private void grow() {
+        int newCapacity = capacity * 2;
+        MemorySegment grown = allocateSlots(newCapacity);
+        MemorySegment.copy(slots, 0, grown, 0, slots.byteSize());
+        slots = grown;
+        capacity = newCapacity;
+    }
+
+    // One arena per segment: an automatic arena frees its memory only once the arena itself is unreachable, so a
+    // shared one would keep every outgrown segment alive for the life of the store
+    private static MemorySegment allocateSlots(int capacity) {
+        return Arena.ofAuto().allocate((long) capacity * SLOT_SIZE, Long.BYTES);
+    }
+
+    private int symbolId(String symbol) {
+        if (symbol != lastSymbol) {
+            lastSymbolId = symbols.intern(symbol);
+            lastSymbol = symbol;
+        }
+        return lastSymbolId;
+    }
+
+    private static long offset(int handle) {
+        return (long) handle * SLOT_SIZE;
+    }
+
+    private static byte ordinal(Enum<?> value) {
+        return (byte) (value == null ? -1 : value.ordinal());
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapOrderStore(orders=" + size + ", capacity=" + capacity + ")";
+    }
+}
@@ -1,19 +1,332 @@
 package za.co.matching.engine.core;
 
+import lombok.Getter;
 import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.utils.LongIntHashMap;
+import za.co.matching.engine.utils.LongObjectHashMap;
 
-import java.util.Comparator;
-import java.util.TreeSet;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
-public record OrderBook(TreeSet<Order> orders) {
+/**
+ * One side of the book. Levels are kept in a sorted array with the best price last, so the best level is read, and
+ * usually removed, without shifting anything, and levels near the top of the book are inserted with short copies.
+ * A price lookup table lets orders join an existing level without searching. Within a level orders keep arrival
+ * (FIFO) order. Resting orders are also indexed by order id so they can be found and removed in O(1).
+ * <p>
+ * The orders themselves live in an {@link OffHeapOrderStore}, shared by the books of one engine, and are referred to
+ * by handle. {@link #view} reads one into an order kept by the book, so the matching path never allocates one.
+ * <p>
+ * Emptied levels are recycled, and none of the lookups box their keys, so a book that stays within its working size
+ * does not allocate.
+ * <p>
+ * Levels touched since the last {@link #publishDepth} are remembered, so depth updates cost O(changed levels).
+ */
+public class OrderBook {
 
-    public OrderBook(Comparator<Order> orderComparator) {
-        this(new TreeSet<>(orderComparator));
+    @Getter
+    private final Side side;
+    @Getter
+    private final OffHeapOrderStore store;
+    // Scratch order that view() reads resting orders into
+    private final Order view = new Order();
+    // Worst price first, best price last
+    private PriceLevel[] ladder = new PriceLevel[64];
+    private int levelCount;
+    private final LongObjectHashMap<PriceLevel> levelsByPrice = new LongObjectHashMap<>();
+    private final LongIntHashMap handlesById = new LongIntHashMap(1024, OffHeapOrderStore.NONE);
+    private final ArrayList<PriceLevel> changedLevels = new ArrayList<>();
+    private PriceLevel[] freeLevels = new PriceLevel[64];
+    private int freeLevelCount;
+    private final List<PriceLevel> levelsView = new AbstractList<>() {
+        @Override
+        public PriceLevel get(int index) {
+            return level(index);
+        }
+
+        @Override
+        public int size() {
+            return levelCount;
+        }
+    };
+    private int size;
+
+    /**
+     * A book with a store of its own.
+     */
+    public OrderBook(Side side) {
+        this(side, new OffHeapOrderStore());
+    }
+
+    public OrderBook(Side side, OffHeapOrderStore store) {
+        this.side = side;
+        this.store = store;
+    }
+
+    /**
+     * Copies {@code order} into the store and queues it at its price. The order object itself is not kept.
+     *
+     * @return the resting order's handle
+     */
+    public int addOrder(Order order) {
+        int handle = store.allocate(order);
+        PriceLevel level = levelsByPrice.get(order.getPrice());
+        if (level == null) {
+            level = newLevel(order.getPrice());
+            insertLevel(level);
+            levelsByPrice.put(order.getPrice(), level);
+        }
+        level.append(handle);
+        changed(level);
+        handlesById.put(order.getOrderId(), handle);
+        size++;
+        return handle;
+    }
+
+    /**
+     * Takes a resting order out of the book and frees its slot, so {@code handle} must not be used afterwards.
+     */
+    public void removeOrder(int handle) {
+        long price = store.price(handle);
+        PriceLevel level = levelsByPrice.get(price);
+        if (level == null) {
+            return;
+        }
+        level.remove(handle);
+        changed(level);
+        handlesById.remove(store.orderId(handle));
+        store.free(handle);
+        size--;
+        if (level.isEmpty()) {
+            removeLevel(level);
+            levelsByPrice.remove(price);
+        }
+    }
+
+    /**
+     * @return the handle of the resting order with this id, or {@link OffHeapOrderStore#NONE}
+     */
+    public int find(long orderId) {
+        return handlesById.get(orderId);
+    }
+
+    /**
+     * A copy of the resting order with this id, or null. Allocates; the matching path uses {@link #find}.
+     */
+    public Order findOrder(long orderId) {
+        int handle = find(orderId);
+        return handle == OffHeapOrderStore.NONE ? null : store.read(handle, new Order());
+    }
+
+    /**
+     * Reads a resting order into an order owned by this book, valid until the next call. Consumers that keep it must
+     * copy it.
+     */
+    public Order view(int handle) {
+        return store.read(handle, view);
+    }
+
+    /**
+     * Lowers the total quantity of a resting order in place, so it keeps its position in the level.
+     */
+    public void reduceQuantity(int handle, int newQuantity) {
+        PriceLevel level = levelsByPrice.get(store.price(handle));
+        if (level != null) {
+            level.reduce(store.quantity(handle) - newQuantity);
+            changed(level);
+        }
+        store.quantity(handle, newQuantity);
+    }
+
+    /**
+     * Fills a resting order, takes the fill off its level's quantity and removes the order once nothing is left.
+     *
+     * @return the order after the fill, as a {@link #view}
+     */
+    public Order fill(int handle, int quantity) {
+        store.fill(handle, quantity);
+        PriceLevel level = levelsByPrice.get(store.price(handle));
+        level.reduce(quantity);
+        changed(level);
+        Order order = view(handle);
+        if (order.getRemainingQuantity() == 0) {
+            removeOrder(handle);
+        }
+        return order;
+    }
+
+    private void changed(PriceLevel level) {
+        if (!level.changed) {
+            level.changed = true;
+            changedLevels.add(level);
+        }
+    }
+
+    /**
+     * Whether any level changed since the last {@link #publishDepth}.
+     */
+    boolean hasUnpublishedDepth() {
+        return !changedLevels.isEmpty();
+    }
+
+    /**
+     * Reports every level whose quantity or order count differs from what was last reported, in the order they
+     * were first touched. A level emptied and re-created at the same price is reported as a delete and an add.
+     * Emptied levels are recycled once they have been reported.
+     *
+     * @return the last sequence used
+     */
+    long publishDepth(long sequence, DepthListener listener) {
+        for (int i = 0; i < changedLevels.size(); i++) {
+            PriceLevel level = changedLevels.get(i);
+            level.changed = false;
+            if (level.isEmpty()) {
+                if (level.published) {
+                    listener.onDepthUpdate(++sequence, DepthUpdateType.DELETE, side, level.getPrice(), 0, 0);
+                }
+                freeLevel(level);
+            } else if (!level.published || level.publishedQuantity != level.getQuantity()
+                    || level.publishedOrderCount != level.getOrderCount()) {
+                DepthUpdateType type = level.published ? DepthUpdateType.CHANGE : DepthUpdateType.ADD;
+                level.published = true;
+                level.publishedQuantity = level.getQuantity();
+                level.publishedOrderCount = level.getOrderCount();
+                listener.onDepthUpdate(++sequence, type, side, level.getPrice(), level.getQuantity(), level.getOrderCount());
+            }
+        }
+        changedLevels.clear();
+        return sequence;
+    }
+
+    /**
+     * Quantity resting at {@code limitPrice} or better for an incoming order on the other side, counted from the
+     * per-level totals and only until {@code wanted} is reached, so it costs O(levels touched) however many orders
+     * rest on them.
+     *
+     * @return at most {@code wanted} once enough is available, otherwise everything available
+     */
+    public long availableQuantity(long limitPrice, long wanted) {
+        long available = 0;
+        for (int i = levelCount - 1; i >= 0 && available < wanted; i--) {
+            PriceLevel level = ladder[i];
+            if (isBetter(limitPrice, level.getPrice())) {
+                break;
+            }
+            available += level.getQuantity();
+        }
+        return available;
     }
 
-    public void addOrder(Order order) {
-        this.orders.add(order);
+    public PriceLevel bestLevel() {
+        return levelCount == 0 ? null : ladder[levelCount - 1];
     }
 
+    /**
+     * @return the handle of the first order at the best price, or {@link OffHeapOrderStore#NONE}
+     */
+    public int bestHandle() {
+        return levelCount == 0 ? OffHeapOrderStore.NONE : ladder[levelCount - 1].getHead();
+    }
+
+    /**
+     * A copy of the first order at the best price, or null. Allocates; the matching path uses {@link #bestHandle}.
+     */
+    public Order bestOrder() {
+        return levelCount == 0 ? null : store.read(bestHandle(), new Order());
+    }
+
+    /**
+     * Levels ordered from the best price outwards. A live view; iterating it allocates, {@link #level(int)} does not.
+     */
+    public List<PriceLevel> levels() {
+        return levelsView;
+    }
+
+    /**
+     * @param index 0 for the best level, counting outwards
+     */
+    public PriceLevel level(int index) {
+        if (index < 0 || index >= levelCount) {
+            throw new IndexOutOfBoundsException("Level " + index + " of " + levelCount);
+        }
+        return ladder[levelCount - 1 - index];
+    }
+
+    public int levelCount() {
+        return levelCount;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
 
+    private boolean isBetter(long price, long than) {
+        return side == Side.BUY ? price > than : price < than;
+    }
+
+    /**
+     * Position of {@code price} in the ladder, or where it would be inserted.
+     */
+    private int search(long price) {
+        int low = 0;
+        int high = levelCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midPrice = ladder[mid].getPrice();
+            if (midPrice == price) {
+                return mid;
+            }
+            if (isBetter(price, midPrice)) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private void insertLevel(PriceLevel level) {
+        if (levelCount == ladder.length) {
+            ladder = Arrays.copyOf(ladder, ladder.length * 2);
+        }
+        int index = search(level.getPrice());
+        System.arraycopy(ladder, index, ladder, index + 1, levelCount - index);
+        ladder[index] = level;
+        levelCount++;
+    }
+
+    private void removeLevel(PriceLevel level) {
+        int index = search(level.getPrice());
+        System.arraycopy(ladder, index + 1, ladder, index, levelCount - index - 1);
+        ladder[--levelCount] = null;
+    }
+
+    private PriceLevel newLevel(long price) {
+        if (freeLevelCount == 0) {
+            return new PriceLevel(store, price);
+        }
+        PriceLevel level = freeLevels[--freeLevelCount];
+        freeLevels[freeLevelCount] = null;
+        level.reset(price);
+        return level;
+    }
+
+    private void freeLevel(PriceLevel level) {
+        if (freeLevelCount == freeLevels.length) {
+            freeLevels = Arrays.copyOf(freeLevels, freeLevels.length * 2);
+        }
+        freeLevels[freeLevelCount++] = level;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderBook(side=" + side + ", levels=" + levelCount + ", orders=" + size + ", best=" + bestLevel() + ")";
+    }
 }
@@ -0,0 +1,49 @@
+package za.co.matching.engine.core;
+
+import za.co.matching.engine.model.Order;
+
+import java.util.Arrays;
+
+/**
+ * Recycles {@link Order} instances for one engine. Orders taken from the pool and passed to
+ * {@link MatchingEngine#match} are handed back by the engine once the command has finished with them: filled,
+ * cancelled or copied into the order store to rest. Callers must not keep references to them after that. Orders
+ * created with {@code new} are never recycled. Only used from the thread that owns the engine.
+ */
+public class OrderPool {
+
+    private Order[] free;
+    private int available;
+
+    public OrderPool(int initialSize) {
+        this.free = new Order[Math.max(initialSize, 16)];
+        for (int i = 0; i < initialSize; i++) {
+            free[available++] = new Order();
+        }
+    }
+
+    /**
+     * An order to {@link Order#init initialise} and submit, allocated only when the pool is empty.
+     */
+    public Order acquire() {
+        Order order = available > 0 ? free[--available] : new Order();
+        free[available] = null;
+        order.setPooled(true);
+        return order;
+    }
+
+    void release(Order order) {
+        if (!order.isPooled()) {
+            return;
+        }
+        order.setPooled(false);
+        if (available == free.length) {
+            free = Arrays.copyOf(free, free.length * 2);
+        }
+        free[available++] = order;
+    }
+
+    public int available() {
+        return available;
+    }
+}
@@ -0,0 +1,261 @@
+package za.co.matching.engine.core;
+
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderStatus;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The state of every open order, resting or pending, kept up to date by the matching thread and looked up by order
+ * id from any thread.
+ * <p>
+ * An open-addressing table in parallel primitive arrays, guarded as a whole by a version counter acting as a seqlock:
+ * every insert, update and removal makes the version odd while it runs, and a lookup that overlapped one retries.
+ * A write is a handful of array stores, so retries are rare and the matching thread never waits for readers.
+ * Removal uses backward shifting as in {@link za.co.matching.engine.utils.LongIntHashMap}, so orders leave the
+ * table as soon as they are filled or cancelled and it only ever holds open orders. Only growing allocates.
+ */
+public class OrderStatusTable {
+
+    /**
+     * Returned by {@link #find} when no open order has the id.
+     */
+    public static final long NOT_FOUND = -1;
+
+    private static final float LOAD_FACTOR = 0.5f;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final Side[] SIDES = Side.values();
+    private static final OrderType[] ORDER_TYPES = OrderType.values();
+    private static final TimeInForce[] TIME_IN_FORCES = TimeInForce.values();
+
+    // Replaced as a whole when growing, so a reader never pairs a mask with the wrong arrays
+    private volatile Table table = new Table(1024);
+    // Only touched by the matching thread
+    private int size;
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Records the current state of an open order.
+     *
+     * @param commandSequence the command that left the order in this state
+     */
+    void put(Order order, long commandSequence) {
+        long next = beginWrite();
+        Table t = table;
+        long orderId = order.getOrderId();
+        int index = t.indexOf(orderId);
+        while (t.statuses[index] != 0 && t.orderIds[index] != orderId) {
+            index = (index + 1) & t.mask;
+        }
+        boolean added = t.statuses[index] == 0;
+        t.set(index, order, commandSequence);
+        if (added && ++size > t.resizeThreshold) {
+            table = t.grow();
+        }
+        version.setRelease(next + 1);
+    }
+
+    /**
+     * Forgets an order once it is filled or cancelled.
+     */
+    void remove(long orderId) {
+        Table t = table;
+        int index = t.indexOf(orderId);
+        while (t.statuses[index] != 0) {
+            if (t.orderIds[index] == orderId) {
+                long next = beginWrite();
+                t.statuses[index] = 0;
+                t.closeGap(index);
+                size--;
+                version.setRelease(next + 1);
+                return;
+            }
+            index = (index + 1) & t.mask;
+        }
+    }
+
+    private long beginWrite() {
+        long next = version.get() + 1;
+        version.setOpaque(next);
+        VarHandle.storeStoreFence();
+        return next;
+    }
+
+    /**
+     * Copies the state of the open order with this id into {@code target}, which is left untouched when there is
+     * none. The order's identity, prices, quantities, status and accepted sequence are filled in.
+     *
+     * @return the command the order was in this state after, or {@link #NOT_FOUND}
+     */
+    public long find(long orderId, Order target) {
+        long customerId, price, stopPrice, orderSequence, commandSequence;
+        int quantity, filled;
+        byte status, side, orderType, timeInForce;
+        String symbol;
+        long before;
+        do {
+            before = version.getAcquire();
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            Table t = table;
+            int index = t.indexOf(orderId);
+            // A probe racing a write may see a chain with no end; the version check discards it
+            for (int probes = 0; (status = t.statuses[index]) != 0 && t.orderIds[index] != orderId
+                    && probes <= t.mask; probes++) {
+                index = (index + 1) & t.mask;
+            }
+            customerId = t.customerIds[index];
+            price = t.prices[index];
+            stopPrice = t.stopPrices[index];
+            orderSequence = t.orderSequences[index];
+            commandSequence = t.commandSequences[index];
+            quantity = t.quantities[index];
+            filled = t.filledQuantities[index];
+            side = t.sides[index];
+            orderType = t.orderTypes[index];
+            timeInForce = t.timeInForces[index];
+            symbol = t.symbols[index];
+            boolean found = status != 0 && t.orderIds[index] == orderId;
+            VarHandle.loadLoadFence();
+            if (version.getOpaque() == before) {
+                if (!found) {
+                    return NOT_FOUND;
+                }
+                break;
+            }
+        } while (true);
+
+        target.init(orderId, customerId, symbol, price, quantity, valueOf(SIDES, side), valueOf(ORDER_TYPES, orderType),
+                stopPrice, valueOf(TIME_IN_FORCES, timeInForce));
+        target.setFilledQuantity(filled);
+        target.setRemainingQuantity(quantity - filled);
+        target.setStatus(valueOf(STATUSES, status));
+        target.setSequence(orderSequence);
+        return commandSequence;
+    }
+
+    /**
+     * Open orders, as last written by the matching thread.
+     */
+    public int size() {
+        return size;
+    }
+
+    private static <E> E valueOf(E[] values, byte code) {
+        return code == 0 ? null : values[code - 1];
+    }
+
+    private static byte code(Enum<?> value) {
+        return (byte) (value == null ? 0 : value.ordinal() + 1);
+    }
+
+    private static final class Table {
+
+        final long[] orderIds;
+        final long[] customerIds;
+        final long[] prices;
+        final long[] stopPrices;
+        final long[] orderSequences;
+        final long[] commandSequences;
+        final int[] quantities;
+        final int[] filledQuantities;
+        // Enum ordinal + 1, 0 for null; a zero status marks an empty slot
+        final byte[] statuses;
+        final byte[] sides;
+        final byte[] orderTypes;
+        final byte[] timeInForces;
+        final String[] symbols;
+        final int mask;
+        final int resizeThreshold;
+
+        Table(int capacity) {
+            orderIds = new long[capacity];
+            customerIds = new long[capacity];
+            prices = new long[capacity];
+            stopPrices = new long[capacity];
+            orderSequences = new long[capacity];
+            commandSequences = new long[capacity];
+            quantities = new int[capacity];
+            filledQuantities = new int[capacity];
+            statuses = new byte[capacity];
+            sides = new byte[capacity];
+            orderTypes = new byte[capacity];
+            timeInForces = new byte[capacity];
+            symbols = new String[capacity];
+            mask = capacity - 1;
+            resizeThreshold = (int) (capacity * LOAD_FACTOR);
+        }
+
+        int indexOf(long orderId) {
+            long hash = orderId * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+
+        void set(int index, Order order, long commandSequence) {
+            orderIds[index] = order.getOrderId();
+            customerIds[index] = order.getCustomerId();
+            prices[index] = order.getPrice();
+            stopPrices[index] = order.getStopPrice();
+            orderSequences[index] = order.getSequence();
+            commandSequences[index] = commandSequence;
+            quantities[index] = order.getQuantity();
+            filledQuantities[index] = order.getFilledQuantity();
+            statuses[index] = code(order.getStatus() == null ? OrderStatus.NEW : order.getStatus());
+            sides[index] = code(order.getSide());
+            orderTypes[index] = code(order.getOrderType());
+            timeInForces[index] = code(order.getTimeInForce());
+            symbols[index] = order.getSymbol();
+        }
+
+        void move(int from, int to, Table target) {
+            target.orderIds[to] = orderIds[from];
+            target.customerIds[to] = customerIds[from];
+            target.prices[to] = prices[from];
+            target.stopPrices[to] = stopPrices[from];
+            target.orderSequences[to] = orderSequences[from];
+            target.commandSequences[to] = commandSequences[from];
+            target.quantities[to] = quantities[from];
+            target.filledQuantities[to] = filledQuantities[from];
+            target.statuses[to] = statuses[from];
+            target.sides[to] = sides[from];
+            target.orderTypes[to] = orderTypes[from];
+            target.timeInForces[to] = timeInForces[from];
+            target.symbols[to] = symbols[from];
+        }
+
+        void closeGap(int free) {
+            symbols[free] = null;
+            int index = (free + 1) & mask;
+            while (statuses[index] != 0) {
+                int home = indexOf(orderIds[index]);
+                if (((index - home) & mask) >= ((index - free) & mask)) {
+                    move(index, free, this);
+                    statuses[index] = 0;
+                    symbols[index] = null;
+                    free = index;
+                }
+                index = (index + 1) & mask;
+            }
+        }
+
+        Table grow() {
+            Table grown = new Table(statuses.length * 2);
+            for (int i = 0; i < statuses.length; i++) {
+                if (statuses[i] != 0) {
+                    int index = grown.indexOf(orderIds[i]);
+                    while (grown.statuses[index] != 0) {
+                        index = (index + 1) & grown.mask;
+                    }
+                    move(i, index, grown);
+                }
+            }
+            return grown;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package za.co.matching.engine.core;
+
+import lombok.Getter;
+
+/**
+ * All resting orders at one price, kept as a FIFO linked through the prev/next handles of their
+ * {@link OffHeapOrderStore} slots, so appending at the tail and removing any order are both O(1). The level also
+ * keeps the total remaining quantity of its orders.
+ */
+@Getter
+public class PriceLevel {
+
+    private final OffHeapOrderStore store;
+    private long price;
+    /**
+     * Handle of the oldest order, or {@link OffHeapOrderStore#NONE}.
+     */
+    private int head = OffHeapOrderStore.NONE;
+    private int tail = OffHeapOrderStore.NONE;
+    private int orderCount;
+    private long quantity;
+
+    // Depth feed bookkeeping, see OrderBook#publishDepth
+    boolean changed;
+    boolean published;
+    long publishedQuantity;
+    int publishedOrderCount;
+
+    PriceLevel(OffHeapOrderStore store, long price) {
+        this.store = store;
+        this.price = price;
+    }
+
+    /**
+     * Readies an emptied level for reuse at another price.
+     */
+    void reset(long price) {
+        this.price = price;
+        this.head = OffHeapOrderStore.NONE;
+        this.tail = OffHeapOrderStore.NONE;
+        this.orderCount = 0;
+        this.quantity = 0;
+        this.changed = false;
+        this.published = false;
+        this.publishedQuantity = 0;
+        this.publishedOrderCount = 0;
+    }
+
+    void append(int handle) {
+        store.prev(handle, tail);
+        store.next(handle, OffHeapOrderStore.NONE);
+        if (tail == OffHeapOrderStore.NONE) {
+            head = handle;
+        } else {
+            store.next(tail, handle);
+        }
+        tail = handle;
+        orderCount++;
+        quantity += store.remainingQuantity(handle);
+    }
+
+    void remove(int handle) {
+        int prev = store.prev(handle);
+        int next = store.next(handle);
+        if (prev == OffHeapOrderStore.NONE) {
+            head = next;
+        } else {
+            store.next(prev, next);
+        }
+        if (next == OffHeapOrderStore.NONE) {
+            tail = prev;
+        } else {
+            store.prev(next, prev);
+        }
+        orderCount--;
+        quantity -= store.remainingQuantity(handle);
+    }
+
+    void reduce(long filledQuantity) {
+        quantity -= filledQuantity;
+    }
+
+    public boolean isEmpty() {
+        return head == OffHeapOrderStore.NONE;
+    }
+
+    @Override
+    public String toString() {
+        return "PriceLevel(price=" + price + ", orderCount=" + orderCount + ", quantity=" + quantity + ")";
+    }
+}
@@ -0,0 +1,269 @@
+package za.co.matching.engine.core;
+
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.utils.LongIntHashMap;
+import za.co.matching.engine.utils.LongObjectHashMap;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Pending stop and stop-limit orders, kept per side in levels sorted by trigger price. A sell stop triggers once the
+ * market trades at or below its stop price and a buy stop at or above it, so the triggered orders are always one
+ * contiguous range at the front of a side: the highest sell stops and the lowest buy stops. The nearest trigger of
+ * each side is cached, so a trade away from every trigger costs two comparisons.
+ * <p>
+ * Each side is laid out like an {@link OrderBook}: a sorted array of levels with the nearest trigger last, so
+ * triggered levels come off the end without shifting anything, a price lookup table, and emptied levels recycled.
+ * Nothing boxes its keys, so stops come and go without allocating once the book has reached its working size.
+ * <p>
+ * Like the order books, pending stops live in an {@link OffHeapOrderStore} and become {@link Order} objects again
+ * only when they trigger.
+ */
+public class StopOrderBook {
+
+    private final Stops sellStops = new Stops(Side.SELL);
+    private final Stops buyStops = new Stops(Side.BUY);
+    private final LongIntHashMap handlesById = new LongIntHashMap(OffHeapOrderStore.NONE);
+    private final OffHeapOrderStore store;
+    private PriceLevel[] freeLevels = new PriceLevel[16];
+    private int freeLevelCount;
+    private long highestSellStop = Long.MIN_VALUE;
+    private long lowestBuyStop = Long.MAX_VALUE;
+
+    /**
+     * A stop book with a store of its own.
+     */
+    public StopOrderBook() {
+        this(new OffHeapOrderStore());
+    }
+
+    public StopOrderBook(OffHeapOrderStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Copies {@code order} into the store and queues it at its stop price. The order object itself is not kept.
+     *
+     * @return the pending order's handle
+     */
+    public int addOrder(Order order) {
+        Stops stops = stopsFor(order.getSide());
+        PriceLevel level = stops.levelsByPrice.get(order.getStopPrice());
+        if (level == null) {
+            level = newLevel(order.getStopPrice());
+            stops.insert(level);
+        }
+        int handle = store.allocate(order);
+        level.append(handle);
+        handlesById.put(order.getOrderId(), handle);
+        updateNearestTriggers();
+        return handle;
+    }
+
+    /**
+     * Takes a pending stop out and frees its slot, so {@code handle} must not be used afterwards.
+     */
+    public void removeOrder(int handle) {
+        Stops stops = stopsFor(store.side(handle));
+        PriceLevel level = stops.levelsByPrice.get(store.stopPrice(handle));
+        if (level == null || handlesById.remove(store.orderId(handle)) == OffHeapOrderStore.NONE) {
+            return;
+        }
+        level.remove(handle);
+        store.free(handle);
+        if (level.isEmpty()) {
+            stops.remove(level);
+            freeLevel(level);
+            updateNearestTriggers();
+        }
+    }
+
+    /**
+     * @return the handle of the pending stop with this id, or {@link OffHeapOrderStore#NONE}
+     */
+    public int find(long orderId) {
+        return handlesById.get(orderId);
+    }
+
+    /**
+     * A copy of the pending stop with this id, or null. Allocates.
+     */
+    public Order findOrder(long orderId) {
+        int handle = find(orderId);
+        return handle == OffHeapOrderStore.NONE ? null : store.read(handle, new Order());
+    }
+
+    /**
+     * Moves every stop triggered by a trade at {@code tradePrice} into {@code triggered}, nearest trigger first and
+     * in arrival order within a trigger price, each read into an order taken from {@code pool}. Costs O(k) for k
+     * triggered orders, O(1) when none trigger.
+     */
+    public void drainTriggered(long tradePrice, Queue<Order> triggered, OrderPool pool) {
+        if (tradePrice > highestSellStop && tradePrice < lowestBuyStop) {
+            return;
+        }
+        drain(sellStops, tradePrice, triggered, pool);
+        drain(buyStops, tradePrice, triggered, pool);
+        updateNearestTriggers();
+    }
+
+    private void drain(Stops stops, long tradePrice, Queue<Order> triggered, OrderPool pool) {
+        PriceLevel level;
+        while ((level = stops.nearest()) != null && !stops.isNearer(tradePrice, level.getPrice())) {
+            int handle;
+            while ((handle = level.getHead()) != OffHeapOrderStore.NONE) {
+                level.remove(handle);
+                handlesById.remove(store.orderId(handle));
+                triggered.add(store.read(handle, pool.acquire()));
+                store.free(handle);
+            }
+            stops.removeNearest();
+            freeLevel(level);
+        }
+    }
+
+    private void updateNearestTriggers() {
+        PriceLevel sell = sellStops.nearest();
+        PriceLevel buy = buyStops.nearest();
+        highestSellStop = sell == null ? Long.MIN_VALUE : sell.getPrice();
+        lowestBuyStop = buy == null ? Long.MAX_VALUE : buy.getPrice();
+    }
+
+    private Stops stopsFor(Side side) {
+        return side == Side.BUY ? buyStops : sellStops;
+    }
+
+    private PriceLevel newLevel(long stopPrice) {
+        if (freeLevelCount == 0) {
+            return new PriceLevel(store, stopPrice);
+        }
+        PriceLevel level = freeLevels[--freeLevelCount];
+        freeLevels[freeLevelCount] = null;
+        level.reset(stopPrice);
+        return level;
+    }
+
+    private void freeLevel(PriceLevel level) {
+        if (freeLevelCount == freeLevels.length) {
+            freeLevels = Arrays.copyOf(freeLevels, freeLevels.length * 2);
+        }
+        freeLevels[freeLevelCount++] = level;
+    }
+
+    /**
+     * Sell stop levels, highest stop price first. A live view; iterating it allocates.
+     */
+    public List<PriceLevel> sellLevels() {
+        return sellStops.levelsView;
+    }
+
+    /**
+     * Buy stop levels, lowest stop price first. A live view; iterating it allocates.
+     */
+    public List<PriceLevel> buyLevels() {
+        return buyStops.levelsView;
+    }
+
+    public int size() {
+        return handlesById.size();
+    }
+
+    public boolean isEmpty() {
+        return handlesById.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "StopOrderBook(sellLevels=" + sellStops.levelCount + ", buyLevels=" + buyStops.levelCount + ", orders=" + size() + ")";
+    }
+
+    /**
+     * The stop levels of one side.
+     */
+    private static final class Stops {
+
+        private final Side side;
+        // Furthest trigger first, nearest trigger last
+        private PriceLevel[] ladder = new PriceLevel[16];
+        private int levelCount;
+        private final LongObjectHashMap<PriceLevel> levelsByPrice = new LongObjectHashMap<>();
+        private final List<PriceLevel> levelsView = new AbstractList<>() {
+            @Override
+            public PriceLevel get(int index) {
+                if (index < 0 || index >= levelCount) {
+                    throw new IndexOutOfBoundsException("Level " + index + " of " + levelCount);
+                }
+                return ladder[levelCount - 1 - index];
+            }
+
+            @Override
+            public int size() {
+                return levelCount;
+            }
+        };
+
+        Stops(Side side) {
+            this.side = side;
+        }
+
+        /**
+         * Whether a stop at {@code price} triggers before one at {@code than}: higher sell stops, lower buy stops.
+         */
+        boolean isNearer(long price, long than) {
+            return side == Side.SELL ? price > than : price < than;
+        }
+
+        PriceLevel nearest() {
+            return levelCount == 0 ? null : ladder[levelCount - 1];
+        }
+
+        void insert(PriceLevel level) {
+            if (levelCount == ladder.length) {
+                ladder = Arrays.copyOf(ladder, ladder.length * 2);
+            }
+            int index = search(level.getPrice());
+            System.arraycopy(ladder, index, ladder, index + 1, levelCount - index);
+            ladder[index] = level;
+            levelCount++;
+            levelsByPrice.put(level.getPrice(), level);
+        }
+
+        void remove(PriceLevel level) {
+            int index = search(level.getPrice());
+            System.arraycopy(ladder, index + 1, ladder, index, levelCount - index - 1);
+            ladder[--levelCount] = null;
+            levelsByPrice.remove(level.getPrice());
+        }
+
+        void removeNearest() {
+            PriceLevel level = ladder[--levelCount];
+            ladder[levelCount] = null;
+            levelsByPrice.remove(level.getPrice());
+        }
+
+        /**
+         * Position of {@code price} in the ladder, or where it would be inserted.
+         */
+        private int search(long price) {
+            int low = 0;
+            int high = levelCount - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long midPrice = ladder[mid].getPrice();
+                if (midPrice == price) {
+                    return mid;
+                }
+                if (isNearer(price, midPrice)) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package za.co.matching.engine.core;
+
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.TradingPhase;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Routes orders to one {@link MatchingEngine} per symbol. Symbols are spread over a fixed number of
+ * {@link EngineShard}s, each with its own matching thread, so different instruments match in parallel while every
+ * book is still only written by one thread.
+ */
+public class SymbolRouter implements AutoCloseable {
+
+    private final EngineShard[] shards;
+    private final Map<String, Integer> assignments;
+
+    public SymbolRouter(int shardCount) {
+        this(shardCount, Map.of());
+    }
+
+    public SymbolRouter(int shardCount, Map<String, Integer> assignments) {
+        this(shardCount, assignments, symbol -> new MatchingEngine());
+    }
+
+    public SymbolRouter(int shardCount, Function<String, MatchingEngine> engineFactory) {
+        this(shardCount, Map.of(), engineFactory);
+    }
+
+    /**
+     * @param assignments   fixed symbol to shard assignments, symbols not listed are placed by hash
+     * @param engineFactory creates the engine of a symbol, with its journal, publisher and depth listener, on the
+     *                      symbol's shard thread when the symbol is first routed
+     */
+    public SymbolRouter(int shardCount, Map<String, Integer> assignments,
+                        Function<String, MatchingEngine> engineFactory) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shardCount);
+        }
+        assignments.forEach((symbol, shard) -> {
+            if (shard < 0 || shard >= shardCount) {
+                throw new IllegalArgumentException("Symbol " + symbol + " assigned to unknown shard " + shard);
+            }
+        });
+        this.assignments = Map.copyOf(assignments);
+        this.shards = new EngineShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new EngineShard(i, engineFactory);
+        }
+    }
+
+    /**
+     * Queues a copy of {@code order}, so the caller may reuse it straight away.
+     */
+    public void submit(Order order) {
+        shardFor(order.getSymbol()).submit(order);
+    }
+
+    public void cancel(String symbol, long orderId) {
+        shardFor(symbol).cancel(symbol, orderId);
+    }
+
+    public void replace(String symbol, long orderId, int newQuantity, long newPrice) {
+        shardFor(symbol).replace(symbol, orderId, newQuantity, newPrice);
+    }
+
+    public void startAuction(String symbol, TradingPhase auction) {
+        shardFor(symbol).execute(symbol, engine -> engine.startAuction(auction));
+    }
+
+    public CompletableFuture<AuctionResult> uncross(String symbol) {
+        return query(symbol, MatchingEngine::uncross);
+    }
+
+    /**
+     * Runs a read against a symbol's engine on its shard thread, after every command submitted before it.
+     */
+    public <T> CompletableFuture<T> query(String symbol, Function<MatchingEngine, T> query) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        shardFor(symbol).execute(symbol, engine -> {
+            try {
+                result.complete(query.apply(engine));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    public int shardOf(String symbol) {
+        if (symbol == null) {
+            throw new IllegalArgumentException("Symbol must not be null");
+        }
+        Integer assigned = assignments.get(symbol);
+        return assigned != null ? assigned : Math.floorMod(symbol.hashCode(), shards.length);
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    private EngineShard shardFor(String symbol) {
+        return shards[shardOf(symbol)];
+    }
+
+    @Override
+    public void close() {
+        for (EngineShard shard : shards) {
+            shard.close();
+        }
+    }
+}
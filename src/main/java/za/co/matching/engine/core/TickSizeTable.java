@@ -0,0 +1,28 @@
+package za.co.matching.engine.core;
+
+import za.co.matching.engine.model.TickSize;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tick size per symbol, falling back to a default for symbols that were never registered.
+ */
+public class TickSizeTable {
+
+    private final Map<String, TickSize> tickSizes = new HashMap<>();
+    private final TickSize defaultTickSize;
+
+    public TickSizeTable(TickSize defaultTickSize) {
+        this.defaultTickSize = defaultTickSize;
+    }
+
+    public TickSizeTable register(String symbol, TickSize tickSize) {
+        tickSizes.put(symbol, tickSize);
+        return this;
+    }
+
+    public TickSize forSymbol(String symbol) {
+        return tickSizes.getOrDefault(symbol, defaultTickSize);
+    }
+}
@@ -0,0 +1,16 @@
+package za.co.matching.engine.core;
+
+/**
+ * Receives trades column by column, so handing them over does not allocate.
+ */
+@FunctionalInterface
+public interface TradeConsumer {
+
+    TradeConsumer DISCARD = (tradeSequence, buyOrderId, sellOrderId, price, quantity, timestamp) -> {
+    };
+
+    /**
+     * @param tradeSequence position of the trade in the engine's trade history, starting at 0
+     */
+    void accept(long tradeSequence, long buyOrderId, long sellOrderId, long price, int quantity, long timestamp);
+}
@@ -1,24 +1,170 @@
 package za.co.matching.engine.core;
 
-import lombok.extern.slf4j.Slf4j;
+import za.co.matching.engine.model.Order;
 import za.co.matching.engine.model.Trade;
 
-import java.util.Comparator;
-import java.util.TreeSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
 
-@Slf4j
-public record TradeRecord(TreeSet<Trade> trades, MatchingEngine matchingEngine) {
+/**
+ * The engine's most recent trades, kept in a fixed-capacity ring of primitive columns. Once the ring is full, the
+ * oldest trade is handed to the overflow consumer before its slot is reused, so memory use does not grow with the
+ * number of trades.
+ * <p>
+ * Trades are appended in time order, which lets {@link #forEachBetween} binary search the ring.
+ */
+public class TradeRecord {
 
-    public TradeRecord(Comparator<Trade> tradeComparator, MatchingEngine matchingEngine) {
-        this(new TreeSet<>(tradeComparator), matchingEngine);
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private final MatchingEngine matchingEngine;
+    private final TradeConsumer overflow;
+    private final int mask;
+
+    private final long[] prices;
+    private final int[] quantities;
+    private final long[] timestamps;
+    private final long[] buyOrderIds;
+    private final long[] sellOrderIds;
+
+    // Sequence of the next trade; trades [count - size(), count) are retained
+    private long count;
+
+    public TradeRecord(int capacity, TradeConsumer overflow, MatchingEngine matchingEngine) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.matchingEngine = matchingEngine;
+        this.overflow = overflow;
+        this.mask = capacity - 1;
+        this.prices = new long[capacity];
+        this.quantities = new int[capacity];
+        this.timestamps = new long[capacity];
+        this.buyOrderIds = new long[capacity];
+        this.sellOrderIds = new long[capacity];
+    }
+
+    /**
+     * Records a trade stamped with the time of the command that produced it. Both orders must already carry their
+     * fills, since the engine publishes their new state along with the trade.
+     */
+    public void addTrade(Order buyOrder, Order sellOrder, long price, int quantity) {
+        append(buyOrder.getOrderId(), sellOrder.getOrderId(), price, quantity, matchingEngine.currentTimestamp());
+        matchingEngine.onTrade(buyOrder, sellOrder, price, quantity);
+    }
+
+    /**
+     * Appends a trade taken from a snapshot, without publishing it or triggering stops.
+     */
+    public void restore(Trade trade) {
+        append(trade.getBuyOrderId(), trade.getSellOrderId(), trade.getPrice(), trade.getQuantity(), trade.getTimestamp());
+    }
+
+    private void append(long buyOrderId, long sellOrderId, long price, int quantity, long timestamp) {
+        int index = (int) count & mask;
+        if (count > mask) {
+            overflow.accept(count - prices.length, buyOrderIds[index], sellOrderIds[index], prices[index], quantities[index], timestamps[index]);
+        }
+        prices[index] = price;
+        quantities[index] = quantity;
+        timestamps[index] = timestamp;
+        buyOrderIds[index] = buyOrderId;
+        sellOrderIds[index] = sellOrderId;
+        count++;
+    }
+
+    /**
+     * Number of trades currently retained.
+     */
+    public int size() {
+        return (int) Math.min(count, prices.length);
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Number of trades recorded since the engine started, including those already handed to the overflow consumer.
+     */
+    public long totalCount() {
+        return count;
+    }
+
+    public int capacity() {
+        return prices.length;
+    }
+
+    public long lastPrice() {
+        return prices[lastIndex()];
+    }
+
+    public int lastQuantity() {
+        return quantities[lastIndex()];
     }
 
-    public void addTrade(Trade trade) {
-        this.trades.add(trade);
+    public long lastTimestamp() {
+        return timestamps[lastIndex()];
+    }
 
-        log.info("Emitting new trade record: <{}>", trade);
-        //Todo: emit new order event
-        matchingEngine.triggerStop(trade);
+    private int lastIndex() {
+        if (count == 0) {
+            throw new NoSuchElementException("No trades recorded");
+        }
+        return (int) (count - 1) & mask;
     }
 
+    /**
+     * The most recent trade, as a new {@link Trade}.
+     */
+    public Trade last() {
+        return get(count - 1);
+    }
+
+    /**
+     * The retained trade with this sequence, as a new {@link Trade}.
+     */
+    public Trade get(long tradeSequence) {
+        if (tradeSequence < count - size() || tradeSequence >= count) {
+            throw new NoSuchElementException("Trade " + tradeSequence + " is not retained");
+        }
+        int index = (int) tradeSequence & mask;
+        return new Trade(buyOrderIds[index], sellOrderIds[index], prices[index], quantities[index], timestamps[index]);
+    }
+
+    /**
+     * Visits the retained trades with {@code fromTimestamp <= timestamp <= toTimestamp}, oldest first.
+     */
+    public void forEachBetween(long fromTimestamp, long toTimestamp, TradeConsumer consumer) {
+        long low = count - size();
+        long high = count;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (timestamps[(int) mid & mask] < fromTimestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (long sequence = low; sequence < count; sequence++) {
+            int index = (int) sequence & mask;
+            if (timestamps[index] > toTimestamp) {
+                break;
+            }
+            consumer.accept(sequence, buyOrderIds[index], sellOrderIds[index], prices[index], quantities[index], timestamps[index]);
+        }
+    }
+
+    /**
+     * Copies the retained trades out, oldest first. Allocates, so meant for tools and tests rather than the matching
+     * path.
+     */
+    public List<Trade> trades() {
+        List<Trade> trades = new ArrayList<>(size());
+        for (long sequence = count - size(); sequence < count; sequence++) {
+            trades.add(get(sequence));
+        }
+        return trades;
+    }
 }
@@ -0,0 +1,59 @@
+package za.co.matching.engine.core.strategies;
+
+import za.co.matching.engine.core.OffHeapOrderStore;
+import za.co.matching.engine.core.OrderBook;
+import za.co.matching.engine.core.TradeRecord;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderStatus;
+import za.co.matching.engine.model.Side;
+
+/**
+ * The matching loop shared by the order handlers: takes resting orders best price first, FIFO within a level, while
+ * the incoming order has quantity left and crosses the best price. Resting orders are read from the store by handle
+ * and only materialised, into the book's {@link OrderBook#view}, to record each trade.
+ */
+final class Sweep {
+
+    private Sweep() {
+    }
+
+    /**
+     * @param market true to take liquidity at any price, false to stop at the order's limit price
+     */
+    static void sweep(Order order, OrderBook book, boolean market, TradeRecord tradeRecord) {
+        OffHeapOrderStore store = book.getStore();
+        int handle;
+        while (order.getRemainingQuantity() > 0 && (handle = book.bestHandle()) != OffHeapOrderStore.NONE
+                && (market || crosses(order, store.price(handle)))) {
+            int quantity = Math.min(order.getRemainingQuantity(), store.remainingQuantity(handle));
+            fill(order, quantity);
+            saveToTradeRecord(order, book.fill(handle, quantity), quantity, tradeRecord);
+        }
+    }
+
+    /**
+     * Whether {@code book} holds enough at the order's limit price or better to fill all of it.
+     */
+    static boolean canFill(Order order, OrderBook book) {
+        return book.availableQuantity(order.getPrice(), order.getRemainingQuantity()) >= order.getRemainingQuantity();
+    }
+
+    private static boolean crosses(Order order, long bookPrice) {
+        return order.getSide() == Side.BUY ? order.getPrice() >= bookPrice : order.getPrice() <= bookPrice;
+    }
+
+    private static void fill(Order order, int quantity) {
+        order.setFilledQuantity(order.getFilledQuantity() + quantity);
+        order.setRemainingQuantity(order.getQuantity() - order.getFilledQuantity());
+        order.setStatus(order.getRemainingQuantity() == 0 ? OrderStatus.FILLED : OrderStatus.PARTIALLY_FULFILLED);
+    }
+
+    private static void saveToTradeRecord(Order order, Order bookOrder, int quantity, TradeRecord tradeRecord) {
+        assert order.getSide() != bookOrder.getSide() : "Cannot trade orders of the same side.....";
+        Order sellOrder = order.getSide() == Side.SELL ? order : bookOrder;
+        Order buyOrder = order.getSide() == Side.BUY ? order : bookOrder;
+
+        // A market sell has no price of its own and trades at the bid it hits
+        tradeRecord.addTrade(buyOrder, sellOrder, sellOrder.getPrice() == 0 ? buyOrder.getPrice() : sellOrder.getPrice(), quantity);
+    }
+}
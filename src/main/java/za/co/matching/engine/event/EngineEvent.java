@@ -0,0 +1,66 @@
+package za.co.matching.engine.event;
+
+import lombok.Data;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.Side;
+
+/**
+ * A reusable event slot. Trade events fill the buy/sell order ids, price and quantity; order events describe the
+ * order's state after the change.
+ */
+@Data
+public class EngineEvent {
+    private EngineEventType type;
+    private long timestamp;
+    private String symbol;
+    private long orderId;
+    private Side side;
+    private long price;
+    private int quantity;
+    private int filledQuantity;
+    private int remainingQuantity;
+    private long buyOrderId;
+    private long sellOrderId;
+
+    void setTrade(long timestamp, String symbol, long buyOrderId, long sellOrderId, long price, int quantity) {
+        this.type = EngineEventType.TRADE;
+        this.timestamp = timestamp;
+        this.symbol = symbol;
+        this.orderId = 0;
+        this.side = null;
+        this.price = price;
+        this.quantity = quantity;
+        this.filledQuantity = 0;
+        this.remainingQuantity = 0;
+        this.buyOrderId = buyOrderId;
+        this.sellOrderId = sellOrderId;
+    }
+
+    void setOrder(EngineEventType type, long timestamp, Order order) {
+        this.type = type;
+        this.timestamp = timestamp;
+        this.symbol = order.getSymbol();
+        this.orderId = order.getOrderId();
+        this.side = order.getSide();
+        this.price = order.getPrice();
+        this.quantity = order.getQuantity();
+        this.filledQuantity = order.getFilledQuantity();
+        this.remainingQuantity = order.getRemainingQuantity();
+        this.buyOrderId = 0;
+        this.sellOrderId = 0;
+    }
+
+    void copyFrom(EngineEvent other) {
+        this.type = other.type;
+        this.timestamp = other.timestamp;
+        this.symbol = other.symbol;
+        this.orderId = other.orderId;
+        this.side = other.side;
+        this.price = other.price;
+        this.quantity = other.quantity;
+        this.filledQuantity = other.filledQuantity;
+        this.remainingQuantity = other.remainingQuantity;
+        this.buyOrderId = other.buyOrderId;
+        this.sellOrderId = other.sellOrderId;
+    }
+}
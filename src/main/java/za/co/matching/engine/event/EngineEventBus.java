@@ -0,0 +1,145 @@
+package za.co.matching.engine.event;
+
+import lombok.extern.slf4j.Slf4j;
+import za.co.matching.engine.ingress.WaitStrategy;
+import za.co.matching.engine.model.Order;
+
+import java.lang.invoke.VarHandle;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fans engine events out from the matching thread to any number of subscribers without ever making the matching
+ * thread wait.
+ * <p>
+ * Events are written into a ring of pre-allocated slots by the single publisher. Each slot is guarded by its own
+ * sequence acting as a seqlock, and every subscriber tracks its own position. The publisher never checks on
+ * subscribers: a subscriber that falls a full ring behind is told about the gap through
+ * {@link EventHandler#onGap} and skips to the oldest event still available.
+ */
+@Slf4j
+public class EngineEventBus implements EventPublisher, AutoCloseable {
+
+    private static final long WRITING = -1;
+
+    private final EngineEvent[] slots;
+    private final AtomicLongArray slotSequences;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final List<Thread> subscriberThreads = new CopyOnWriteArrayList<>();
+    private long nextSequence;
+    private volatile boolean running = true;
+
+    public EngineEventBus(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.slots = new EngineEvent[capacity];
+        this.slotSequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new EngineEvent();
+            slotSequences.set(i, WRITING);
+        }
+        this.mask = capacity - 1;
+    }
+
+    @Override
+    public void publishTrade(long timestamp, Order buyOrder, Order sellOrder, long price, int quantity) {
+        long sequence = nextSequence++;
+        int index = beginWrite(sequence);
+        slots[index].setTrade(timestamp, buyOrder.getSymbol(), buyOrder.getOrderId(), sellOrder.getOrderId(), price, quantity);
+        endWrite(index, sequence);
+    }
+
+    @Override
+    public void publishOrder(EngineEventType type, long timestamp, Order order) {
+        long sequence = nextSequence++;
+        int index = beginWrite(sequence);
+        slots[index].setOrder(type, timestamp, order);
+        endWrite(index, sequence);
+    }
+
+    private int beginWrite(long sequence) {
+        int index = (int) sequence & mask;
+        slotSequences.setOpaque(index, WRITING);
+        VarHandle.storeStoreFence();
+        return index;
+    }
+
+    private void endWrite(int index, long sequence) {
+        slotSequences.setRelease(index, sequence);
+        cursor.setRelease(sequence);
+    }
+
+    /**
+     * Copies the event at {@code sequence} into {@code target}.
+     *
+     * @return false when the slot no longer (or not yet) holds that event
+     */
+    boolean read(long sequence, EngineEvent target) {
+        int index = (int) sequence & mask;
+        if (slotSequences.getAcquire(index) != sequence) {
+            return false;
+        }
+        target.copyFrom(slots[index]);
+        VarHandle.loadLoadFence();
+        return slotSequences.getOpaque(index) == sequence;
+    }
+
+    long cursor() {
+        return cursor.getAcquire();
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * A subscription polled by the caller's own thread, starting with the next event published.
+     */
+    public Subscription newSubscription() {
+        return new Subscription(this, cursor() + 1);
+    }
+
+    /**
+     * Starts a dedicated thread that delivers events to {@code handler} in batches of up to {@code batchSize}.
+     */
+    public Subscription subscribe(String name, EventHandler handler, int batchSize, WaitStrategy waitStrategy) {
+        Subscription subscription = newSubscription();
+        Thread thread = new Thread(() -> {
+            int idle = 0;
+            while (running) {
+                try {
+                    if (subscription.poll(handler, batchSize) == 0) {
+                        idle = waitStrategy.idle(idle);
+                    } else {
+                        idle = 0;
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Event subscriber {} failed", name, e);
+                }
+            }
+            // Deliver what was published before close
+            while (subscription.poll(handler, batchSize) > 0) {
+                Thread.onSpinWait();
+            }
+        }, "event-subscriber-" + name);
+        subscriberThreads.add(thread);
+        thread.start();
+        return subscription;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        for (Thread thread : subscriberThreads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package za.co.matching.engine.event;
+
+public enum EngineEventType {
+    TRADE,
+    ACCEPTED,
+    PARTIALLY_FILLED,
+    FILLED,
+    CANCELLED,
+    REPLACED,
+    /**
+     * A cancel or replace named no open order. Only the order id is set.
+     */
+    REJECTED
+}
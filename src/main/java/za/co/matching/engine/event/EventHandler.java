@@ -0,0 +1,18 @@
+package za.co.matching.engine.event;
+
+public interface EventHandler {
+
+    /**
+     * @param event      a copy owned by the subscriber, only valid until this method returns
+     * @param sequence   bus sequence of the event, contiguous unless {@link #onGap} was called
+     * @param endOfBatch true for the last event of the batch currently being delivered
+     */
+    void onEvent(EngineEvent event, long sequence, boolean endOfBatch);
+
+    /**
+     * The subscriber fell a full ring behind and events {@code fromSequence} to {@code toSequence} were overwritten
+     * before it read them.
+     */
+    default void onGap(long fromSequence, long toSequence) {
+    }
+}
@@ -0,0 +1,23 @@
+package za.co.matching.engine.event;
+
+import za.co.matching.engine.model.Order;
+
+/**
+ * Called by the matching thread for every trade and order state change. Implementations must not block.
+ */
+public interface EventPublisher {
+
+    EventPublisher NONE = new EventPublisher() {
+        @Override
+        public void publishTrade(long timestamp, Order buyOrder, Order sellOrder, long price, int quantity) {
+        }
+
+        @Override
+        public void publishOrder(EngineEventType type, long timestamp, Order order) {
+        }
+    };
+
+    void publishTrade(long timestamp, Order buyOrder, Order sellOrder, long price, int quantity);
+
+    void publishOrder(EngineEventType type, long timestamp, Order order);
+}
@@ -2,11 +2,9 @@ package za.co.matching.engine.event;
 
 import za.co.matching.engine.model.Trade;
 
-import java.time.LocalDateTime;
-
-public record NewTradeEvent(Trade trade, LocalDateTime timestamp) {
+public record NewTradeEvent(Trade trade, long timestamp) {
 
     public NewTradeEvent(Trade trade) {
-        this(trade, LocalDateTime.now());
+        this(trade, trade.getTimestamp());
     }
 }
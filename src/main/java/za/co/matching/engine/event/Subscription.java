@@ -0,0 +1,66 @@
+package za.co.matching.engine.event;
+
+/**
+ * One subscriber's position on an {@link EngineEventBus}. Must only be polled by one thread.
+ */
+public class Subscription {
+
+    private final EngineEventBus bus;
+    private final EngineEvent event = new EngineEvent();
+    private long next;
+    private volatile long dropped;
+
+    Subscription(EngineEventBus bus, long next) {
+        this.bus = bus;
+        this.next = next;
+    }
+
+    /**
+     * Delivers up to {@code limit} available events. An event whose handler throws counts as delivered: the
+     * exception propagates and the next poll carries on with the event after it.
+     *
+     * @return number of events delivered
+     */
+    public int poll(EventHandler handler, int limit) {
+        long published = bus.cursor();
+        if (published < next) {
+            return 0;
+        }
+        skipOverwritten(handler, published);
+
+        long end = Math.min(published, next + limit - 1);
+        int delivered = 0;
+        while (next <= end) {
+            if (!bus.read(next, event)) {
+                // Overwritten while we were reading it
+                skipOverwritten(handler, bus.cursor());
+                return delivered;
+            }
+            // Move past the event first, so a handler that throws is not handed it again forever
+            long sequence = next++;
+            delivered++;
+            handler.onEvent(event, sequence, sequence == end);
+        }
+        return delivered;
+    }
+
+    private void skipOverwritten(EventHandler handler, long published) {
+        long oldest = published - bus.capacity() + 1;
+        if (next < oldest) {
+            handler.onGap(next, oldest - 1);
+            dropped += oldest - next;
+            next = oldest;
+        }
+    }
+
+    /**
+     * Sequence of the last event delivered or skipped.
+     */
+    public long sequence() {
+        return next - 1;
+    }
+
+    public long droppedCount() {
+        return dropped;
+    }
+}
@@ -0,0 +1,21 @@
+package za.co.matching.engine.gateway;
+
+import za.co.matching.engine.codec.OrderEventCodec;
+import za.co.matching.engine.codec.OrderRejectCodec;
+import za.co.matching.engine.codec.TradeCodec;
+
+/**
+ * Receives the reports a {@link GatewayClient} reads. The codecs are views over the client's receive buffer and are
+ * only valid until the method returns.
+ */
+public interface ExecutionReportHandler {
+
+    default void onOrderEvent(OrderEventCodec event) {
+    }
+
+    default void onTrade(TradeCodec trade) {
+    }
+
+    default void onReject(OrderRejectCodec reject) {
+    }
+}
@@ -0,0 +1,173 @@
+package za.co.matching.engine.gateway;
+
+import za.co.matching.engine.codec.CancelOrderCodec;
+import za.co.matching.engine.codec.MessageFlyweight;
+import za.co.matching.engine.codec.MessageHeader;
+import za.co.matching.engine.codec.NewOrderCodec;
+import za.co.matching.engine.codec.OrderEventCodec;
+import za.co.matching.engine.codec.OrderRejectCodec;
+import za.co.matching.engine.codec.ReplaceOrderCodec;
+import za.co.matching.engine.codec.TradeCodec;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * A single-threaded client for an {@link OrderGateway}, for tests and tools. Commands are encoded into a send buffer
+ * and only written by {@link #flush()}, so a batch of commands costs one write; reports are read without blocking by
+ * {@link #poll}.
+ */
+public class GatewayClient implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final SocketChannel channel;
+    private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final MessageHeader header = new MessageHeader();
+    private final NewOrderCodec newOrder = new NewOrderCodec();
+    private final CancelOrderCodec cancelOrder = new CancelOrderCodec();
+    private final ReplaceOrderCodec replaceOrder = new ReplaceOrderCodec();
+    private final OrderEventCodec orderEvent = new OrderEventCodec();
+    private final TradeCodec trade = new TradeCodec();
+    private final OrderRejectCodec reject = new OrderRejectCodec();
+    private boolean connected = true;
+
+    public GatewayClient(InetSocketAddress address) {
+        try {
+            this.channel = SocketChannel.open(address);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.configureBlocking(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to connect to order gateway at " + address, e);
+        }
+    }
+
+    public GatewayClient newOrder(long orderId, long customerId, String symbol, long price, int quantity, Side side,
+                                  OrderType orderType, long stopPrice, TimeInForce timeInForce) {
+        reserve(newOrder);
+        newOrder.wrapAndApplyHeader(out, out.position(), header)
+                .sequence(0)
+                .timestamp(0)
+                .orderId(orderId)
+                .customerId(customerId)
+                .symbol(symbol)
+                .price(price)
+                .quantity(quantity)
+                .side(side)
+                .orderType(orderType)
+                .stopPrice(stopPrice)
+                .timeInForce(timeInForce);
+        return added(newOrder);
+    }
+
+    public GatewayClient cancel(long orderId) {
+        reserve(cancelOrder);
+        cancelOrder.wrapAndApplyHeader(out, out.position(), header)
+                .sequence(0)
+                .timestamp(0)
+                .orderId(orderId);
+        return added(cancelOrder);
+    }
+
+    public GatewayClient replace(long orderId, int newQuantity, long newPrice) {
+        reserve(replaceOrder);
+        replaceOrder.wrapAndApplyHeader(out, out.position(), header)
+                .sequence(0)
+                .timestamp(0)
+                .orderId(orderId)
+                .quantity(newQuantity)
+                .price(newPrice);
+        return added(replaceOrder);
+    }
+
+    private void reserve(MessageFlyweight<?> message) {
+        if (out.remaining() < message.encodedLength()) {
+            flush();
+        }
+    }
+
+    private GatewayClient added(MessageFlyweight<?> message) {
+        out.position(out.position() + message.encodedLength());
+        return this;
+    }
+
+    /**
+     * Writes every buffered command, spinning while the gateway is not reading. Reports are not read meanwhile, so
+     * very large batches should be interleaved with {@link #poll}.
+     */
+    public void flush() {
+        out.flip();
+        try {
+            while (out.hasRemaining()) {
+                if (channel.write(out) == 0) {
+                    Thread.onSpinWait();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to send to order gateway", e);
+        } finally {
+            out.compact();
+        }
+    }
+
+    /**
+     * Delivers every complete report that has arrived, without waiting for more.
+     *
+     * @return number of reports delivered
+     */
+    public int poll(ExecutionReportHandler handler) {
+        if (connected) {
+            try {
+                connected = channel.read(in) >= 0;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read from order gateway", e);
+            }
+        }
+        in.flip();
+        int delivered = 0;
+        while (in.remaining() >= MessageHeader.ENCODED_LENGTH) {
+            int offset = in.position();
+            int length = MessageHeader.ENCODED_LENGTH + header.wrap(in, offset).checkSchema().blockLength();
+            if (in.remaining() < length) {
+                break;
+            }
+            int body = offset + MessageHeader.ENCODED_LENGTH;
+            switch (header.templateId()) {
+                case OrderEventCodec.TEMPLATE_ID -> handler.onOrderEvent(orderEvent.wrap(in, body));
+                case TradeCodec.TEMPLATE_ID -> handler.onTrade(trade.wrap(in, body));
+                case OrderRejectCodec.TEMPLATE_ID -> handler.onReject(reject.wrap(in, body));
+                default -> {
+                    // Newer report types are skipped by their length
+                }
+            }
+            in.position(offset + length);
+            delivered++;
+        }
+        in.compact();
+        return delivered;
+    }
+
+    /**
+     * False once the gateway has closed the connection.
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close order gateway connection", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package za.co.matching.engine.gateway;
+
+/**
+ * @param port             TCP port to listen on, 0 for any free port
+ * @param readBufferSize   bytes buffered per session for incomplete and not yet accepted commands
+ * @param writeBufferSize  bytes buffered per session for execution reports the client has not read yet
+ * @param eventBatchSize   most engine events routed per pass of the event loop
+ * @param idleSelectMillis how long the event loop waits for network activity when nothing else is happening, which
+ *                         bounds the extra latency of reports for orders entered through other producers
+ */
+public record GatewayConfig(int port, int readBufferSize, int writeBufferSize, int eventBatchSize, long idleSelectMillis) {
+
+    public GatewayConfig {
+        if (readBufferSize < 256 || writeBufferSize < 256) {
+            throw new IllegalArgumentException("Session buffers must hold at least 256 bytes");
+        }
+        if (eventBatchSize <= 0) {
+            throw new IllegalArgumentException("Event batch size must be positive: " + eventBatchSize);
+        }
+        if (idleSelectMillis <= 0) {
+            throw new IllegalArgumentException("Idle select time must be positive: " + idleSelectMillis);
+        }
+    }
+
+    public static GatewayConfig defaults(int port) {
+        return new GatewayConfig(port, 8 * 1024, 64 * 1024, 1024, 1);
+    }
+}
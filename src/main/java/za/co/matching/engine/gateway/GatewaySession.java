@@ -0,0 +1,102 @@
+package za.co.matching.engine.gateway;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+/**
+ * One client connection, only touched by the gateway's event loop thread. Commands are parsed straight out of
+ * {@link #in} and reports are encoded straight into {@link #out}, which is written to the socket once per pass.
+ */
+class GatewaySession {
+
+    @Getter
+    private final long id;
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    final ByteBuffer in;
+    final ByteBuffer out;
+    private final int writeHighWater;
+    /**
+     * A complete command is buffered but the ingress ring had no room for it.
+     */
+    boolean ingressBlocked;
+    /**
+     * Reports were added since the last flush.
+     */
+    boolean dirty;
+    private boolean open = true;
+
+    GatewaySession(long id, SocketChannel channel, SelectionKey key, GatewayConfig config) {
+        this.id = id;
+        this.channel = channel;
+        this.key = key;
+        this.in = ByteBuffer.allocateDirect(config.readBufferSize());
+        this.out = ByteBuffer.allocateDirect(config.writeBufferSize());
+        this.writeHighWater = config.writeBufferSize() / 2;
+    }
+
+    /**
+     * @return false once the client has closed the connection
+     */
+    boolean read() throws IOException {
+        return channel.read(in) >= 0;
+    }
+
+    /**
+     * Writes as much buffered output as the socket takes.
+     */
+    void flush() throws IOException {
+        dirty = false;
+        out.flip();
+        channel.write(out);
+        out.compact();
+        updateInterest();
+    }
+
+    /**
+     * A session stops being read while its commands cannot be handed to the engine or while its client is not
+     * reading its reports, so a slow session pushes back through TCP instead of growing buffers.
+     */
+    boolean isReadPaused() {
+        return ingressBlocked || out.position() > writeHighWater;
+    }
+
+    void updateInterest() {
+        if (!key.isValid()) {
+            return;
+        }
+        int ops = 0;
+        if (!isReadPaused()) {
+            ops |= SelectionKey.OP_READ;
+        }
+        if (out.position() > 0) {
+            ops |= SelectionKey.OP_WRITE;
+        }
+        if (key.interestOps() != ops) {
+            key.interestOps(ops);
+        }
+    }
+
+    boolean isOpen() {
+        return open;
+    }
+
+    void close() {
+        open = false;
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Nothing left to release
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GatewaySession(id=" + id + ", remote=" + channel.socket().getRemoteSocketAddress() + ")";
+    }
+}
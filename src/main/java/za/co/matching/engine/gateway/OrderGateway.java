@@ -0,0 +1,405 @@
+package za.co.matching.engine.gateway;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import za.co.matching.engine.codec.CancelOrderCodec;
+import za.co.matching.engine.codec.MessageFlyweight;
+import za.co.matching.engine.codec.MessageHeader;
+import za.co.matching.engine.codec.NewOrderCodec;
+import za.co.matching.engine.codec.OrderEventCodec;
+import za.co.matching.engine.codec.OrderRejectCodec;
+import za.co.matching.engine.codec.ReplaceOrderCodec;
+import za.co.matching.engine.codec.TradeCodec;
+import za.co.matching.engine.event.EngineEvent;
+import za.co.matching.engine.event.EngineEventBus;
+import za.co.matching.engine.event.EngineEventType;
+import za.co.matching.engine.event.EventHandler;
+import za.co.matching.engine.event.Subscription;
+import za.co.matching.engine.ingress.BackPressure;
+import za.co.matching.engine.ingress.IngressPipeline;
+import za.co.matching.engine.model.RejectReason;
+import za.co.matching.engine.utils.LongObjectHashMap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+/**
+ * TCP order entry. One event loop thread owns a selector over every client session: it parses new order, cancel and
+ * replace messages of the binary codec straight out of each session's receive buffer into the
+ * {@link IngressPipeline}, and routes the engine's events from an {@link EngineEventBus} subscription back to the
+ * session that entered the order. Reports are encoded into the session's send buffer and written once per pass of
+ * the loop, so a burst of fills costs one write per session rather than one per report.
+ * <p>
+ * Every message is length-prefixed by its {@link MessageHeader}. A session that sends an unknown schema or template
+ * is disconnected. Orders and replaces with an unknown side, type or time in force, a quantity that is not positive or
+ * a missing price are answered with a reject and never reach the engine. A session whose commands do not fit into
+ * the ingress ring, or whose client does not read its reports, stops being read until that clears; one that falls a
+ * full send buffer behind is disconnected as a slow consumer. Orders stay in the book when their session
+ * disconnects.
+ * <p>
+ * The pipeline should use {@link BackPressure#REJECT}, otherwise a full ring stalls every session rather than the
+ * ones sending.
+ */
+@Slf4j
+public class OrderGateway implements AutoCloseable {
+
+    private final IngressPipeline pipeline;
+    private final GatewayConfig config;
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final Subscription subscription;
+    private final Thread eventLoop;
+    private final Consumer<SelectionKey> keyHandler = this::handleKey;
+    private final EventHandler reportRouter = new ReportRouter();
+    private final ArrayList<GatewaySession> sessions = new ArrayList<>();
+    private final ArrayList<GatewaySession> dirtySessions = new ArrayList<>();
+    private final ArrayList<GatewaySession> blockedSessions = new ArrayList<>();
+    // Live orders entered through this gateway
+    private final LongObjectHashMap<GatewaySession> sessionsByOrderId = new LongObjectHashMap<>(4096);
+    private final MessageHeader header = new MessageHeader();
+    private final NewOrderCodec newOrder = new NewOrderCodec();
+    private final CancelOrderCodec cancelOrder = new CancelOrderCodec();
+    private final ReplaceOrderCodec replaceOrder = new ReplaceOrderCodec();
+    private final OrderEventCodec orderEvent = new OrderEventCodec();
+    private final TradeCodec trade = new TradeCodec();
+    private final OrderRejectCodec reject = new OrderRejectCodec();
+    @Getter
+    private final int port;
+    private long nextSessionId;
+    private volatile int sessionCount;
+    private volatile boolean running = true;
+
+    public OrderGateway(IngressPipeline pipeline, EngineEventBus eventBus, GatewayConfig config) {
+        this.pipeline = pipeline;
+        this.config = config;
+        try {
+            this.selector = Selector.open();
+            this.server = ServerSocketChannel.open();
+            server.bind(new InetSocketAddress(config.port()));
+            server.configureBlocking(false);
+            server.register(selector, SelectionKey.OP_ACCEPT);
+            this.port = ((InetSocketAddress) server.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open order gateway on port " + config.port(), e);
+        }
+        this.subscription = eventBus.newSubscription();
+        this.eventLoop = new Thread(this::run, "order-gateway");
+        this.eventLoop.start();
+    }
+
+    private void run() {
+        log.info("Order gateway listening on port {}", port);
+        boolean busy = false;
+        while (running) {
+            try {
+                int ready = busy ? selector.selectNow(keyHandler) : selector.select(keyHandler, config.idleSelectMillis());
+                int commands = retryBlockedSessions();
+                int events = subscription.poll(reportRouter, config.eventBatchSize());
+                flushDirtySessions();
+                busy = ready > 0 || commands > 0 || events > 0;
+            } catch (IOException | RuntimeException e) {
+                log.error("Order gateway event loop failed", e);
+            }
+        }
+        // Reports for whatever the engine has already processed
+        while (subscription.poll(reportRouter, config.eventBatchSize()) > 0) {
+            flushDirtySessions();
+        }
+        for (int i = sessions.size() - 1; i >= 0; i--) {
+            close(sessions.get(i), "gateway stopped");
+        }
+        try {
+            server.close();
+            selector.close();
+        } catch (IOException e) {
+            log.warn("Failed to close order gateway", e);
+        }
+        log.info("Order gateway stopped");
+    }
+
+    private void handleKey(SelectionKey key) {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            accept();
+            return;
+        }
+        GatewaySession session = (GatewaySession) key.attachment();
+        try {
+            if (key.isWritable()) {
+                session.flush();
+            }
+            if (key.isValid() && key.isReadable()) {
+                if (!session.read()) {
+                    close(session, "closed by client");
+                    return;
+                }
+                processCommands(session);
+            }
+        } catch (IOException e) {
+            close(session, e.toString());
+        }
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel;
+            while ((channel = server.accept()) != null) {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                GatewaySession session = new GatewaySession(++nextSessionId, channel, key, config);
+                key.attach(session);
+                sessions.add(session);
+                sessionCount = sessions.size();
+                log.info("{} connected", session);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to accept order gateway connection", e);
+        }
+    }
+
+    /**
+     * Hands every complete command buffered for the session to the pipeline, stopping at the first one the ring has
+     * no room for.
+     *
+     * @return number of commands handled
+     */
+    private int processCommands(GatewaySession session) {
+        boolean wasBlocked = session.ingressBlocked;
+        session.ingressBlocked = false;
+        ByteBuffer in = session.in;
+        in.flip();
+        int processed = 0;
+        try {
+            while (session.isOpen() && in.remaining() >= MessageHeader.ENCODED_LENGTH) {
+                int offset = in.position();
+                header.wrap(in, offset).checkSchema();
+                int length = MessageHeader.ENCODED_LENGTH + header.blockLength();
+                if (length > in.capacity()) {
+                    throw new IllegalStateException("Message of " + length + " bytes does not fit the receive buffer");
+                }
+                if (in.remaining() < length) {
+                    break;
+                }
+                if (!apply(session, offset + MessageHeader.ENCODED_LENGTH)) {
+                    session.ingressBlocked = true;
+                    break;
+                }
+                in.position(offset + length);
+                processed++;
+            }
+        } catch (RuntimeException e) {
+            // Framing is lost after a message that cannot be parsed, so nothing the session sends can be trusted
+            close(session, e.getMessage() == null ? e.toString() : e.getMessage());
+            return processed;
+        }
+        in.compact();
+        if (session.ingressBlocked && !wasBlocked) {
+            blockedSessions.add(session);
+        }
+        session.updateInterest();
+        return processed;
+    }
+
+    /**
+     * @param body offset of the message body, the header is in {@link #header}
+     * @return false when the ingress ring is full
+     */
+    private boolean apply(GatewaySession session, int body) {
+        int templateId = header.templateId();
+        switch (templateId) {
+            case NewOrderCodec.TEMPLATE_ID -> {
+                checkBlockLength(NewOrderCodec.BLOCK_LENGTH);
+                NewOrderCodec message = newOrder.wrap(session.in, body);
+                long orderId = message.orderId();
+                RejectReason invalid = message.validate();
+                if (invalid != null) {
+                    sendReject(session, orderId, templateId, invalid);
+                    return true;
+                }
+                if (sessionsByOrderId.get(orderId) != null) {
+                    sendReject(session, orderId, templateId, RejectReason.DUPLICATE_ORDER_ID);
+                    return true;
+                }
+                if (!pipeline.publishNew(orderId, message.customerId(), message.symbol(), message.price(),
+                        message.quantity(), message.side(), message.orderType(), message.stopPrice(), message.timeInForce())) {
+                    return false;
+                }
+                sessionsByOrderId.put(orderId, session);
+                return true;
+            }
+            case CancelOrderCodec.TEMPLATE_ID -> {
+                checkBlockLength(CancelOrderCodec.BLOCK_LENGTH);
+                long orderId = cancelOrder.wrap(session.in, body).orderId();
+                if (sessionsByOrderId.get(orderId) != session) {
+                    sendReject(session, orderId, templateId, RejectReason.UNKNOWN_ORDER);
+                    return true;
+                }
+                return pipeline.publishCancel(orderId);
+            }
+            case ReplaceOrderCodec.TEMPLATE_ID -> {
+                checkBlockLength(ReplaceOrderCodec.BLOCK_LENGTH);
+                ReplaceOrderCodec message = replaceOrder.wrap(session.in, body);
+                if (sessionsByOrderId.get(message.orderId()) != session) {
+                    sendReject(session, message.orderId(), templateId, RejectReason.UNKNOWN_ORDER);
+                    return true;
+                }
+                RejectReason invalid = message.validate();
+                if (invalid != null) {
+                    sendReject(session, message.orderId(), templateId, invalid);
+                    return true;
+                }
+                return pipeline.publishReplace(message.orderId(), message.quantity(), message.price());
+            }
+            default -> throw new IllegalStateException("Unknown template " + templateId);
+        }
+    }
+
+    private void checkBlockLength(int expected) {
+        if (header.blockLength() < expected) {
+            throw new IllegalStateException("Template " + header.templateId() + " needs a block of " + expected
+                    + " bytes, got " + header.blockLength());
+        }
+    }
+
+    private int retryBlockedSessions() {
+        int processed = 0;
+        for (int i = blockedSessions.size() - 1; i >= 0; i--) {
+            GatewaySession session = blockedSessions.get(i);
+            if (session.isOpen()) {
+                processed += processCommands(session);
+            }
+            if (!session.isOpen() || !session.ingressBlocked) {
+                blockedSessions.remove(i);
+            }
+        }
+        return processed;
+    }
+
+    private void sendReject(GatewaySession session, long orderId, int templateId, RejectReason reason) {
+        if (reserve(session, reject)) {
+            reject.wrapAndApplyHeader(session.out, session.out.position(), header)
+                    .orderId(orderId)
+                    .rejectedTemplateId(templateId)
+                    .reason(reason);
+            sent(session, reject);
+        }
+    }
+
+    private boolean reserve(GatewaySession session, MessageFlyweight<?> message) {
+        if (!session.isOpen()) {
+            return false;
+        }
+        if (session.out.remaining() < message.encodedLength()) {
+            close(session, "slow consumer, " + session.out.position() + " bytes of reports unread");
+            return false;
+        }
+        return true;
+    }
+
+    private void sent(GatewaySession session, MessageFlyweight<?> message) {
+        session.out.position(session.out.position() + message.encodedLength());
+        if (!session.dirty) {
+            session.dirty = true;
+            dirtySessions.add(session);
+        }
+    }
+
+    private void flushDirtySessions() {
+        for (int i = 0; i < dirtySessions.size(); i++) {
+            GatewaySession session = dirtySessions.get(i);
+            if (session.isOpen()) {
+                try {
+                    session.flush();
+                } catch (IOException e) {
+                    close(session, e.toString());
+                }
+            }
+        }
+        dirtySessions.clear();
+    }
+
+    private void close(GatewaySession session, String reason) {
+        if (!session.isOpen()) {
+            return;
+        }
+        session.close();
+        sessions.remove(session);
+        sessionCount = sessions.size();
+        log.info("{} disconnected: {}", session, reason);
+    }
+
+    /**
+     * Connected sessions.
+     */
+    public int sessionCount() {
+        return sessionCount;
+    }
+
+    /**
+     * Stops accepting commands, sends the reports for events already published and disconnects every session.
+     */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        try {
+            eventLoop.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private class ReportRouter implements EventHandler {
+
+        @Override
+        public void onEvent(EngineEvent event, long sequence, boolean endOfBatch) {
+            if (event.getType() == EngineEventType.TRADE) {
+                GatewaySession buyer = sessionsByOrderId.get(event.getBuyOrderId());
+                GatewaySession seller = sessionsByOrderId.get(event.getSellOrderId());
+                sendTrade(buyer, event, sequence);
+                if (seller != buyer) {
+                    sendTrade(seller, event, sequence);
+                }
+                return;
+            }
+            if (event.getType() == EngineEventType.REJECTED) {
+                // The gateway answers the commands it refuses itself; one the engine refuses raced the order's end,
+                // which the session has already been told about
+                return;
+            }
+            boolean finished = event.getType() == EngineEventType.FILLED || event.getType() == EngineEventType.CANCELLED;
+            GatewaySession session = finished
+                    ? sessionsByOrderId.remove(event.getOrderId())
+                    : sessionsByOrderId.get(event.getOrderId());
+            if (session != null && reserve(session, orderEvent)) {
+                orderEvent.wrapAndApplyHeader(session.out, session.out.position(), header).encode(event, sequence);
+                sent(session, orderEvent);
+            }
+        }
+
+        private void sendTrade(GatewaySession session, EngineEvent event, long sequence) {
+            if (session != null && reserve(session, trade)) {
+                trade.wrapAndApplyHeader(session.out, session.out.position(), header).encode(event, sequence);
+                sent(session, trade);
+            }
+        }
+
+        @Override
+        public void onGap(long fromSequence, long toSequence) {
+            log.error("Order gateway fell behind the event bus, reports for events {} to {} were not sent",
+                    fromSequence, toSequence);
+        }
+    }
+}
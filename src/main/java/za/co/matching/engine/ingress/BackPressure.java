@@ -0,0 +1,15 @@
+package za.co.matching.engine.ingress;
+
+/**
+ * What a producer does when the ingress ring is full.
+ */
+public enum BackPressure {
+    /**
+     * Wait for the matching thread to free a slot.
+     */
+    BLOCK,
+    /**
+     * Return false straight away so the caller can reject or retry the order.
+     */
+    REJECT
+}
@@ -0,0 +1,22 @@
+package za.co.matching.engine.ingress;
+
+/**
+ * @param capacity             ring size, must be a power of two
+ * @param batchSize            most commands the matching thread takes per pass before releasing their slots
+ * @param consumerWaitStrategy how the matching thread waits for new commands
+ * @param producerWaitStrategy how a blocked producer waits for a free slot
+ * @param backPressure         whether producers wait or are rejected when the ring is full
+ */
+public record IngressConfig(int capacity, int batchSize, WaitStrategy consumerWaitStrategy,
+                            WaitStrategy producerWaitStrategy, BackPressure backPressure) {
+
+    public IngressConfig {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+    }
+
+    public static IngressConfig defaults() {
+        return new IngressConfig(65_536, 256, WaitStrategy.PARK, WaitStrategy.YIELD, BackPressure.BLOCK);
+    }
+}
@@ -0,0 +1,142 @@
+package za.co.matching.engine.ingress;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import za.co.matching.engine.core.MatchingEngine;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets many producer threads feed one {@link MatchingEngine}. Producers write commands into pre-allocated ring
+ * slots and a single consumer thread drains them into the engine in batches, so the engine is only ever called from
+ * that thread.
+ */
+@Slf4j
+public class IngressPipeline implements AutoCloseable {
+
+    @Getter
+    private final MatchingEngine matchingEngine;
+    private final IngressConfig config;
+    private final OrderRingBuffer ringBuffer;
+    private final Thread consumer;
+    private final LongAdder rejected = new LongAdder();
+    private volatile boolean running = true;
+
+    public IngressPipeline(MatchingEngine matchingEngine, IngressConfig config) {
+        this.matchingEngine = matchingEngine;
+        this.config = config;
+        this.ringBuffer = new OrderRingBuffer(config.capacity());
+        this.consumer = new Thread(this::consume, "matching-ingress");
+        this.consumer.start();
+    }
+
+    public boolean publishNew(long orderId, long customerId, String symbol, long price, int quantity, Side side,
+                              OrderType orderType, long stopPrice, TimeInForce timeInForce) {
+        long sequence = claim();
+        if (sequence < 0) {
+            return false;
+        }
+        ringBuffer.get(sequence).setNew(orderId, customerId, symbol, price, quantity, side, orderType, stopPrice, timeInForce);
+        ringBuffer.publish(sequence);
+        return true;
+    }
+
+    public boolean publishCancel(long orderId) {
+        long sequence = claim();
+        if (sequence < 0) {
+            return false;
+        }
+        ringBuffer.get(sequence).setCancel(orderId);
+        ringBuffer.publish(sequence);
+        return true;
+    }
+
+    public boolean publishReplace(long orderId, int newQuantity, long newPrice) {
+        long sequence = claim();
+        if (sequence < 0) {
+            return false;
+        }
+        ringBuffer.get(sequence).setReplace(orderId, newQuantity, newPrice);
+        ringBuffer.publish(sequence);
+        return true;
+    }
+
+    private long claim() {
+        if (!running) {
+            throw new IllegalStateException("Ingress pipeline has been closed");
+        }
+        if (config.backPressure() == BackPressure.BLOCK) {
+            return ringBuffer.next(config.producerWaitStrategy());
+        }
+        long sequence = ringBuffer.tryNext();
+        if (sequence < 0) {
+            rejected.increment();
+        }
+        return sequence;
+    }
+
+    private void consume() {
+        log.info("Ingress consumer started, ring capacity {}", ringBuffer.capacity());
+        long next = ringBuffer.consumed() + 1;
+        int idle = 0;
+        while (true) {
+            long available = ringBuffer.highestPublished(next, next + config.batchSize() - 1);
+            if (available < next) {
+                if (!running && ringBuffer.cursor() < next) {
+                    break;
+                }
+                idle = config.consumerWaitStrategy().idle(idle);
+                continue;
+            }
+            idle = 0;
+            for (long sequence = next; sequence <= available; sequence++) {
+                process(ringBuffer.get(sequence));
+            }
+            ringBuffer.release(available);
+            next = available + 1;
+        }
+        log.info("Ingress consumer stopped");
+    }
+
+    private void process(OrderCommand command) {
+        try {
+            switch (command.getType()) {
+                case NEW -> matchingEngine.match(matchingEngine.getOrderPool().acquire().init(command.getOrderId(),
+                        command.getCustomerId(), command.getSymbol(), command.getPrice(), command.getQuantity(),
+                        command.getSide(), command.getOrderType(), command.getStopPrice(), command.getTimeInForce()));
+                case CANCEL -> matchingEngine.cancel(command.getOrderId());
+                case REPLACE -> matchingEngine.replace(command.getOrderId(), command.getQuantity(), command.getPrice());
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to process ingress command <{}>", command, e);
+        }
+    }
+
+    /**
+     * Producers rejected because the ring was full, only counted with {@link BackPressure#REJECT}.
+     */
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public int remainingCapacity() {
+        return ringBuffer.remainingCapacity();
+    }
+
+    /**
+     * Stops accepting commands, lets the matching thread drain everything already published and waits for it.
+     * Producers must have stopped publishing before this is called.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            consumer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
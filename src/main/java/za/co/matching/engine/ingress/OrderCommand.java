@@ -0,0 +1,83 @@
+package za.co.matching.engine.ingress;
+
+import lombok.Data;
+import za.co.matching.engine.core.MatchingEngine;
+import za.co.matching.engine.model.CommandType;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+
+import java.util.function.Consumer;
+
+/**
+ * A pre-allocated ring buffer slot. Producers overwrite the fields in place, so publishing a command does not
+ * allocate.
+ */
+@Data
+public class OrderCommand {
+    private CommandType type;
+    private long orderId;
+    private long customerId;
+    private String symbol;
+    private long price;
+    private int quantity;
+    private Side side;
+    private OrderType orderType;
+    private long stopPrice;
+    private TimeInForce timeInForce;
+    // Set instead of a type for work other than order entry
+    private Consumer<MatchingEngine> task;
+
+    public void setNew(long orderId, long customerId, String symbol, long price, int quantity, Side side,
+                       OrderType orderType, long stopPrice, TimeInForce timeInForce) {
+        this.type = CommandType.NEW;
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.symbol = symbol;
+        this.price = price;
+        this.quantity = quantity;
+        this.side = side;
+        this.orderType = orderType;
+        this.stopPrice = stopPrice;
+        this.timeInForce = timeInForce;
+        this.task = null;
+    }
+
+    public void setCancel(long orderId) {
+        clear();
+        this.type = CommandType.CANCEL;
+        this.orderId = orderId;
+    }
+
+    public void setReplace(long orderId, int quantity, long price) {
+        clear();
+        this.type = CommandType.REPLACE;
+        this.orderId = orderId;
+        this.quantity = quantity;
+        this.price = price;
+    }
+
+    /**
+     * Any other work for the engine of {@code symbol}, such as an auction or a query, run in order with the commands
+     * around it. The task itself is usually a fresh object, so this is for rare commands, not order entry.
+     */
+    public void setTask(String symbol, Consumer<MatchingEngine> task) {
+        clear();
+        this.symbol = symbol;
+        this.task = task;
+    }
+
+    public void clear() {
+        type = null;
+        orderId = 0;
+        customerId = 0;
+        symbol = null;
+        price = 0;
+        quantity = 0;
+        side = null;
+        orderType = null;
+        stopPrice = -1;
+        timeInForce = null;
+        task = null;
+    }
+}
@@ -0,0 +1,120 @@
+package za.co.matching.engine.ingress;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Multi-producer, single-consumer ring of pre-allocated {@link OrderCommand} slots.
+ * <p>
+ * Producers claim a sequence with a CAS on the cursor, fill the slot and then publish it by writing the slot's lap
+ * number into the availability array. The consumer only reads slots whose lap number matches, so slots claimed out
+ * of order by competing producers are never read half written. A producer cannot claim a slot the consumer has not
+ * released yet, which is where back-pressure comes from.
+ */
+public class OrderRingBuffer {
+
+    private final OrderCommand[] slots;
+    private final int mask;
+    private final int indexShift;
+    private final AtomicIntegerArray available;
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final AtomicLong consumerSequence = new AtomicLong(-1);
+
+    public OrderRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.slots = new OrderCommand[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new OrderCommand();
+        }
+        this.mask = capacity - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(capacity);
+        this.available = new AtomicIntegerArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            available.set(i, -1);
+        }
+    }
+
+    /**
+     * Claims the next slot.
+     *
+     * @return the claimed sequence, or -1 when the ring is full
+     */
+    public long tryNext() {
+        long current;
+        long next;
+        do {
+            current = cursor.get();
+            next = current + 1;
+            if (next - slots.length > consumerSequence.get()) {
+                return -1;
+            }
+        } while (!cursor.compareAndSet(current, next));
+        return next;
+    }
+
+    /**
+     * Claims the next slot, waiting with the given strategy while the ring is full.
+     */
+    public long next(WaitStrategy waitStrategy) {
+        int idle = 0;
+        long sequence;
+        while ((sequence = tryNext()) < 0) {
+            idle = waitStrategy.idle(idle);
+        }
+        return sequence;
+    }
+
+    public OrderCommand get(long sequence) {
+        return slots[(int) sequence & mask];
+    }
+
+    public void publish(long sequence) {
+        available.lazySet((int) sequence & mask, (int) (sequence >>> indexShift));
+    }
+
+    boolean isPublished(long sequence) {
+        return available.get((int) sequence & mask) == (int) (sequence >>> indexShift);
+    }
+
+    /**
+     * Highest sequence from {@code from} up to {@code limit} that has been published without gaps, or
+     * {@code from - 1} when {@code from} itself is not published yet. Consumer only.
+     */
+    public long highestPublished(long from, long limit) {
+        long upTo = Math.min(limit, cursor.get());
+        for (long sequence = from; sequence <= upTo; sequence++) {
+            if (!isPublished(sequence)) {
+                return sequence - 1;
+            }
+        }
+        return upTo;
+    }
+
+    /**
+     * The last sequence claimed by a producer, published or not.
+     */
+    public long cursor() {
+        return cursor.get();
+    }
+
+    public long consumed() {
+        return consumerSequence.get();
+    }
+
+    /**
+     * Releases every slot up to and including {@code sequence} for reuse by producers. Consumer only.
+     */
+    public void release(long sequence) {
+        consumerSequence.lazySet(sequence);
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    public int remainingCapacity() {
+        return (int) (slots.length - (cursor.get() - consumerSequence.get()));
+    }
+}
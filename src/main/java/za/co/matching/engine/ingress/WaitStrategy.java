@@ -0,0 +1,52 @@
+package za.co.matching.engine.ingress;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How a thread waits when there is nothing to consume, or when a producer waits for free slots.
+ * Each call is one idle step; the returned counter is passed back in and reset once work arrives.
+ */
+public enum WaitStrategy {
+    /**
+     * Lowest latency, burns a full core while idle.
+     */
+    BUSY_SPIN {
+        @Override
+        public int idle(int counter) {
+            Thread.onSpinWait();
+            return counter + 1;
+        }
+    },
+    YIELD {
+        @Override
+        public int idle(int counter) {
+            if (counter < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+            return counter + 1;
+        }
+    },
+    /**
+     * Spins, then yields, then parks, trading wake-up latency for an idle CPU.
+     */
+    PARK {
+        @Override
+        public int idle(int counter) {
+            if (counter < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (counter < SPIN_TRIES * 2) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+            return counter + 1;
+        }
+    };
+
+    private static final int SPIN_TRIES = 100;
+    private static final long PARK_NANOS = 50_000;
+
+    public abstract int idle(int counter);
+}
@@ -0,0 +1,175 @@
+package za.co.matching.engine.journal;
+
+import lombok.extern.slf4j.Slf4j;
+import net.openhft.chronicle.queue.ChronicleQueue;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.impl.single.SingleChronicleQueueBuilder;
+import net.openhft.chronicle.wire.DocumentContext;
+import za.co.matching.engine.codec.CancelOrderCodec;
+import za.co.matching.engine.codec.MessageFlyweight;
+import za.co.matching.engine.codec.MessageHeader;
+import za.co.matching.engine.codec.NewOrderCodec;
+import za.co.matching.engine.codec.ReplaceOrderCodec;
+import za.co.matching.engine.codec.StartAuctionCodec;
+import za.co.matching.engine.codec.StartSessionCodec;
+import za.co.matching.engine.codec.UncrossCodec;
+import za.co.matching.engine.core.CommandJournal;
+import za.co.matching.engine.core.MatchingEngine;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.TradingPhase;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * {@link CommandJournal} on a memory-mapped Chronicle queue. Every record is one message of the engine's binary
+ * codec: a {@link MessageHeader} followed by the command's fixed-layout body, encoded into a reused scratch buffer.
+ * <p>
+ * Appends happen on the matching thread, so the time spent in each append is measured and exposed through
+ * {@link #averageAppendNanos()}.
+ */
+@Slf4j
+public class ChronicleCommandJournal implements CommandJournal, AutoCloseable {
+
+    private final ChronicleQueue queue;
+    private final ExcerptAppender appender;
+    private final ByteBuffer scratch = ByteBuffer.allocate(256);
+    private final MessageHeader header = new MessageHeader();
+    private final NewOrderCodec newOrder = new NewOrderCodec();
+    private final CancelOrderCodec cancelOrder = new CancelOrderCodec();
+    private final ReplaceOrderCodec replaceOrder = new ReplaceOrderCodec();
+    private final StartAuctionCodec startAuction = new StartAuctionCodec();
+    private final UncrossCodec uncross = new UncrossCodec();
+    private final StartSessionCodec startSession = new StartSessionCodec();
+    private long appendCount;
+    private long appendNanos;
+
+    public ChronicleCommandJournal(Path directory) {
+        this.queue = SingleChronicleQueueBuilder.binary(directory).build();
+        this.appender = queue.createAppender();
+        log.info("Command journal opened at {}", directory);
+    }
+
+    @Override
+    public void appendNew(Order order) {
+        long start = System.nanoTime();
+        write(newOrder.wrapAndApplyHeader(scratch, 0, header).encode(order));
+        recordLatency(start);
+    }
+
+    @Override
+    public void appendCancel(long sequence, long timestamp, long orderId) {
+        long start = System.nanoTime();
+        write(cancelOrder.wrapAndApplyHeader(scratch, 0, header)
+                .sequence(sequence)
+                .timestamp(timestamp)
+                .orderId(orderId));
+        recordLatency(start);
+    }
+
+    @Override
+    public void appendReplace(long sequence, long timestamp, long orderId, int newQuantity, long newPrice) {
+        long start = System.nanoTime();
+        write(replaceOrder.wrapAndApplyHeader(scratch, 0, header)
+                .sequence(sequence)
+                .timestamp(timestamp)
+                .orderId(orderId)
+                .quantity(newQuantity)
+                .price(newPrice));
+        recordLatency(start);
+    }
+
+    @Override
+    public void appendStartAuction(long sequence, long timestamp, TradingPhase auction) {
+        long start = System.nanoTime();
+        write(startAuction.wrapAndApplyHeader(scratch, 0, header)
+                .sequence(sequence)
+                .timestamp(timestamp)
+                .phase(auction));
+        recordLatency(start);
+    }
+
+    @Override
+    public void appendUncross(long sequence, long timestamp, long referencePrice) {
+        long start = System.nanoTime();
+        write(uncross.wrapAndApplyHeader(scratch, 0, header)
+                .sequence(sequence)
+                .timestamp(timestamp)
+                .referencePrice(referencePrice));
+        recordLatency(start);
+    }
+
+    @Override
+    public void appendStartSession(long sequence, long timestamp) {
+        long start = System.nanoTime();
+        write(startSession.wrapAndApplyHeader(scratch, 0, header)
+                .sequence(sequence)
+                .timestamp(timestamp));
+        recordLatency(start);
+    }
+
+    private void write(MessageFlyweight<?> message) {
+        try (DocumentContext context = appender.writingDocument()) {
+            context.wire().bytes().write(scratch.array(), 0, message.encodedLength());
+        }
+    }
+
+    private void recordLatency(long start) {
+        appendNanos += System.nanoTime() - start;
+        appendCount++;
+    }
+
+    /**
+     * Re-runs every journaled command against the engine, in journal order and with the journaled sequence numbers
+     * and timestamps. The engine should be empty and must not journal to this queue while replaying.
+     *
+     * @return number of commands replayed
+     */
+    public long replay(MatchingEngine matchingEngine) {
+        return replay(matchingEngine, createTailer());
+    }
+
+    /**
+     * Re-runs only the commands journaled after {@code index}, for an engine already restored up to that command.
+     */
+    public long replayAfter(MatchingEngine matchingEngine, long index) {
+        JournalTailer tailer = createTailer();
+        if (!tailer.moveAfter(index)) {
+            throw new IllegalStateException("Journal does not contain index " + index);
+        }
+        return replay(matchingEngine, tailer);
+    }
+
+    private long replay(MatchingEngine matchingEngine, JournalTailer tailer) {
+        long start = System.nanoTime();
+        long replayed = 0;
+        int applied;
+        while ((applied = tailer.poll(matchingEngine, Integer.MAX_VALUE)) > 0) {
+            replayed += applied;
+        }
+        log.info("Replayed {} journaled commands in {} ms", replayed, (System.nanoTime() - start) / 1_000_000);
+        return replayed;
+    }
+
+    /**
+     * A tailer reading from the start of the journal. It must be used from a single thread.
+     */
+    public JournalTailer createTailer() {
+        return new JournalTailer(queue.createTailer());
+    }
+
+    public long appendCount() {
+        return appendCount;
+    }
+
+    public double averageAppendNanos() {
+        return appendCount == 0 ? 0 : (double) appendNanos / appendCount;
+    }
+
+    @Override
+    public void close() {
+        log.info("Closing command journal after {} appends, average append {} ns", appendCount, (long) averageAppendNanos());
+        appender.close();
+        queue.close();
+    }
+}
@@ -0,0 +1,116 @@
+package za.co.matching.engine.journal;
+
+import lombok.Getter;
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.wire.DocumentContext;
+import za.co.matching.engine.codec.CancelOrderCodec;
+import za.co.matching.engine.codec.MessageHeader;
+import za.co.matching.engine.codec.NewOrderCodec;
+import za.co.matching.engine.codec.ReplaceOrderCodec;
+import za.co.matching.engine.codec.StartAuctionCodec;
+import za.co.matching.engine.codec.StartSessionCodec;
+import za.co.matching.engine.codec.UncrossCodec;
+import za.co.matching.engine.core.MatchingEngine;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads journaled commands and re-runs them against an engine. A tailer keeps its own read position, so it can
+ * follow a journal that is still being written, and must only be used by one thread.
+ */
+public class JournalTailer {
+
+    private final ExcerptTailer tailer;
+    private final ByteBuffer scratch = ByteBuffer.allocate(256);
+    private final MessageHeader header = new MessageHeader();
+    private final NewOrderCodec newOrder = new NewOrderCodec();
+    private final CancelOrderCodec cancelOrder = new CancelOrderCodec();
+    private final ReplaceOrderCodec replaceOrder = new ReplaceOrderCodec();
+    private final StartAuctionCodec startAuction = new StartAuctionCodec();
+    private final UncrossCodec uncross = new UncrossCodec();
+    private final StartSessionCodec startSession = new StartSessionCodec();
+    /**
+     * Journal index of the last command applied, -1 before the first one.
+     */
+    @Getter
+    private long lastIndex = -1;
+
+    JournalTailer(ExcerptTailer tailer) {
+        this.tailer = tailer;
+    }
+
+    /**
+     * Positions the tailer just after the command at {@code index}.
+     *
+     * @return false when the journal does not contain that index
+     */
+    public boolean moveAfter(long index) {
+        if (!tailer.moveToIndex(index)) {
+            return false;
+        }
+        try (DocumentContext context = tailer.readingDocument()) {
+            if (!context.isPresent()) {
+                return false;
+            }
+            lastIndex = context.index();
+        }
+        return true;
+    }
+
+    /**
+     * Applies up to {@code limit} commands that are available now.
+     *
+     * @return number of commands applied, 0 when the tailer has caught up with the journal
+     */
+    public int poll(MatchingEngine matchingEngine, int limit) {
+        int applied = 0;
+        while (applied < limit) {
+            try (DocumentContext context = tailer.readingDocument()) {
+                if (!context.isPresent()) {
+                    break;
+                }
+                apply(context.wire().bytes(), matchingEngine);
+                lastIndex = context.index();
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    private void apply(Bytes<?> bytes, MatchingEngine matchingEngine) {
+        int length = (int) bytes.readRemaining();
+        if (length > scratch.capacity()) {
+            throw new IllegalStateException("Journal record of " + length + " bytes is larger than any command");
+        }
+        bytes.read(scratch.array(), 0, length);
+        header.wrap(scratch, 0).checkSchema();
+        int body = MessageHeader.ENCODED_LENGTH;
+        switch (header.templateId()) {
+            case NewOrderCodec.TEMPLATE_ID ->
+                    matchingEngine.replayNew(newOrder.wrap(scratch, body).decode(matchingEngine.getOrderPool().acquire()));
+            case CancelOrderCodec.TEMPLATE_ID -> {
+                cancelOrder.wrap(scratch, body);
+                matchingEngine.replayCancel(cancelOrder.sequence(), cancelOrder.timestamp(), cancelOrder.orderId());
+            }
+            case ReplaceOrderCodec.TEMPLATE_ID -> {
+                replaceOrder.wrap(scratch, body);
+                matchingEngine.replayReplace(replaceOrder.sequence(), replaceOrder.timestamp(), replaceOrder.orderId(),
+                        replaceOrder.quantity(), replaceOrder.price());
+            }
+            case StartAuctionCodec.TEMPLATE_ID -> {
+                startAuction.wrap(scratch, body);
+                matchingEngine.replayStartAuction(startAuction.sequence(), startAuction.timestamp(), startAuction.phase());
+            }
+            case UncrossCodec.TEMPLATE_ID -> {
+                uncross.wrap(scratch, body);
+                matchingEngine.replayUncross(uncross.sequence(), uncross.timestamp(), uncross.referencePrice());
+            }
+            case StartSessionCodec.TEMPLATE_ID -> {
+                startSession.wrap(scratch, body);
+                matchingEngine.replayStartSession(startSession.sequence(), startSession.timestamp());
+            }
+            default -> throw new IllegalStateException("Unknown journal template " + header.templateId());
+        }
+    }
+}
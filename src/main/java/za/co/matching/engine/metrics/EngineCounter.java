@@ -0,0 +1,14 @@
+package za.co.matching.engine.metrics;
+
+/**
+ * Monotonic counts kept by {@link EngineMetrics}.
+ */
+public enum EngineCounter {
+    ORDERS,
+    TRADES,
+    TRADED_QUANTITY,
+    FILLS, // orders filled completely
+    CANCELS, // cancel requests, IOC / FOK / market remainders and replaces down to the filled quantity
+    REPLACES,
+    REJECTS // cancels and replaces of orders that are not open
+}
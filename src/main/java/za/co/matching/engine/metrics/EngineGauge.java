@@ -0,0 +1,12 @@
+package za.co.matching.engine.metrics;
+
+/**
+ * Values sampled by {@link EngineMetrics} at the end of every command.
+ */
+public enum EngineGauge {
+    BID_ORDERS,
+    ASK_ORDERS,
+    BID_LEVELS,
+    ASK_LEVELS,
+    STOP_ORDERS
+}
@@ -0,0 +1,91 @@
+package za.co.matching.engine.metrics;
+
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.TimeInForce;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters, gauges and per-order latency histograms of one engine, split by {@link OrderType} and
+ * {@link TimeInForce}. Written only by the matching thread, with plain reads and release stores, so recording never
+ * allocates or locks. Any thread may take a {@link #snapshot()}.
+ */
+public class EngineMetrics {
+
+    /**
+     * Latencies above this are counted as this.
+     */
+    public static final long HIGHEST_TRACKABLE_LATENCY = TimeUnit.SECONDS.toNanos(10);
+
+    private static final OrderType[] ORDER_TYPES = OrderType.values();
+    private static final TimeInForce[] TIMES_IN_FORCE = TimeInForce.values();
+
+    private final LatencyHistogram[] latencies = new LatencyHistogram[ORDER_TYPES.length * TIMES_IN_FORCE.length];
+    private final AtomicLongArray counters = new AtomicLongArray(EngineCounter.values().length);
+    private final AtomicLongArray gauges = new AtomicLongArray(EngineGauge.values().length);
+    private final long startNanos = System.nanoTime();
+
+    public EngineMetrics() {
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram(HIGHEST_TRACKABLE_LATENCY);
+        }
+    }
+
+    /**
+     * Counts a new order and the nanoseconds the engine took to process it.
+     */
+    public void recordOrder(OrderType orderType, TimeInForce timeInForce, long latencyNanos) {
+        latency(orderType, timeInForce).record(latencyNanos);
+        increment(EngineCounter.ORDERS);
+    }
+
+    public void recordTrade(int quantity) {
+        increment(EngineCounter.TRADES);
+        add(EngineCounter.TRADED_QUANTITY, quantity);
+    }
+
+    public void increment(EngineCounter counter) {
+        add(counter, 1);
+    }
+
+    public void add(EngineCounter counter, long delta) {
+        int index = counter.ordinal();
+        counters.setRelease(index, counters.getPlain(index) + delta);
+    }
+
+    public void gauge(EngineGauge gauge, long value) {
+        gauges.setRelease(gauge.ordinal(), value);
+    }
+
+    public long get(EngineCounter counter) {
+        return counters.getAcquire(counter.ordinal());
+    }
+
+    public long get(EngineGauge gauge) {
+        return gauges.getAcquire(gauge.ordinal());
+    }
+
+    public LatencyHistogram latency(OrderType orderType, TimeInForce timeInForce) {
+        return latencies[orderType.ordinal() * TIMES_IN_FORCE.length + timeInForce.ordinal()];
+    }
+
+    /**
+     * Everything recorded since the metrics were created.
+     */
+    public MetricsSnapshot snapshot() {
+        long[] counterValues = new long[counters.length()];
+        for (int i = 0; i < counterValues.length; i++) {
+            counterValues[i] = counters.getAcquire(i);
+        }
+        long[] gaugeValues = new long[gauges.length()];
+        for (int i = 0; i < gaugeValues.length; i++) {
+            gaugeValues[i] = gauges.getAcquire(i);
+        }
+        HistogramSnapshot[] latencyValues = new HistogramSnapshot[latencies.length];
+        for (int i = 0; i < latencyValues.length; i++) {
+            latencyValues[i] = latencies[i].snapshot();
+        }
+        return new MetricsSnapshot(startNanos, System.nanoTime(), counterValues, gaugeValues, latencyValues);
+    }
+}
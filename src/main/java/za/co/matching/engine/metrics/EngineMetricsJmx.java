@@ -0,0 +1,169 @@
+package za.co.matching.engine.metrics;
+
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.TimeInForce;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes an {@link EngineMetrics} as an {@link EngineMetricsMXBean}. Attributes are read from a snapshot that is
+ * refreshed at most once per second, so a JMX client polling many attributes does not copy the histograms each time.
+ */
+public class EngineMetricsJmx implements EngineMetricsMXBean {
+
+    private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final EngineMetrics metrics;
+    private MetricsSnapshot latest;
+    private MetricsSnapshot interval;
+
+    public EngineMetricsJmx(EngineMetrics metrics) {
+        this.metrics = metrics;
+        this.latest = metrics.snapshot();
+        this.interval = latest;
+    }
+
+    /**
+     * Registers the metrics of {@code symbol}'s engine with the platform MBean server, replacing any engine already
+     * registered for it.
+     */
+    public static ObjectName register(String symbol, EngineMetrics metrics) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = objectName(symbol);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(new EngineMetricsJmx(metrics), name);
+            return name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register metrics of " + symbol, e);
+        }
+    }
+
+    public static void unregister(String symbol) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = objectName(symbol);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister metrics of " + symbol, e);
+        }
+    }
+
+    static ObjectName objectName(String symbol) throws JMException {
+        return new ObjectName("za.co.matching.engine:type=EngineMetrics,symbol=" + ObjectName.quote(symbol));
+    }
+
+    private synchronized MetricsSnapshot latest() {
+        long now = System.nanoTime();
+        if (now - latest.getEndNanos() >= REFRESH_NANOS) {
+            MetricsSnapshot current = metrics.snapshot();
+            interval = current.since(latest);
+            latest = current;
+        }
+        return latest;
+    }
+
+    @Override
+    public long getOrders() {
+        return latest().get(EngineCounter.ORDERS);
+    }
+
+    @Override
+    public long getTrades() {
+        return latest().get(EngineCounter.TRADES);
+    }
+
+    @Override
+    public long getTradedQuantity() {
+        return latest().get(EngineCounter.TRADED_QUANTITY);
+    }
+
+    @Override
+    public long getFills() {
+        return latest().get(EngineCounter.FILLS);
+    }
+
+    @Override
+    public long getCancels() {
+        return latest().get(EngineCounter.CANCELS);
+    }
+
+    @Override
+    public long getReplaces() {
+        return latest().get(EngineCounter.REPLACES);
+    }
+
+    @Override
+    public long getRejects() {
+        return latest().get(EngineCounter.REJECTS);
+    }
+
+    @Override
+    public long getBidOrders() {
+        return latest().get(EngineGauge.BID_ORDERS);
+    }
+
+    @Override
+    public long getAskOrders() {
+        return latest().get(EngineGauge.ASK_ORDERS);
+    }
+
+    @Override
+    public long getBidLevels() {
+        return latest().get(EngineGauge.BID_LEVELS);
+    }
+
+    @Override
+    public long getAskLevels() {
+        return latest().get(EngineGauge.ASK_LEVELS);
+    }
+
+    @Override
+    public long getStopOrders() {
+        return latest().get(EngineGauge.STOP_ORDERS);
+    }
+
+    @Override
+    public synchronized double getTradesPerSecond() {
+        latest();
+        return interval.rate(EngineCounter.TRADES);
+    }
+
+    @Override
+    public long getLatencyP50Nanos() {
+        return latest().latency().valueAtPercentile(50);
+    }
+
+    @Override
+    public long getLatencyP99Nanos() {
+        return latest().latency().valueAtPercentile(99);
+    }
+
+    @Override
+    public long getLatencyP999Nanos() {
+        return latest().latency().valueAtPercentile(99.9);
+    }
+
+    @Override
+    public long getLatencyMaxNanos() {
+        return latest().latency().getMax();
+    }
+
+    @Override
+    public long latencyAtPercentile(String orderType, String timeInForce, double percentile) {
+        MetricsSnapshot snapshot = latest();
+        OrderType type = OrderType.valueOf(orderType);
+        HistogramSnapshot latency = timeInForce == null || timeInForce.isEmpty()
+                ? snapshot.latency(type)
+                : snapshot.latency(type, TimeInForce.valueOf(timeInForce));
+        return latency.valueAtPercentile(percentile);
+    }
+}
@@ -0,0 +1,48 @@
+package za.co.matching.engine.metrics;
+
+/**
+ * JMX view of one engine's {@link EngineMetrics}. Counters and latencies cover the engine's lifetime; the trade rate
+ * covers the time since the previous sample, taken at most once per second.
+ */
+public interface EngineMetricsMXBean {
+
+    long getOrders();
+
+    long getTrades();
+
+    long getTradedQuantity();
+
+    long getFills();
+
+    long getCancels();
+
+    long getReplaces();
+
+    long getRejects();
+
+    long getBidOrders();
+
+    long getAskOrders();
+
+    long getBidLevels();
+
+    long getAskLevels();
+
+    long getStopOrders();
+
+    double getTradesPerSecond();
+
+    long getLatencyP50Nanos();
+
+    long getLatencyP99Nanos();
+
+    long getLatencyP999Nanos();
+
+    long getLatencyMaxNanos();
+
+    /**
+     * @param orderType   an {@code OrderType} name
+     * @param timeInForce a {@code TimeInForce} name, or empty for all of them
+     */
+    long latencyAtPercentile(String orderType, String timeInForce, double percentile);
+}
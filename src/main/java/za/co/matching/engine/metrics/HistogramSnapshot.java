@@ -0,0 +1,104 @@
+package za.co.matching.engine.metrics;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * An immutable copy of a {@link LatencyHistogram}'s counts. Snapshots of the same histogram can be subtracted to get
+ * the values recorded in between, or added to merge histograms.
+ */
+public class HistogramSnapshot {
+
+    private final long[] counts;
+    @Getter
+    private final long totalCount;
+
+    HistogramSnapshot(long[] counts) {
+        this.counts = counts;
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        this.totalCount = total;
+    }
+
+    /**
+     * The value at or below which {@code percentile} percent of the recorded values fall, reported as the highest
+     * value of its bucket. 0 when nothing was recorded.
+     */
+    public long valueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.clamp(percentile, 0.0, 100.0) / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return LatencyHistogram.highestEquivalentValue(i);
+            }
+        }
+        return getMax();
+    }
+
+    public long getMin() {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                return LatencyHistogram.lowestEquivalentValue(i);
+            }
+        }
+        return 0;
+    }
+
+    public long getMax() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] != 0) {
+                return LatencyHistogram.highestEquivalentValue(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Mean of the bucket midpoints.
+     */
+    public double getMean() {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double sum = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                long low = LatencyHistogram.lowestEquivalentValue(i);
+                sum += counts[i] * (low + (LatencyHistogram.highestEquivalentValue(i) - low) / 2.0);
+            }
+        }
+        return sum / totalCount;
+    }
+
+    /**
+     * The values recorded after {@code earlier}, an older snapshot of the same histogram.
+     */
+    public HistogramSnapshot minus(HistogramSnapshot earlier) {
+        long[] difference = Arrays.copyOf(counts, counts.length);
+        for (int i = 0; i < Math.min(counts.length, earlier.counts.length); i++) {
+            difference[i] -= earlier.counts[i];
+        }
+        return new HistogramSnapshot(difference);
+    }
+
+    public HistogramSnapshot plus(HistogramSnapshot other) {
+        long[] sum = Arrays.copyOf(counts, Math.max(counts.length, other.counts.length));
+        for (int i = 0; i < other.counts.length; i++) {
+            sum[i] += other.counts[i];
+        }
+        return new HistogramSnapshot(sum);
+    }
+
+    @Override
+    public String toString() {
+        return "HistogramSnapshot(count=" + totalCount + ", p50=" + valueAtPercentile(50) + ", p99="
+                + valueAtPercentile(99) + ", p99.9=" + valueAtPercentile(99.9) + ", max=" + getMax() + ")";
+    }
+}
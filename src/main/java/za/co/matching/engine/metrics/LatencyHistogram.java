@@ -0,0 +1,67 @@
+package za.co.matching.engine.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-linear histogram of non-negative values, laid out like HdrHistogram: each power of two is split into 128
+ * equal buckets, so any recorded value is reported within 1/128 (under 0.8%) of its true value, whatever its
+ * magnitude. Values above the highest trackable value are counted in the top bucket.
+ * <p>
+ * There is a single writer. Recording is one bucket increment with a release store: it never allocates, locks or
+ * waits. Any thread may take a {@link #snapshot()} at the same time; a snapshot may miss values recorded while it is
+ * being copied, but never sees a count go backwards.
+ */
+public class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 8;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;
+
+    private final long highestTrackableValue;
+    private final AtomicLongArray counts;
+
+    public LatencyHistogram(long highestTrackableValue) {
+        if (highestTrackableValue < SUB_BUCKET_COUNT) {
+            throw new IllegalArgumentException("Highest trackable value must be at least " + SUB_BUCKET_COUNT);
+        }
+        this.highestTrackableValue = highestTrackableValue;
+        this.counts = new AtomicLongArray(indexOf(highestTrackableValue) + 1);
+    }
+
+    /**
+     * Must only be called from the single writing thread.
+     */
+    public void record(long value) {
+        int index = indexOf(Math.clamp(value, 0, highestTrackableValue));
+        counts.setRelease(index, counts.getPlain(index) + 1);
+    }
+
+    public HistogramSnapshot snapshot() {
+        long[] copy = new long[counts.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = counts.getAcquire(i);
+        }
+        return new HistogramSnapshot(copy);
+    }
+
+    /**
+     * Values below {@code SUB_BUCKET_COUNT} get a bucket each. Above that, the values with the same highest set bit
+     * share {@code SUB_BUCKET_HALF} buckets, told apart by the bits just below it.
+     */
+    static int indexOf(long value) {
+        int shift = Math.max(0, 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return shift * SUB_BUCKET_HALF + (int) (value >>> shift);
+    }
+
+    static long lowestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + 1;
+        return (long) (index - shift * SUB_BUCKET_HALF) << shift;
+    }
+
+    static long highestEquivalentValue(int index) {
+        return lowestEquivalentValue(index + 1) - 1;
+    }
+}
@@ -0,0 +1,54 @@
+package za.co.matching.engine.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Hands an engine's metrics for each period to a listener, on a daemon thread of its own so the matching thread
+ * never waits for reporting.
+ */
+@Slf4j
+public class MetricsReporter implements AutoCloseable {
+
+    private final EngineMetrics metrics;
+    private final Consumer<MetricsSnapshot> listener;
+    private final ScheduledExecutorService executor;
+    private MetricsSnapshot previous;
+
+    public MetricsReporter(EngineMetrics metrics, Duration period, Consumer<MetricsSnapshot> listener) {
+        this.metrics = metrics;
+        this.listener = listener;
+        this.previous = metrics.snapshot();
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::report, period.toNanos(), period.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void report() {
+        try {
+            MetricsSnapshot current = metrics.snapshot();
+            listener.accept(current.since(previous));
+            previous = current;
+        } catch (RuntimeException e) {
+            log.error("Metrics listener failed", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
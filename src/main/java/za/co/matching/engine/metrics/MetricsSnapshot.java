@@ -0,0 +1,104 @@
+package za.co.matching.engine.metrics;
+
+import lombok.Getter;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.TimeInForce;
+
+/**
+ * The metrics of one engine over an interval: counters and latencies recorded between {@link #getStartNanos()} and
+ * {@link #getEndNanos()}, and gauges as of the end. Taken with {@link EngineMetrics#snapshot()}, which covers the
+ * engine's lifetime, and narrowed with {@link #since}.
+ */
+public class MetricsSnapshot {
+
+    private static final int TIMES_IN_FORCE = TimeInForce.values().length;
+
+    /**
+     * {@link System#nanoTime()} at the start of the interval.
+     */
+    @Getter
+    private final long startNanos;
+    @Getter
+    private final long endNanos;
+    private final long[] counters;
+    private final long[] gauges;
+    private final HistogramSnapshot[] latencies;
+
+    MetricsSnapshot(long startNanos, long endNanos, long[] counters, long[] gauges, HistogramSnapshot[] latencies) {
+        this.startNanos = startNanos;
+        this.endNanos = endNanos;
+        this.counters = counters;
+        this.gauges = gauges;
+        this.latencies = latencies;
+    }
+
+    public long get(EngineCounter counter) {
+        return counters[counter.ordinal()];
+    }
+
+    public long get(EngineGauge gauge) {
+        return gauges[gauge.ordinal()];
+    }
+
+    /**
+     * Average events per second over the interval.
+     */
+    public double rate(EngineCounter counter) {
+        long elapsed = endNanos - startNanos;
+        return elapsed <= 0 ? 0 : get(counter) * 1e9 / elapsed;
+    }
+
+    public HistogramSnapshot latency(OrderType orderType, TimeInForce timeInForce) {
+        return latencies[orderType.ordinal() * TIMES_IN_FORCE + timeInForce.ordinal()];
+    }
+
+    public HistogramSnapshot latency(OrderType orderType) {
+        HistogramSnapshot merged = latencies[orderType.ordinal() * TIMES_IN_FORCE];
+        for (int i = 1; i < TIMES_IN_FORCE; i++) {
+            merged = merged.plus(latencies[orderType.ordinal() * TIMES_IN_FORCE + i]);
+        }
+        return merged;
+    }
+
+    /**
+     * Latency of every order, whatever its type.
+     */
+    public HistogramSnapshot latency() {
+        HistogramSnapshot merged = latencies[0];
+        for (int i = 1; i < latencies.length; i++) {
+            merged = merged.plus(latencies[i]);
+        }
+        return merged;
+    }
+
+    /**
+     * What was recorded after {@code earlier}, an older snapshot of the same engine.
+     */
+    public MetricsSnapshot since(MetricsSnapshot earlier) {
+        long[] counterDeltas = new long[counters.length];
+        for (int i = 0; i < counters.length; i++) {
+            counterDeltas[i] = counters[i] - earlier.counters[i];
+        }
+        HistogramSnapshot[] latencyDeltas = new HistogramSnapshot[latencies.length];
+        for (int i = 0; i < latencies.length; i++) {
+            latencyDeltas[i] = latencies[i].minus(earlier.latencies[i]);
+        }
+        return new MetricsSnapshot(earlier.endNanos, endNanos, counterDeltas, gauges, latencyDeltas);
+    }
+
+    @Override
+    public String toString() {
+        HistogramSnapshot latency = latency();
+        return "MetricsSnapshot(orders=" + get(EngineCounter.ORDERS)
+                + ", trades=" + get(EngineCounter.TRADES)
+                + ", tradesPerSecond=" + Math.round(rate(EngineCounter.TRADES))
+                + ", cancels=" + get(EngineCounter.CANCELS)
+                + ", bidOrders=" + get(EngineGauge.BID_ORDERS)
+                + ", askOrders=" + get(EngineGauge.ASK_ORDERS)
+                + ", stopOrders=" + get(EngineGauge.STOP_ORDERS)
+                + ", latencyP50=" + latency.valueAtPercentile(50)
+                + ", latencyP99=" + latency.valueAtPercentile(99)
+                + ", latencyP99.9=" + latency.valueAtPercentile(99.9)
+                + ", latencyMax=" + latency.getMax() + ")";
+    }
+}
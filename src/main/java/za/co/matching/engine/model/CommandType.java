@@ -0,0 +1,9 @@
+package za.co.matching.engine.model;
+
+public enum CommandType {
+    NEW,
+    CANCEL,
+    REPLACE,
+    START_AUCTION,
+    UNCROSS
+}
@@ -1,60 +1,80 @@
 package za.co.matching.engine.model;
 
 import lombok.Data;
-
-import java.time.LocalDateTime;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Data
+@NoArgsConstructor
 public class Order implements Comparable<Order> {
-    private String orderId;
-    private String customerId;
+    private long orderId;
+    private long customerId;
     private String symbol;
-    private double price;
+    private long price;
     private int quantity;
     private Side side;
-    private LocalDateTime timestamp;
+    // Epoch nanos stamped by the engine when the order is accepted
+    private long timestamp;
     private int filledQuantity;
     private int remainingQuantity;
     private OrderStatus status;
     private OrderType orderType;
-    private double stopPrice;
+    private long stopPrice;
     private TimeInForce timeInForce;
+    private long sequence;
+
+    // Taken from an OrderPool, so the engine hands it back once it is done with it
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private boolean pooled;
+
+    public Order(long orderId, long customerId, String symbol, long price, int quantity, Side side, OrderType orderType, long stopPrice, TimeInForce timeInForce) {
+        init(orderId, customerId, symbol, price, quantity, side, orderType, stopPrice, timeInForce);
+    }
 
-    public Order(String orderId, String customerId, String symbol, double price, int quantity, Side side, OrderType orderType, double stopPrice, TimeInForce timeInForce) {
+    /**
+     * (Re)initialises every field, as a freshly constructed order.
+     *
+     * @return this order
+     */
+    public Order init(long orderId, long customerId, String symbol, long price, int quantity, Side side, OrderType orderType, long stopPrice, TimeInForce timeInForce) {
         this.orderId = orderId;
         this.customerId = customerId;
         this.symbol = symbol;
         this.price = price;
         this.quantity = quantity;
         this.side = side;
-        this.timestamp = LocalDateTime.now();
         this.filledQuantity = 0;
         this.remainingQuantity = quantity;
         this.status = OrderStatus.NEW;
         this.orderType = orderType;
         this.stopPrice = stopPrice;
         this.timeInForce = timeInForce;
+        this.timestamp = 0;
+        this.sequence = 0;
+        return this;
     }
 
-    public Order(String orderId, String customerId, String symbol, double price, int quantity, Side side, OrderType orderType, double stopPrice) {
+    public Order(long orderId, long customerId, String symbol, long price, int quantity, Side side, OrderType orderType, long stopPrice) {
         this(orderId, customerId, symbol, price, quantity, side, orderType, stopPrice, TimeInForce.GTC);
     }
 
-    public Order(String orderId, String customerId, String symbol, double price, int quantity, Side side, OrderType orderType) {
-        this(orderId, customerId, symbol, price, quantity, side, orderType, -1.0d);
+    public Order(long orderId, long customerId, String symbol, long price, int quantity, Side side, OrderType orderType) {
+        this(orderId, customerId, symbol, price, quantity, side, orderType, -1L);
     }
 
-    public Order(String orderId, String customerId, String symbol, double price, int quantity, Side side, OrderType orderType, TimeInForce timeInForce) {
-        this(orderId, customerId, symbol, price, quantity, side, orderType, -1.0d,  timeInForce);
+    public Order(long orderId, long customerId, String symbol, long price, int quantity, Side side, OrderType orderType, TimeInForce timeInForce) {
+        this(orderId, customerId, symbol, price, quantity, side, orderType, -1L, timeInForce);
     }
 
     @Override
     public int compareTo(Order o) {
-        int compare = Double.compare(this.price, o.price);
+        int compare = Long.compare(this.price, o.price);
         if (compare != 0) {
             return compare;
         } else {
-            return this.timestamp.compareTo(o.timestamp);
+            return Long.compare(this.sequence, o.sequence);
         }
     }
 }
@@ -0,0 +1,24 @@
+package za.co.matching.engine.model;
+
+public enum RejectReason {
+    /**
+     * An order with the same id is still live.
+     */
+    DUPLICATE_ORDER_ID,
+    /**
+     * No live order with that id was entered through this session.
+     */
+    UNKNOWN_ORDER,
+    /**
+     * The message could not be decoded: an unknown template, a short block or a field out of range.
+     */
+    INVALID_MESSAGE,
+    /**
+     * The quantity is not positive.
+     */
+    INVALID_QUANTITY,
+    /**
+     * A limit or stop price the order type needs is missing or not positive.
+     */
+    INVALID_PRICE
+}
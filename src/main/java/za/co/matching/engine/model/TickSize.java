@@ -0,0 +1,44 @@
+package za.co.matching.engine.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Minimum price increment of an instrument. Inside the engine prices are plain {@code long} tick counts,
+ * this type converts between ticks and decimal prices at the API edge.
+ */
+public record TickSize(BigDecimal increment) {
+
+    public TickSize {
+        if (increment == null || increment.signum() <= 0) {
+            throw new IllegalArgumentException("Tick size must be positive: " + increment);
+        }
+    }
+
+    public static TickSize of(String increment) {
+        return new TickSize(new BigDecimal(increment));
+    }
+
+    public long toTicks(BigDecimal price) {
+        try {
+            return price.divide(increment, 0, RoundingMode.UNNECESSARY).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Price " + price + " is not a multiple of tick size " + increment, e);
+        }
+    }
+
+    public long toTicks(double price) {
+        return toTicks(BigDecimal.valueOf(price));
+    }
+
+    /**
+     * Converts a price that may sit between ticks, rounding with the given mode.
+     */
+    public long toTicks(double price, RoundingMode roundingMode) {
+        return BigDecimal.valueOf(price).divide(increment, 0, roundingMode).longValueExact();
+    }
+
+    public BigDecimal toPrice(long ticks) {
+        return increment.multiply(BigDecimal.valueOf(ticks));
+    }
+}
@@ -0,0 +1,11 @@
+package za.co.matching.engine.model;
+
+public enum TradingPhase {
+    CONTINUOUS, // Orders match as they arrive
+    OPENING_AUCTION, // Orders are collected and uncrossed in one batch, setting the open
+    CLOSING_AUCTION; // Orders are collected and uncrossed in one batch, setting the close
+
+    public boolean isAuction() {
+        return this != CONTINUOUS;
+    }
+}
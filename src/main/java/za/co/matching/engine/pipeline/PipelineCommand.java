@@ -0,0 +1,45 @@
+package za.co.matching.engine.pipeline;
+
+import lombok.Data;
+import za.co.matching.engine.model.CommandType;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+
+/**
+ * A decoded command in a ring slot between stages, overwritten in place. The sequence and timestamp are set by the
+ * sequencing stage.
+ */
+@Data
+class PipelineCommand {
+    private CommandType type;
+    private long orderId;
+    private long customerId;
+    private String symbol;
+    private long price;
+    private int quantity;
+    private Side side;
+    private OrderType orderType;
+    private long stopPrice;
+    private TimeInForce timeInForce;
+    private long sequence;
+    private long timestamp;
+    // System.nanoTime() when the previous stage handed the command on
+    private long handedOffNanos;
+
+    void copyFrom(PipelineCommand other) {
+        this.type = other.type;
+        this.orderId = other.orderId;
+        this.customerId = other.customerId;
+        this.symbol = other.symbol;
+        this.price = other.price;
+        this.quantity = other.quantity;
+        this.side = other.side;
+        this.orderType = other.orderType;
+        this.stopPrice = other.stopPrice;
+        this.timeInForce = other.timeInForce;
+        this.sequence = other.sequence;
+        this.timestamp = other.timestamp;
+        this.handedOffNanos = other.handedOffNanos;
+    }
+}
@@ -0,0 +1,22 @@
+package za.co.matching.engine.pipeline;
+
+import za.co.matching.engine.ingress.WaitStrategy;
+
+/**
+ * @param capacity     slots in each ring between stages, must be a power of two
+ * @param batchSize    most items a stage takes per pass before releasing their slots
+ * @param waitStrategy how an idle stage waits for work, and a stage waits for room downstream;
+ *                     {@link WaitStrategy#BUSY_SPIN} when every stage has a core of its own
+ */
+public record PipelineConfig(int capacity, int batchSize, WaitStrategy waitStrategy) {
+
+    public PipelineConfig {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+    }
+
+    public static PipelineConfig defaults() {
+        return new PipelineConfig(16_384, 256, WaitStrategy.PARK);
+    }
+}
@@ -0,0 +1,70 @@
+package za.co.matching.engine.pipeline;
+
+import za.co.matching.engine.core.DepthUpdateType;
+import za.co.matching.engine.event.EngineEventType;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.Side;
+
+/**
+ * A trade, order event or depth update in a ring slot between the matching and publication stages. The orders are
+ * copies owned by the slot, since the engine recycles its own as soon as the command finishes.
+ */
+class PipelineEvent {
+
+    enum Kind {
+        TRADE,
+        ORDER,
+        DEPTH
+    }
+
+    Kind kind;
+    EngineEventType type;
+    long timestamp;
+    // The order of an order event, the buy order of a trade
+    final Order order = new Order();
+    final Order sellOrder = new Order();
+    long price;
+    long quantity;
+    long depthSequence;
+    DepthUpdateType depthType;
+    Side side;
+    int orderCount;
+    // System.nanoTime() when the matching stage received the command that caused the event
+    long commandNanos;
+
+    void setTrade(long timestamp, Order buyOrder, Order sellOrder, long price, int quantity) {
+        this.kind = Kind.TRADE;
+        this.timestamp = timestamp;
+        copy(buyOrder, this.order);
+        copy(sellOrder, this.sellOrder);
+        this.price = price;
+        this.quantity = quantity;
+    }
+
+    void setOrder(EngineEventType type, long timestamp, Order order) {
+        this.kind = Kind.ORDER;
+        this.type = type;
+        this.timestamp = timestamp;
+        copy(order, this.order);
+    }
+
+    void setDepth(long sequence, DepthUpdateType type, Side side, long price, long quantity, int orderCount) {
+        this.kind = Kind.DEPTH;
+        this.depthSequence = sequence;
+        this.depthType = type;
+        this.side = side;
+        this.price = price;
+        this.quantity = quantity;
+        this.orderCount = orderCount;
+    }
+
+    private static void copy(Order from, Order to) {
+        to.init(from.getOrderId(), from.getCustomerId(), from.getSymbol(), from.getPrice(), from.getQuantity(),
+                from.getSide(), from.getOrderType(), from.getStopPrice(), from.getTimeInForce());
+        to.setFilledQuantity(from.getFilledQuantity());
+        to.setRemainingQuantity(from.getRemainingQuantity());
+        to.setStatus(from.getStatus());
+        to.setTimestamp(from.getTimestamp());
+        to.setSequence(from.getSequence());
+    }
+}
@@ -0,0 +1,18 @@
+package za.co.matching.engine.pipeline;
+
+import za.co.matching.engine.model.RejectReason;
+
+/**
+ * Told about every command the decode stage refuses, on the decode thread. Implementations must not block.
+ */
+@FunctionalInterface
+public interface RejectHandler {
+
+    RejectHandler NONE = (templateId, orderId, reason) -> {
+    };
+
+    /**
+     * @param orderId 0 when the message was too malformed to read one
+     */
+    void onReject(int templateId, long orderId, RejectReason reason);
+}
@@ -0,0 +1,102 @@
+package za.co.matching.engine.pipeline;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single-producer, single-consumer ring of pre-allocated slots joining two pipeline stages.
+ * <p>
+ * The producer fills the slot returned by {@link #claim()} in place and makes it visible with {@link #publish()};
+ * the consumer reads {@link #available()} slots in order and hands them back with {@link #release}. With one thread
+ * on each end neither side needs a CAS: each owns one counter and only ever reads the other's, and each caches the
+ * last value it read so the other's cache line is only touched when the ring looks full or empty.
+ */
+public class SpscRing<T> {
+
+    private final Object[] slots;
+    private final int mask;
+    // Next slot the producer publishes
+    private final AtomicLong tail = new AtomicLong();
+    // Next slot the consumer reads
+    private final AtomicLong head = new AtomicLong();
+    // Producer side
+    private long claimed;
+    private long cachedHead;
+    // Consumer side
+    private long cachedTail;
+
+    public SpscRing(int capacity, Supplier<T> factory) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.slots = new Object[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = factory.get();
+        }
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * The next free slot, to be filled and then published. Producer only.
+     *
+     * @return the slot, or null when the ring is full
+     */
+    public T claim() {
+        if (claimed - cachedHead == slots.length) {
+            cachedHead = head.getAcquire();
+            if (claimed - cachedHead == slots.length) {
+                return null;
+            }
+        }
+        return slot(claimed);
+    }
+
+    /**
+     * Makes the slot returned by the last {@link #claim()} visible to the consumer. Producer only.
+     */
+    public void publish() {
+        tail.setRelease(++claimed);
+    }
+
+    /**
+     * Slots published and not yet released. Consumer only.
+     */
+    public int available() {
+        long next = head.getPlain();
+        if (cachedTail == next) {
+            cachedTail = tail.getAcquire();
+        }
+        return (int) (cachedTail - next);
+    }
+
+    /**
+     * @param index 0 for the oldest slot not yet released, up to {@link #available()} - 1
+     */
+    public T get(int index) {
+        return slot(head.getPlain() + index);
+    }
+
+    /**
+     * Hands the oldest {@code count} slots back to the producer. Consumer only.
+     */
+    public void release(int count) {
+        head.setRelease(head.getPlain() + count);
+    }
+
+    /**
+     * Slots published and not yet released, as seen from any thread.
+     */
+    public int size() {
+        long released = head.getAcquire();
+        return (int) (tail.getAcquire() - released);
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T slot(long sequence) {
+        return (T) slots[(int) sequence & mask];
+    }
+}
@@ -0,0 +1,42 @@
+package za.co.matching.engine.pipeline;
+
+import lombok.Getter;
+import za.co.matching.engine.metrics.EngineMetrics;
+import za.co.matching.engine.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput, occupancy and latency of one pipeline stage. Written only by the stage's thread, with plain reads and
+ * release stores like {@link EngineMetrics}; any thread may take a {@link #snapshot()}.
+ */
+public class StageMetrics {
+
+    @Getter
+    private final String name;
+    private final SpscRing<?> input;
+    private final LatencyHistogram latency = new LatencyHistogram(EngineMetrics.HIGHEST_TRACKABLE_LATENCY);
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong maxQueued = new AtomicLong();
+
+    StageMetrics(String name, SpscRing<?> input) {
+        this.name = name;
+        this.input = input;
+    }
+
+    void record(long latencyNanos) {
+        latency.record(latencyNanos);
+        processed.setRelease(processed.getPlain() + 1);
+    }
+
+    void queued(int queued) {
+        if (queued > maxQueued.getPlain()) {
+            maxQueued.setRelease(queued);
+        }
+    }
+
+    public StageSnapshot snapshot() {
+        return new StageSnapshot(name, processed.getAcquire(), input.size(), (int) maxQueued.getAcquire(),
+                input.capacity(), latency.snapshot());
+    }
+}
@@ -0,0 +1,16 @@
+package za.co.matching.engine.pipeline;
+
+import za.co.matching.engine.metrics.HistogramSnapshot;
+
+/**
+ * One pipeline stage as of a {@link StagedPipeline#stageSnapshots()} call.
+ *
+ * @param processed items the stage has finished with
+ * @param queued    items waiting in the stage's input ring
+ * @param maxQueued most items the stage has found waiting at once
+ * @param capacity  size of the stage's input ring
+ * @param latency   nanoseconds from an item entering the stage's input ring to the stage finishing with it
+ */
+public record StageSnapshot(String name, long processed, int queued, int maxQueued, int capacity,
+                            HistogramSnapshot latency) {
+}
@@ -0,0 +1,455 @@
+package za.co.matching.engine.pipeline;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import za.co.matching.engine.codec.CancelOrderCodec;
+import za.co.matching.engine.codec.MessageHeader;
+import za.co.matching.engine.codec.NewOrderCodec;
+import za.co.matching.engine.codec.ReplaceOrderCodec;
+import za.co.matching.engine.core.CommandJournal;
+import za.co.matching.engine.core.DepthListener;
+import za.co.matching.engine.core.DepthUpdateType;
+import za.co.matching.engine.core.EngineClock;
+import za.co.matching.engine.core.MatchingEngine;
+import za.co.matching.engine.event.EngineEventType;
+import za.co.matching.engine.event.EventPublisher;
+import za.co.matching.engine.model.CommandType;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.RejectReason;
+import za.co.matching.engine.model.Side;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs order entry for one {@link MatchingEngine} as four stages, each on its own thread and joined by
+ * {@link SpscRing}s, so decoding, journaling and event delivery are taken off the matching thread:
+ * <ol>
+ *     <li>decode: parses encoded new order, cancel and replace messages and refuses invalid ones</li>
+ *     <li>sequence: stamps each command with the engine sequence and a timestamp and journals it</li>
+ *     <li>match: applies the sequenced command to the engine the way a journaled command is replayed</li>
+ *     <li>publish: hands the engine's trades, order events and depth updates to the downstream listeners</li>
+ * </ol>
+ * Every ring is pre-allocated and a stage that finds the next ring full waits for it, so the pipeline neither
+ * allocates nor drops commands once warm. The stages' threads are ordinary platform threads; give each a core of its
+ * own with the OS (for example {@code taskset} or {@code isolcpus}) and
+ * {@link za.co.matching.engine.ingress.WaitStrategy#BUSY_SPIN}.
+ * <p>
+ * The pipeline builds the engine, since the engine's events have to go through the publication stage. The engine's
+ * read side, such as its book view and market data, stays usable from any thread; everything else belongs to the
+ * match stage.
+ * <p>
+ * The level-1 market data and the book view are still published by the match stage, at the end of each command.
+ * Both are read from the books, which only the matching thread may touch, and both are seqlock copies of a fixed
+ * number of fields and levels that neither wait nor allocate. Handing them to the publication stage would copy the
+ * same levels into the ring first and publish them later.
+ */
+@Slf4j
+public class StagedPipeline implements AutoCloseable {
+
+    /**
+     * Longest message kept per input slot; longer bodies are cut to this, past every field the decoder reads.
+     */
+    public static final int MAX_MESSAGE_LENGTH = 128;
+
+    @Getter
+    private final MatchingEngine matchingEngine;
+    private final PipelineConfig config;
+    private final EngineClock clock;
+    private final CommandJournal journal;
+    private final EventPublisher events;
+    private final DepthListener depthListener;
+    private final RejectHandler rejects;
+
+    private final ByteBuffer messageBuffer;
+    private final SpscRing<MessageSlot> messages;
+    private final SpscRing<PipelineCommand> validated;
+    private final SpscRing<PipelineCommand> sequenced;
+    private final SpscRing<PipelineEvent> outputs;
+    private final List<Stage> stages;
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile boolean accepting = true;
+
+    public StagedPipeline(EngineClock clock, CommandJournal journal, EventPublisher events, DepthListener depthListener,
+                          RejectHandler rejects, PipelineConfig config) {
+        this.config = config;
+        this.clock = clock;
+        this.journal = journal;
+        this.events = events;
+        this.depthListener = depthListener;
+        this.rejects = rejects;
+
+        this.messageBuffer = ByteBuffer.allocateDirect(config.capacity() * MAX_MESSAGE_LENGTH);
+        int[] nextOffset = {0};
+        this.messages = new SpscRing<>(config.capacity(), () -> new MessageSlot(nextOffset[0]++ * MAX_MESSAGE_LENGTH));
+        this.validated = new SpscRing<>(config.capacity(), PipelineCommand::new);
+        this.sequenced = new SpscRing<>(config.capacity(), PipelineCommand::new);
+        this.outputs = new SpscRing<>(config.capacity(), PipelineEvent::new);
+
+        MatchStage matchStage = new MatchStage();
+        this.matchingEngine = new MatchingEngine(clock, CommandJournal.NONE, matchStage);
+        matchingEngine.setDepthListener(matchStage);
+
+        DecodeStage decode = new DecodeStage(null);
+        SequenceStage sequence = new SequenceStage(decode, matchingEngine.getSequence());
+        matchStage.upstream = sequence;
+        PublishStage publish = new PublishStage(matchStage);
+        this.stages = List.of(decode, sequence, matchStage, publish);
+        for (Stage stage : stages) {
+            stage.thread.start();
+        }
+    }
+
+    /**
+     * Copies one encoded message, header included, into the decode stage's ring. Must only be called from one
+     * thread at a time.
+     *
+     * @return false when the ring is full
+     */
+    public boolean offer(ByteBuffer source, int offset, int length) {
+        if (!accepting) {
+            throw new IllegalStateException("Staged pipeline has been closed");
+        }
+        MessageSlot slot = messages.claim();
+        if (slot == null) {
+            return false;
+        }
+        slot.length = Math.min(length, MAX_MESSAGE_LENGTH);
+        messageBuffer.put(slot.offset, source, offset, slot.length);
+        slot.receivedNanos = System.nanoTime();
+        messages.publish();
+        return true;
+    }
+
+    /**
+     * Commands refused by the decode stage.
+     */
+    public long rejectedCount() {
+        return rejected.getAcquire();
+    }
+
+    /**
+     * Metrics of every stage, in pipeline order. The decode stage's latency counts from {@link #offer}, the
+     * publication stage's from when the match stage received the command that caused the event.
+     */
+    public List<StageSnapshot> stageSnapshots() {
+        return stages.stream().map(stage -> stage.metrics.snapshot()).toList();
+    }
+
+    /**
+     * Stops accepting messages, lets every stage drain what was already offered and waits for them in order.
+     * The caller of {@link #offer} must have stopped before this is called.
+     */
+    @Override
+    public void close() {
+        accepting = false;
+        for (Stage stage : stages) {
+            try {
+                stage.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private <T> T claim(SpscRing<T> ring) {
+        T slot;
+        int idle = 0;
+        while ((slot = ring.claim()) == null) {
+            idle = config.waitStrategy().idle(idle);
+        }
+        return slot;
+    }
+
+    private static final class MessageSlot {
+        final int offset;
+        int length;
+        long receivedNanos;
+
+        MessageSlot(int offset) {
+            this.offset = offset;
+        }
+    }
+
+    /**
+     * Drains one input ring in batches until the stage before it has finished and the ring is empty.
+     */
+    private abstract class Stage implements Runnable {
+
+        final SpscRing<?> input;
+        final StageMetrics metrics;
+        final Thread thread;
+        Stage upstream;
+        private volatile boolean finished;
+
+        Stage(String name, SpscRing<?> input, Stage upstream) {
+            this.input = input;
+            this.upstream = upstream;
+            this.metrics = new StageMetrics(name, input);
+            this.thread = new Thread(this, "pipeline-" + name);
+        }
+
+        abstract void process(int index);
+
+        private boolean upstreamFinished() {
+            return upstream == null ? !accepting : upstream.finished;
+        }
+
+        @Override
+        public void run() {
+            int idle = 0;
+            while (true) {
+                int available = input.available();
+                if (available == 0) {
+                    // Checked before looking again, so nothing published before the upstream finished is missed
+                    if (upstreamFinished() && input.available() == 0) {
+                        break;
+                    }
+                    idle = config.waitStrategy().idle(idle);
+                    continue;
+                }
+                idle = 0;
+                metrics.queued(available);
+                int batch = Math.min(available, config.batchSize());
+                for (int i = 0; i < batch; i++) {
+                    try {
+                        process(i);
+                    } catch (RuntimeException e) {
+                        log.error("Pipeline stage {} failed to process an item", metrics.getName(), e);
+                    }
+                }
+                input.release(batch);
+            }
+            finished = true;
+        }
+    }
+
+    private final class DecodeStage extends Stage {
+
+        private final MessageHeader header = new MessageHeader();
+        private final NewOrderCodec newOrder = new NewOrderCodec();
+        private final CancelOrderCodec cancelOrder = new CancelOrderCodec();
+        private final ReplaceOrderCodec replaceOrder = new ReplaceOrderCodec();
+
+        DecodeStage(Stage upstream) {
+            super("decode", messages, upstream);
+        }
+
+        @Override
+        void process(int index) {
+            MessageSlot slot = messages.get(index);
+            PipelineCommand command = claim(validated);
+            RejectReason reason;
+            try {
+                reason = decode(slot, command);
+            } catch (RuntimeException e) {
+                log.warn("Failed to decode a message", e);
+                reason = RejectReason.INVALID_MESSAGE;
+            }
+            long now = System.nanoTime();
+            if (reason == null) {
+                command.setHandedOffNanos(now);
+                validated.publish();
+            } else {
+                reject(slot, reason);
+            }
+            metrics.record(now - slot.receivedNanos);
+        }
+
+        /**
+         * @return why the command is refused, or null when it is valid
+         */
+        private RejectReason decode(MessageSlot slot, PipelineCommand command) {
+            if (slot.length < MessageHeader.ENCODED_LENGTH) {
+                return RejectReason.INVALID_MESSAGE;
+            }
+            header.wrap(messageBuffer, slot.offset);
+            int body = slot.offset + MessageHeader.ENCODED_LENGTH;
+            int blockLength = Math.min(header.blockLength(), slot.length - MessageHeader.ENCODED_LENGTH);
+            if (header.schemaId() != MessageHeader.SCHEMA_ID) {
+                return RejectReason.INVALID_MESSAGE;
+            }
+            switch (header.templateId()) {
+                case NewOrderCodec.TEMPLATE_ID -> {
+                    if (blockLength < NewOrderCodec.BLOCK_LENGTH) {
+                        return RejectReason.INVALID_MESSAGE;
+                    }
+                    NewOrderCodec message = newOrder.wrap(messageBuffer, body);
+                    RejectReason invalid = message.validate();
+                    if (invalid != null) {
+                        return invalid;
+                    }
+                    command.setType(CommandType.NEW);
+                    command.setOrderId(message.orderId());
+                    command.setCustomerId(message.customerId());
+                    command.setSymbol(message.symbol());
+                    command.setPrice(message.price());
+                    command.setQuantity(message.quantity());
+                    command.setSide(message.side());
+                    command.setOrderType(message.orderType());
+                    command.setStopPrice(message.stopPrice());
+                    command.setTimeInForce(message.timeInForce());
+                    return null;
+                }
+                case CancelOrderCodec.TEMPLATE_ID -> {
+                    if (blockLength < CancelOrderCodec.BLOCK_LENGTH) {
+                        return RejectReason.INVALID_MESSAGE;
+                    }
+                    command.setType(CommandType.CANCEL);
+                    command.setOrderId(cancelOrder.wrap(messageBuffer, body).orderId());
+                    return null;
+                }
+                case ReplaceOrderCodec.TEMPLATE_ID -> {
+                    if (blockLength < ReplaceOrderCodec.BLOCK_LENGTH) {
+                        return RejectReason.INVALID_MESSAGE;
+                    }
+                    ReplaceOrderCodec message = replaceOrder.wrap(messageBuffer, body);
+                    command.setType(CommandType.REPLACE);
+                    command.setOrderId(message.orderId());
+                    command.setQuantity(message.quantity());
+                    command.setPrice(message.price());
+                    return message.validate();
+                }
+                default -> {
+                    return RejectReason.INVALID_MESSAGE;
+                }
+            }
+        }
+
+        private void reject(MessageSlot slot, RejectReason reason) {
+            rejected.setRelease(rejected.getPlain() + 1);
+            long orderId = 0;
+            int templateId = 0;
+            if (slot.length >= MessageHeader.ENCODED_LENGTH) {
+                templateId = header.wrap(messageBuffer, slot.offset).templateId();
+                // Every order entry message starts with sequence, timestamp and order id
+                if (slot.length >= MessageHeader.ENCODED_LENGTH + CancelOrderCodec.BLOCK_LENGTH) {
+                    orderId = cancelOrder.wrap(messageBuffer, slot.offset + MessageHeader.ENCODED_LENGTH).orderId();
+                }
+            }
+            rejects.onReject(templateId, orderId, reason);
+        }
+    }
+
+    private final class SequenceStage extends Stage {
+
+        private final Order journaled = new Order();
+        private long sequence;
+
+        SequenceStage(Stage upstream, long sequence) {
+            super("sequence", validated, upstream);
+            this.sequence = sequence;
+        }
+
+        @Override
+        void process(int index) {
+            PipelineCommand in = validated.get(index);
+            PipelineCommand command = claim(sequenced);
+            command.copyFrom(in);
+            command.setSequence(++sequence);
+            command.setTimestamp(clock.nanos());
+            switch (command.getType()) {
+                case NEW -> {
+                    journaled.init(command.getOrderId(), command.getCustomerId(), command.getSymbol(),
+                            command.getPrice(), command.getQuantity(), command.getSide(), command.getOrderType(),
+                            command.getStopPrice(), command.getTimeInForce());
+                    journaled.setSequence(command.getSequence());
+                    journaled.setTimestamp(command.getTimestamp());
+                    journal.appendNew(journaled);
+                }
+                case CANCEL -> journal.appendCancel(command.getSequence(), command.getTimestamp(), command.getOrderId());
+                case REPLACE -> journal.appendReplace(command.getSequence(), command.getTimestamp(),
+                        command.getOrderId(), command.getQuantity(), command.getPrice());
+                default -> throw new IllegalStateException("Unexpected command " + command.getType());
+            }
+            long now = System.nanoTime();
+            command.setHandedOffNanos(now);
+            sequenced.publish();
+            metrics.record(now - in.getHandedOffNanos());
+        }
+    }
+
+    /**
+     * Also the engine's event publisher and depth listener, so on the matching thread events are only copied into
+     * the publication ring. The engine's market data and book view are published here, see the class comment.
+     */
+    private final class MatchStage extends Stage implements EventPublisher, DepthListener {
+
+        private long commandNanos;
+
+        MatchStage() {
+            super("match", sequenced, null);
+        }
+
+        @Override
+        void process(int index) {
+            PipelineCommand command = sequenced.get(index);
+            commandNanos = command.getHandedOffNanos();
+            switch (command.getType()) {
+                case NEW -> {
+                    long start = System.nanoTime();
+                    Order order = matchingEngine.getOrderPool().acquire().init(command.getOrderId(),
+                            command.getCustomerId(), command.getSymbol(), command.getPrice(), command.getQuantity(),
+                            command.getSide(), command.getOrderType(), command.getStopPrice(), command.getTimeInForce());
+                    order.setSequence(command.getSequence());
+                    order.setTimestamp(command.getTimestamp());
+                    matchingEngine.replayNew(order);
+                    long now = System.nanoTime();
+                    matchingEngine.getMetrics().recordOrder(command.getOrderType(), command.getTimeInForce(), now - start);
+                    metrics.record(now - commandNanos);
+                    return;
+                }
+                case CANCEL -> matchingEngine.replayCancel(command.getSequence(), command.getTimestamp(), command.getOrderId());
+                case REPLACE -> matchingEngine.replayReplace(command.getSequence(), command.getTimestamp(),
+                        command.getOrderId(), command.getQuantity(), command.getPrice());
+                default -> throw new IllegalStateException("Unexpected command " + command.getType());
+            }
+            metrics.record(System.nanoTime() - commandNanos);
+        }
+
+        @Override
+        public void publishTrade(long timestamp, Order buyOrder, Order sellOrder, long price, int quantity) {
+            PipelineEvent event = claim(outputs);
+            event.setTrade(timestamp, buyOrder, sellOrder, price, quantity);
+            event.commandNanos = commandNanos;
+            outputs.publish();
+        }
+
+        @Override
+        public void publishOrder(EngineEventType type, long timestamp, Order order) {
+            PipelineEvent event = claim(outputs);
+            event.setOrder(type, timestamp, order);
+            event.commandNanos = commandNanos;
+            outputs.publish();
+        }
+
+        @Override
+        public void onDepthUpdate(long sequence, DepthUpdateType type, Side side, long price, long quantity, int orderCount) {
+            PipelineEvent event = claim(outputs);
+            event.setDepth(sequence, type, side, price, quantity, orderCount);
+            event.commandNanos = commandNanos;
+            outputs.publish();
+        }
+    }
+
+    private final class PublishStage extends Stage {
+
+        PublishStage(Stage upstream) {
+            super("publish", outputs, upstream);
+        }
+
+        @Override
+        void process(int index) {
+            PipelineEvent event = outputs.get(index);
+            switch (event.kind) {
+                case TRADE -> events.publishTrade(event.timestamp, event.order, event.sellOrder, event.price,
+                        (int) event.quantity);
+                case ORDER -> events.publishOrder(event.type, event.timestamp, event.order);
+                case DEPTH -> depthListener.onDepthUpdate(event.depthSequence, event.depthType, event.side,
+                        event.price, event.quantity, event.orderCount);
+            }
+            metrics.record(System.nanoTime() - event.commandNanos);
+        }
+    }
+}
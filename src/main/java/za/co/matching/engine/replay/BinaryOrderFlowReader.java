@@ -0,0 +1,80 @@
+package za.co.matching.engine.replay;
+
+import za.co.matching.engine.codec.CancelOrderCodec;
+import za.co.matching.engine.codec.MessageHeader;
+import za.co.matching.engine.codec.NewOrderCodec;
+import za.co.matching.engine.codec.ReplaceOrderCodec;
+import za.co.matching.engine.codec.StartAuctionCodec;
+import za.co.matching.engine.codec.UncrossCodec;
+
+import java.nio.MappedByteBuffer;
+
+/**
+ * Reads the files {@link OrderFlowWriter} writes: command messages of the binary codec, back to back, decoded in place
+ * in the mapped file.
+ */
+public class BinaryOrderFlowReader extends OrderFlowReader {
+
+    private final MessageHeader header = new MessageHeader();
+    private final NewOrderCodec newOrder = new NewOrderCodec();
+    private final CancelOrderCodec cancelOrder = new CancelOrderCodec();
+    private final ReplaceOrderCodec replaceOrder = new ReplaceOrderCodec();
+    private final StartAuctionCodec startAuction = new StartAuctionCodec();
+    private final UncrossCodec uncross = new UncrossCodec();
+
+    public BinaryOrderFlowReader() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    BinaryOrderFlowReader(long windowSize) {
+        super(windowSize);
+    }
+
+    @Override
+    protected int parse(MappedByteBuffer window, boolean last, OrderFlowHandler handler) {
+        int offset = 0;
+        int limit = window.limit();
+        while (limit - offset >= MessageHeader.ENCODED_LENGTH) {
+            header.wrap(window, offset).checkSchema();
+            int length = MessageHeader.ENCODED_LENGTH + header.blockLength();
+            if (limit - offset < length) {
+                break;
+            }
+            apply(window, offset + MessageHeader.ENCODED_LENGTH, handler);
+            recordRead();
+            offset += length;
+        }
+        if (last && offset != limit) {
+            throw new IllegalStateException("Order flow ends with a truncated record of " + (limit - offset) + " bytes");
+        }
+        return offset;
+    }
+
+    private void apply(MappedByteBuffer window, int body, OrderFlowHandler handler) {
+        switch (header.templateId()) {
+            case NewOrderCodec.TEMPLATE_ID -> {
+                NewOrderCodec message = newOrder.wrap(window, body);
+                handler.onNew(message.timestamp(), message.orderId(), message.customerId(), message.symbol(),
+                        message.price(), message.quantity(), message.side(), message.orderType(), message.stopPrice(),
+                        message.timeInForce());
+            }
+            case CancelOrderCodec.TEMPLATE_ID -> {
+                CancelOrderCodec message = cancelOrder.wrap(window, body);
+                handler.onCancel(message.timestamp(), message.orderId());
+            }
+            case ReplaceOrderCodec.TEMPLATE_ID -> {
+                ReplaceOrderCodec message = replaceOrder.wrap(window, body);
+                handler.onReplace(message.timestamp(), message.orderId(), message.quantity(), message.price());
+            }
+            case StartAuctionCodec.TEMPLATE_ID -> {
+                StartAuctionCodec message = startAuction.wrap(window, body);
+                handler.onStartAuction(message.timestamp(), message.phase());
+            }
+            case UncrossCodec.TEMPLATE_ID -> {
+                UncrossCodec message = uncross.wrap(window, body);
+                handler.onUncross(message.timestamp(), message.referencePrice());
+            }
+            default -> throw new IllegalStateException("Unknown order flow template " + header.templateId());
+        }
+    }
+}
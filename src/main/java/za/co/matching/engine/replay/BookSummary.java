@@ -0,0 +1,8 @@
+package za.co.matching.engine.replay;
+
+/**
+ * One symbol's book and session statistics at the end of a replay.
+ */
+public record BookSummary(String symbol, long bestBidPrice, long bestAskPrice, int bidOrders, int askOrders,
+                          int stopOrders, long tradeCount, long volume, long lastTradePrice) {
+}
@@ -0,0 +1,205 @@
+package za.co.matching.engine.replay;
+
+import za.co.matching.engine.model.CommandType;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+import za.co.matching.engine.model.TradingPhase;
+import za.co.matching.engine.utils.SymbolTable;
+
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads order flow recorded as text, one command per line:
+ * <pre>
+ * NEW,timestamp,orderId,customerId,symbol,price,quantity,side,orderType,stopPrice,timeInForce
+ * CANCEL,timestamp,orderId
+ * REPLACE,timestamp,orderId,newQuantity,newPrice
+ * START_AUCTION,timestamp,auction
+ * UNCROSS,timestamp,referencePrice
+ * </pre>
+ * Enum fields use the constant names. Blank lines and lines starting with {@code #} are skipped. Fields are parsed
+ * straight from the mapped bytes, and symbols are interned from their bytes, so the only allocation is the first line
+ * of each symbol.
+ */
+public class CsvOrderFlowReader extends OrderFlowReader {
+
+    private static final CommandType[] COMMAND_TYPES = CommandType.values();
+    private static final Side[] SIDES = Side.values();
+    private static final OrderType[] ORDER_TYPES = OrderType.values();
+    private static final TimeInForce[] TIMES_IN_FORCE = TimeInForce.values();
+    private static final TradingPhase[] PHASES = TradingPhase.values();
+
+    private MappedByteBuffer window;
+    private int position;
+    private int lineStart;
+    private int lineEnd;
+    private long lineNumber;
+    private final SymbolTable symbols = new SymbolTable(4096);
+
+    public CsvOrderFlowReader() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    CsvOrderFlowReader(long windowSize) {
+        super(windowSize);
+    }
+
+    @Override
+    protected int parse(MappedByteBuffer window, boolean last, OrderFlowHandler handler) {
+        this.window = window;
+        int offset = 0;
+        int limit = window.limit();
+        while (offset < limit) {
+            int end = indexOfNewLine(offset, limit);
+            if (end < 0) {
+                if (!last) {
+                    break;
+                }
+                end = limit;
+            }
+            lineNumber++;
+            int contentEnd = end > offset && window.get(end - 1) == '\r' ? end - 1 : end;
+            if (contentEnd > offset && window.get(offset) != '#') {
+                parseLine(offset, contentEnd, handler);
+                recordRead();
+            }
+            offset = Math.min(end + 1, limit);
+        }
+        return offset;
+    }
+
+    private int indexOfNewLine(int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (window.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void parseLine(int start, int end, OrderFlowHandler handler) {
+        lineStart = start;
+        lineEnd = end;
+        position = start;
+        CommandType type = nextEnum(COMMAND_TYPES);
+        long timestamp = nextLong();
+        switch (type) {
+            case NEW -> handler.onNew(timestamp, nextLong(), nextLong(), nextSymbol(), nextLong(), nextInt(),
+                    nextEnum(SIDES), nextEnum(ORDER_TYPES), nextLong(), nextEnum(TIMES_IN_FORCE));
+            case CANCEL -> handler.onCancel(timestamp, nextLong());
+            case REPLACE -> handler.onReplace(timestamp, nextLong(), nextInt(), nextLong());
+            case START_AUCTION -> handler.onStartAuction(timestamp, nextEnum(PHASES));
+            case UNCROSS -> handler.onUncross(timestamp, nextLong());
+        }
+        if (position <= lineEnd) {
+            throw malformed("unexpected field");
+        }
+    }
+
+    /**
+     * Moves past the next field.
+     *
+     * @return the end of the field
+     */
+    private int nextField() {
+        if (position > lineEnd) {
+            throw malformed("missing field");
+        }
+        int end = position;
+        while (end < lineEnd && window.get(end) != ',') {
+            end++;
+        }
+        return end;
+    }
+
+    private long nextLong() {
+        int end = nextField();
+        int i = position;
+        boolean negative = i < end && window.get(i) == '-';
+        if (negative) {
+            i++;
+        }
+        if (i == end) {
+            throw malformed("expected a number");
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = window.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw malformed("expected a number");
+            }
+            value = value * 10 + digit;
+        }
+        position = end + 1;
+        return negative ? -value : value;
+    }
+
+    private int nextInt() {
+        long value = nextLong();
+        if (value != (int) value) {
+            throw malformed(value + " is out of range");
+        }
+        return (int) value;
+    }
+
+    private <E extends Enum<E>> E nextEnum(E[] constants) {
+        int end = nextField();
+        for (E constant : constants) {
+            if (matches(constant.name(), position, end)) {
+                position = end + 1;
+                return constant;
+            }
+        }
+        throw malformed("expected one of " + Arrays.toString(constants));
+    }
+
+    private String nextSymbol() {
+        int end = nextField();
+        int length = end - position;
+        long low = 0;
+        long high = 0;
+        boolean packable = length <= SymbolTable.MAX_LENGTH;
+        for (int i = 0; packable && i < length; i++) {
+            long b = window.get(position + i) & 0xFF;
+            packable = b != 0;
+            if (i < Long.BYTES) {
+                low |= b << (i * 8);
+            } else {
+                high |= b << ((i - Long.BYTES) * 8);
+            }
+        }
+        int id = packable ? symbols.intern(low, high) : SymbolTable.NONE;
+        String symbol;
+        if (id != SymbolTable.NONE) {
+            symbol = symbols.symbol(id);
+        } else {
+            byte[] bytes = new byte[length];
+            window.get(position, bytes);
+            symbol = new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+        position = end + 1;
+        return symbol;
+    }
+
+    private boolean matches(String value, int start, int end) {
+        if (value.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (window.get(start + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private IllegalStateException malformed(String problem) {
+        byte[] line = new byte[lineEnd - lineStart];
+        window.get(lineStart, line);
+        return new IllegalStateException("Malformed order flow at line " + lineNumber + ", " + problem + ": "
+                + new String(line, StandardCharsets.ISO_8859_1));
+    }
+}
@@ -0,0 +1,24 @@
+package za.co.matching.engine.replay;
+
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+import za.co.matching.engine.model.TradingPhase;
+
+/**
+ * Receives the commands of a recorded order flow, in file order. {@code timestamp} is the time the command was
+ * recorded at, in nanoseconds since the epoch.
+ */
+public interface OrderFlowHandler {
+
+    void onNew(long timestamp, long orderId, long customerId, String symbol, long price, int quantity, Side side,
+               OrderType orderType, long stopPrice, TimeInForce timeInForce);
+
+    void onCancel(long timestamp, long orderId);
+
+    void onReplace(long timestamp, long orderId, int newQuantity, long newPrice);
+
+    void onStartAuction(long timestamp, TradingPhase auction);
+
+    void onUncross(long timestamp, long referencePrice);
+}
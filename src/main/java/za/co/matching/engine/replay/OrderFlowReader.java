@@ -0,0 +1,69 @@
+package za.co.matching.engine.replay;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams a recorded order flow file to an {@link OrderFlowHandler} straight from memory-mapped windows of the file,
+ * so files far larger than the heap, or than one mapping, are read without copying. A record that runs past the end
+ * of a window is read again from the start of the next one.
+ * <p>
+ * Readers keep parsing state and must only be used by one thread.
+ */
+public abstract class OrderFlowReader {
+
+    static final long DEFAULT_WINDOW_SIZE = 1L << 30;
+
+    private final long windowSize;
+    private long records;
+
+    protected OrderFlowReader(long windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * A CSV reader for {@code .csv} files and a binary reader for anything else.
+     */
+    public static OrderFlowReader forFile(Path file) {
+        return file.getFileName().toString().endsWith(".csv") ? new CsvOrderFlowReader() : new BinaryOrderFlowReader();
+    }
+
+    /**
+     * @return number of records read
+     */
+    public long read(Path file, OrderFlowHandler handler) {
+        records = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(windowSize, size - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int consumed = parse(window, position + length == size, handler);
+                if (consumed == 0) {
+                    throw new IllegalStateException("Record at offset " + position + " of " + file
+                            + " does not fit a mapping window of " + windowSize + " bytes");
+                }
+                position += consumed;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read order flow " + file, e);
+        }
+        return records;
+    }
+
+    /**
+     * Parses the complete records at the start of {@code window}, which ends the file when {@code last} is set.
+     *
+     * @return number of bytes parsed
+     */
+    protected abstract int parse(MappedByteBuffer window, boolean last, OrderFlowHandler handler);
+
+    protected void recordRead() {
+        records++;
+    }
+}
@@ -0,0 +1,143 @@
+package za.co.matching.engine.replay;
+
+import za.co.matching.engine.codec.CancelOrderCodec;
+import za.co.matching.engine.codec.MessageFlyweight;
+import za.co.matching.engine.codec.MessageHeader;
+import za.co.matching.engine.codec.NewOrderCodec;
+import za.co.matching.engine.codec.ReplaceOrderCodec;
+import za.co.matching.engine.codec.StartAuctionCodec;
+import za.co.matching.engine.codec.UncrossCodec;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+import za.co.matching.engine.model.TradingPhase;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Records order flow in the binary format {@link BinaryOrderFlowReader} replays: command messages of the binary
+ * codec, back to back. As a handler it converts any other flow, e.g. a CSV file, to that format.
+ */
+public class OrderFlowWriter implements OrderFlowHandler, AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final MessageHeader header = new MessageHeader();
+    private final NewOrderCodec newOrder = new NewOrderCodec();
+    private final CancelOrderCodec cancelOrder = new CancelOrderCodec();
+    private final ReplaceOrderCodec replaceOrder = new ReplaceOrderCodec();
+    private final StartAuctionCodec startAuction = new StartAuctionCodec();
+    private final UncrossCodec uncross = new UncrossCodec();
+
+    public OrderFlowWriter(Path file) {
+        this.file = file;
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create order flow " + file, e);
+        }
+    }
+
+    @Override
+    public void onNew(long timestamp, long orderId, long customerId, String symbol, long price, int quantity, Side side,
+                      OrderType orderType, long stopPrice, TimeInForce timeInForce) {
+        reserve(newOrder);
+        newOrder.wrapAndApplyHeader(buffer, buffer.position(), header)
+                .sequence(0)
+                .timestamp(timestamp)
+                .orderId(orderId)
+                .customerId(customerId)
+                .symbol(symbol)
+                .price(price)
+                .quantity(quantity)
+                .side(side)
+                .orderType(orderType)
+                .stopPrice(stopPrice)
+                .timeInForce(timeInForce);
+        written(newOrder);
+    }
+
+    @Override
+    public void onCancel(long timestamp, long orderId) {
+        reserve(cancelOrder);
+        cancelOrder.wrapAndApplyHeader(buffer, buffer.position(), header)
+                .sequence(0)
+                .timestamp(timestamp)
+                .orderId(orderId);
+        written(cancelOrder);
+    }
+
+    @Override
+    public void onReplace(long timestamp, long orderId, int newQuantity, long newPrice) {
+        reserve(replaceOrder);
+        replaceOrder.wrapAndApplyHeader(buffer, buffer.position(), header)
+                .sequence(0)
+                .timestamp(timestamp)
+                .orderId(orderId)
+                .quantity(newQuantity)
+                .price(newPrice);
+        written(replaceOrder);
+    }
+
+    @Override
+    public void onStartAuction(long timestamp, TradingPhase auction) {
+        reserve(startAuction);
+        startAuction.wrapAndApplyHeader(buffer, buffer.position(), header)
+                .sequence(0)
+                .timestamp(timestamp)
+                .phase(auction);
+        written(startAuction);
+    }
+
+    @Override
+    public void onUncross(long timestamp, long referencePrice) {
+        reserve(uncross);
+        uncross.wrapAndApplyHeader(buffer, buffer.position(), header)
+                .sequence(0)
+                .timestamp(timestamp)
+                .referencePrice(referencePrice);
+        written(uncross);
+    }
+
+    private void reserve(MessageFlyweight<?> message) {
+        if (buffer.remaining() < message.encodedLength()) {
+            flush();
+        }
+    }
+
+    private void written(MessageFlyweight<?> message) {
+        buffer.position(buffer.position() + message.encodedLength());
+    }
+
+    public void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write order flow " + file, e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close order flow " + file, e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package za.co.matching.engine.replay;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Outcome of replaying one partition of one file.
+ *
+ * @param partition    which share of the file's symbols was replayed, 0 when the file is not partitioned
+ * @param records      records read, including those of symbols in other partitions
+ * @param elapsedNanos time spent reading and matching
+ */
+public record ReplayResult(Path file, int partition, long records, long orders, long cancels, long replaces,
+                           List<BookSummary> books, long elapsedNanos) {
+
+    public long commands() {
+        return orders + cancels + replaces;
+    }
+
+    public long tradeCount() {
+        return books.stream().mapToLong(BookSummary::tradeCount).sum();
+    }
+
+    public long volume() {
+        return books.stream().mapToLong(BookSummary::volume).sum();
+    }
+
+    public double commandsPerSecond() {
+        return elapsedNanos == 0 ? 0 : commands() * 1e9 / elapsedNanos;
+    }
+}
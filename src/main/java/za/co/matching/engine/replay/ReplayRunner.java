@@ -0,0 +1,80 @@
+package za.co.matching.engine.replay;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Replays recorded order flow into fresh engines as fast as they match it. Every file is replayed independently and,
+ * with more than one partition per file, its symbols are split by hash over that many tasks that each scan the whole
+ * mapped file but only match their own symbols. Tasks run in parallel on a fixed pool, one engine per symbol each.
+ * <p>
+ * Usage: {@code ReplayRunner [--threads n] [--partitions n] file...}, where {@code .csv} files are read as text and
+ * anything else as the binary format {@link OrderFlowWriter} records.
+ */
+@Slf4j
+public class ReplayRunner {
+
+    private final int threads;
+    private final int partitionsPerFile;
+
+    public ReplayRunner(int threads, int partitionsPerFile) {
+        if (threads <= 0 || partitionsPerFile <= 0) {
+            throw new IllegalArgumentException("Threads and partitions must be positive: " + threads + ", " + partitionsPerFile);
+        }
+        this.threads = threads;
+        this.partitionsPerFile = partitionsPerFile;
+    }
+
+    public ReplaySummary run(List<Path> files) {
+        List<ReplayTask> tasks = new ArrayList<>();
+        for (Path file : files) {
+            for (int partition = 0; partition < partitionsPerFile; partition++) {
+                tasks.add(new ReplayTask(file, partition, partitionsPerFile));
+            }
+        }
+        log.info("Replaying {} files as {} tasks on {} threads", files.size(), tasks.size(), Math.min(threads, tasks.size()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, tasks.size())),
+                Thread.ofPlatform().name("replay-", 0).factory());
+        long start = System.nanoTime();
+        try {
+            List<ReplayResult> results = new ArrayList<>();
+            for (Future<ReplayResult> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return new ReplaySummary(results, System.nanoTime() - start);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Replay failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Replay interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public static void main(String[] args) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int partitions = 1;
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--partitions" -> partitions = Integer.parseInt(args[++i]);
+                default -> files.add(Path.of(args[i]));
+            }
+        }
+        if (files.isEmpty()) {
+            System.err.println("Usage: ReplayRunner [--threads n] [--partitions n] file...");
+            System.exit(1);
+        }
+        System.out.println(new ReplayRunner(threads, partitions).run(files).format());
+    }
+}
@@ -0,0 +1,49 @@
+package za.co.matching.engine.replay;
+
+import java.util.List;
+
+/**
+ * @param elapsedNanos wall-clock time of the whole replay, with every partition running in parallel
+ */
+public record ReplaySummary(List<ReplayResult> results, long elapsedNanos) {
+
+    public long commands() {
+        return results.stream().mapToLong(ReplayResult::commands).sum();
+    }
+
+    public long tradeCount() {
+        return results.stream().mapToLong(ReplayResult::tradeCount).sum();
+    }
+
+    public long volume() {
+        return results.stream().mapToLong(ReplayResult::volume).sum();
+    }
+
+    public List<BookSummary> books() {
+        return results.stream().flatMap(result -> result.books().stream()).toList();
+    }
+
+    public double commandsPerSecond() {
+        return elapsedNanos == 0 ? 0 : commands() * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * A text report: one line per partition, one per symbol and the totals.
+     */
+    public String format() {
+        StringBuilder report = new StringBuilder();
+        for (ReplayResult result : results) {
+            report.append(String.format("%s [%d]: %,d commands (%,d new, %,d cancel, %,d replace), %,d trades, %,.0f commands/s%n",
+                    result.file().getFileName(), result.partition(), result.commands(), result.orders(),
+                    result.cancels(), result.replaces(), result.tradeCount(), result.commandsPerSecond()));
+        }
+        for (BookSummary book : books()) {
+            report.append(String.format("  %-16s bid %d (%,d orders), ask %d (%,d orders), %,d stops, %,d trades, volume %,d, last %d%n",
+                    book.symbol(), book.bestBidPrice(), book.bidOrders(), book.bestAskPrice(), book.askOrders(),
+                    book.stopOrders(), book.tradeCount(), book.volume(), book.lastTradePrice()));
+        }
+        report.append(String.format("Total: %,d commands, %,d trades, volume %,d in %,d ms, %,.0f commands/s",
+                commands(), tradeCount(), volume(), elapsedNanos / 1_000_000, commandsPerSecond()));
+        return report.toString();
+    }
+}
@@ -0,0 +1,161 @@
+package za.co.matching.engine.replay;
+
+import za.co.matching.engine.core.CommandJournal;
+import za.co.matching.engine.core.MarketData;
+import za.co.matching.engine.core.MatchingEngine;
+import za.co.matching.engine.event.EngineEventType;
+import za.co.matching.engine.event.EventPublisher;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+import za.co.matching.engine.model.TradingPhase;
+import za.co.matching.engine.utils.LongObjectHashMap;
+import za.co.matching.engine.utils.SymbolTable;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Replays one file, or the symbols of one partition of it, into an engine per symbol on the calling thread. Engines
+ * are stamped with the recorded timestamps, so a replay is reproducible.
+ * <p>
+ * Cancels and replaces carry no symbol; they go to the engine of the live order with that id, and are skipped when
+ * the order belongs to another partition or is no longer live. Auction commands apply to every symbol.
+ */
+class ReplayTask implements Callable<ReplayResult>, OrderFlowHandler, EventPublisher {
+
+    private final Path file;
+    private final int partition;
+    private final int partitions;
+    private final SymbolTable symbols = new SymbolTable();
+    // Indexed by symbol id, null for symbols of other partitions
+    private MatchingEngine[] engines = new MatchingEngine[16];
+    // Live orders, dropped again when the engine reports them filled or cancelled
+    private final LongObjectHashMap<MatchingEngine> enginesByOrderId = new LongObjectHashMap<>(1 << 16);
+    private TradingPhase auction;
+    private long timestamp;
+    private long orders;
+    private long cancels;
+    private long replaces;
+
+    ReplayTask(Path file, int partition, int partitions) {
+        this.file = file;
+        this.partition = partition;
+        this.partitions = partitions;
+    }
+
+    @Override
+    public ReplayResult call() {
+        long start = System.nanoTime();
+        long records = OrderFlowReader.forFile(file).read(file, this);
+        long elapsed = System.nanoTime() - start;
+
+        List<BookSummary> books = new ArrayList<>();
+        for (int id = 0; id < symbols.size(); id++) {
+            MatchingEngine engine = engines[id];
+            if (engine != null) {
+                MarketData marketData = engine.getMarketData();
+                books.add(new BookSummary(symbols.symbol(id), marketData.getBestBidPrice(), marketData.getBestAskPrice(),
+                        engine.getBuyOrderBook().size(), engine.getSellOrderBook().size(), engine.getStopOrderBook().size(),
+                        marketData.getTradeCount(), marketData.getVolume(), marketData.getLastTradePrice()));
+            }
+        }
+        books.sort(Comparator.comparing(BookSummary::symbol));
+        return new ReplayResult(file, partition, records, orders, cancels, replaces, books, elapsed);
+    }
+
+    /**
+     * The engine of a symbol, created on its first order, or null when the symbol belongs to another partition.
+     */
+    private MatchingEngine engineFor(String symbol, long orderId) {
+        int id = symbols.intern(symbol);
+        if (id == SymbolTable.NONE) {
+            throw new IllegalStateException("Order " + orderId + " has no symbol");
+        }
+        if (id >= engines.length) {
+            engines = Arrays.copyOf(engines, Math.max(id + 1, engines.length * 2));
+        }
+        MatchingEngine engine = engines[id];
+        if (engine == null && (partitions == 1 || Math.floorMod(symbol.hashCode(), partitions) == partition)) {
+            engine = new MatchingEngine(() -> timestamp, CommandJournal.NONE, this);
+            if (auction != null) {
+                engine.startAuction(auction);
+            }
+            engines[id] = engine;
+        }
+        return engine;
+    }
+
+    @Override
+    public void onNew(long timestamp, long orderId, long customerId, String symbol, long price, int quantity, Side side,
+                      OrderType orderType, long stopPrice, TimeInForce timeInForce) {
+        this.timestamp = timestamp;
+        MatchingEngine engine = engineFor(symbol, orderId);
+        if (engine == null) {
+            return;
+        }
+        Order order = engine.getOrderPool().acquire()
+                .init(orderId, customerId, symbol, price, quantity, side, orderType, stopPrice, timeInForce);
+        enginesByOrderId.put(orderId, engine);
+        engine.match(order);
+        orders++;
+    }
+
+    @Override
+    public void onCancel(long timestamp, long orderId) {
+        MatchingEngine engine = enginesByOrderId.get(orderId);
+        if (engine != null) {
+            this.timestamp = timestamp;
+            engine.cancel(orderId);
+            cancels++;
+        }
+    }
+
+    @Override
+    public void onReplace(long timestamp, long orderId, int newQuantity, long newPrice) {
+        MatchingEngine engine = enginesByOrderId.get(orderId);
+        if (engine != null) {
+            this.timestamp = timestamp;
+            engine.replace(orderId, newQuantity, newPrice);
+            replaces++;
+        }
+    }
+
+    @Override
+    public void onStartAuction(long timestamp, TradingPhase auction) {
+        this.timestamp = timestamp;
+        this.auction = auction;
+        for (MatchingEngine engine : engines) {
+            if (engine != null && !engine.getPhase().isAuction()) {
+                engine.startAuction(auction);
+            }
+        }
+    }
+
+    @Override
+    public void onUncross(long timestamp, long referencePrice) {
+        this.timestamp = timestamp;
+        this.auction = null;
+        for (MatchingEngine engine : engines) {
+            if (engine != null && engine.getPhase().isAuction()) {
+                engine.uncross(referencePrice);
+            }
+        }
+    }
+
+    @Override
+    public void publishTrade(long timestamp, Order buyOrder, Order sellOrder, long price, int quantity) {
+    }
+
+    @Override
+    public void publishOrder(EngineEventType type, long timestamp, Order order) {
+        if (type == EngineEventType.FILLED || type == EngineEventType.CANCELLED) {
+            enginesByOrderId.remove(order.getOrderId());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package za.co.matching.engine.snapshot;
+
+import lombok.extern.slf4j.Slf4j;
+import za.co.matching.engine.core.MatchingEngine;
+import za.co.matching.engine.journal.ChronicleCommandJournal;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Rebuilds an engine at startup from the latest snapshot plus the journal commands written after it.
+ */
+@Slf4j
+public final class EngineRecovery {
+
+    private EngineRecovery() {
+    }
+
+    /**
+     * @param matchingEngine an empty engine, typically already wired to {@code journal} for the commands that follow
+     * @return number of journaled commands replayed on top of the snapshot
+     */
+    public static long recover(MatchingEngine matchingEngine, Path snapshotDirectory, ChronicleCommandJournal journal) {
+        long start = System.nanoTime();
+        Optional<Path> latest = SnapshotFile.latest(snapshotDirectory);
+        long replayed;
+        if (latest.isPresent()) {
+            SnapshotInfo info = SnapshotFile.read(latest.get(), matchingEngine);
+            log.info("Loaded snapshot {} at sequence {} with {} orders", latest.get(), info.sequence(), info.orderCount());
+            replayed = info.journalIndex() < 0 ? journal.replay(matchingEngine) : journal.replayAfter(matchingEngine, info.journalIndex());
+        } else {
+            log.info("No snapshot found in {}, replaying the whole journal", snapshotDirectory);
+            replayed = journal.replay(matchingEngine);
+        }
+        log.info("Recovered engine to sequence {} in {} ms", matchingEngine.getSequence(), (System.nanoTime() - start) / 1_000_000);
+        return replayed;
+    }
+}
@@ -0,0 +1,110 @@
+package za.co.matching.engine.snapshot;
+
+import lombok.extern.slf4j.Slf4j;
+import za.co.matching.engine.core.MatchingEngine;
+import za.co.matching.engine.ingress.WaitStrategy;
+import za.co.matching.engine.journal.ChronicleCommandJournal;
+import za.co.matching.engine.journal.JournalTailer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Takes snapshots without stalling the matching thread. A background thread keeps a replica engine in step by
+ * tailing the journal and writes a snapshot of the replica every {@code commandsPerSnapshot} commands, so the
+ * primary engine is never read or paused.
+ */
+@Slf4j
+public class ReplicaSnapshotter implements AutoCloseable {
+
+    private static final int POLL_LIMIT = 1_024;
+    private static final int SNAPSHOTS_TO_KEEP = 2;
+
+    private final ChronicleCommandJournal journal;
+    private final Path directory;
+    private final long commandsPerSnapshot;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile SnapshotInfo lastSnapshot;
+
+    public ReplicaSnapshotter(ChronicleCommandJournal journal, Path directory, long commandsPerSnapshot) {
+        if (commandsPerSnapshot <= 0) {
+            throw new IllegalArgumentException("Commands per snapshot must be positive: " + commandsPerSnapshot);
+        }
+        this.journal = journal;
+        this.directory = directory;
+        this.commandsPerSnapshot = commandsPerSnapshot;
+        this.thread = new Thread(this::run, "snapshot-replica");
+        this.thread.start();
+    }
+
+    private void run() {
+        MatchingEngine replica = new MatchingEngine();
+        JournalTailer tailer = journal.createTailer();
+        SnapshotFile.latest(directory).ifPresent(file -> {
+            SnapshotInfo info = SnapshotFile.read(file, replica);
+            if (info.journalIndex() >= 0 && !tailer.moveAfter(info.journalIndex())) {
+                throw new IllegalStateException("Journal does not contain snapshot index " + info.journalIndex());
+            }
+            lastSnapshot = info;
+        });
+
+        long sinceSnapshot = 0;
+        int idle = 0;
+        while (running) {
+            int applied = tailer.poll(replica, POLL_LIMIT);
+            if (applied == 0) {
+                idle = WaitStrategy.PARK.idle(idle);
+                continue;
+            }
+            idle = 0;
+            sinceSnapshot += applied;
+            if (sinceSnapshot >= commandsPerSnapshot) {
+                snapshot(replica, tailer.getLastIndex());
+                sinceSnapshot = 0;
+            }
+        }
+    }
+
+    private void snapshot(MatchingEngine replica, long journalIndex) {
+        long start = System.nanoTime();
+        try {
+            SnapshotInfo info = SnapshotFile.write(replica, journalIndex, directory);
+            lastSnapshot = info;
+            log.info("Wrote snapshot at sequence {} with {} orders in {} us", info.sequence(), info.orderCount(), (System.nanoTime() - start) / 1_000);
+            deleteOldSnapshots();
+        } catch (RuntimeException e) {
+            log.error("Failed to write snapshot", e);
+        }
+    }
+
+    private void deleteOldSnapshots() {
+        List<Path> snapshots = SnapshotFile.list(directory);
+        for (int i = 0; i < snapshots.size() - SNAPSHOTS_TO_KEEP; i++) {
+            try {
+                Files.deleteIfExists(snapshots.get(i));
+            } catch (IOException e) {
+                log.warn("Failed to delete old snapshot {}", snapshots.get(i), e);
+            }
+        }
+    }
+
+    /**
+     * The most recent snapshot written or loaded by the replica, null before the first one.
+     */
+    public SnapshotInfo lastSnapshot() {
+        return lastSnapshot;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
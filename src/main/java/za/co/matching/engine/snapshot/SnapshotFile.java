@@ -0,0 +1,278 @@
+package za.co.matching.engine.snapshot;
+
+import za.co.matching.engine.core.MarketDataTracker;
+import za.co.matching.engine.core.MatchingEngine;
+import za.co.matching.engine.core.OffHeapOrderStore;
+import za.co.matching.engine.core.OrderBook;
+import za.co.matching.engine.core.PriceLevel;
+import za.co.matching.engine.core.StopOrderBook;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderStatus;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+import za.co.matching.engine.model.Trade;
+import za.co.matching.engine.model.TradingPhase;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Compact binary image of an engine: header, last trade, session market data, then buy orders, sell orders, buy
+ * stops, sell stops and the market orders collected by a running auction, each in queue order.
+ * Files are written through a {@link MappedByteBuffer} to a temporary file and atomically renamed, so a reader never
+ * sees a partial snapshot. Symbols are stored as Latin-1, like the journal.
+ */
+public final class SnapshotFile {
+
+    private static final int MAGIC = 0x4D45534E;
+    private static final int VERSION = 4;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 8 + 1 + 4 + 4 + 4 + 4 + 1;
+    private static final int ORDER_FIXED_SIZE = 8 + 8 + 8 + 4 + 4 + 4 + 1 + 1 + 1 + 8 + 1 + 8 + 8;
+    private static final int TRADE_FIXED_SIZE = 8 + 8 + 8 + 4 + 8;
+    private static final int SESSION_SIZE = MarketDataTracker.SESSION_STATE_LENGTH * 8;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+
+    private static final Side[] SIDES = Side.values();
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final OrderType[] ORDER_TYPES = OrderType.values();
+    private static final TimeInForce[] TIME_IN_FORCES = TimeInForce.values();
+    private static final TradingPhase[] PHASES = TradingPhase.values();
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Writes the engine's state into {@code directory}. Must run on the thread that owns the engine.
+     */
+    public static SnapshotInfo write(MatchingEngine matchingEngine, long journalIndex, Path directory) {
+        StopOrderBook stopOrderBook = matchingEngine.getStopOrderBook();
+        OrderBook marketBuys = matchingEngine.getAuctionMarketBuys();
+        OrderBook marketSells = matchingEngine.getAuctionMarketSells();
+        Trade lastTrade = matchingEngine.getTradeRecord().isEmpty() ? null : matchingEngine.getTradeRecord().last();
+
+        long size = HEADER_SIZE + sizeOf(lastTrade) + SESSION_SIZE + sizeOf(matchingEngine.getBuyOrderBook().levels())
+                + sizeOf(matchingEngine.getSellOrderBook().levels()) + sizeOf(stopOrderBook.buyLevels()) + sizeOf(stopOrderBook.sellLevels())
+                + sizeOf(marketBuys.levels()) + sizeOf(marketSells.levels());
+
+        SnapshotInfo info = new SnapshotInfo(matchingEngine.getSequence(), matchingEngine.currentTimestamp(), journalIndex,
+                matchingEngine.getBuyOrderBook().size() + matchingEngine.getSellOrderBook().size() + stopOrderBook.size()
+                        + marketBuys.size() + marketSells.size());
+        Path file = directory.resolve(fileName(info.sequence()));
+        Path temporary = directory.resolve(fileName(info.sequence()) + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.putInt(MAGIC);
+                buffer.putInt(VERSION);
+                buffer.putLong(info.sequence());
+                buffer.putLong(info.timestamp());
+                buffer.putLong(info.journalIndex());
+                buffer.put((byte) matchingEngine.getPhase().ordinal());
+                buffer.putInt(matchingEngine.getBuyOrderBook().size());
+                buffer.putInt(matchingEngine.getSellOrderBook().size());
+                buffer.putInt(stopOrderBook.size());
+                buffer.putInt(marketBuys.size() + marketSells.size());
+                buffer.put((byte) (lastTrade == null ? 0 : 1));
+                if (lastTrade != null) {
+                    writeTrade(buffer, lastTrade);
+                }
+                for (long value : matchingEngine.getMarketDataTracker().sessionState(new long[MarketDataTracker.SESSION_STATE_LENGTH])) {
+                    buffer.putLong(value);
+                }
+                writeLevels(buffer, matchingEngine.getBuyOrderBook().levels());
+                writeLevels(buffer, matchingEngine.getSellOrderBook().levels());
+                writeLevels(buffer, stopOrderBook.buyLevels());
+                writeLevels(buffer, stopOrderBook.sellLevels());
+                writeLevels(buffer, marketBuys.levels());
+                writeLevels(buffer, marketSells.levels());
+                buffer.force();
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write snapshot " + file, e);
+        }
+        return info;
+    }
+
+    /**
+     * Restores a snapshot into an empty engine.
+     */
+    public static SnapshotInfo read(Path file, MatchingEngine matchingEngine) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalStateException("Not a snapshot file: " + file);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IllegalStateException("Unsupported snapshot version " + version + " in " + file);
+            }
+            long sequence = buffer.getLong();
+            long timestamp = buffer.getLong();
+            long journalIndex = buffer.getLong();
+            TradingPhase phase = PHASES[buffer.get()];
+            int orderCount = buffer.getInt() + buffer.getInt() + buffer.getInt() + buffer.getInt();
+            if (buffer.get() == 1) {
+                matchingEngine.getTradeRecord().restore(readTrade(buffer));
+            }
+            long[] session = new long[MarketDataTracker.SESSION_STATE_LENGTH];
+            for (int i = 0; i < session.length; i++) {
+                session[i] = buffer.getLong();
+            }
+            matchingEngine.restoreSession(session);
+            for (int i = 0; i < orderCount; i++) {
+                matchingEngine.restoreOrder(readOrder(buffer));
+            }
+            matchingEngine.restorePhase(phase);
+            matchingEngine.restoreSequence(sequence, timestamp);
+            return new SnapshotInfo(sequence, timestamp, journalIndex, orderCount);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read snapshot " + file, e);
+        }
+    }
+
+    /**
+     * Snapshot files in {@code directory}, oldest first.
+     */
+    public static List<Path> list(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list snapshots in " + directory, e);
+        }
+    }
+
+    public static Optional<Path> latest(Path directory) {
+        List<Path> snapshots = list(directory);
+        return snapshots.isEmpty() ? Optional.empty() : Optional.of(snapshots.getLast());
+    }
+
+    private static String fileName(long sequence) {
+        // Zero padded so that name order is sequence order
+        return String.format("%s%020d%s", PREFIX, sequence, SUFFIX);
+    }
+
+    private static long sizeOf(Collection<PriceLevel> levels) {
+        long size = 0;
+        for (PriceLevel level : levels) {
+            OffHeapOrderStore store = level.getStore();
+            for (int handle = level.getHead(); handle != OffHeapOrderStore.NONE; handle = store.next(handle)) {
+                size += ORDER_FIXED_SIZE + sizeOf(store.symbol(handle));
+            }
+        }
+        return size;
+    }
+
+    private static long sizeOf(Trade trade) {
+        return trade == null ? 0 : TRADE_FIXED_SIZE;
+    }
+
+    private static int sizeOf(String value) {
+        return 4 + (value == null ? 0 : value.length());
+    }
+
+    private static void writeLevels(ByteBuffer buffer, Collection<PriceLevel> levels) {
+        Order order = new Order();
+        for (PriceLevel level : levels) {
+            OffHeapOrderStore store = level.getStore();
+            for (int handle = level.getHead(); handle != OffHeapOrderStore.NONE; handle = store.next(handle)) {
+                writeOrder(buffer, store.read(handle, order));
+            }
+        }
+    }
+
+    private static void writeOrder(ByteBuffer buffer, Order order) {
+        buffer.putLong(order.getOrderId());
+        buffer.putLong(order.getCustomerId());
+        writeString(buffer, order.getSymbol());
+        buffer.putLong(order.getPrice());
+        buffer.putInt(order.getQuantity());
+        buffer.putInt(order.getFilledQuantity());
+        buffer.putInt(order.getRemainingQuantity());
+        buffer.put((byte) order.getSide().ordinal());
+        buffer.put((byte) order.getStatus().ordinal());
+        buffer.put((byte) order.getOrderType().ordinal());
+        buffer.putLong(order.getStopPrice());
+        buffer.put((byte) order.getTimeInForce().ordinal());
+        buffer.putLong(order.getSequence());
+        buffer.putLong(order.getTimestamp());
+    }
+
+    private static Order readOrder(ByteBuffer buffer) {
+        long orderId = buffer.getLong();
+        long customerId = buffer.getLong();
+        String symbol = readString(buffer);
+        long price = buffer.getLong();
+        int quantity = buffer.getInt();
+        int filledQuantity = buffer.getInt();
+        int remainingQuantity = buffer.getInt();
+        Side side = SIDES[buffer.get()];
+        OrderStatus status = STATUSES[buffer.get()];
+        OrderType orderType = ORDER_TYPES[buffer.get()];
+        long stopPrice = buffer.getLong();
+        TimeInForce timeInForce = TIME_IN_FORCES[buffer.get()];
+
+        Order order = new Order(orderId, customerId, symbol, price, quantity, side, orderType, stopPrice, timeInForce);
+        order.setFilledQuantity(filledQuantity);
+        order.setRemainingQuantity(remainingQuantity);
+        order.setStatus(status);
+        order.setSequence(buffer.getLong());
+        order.setTimestamp(buffer.getLong());
+        return order;
+    }
+
+    private static void writeTrade(ByteBuffer buffer, Trade trade) {
+        buffer.putLong(trade.getBuyOrderId());
+        buffer.putLong(trade.getSellOrderId());
+        buffer.putLong(trade.getPrice());
+        buffer.putInt(trade.getQuantity());
+        buffer.putLong(trade.getTimestamp());
+    }
+
+    private static Trade readTrade(ByteBuffer buffer) {
+        return new Trade(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getInt(), buffer.getLong());
+    }
+
+    private static void writeString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        buffer.putInt(value.length());
+        buffer.put(value.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+}
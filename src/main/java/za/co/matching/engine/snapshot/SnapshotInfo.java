@@ -0,0 +1,10 @@
+package za.co.matching.engine.snapshot;
+
+/**
+ * @param sequence     engine command sequence the snapshot was taken at
+ * @param timestamp    engine time of that command
+ * @param journalIndex journal index of that command, -1 when no command had been journaled
+ * @param orderCount   resting and stop orders in the snapshot
+ */
+public record SnapshotInfo(long sequence, long timestamp, long journalIndex, int orderCount) {
+}
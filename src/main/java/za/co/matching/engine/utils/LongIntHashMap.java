@@ -0,0 +1,154 @@
+package za.co.matching.engine.utils;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive {@code long} keys to primitive {@code int} values. Neither keys nor values
+ * are boxed and lookups, inserts and removals do not allocate; only growing the table does. One value, chosen at
+ * construction, stands for "no mapping" and cannot be stored. Not thread safe.
+ */
+public class LongIntHashMap {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private final int missingValue;
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    public LongIntHashMap(int missingValue) {
+        this(64, missingValue);
+    }
+
+    public LongIntHashMap(int expectedSize, int missingValue) {
+        this.missingValue = missingValue;
+        allocate(tableSizeFor(Math.max(expectedSize, 4)));
+    }
+
+    /**
+     * @return the value mapped to {@code key}, or the missing value
+     */
+    public int get(long key) {
+        int index = indexOf(key);
+        int value;
+        while ((value = values[index]) != missingValue) {
+            if (keys[index] == key) {
+                return value;
+            }
+            index = (index + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    /**
+     * @return the value previously mapped to {@code key}, or the missing value
+     */
+    public int put(long key, int value) {
+        if (value == missingValue) {
+            throw new IllegalArgumentException("Cannot store the missing value " + value);
+        }
+        int index = indexOf(key);
+        int existing;
+        while ((existing = values[index]) != missingValue) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return existing;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > resizeThreshold) {
+            resize(values.length * 2);
+        }
+        return missingValue;
+    }
+
+    /**
+     * @return the value that was mapped to {@code key}, or the missing value
+     */
+    public int remove(long key) {
+        int index = indexOf(key);
+        int value;
+        while ((value = values[index]) != missingValue) {
+            if (keys[index] == key) {
+                values[index] = missingValue;
+                size--;
+                closeGap(index);
+                return value;
+            }
+            index = (index + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    // Backward-shift deletion, as in LongObjectHashMap
+    private void closeGap(int free) {
+        int index = (free + 1) & mask;
+        int value;
+        while ((value = values[index]) != missingValue) {
+            int home = indexOf(keys[index]);
+            if (((index - home) & mask) >= ((index - free) & mask)) {
+                keys[free] = keys[index];
+                values[free] = value;
+                values[index] = missingValue;
+                free = index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    public int missingValue() {
+        return missingValue;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(values, missingValue);
+        size = 0;
+    }
+
+    private int indexOf(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != missingValue) {
+                int index = indexOf(oldKeys[i]);
+                while (values[index] != missingValue) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        if (missingValue != 0) {
+            Arrays.fill(values, missingValue);
+        }
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        return Integer.highestOneBit((int) (expectedSize / LOAD_FACTOR) - 1) << 1;
+    }
+}
@@ -0,0 +1,230 @@
+package za.co.matching.engine.utils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Interns instrument symbols as small int ids, dense from 0 in order of first sight, each mapping back to one
+ * canonical {@code String}. A symbol of up to {@link #MAX_LENGTH} Latin-1 characters is packed into two longs, its
+ * bytes little-endian and zero padded exactly like the binary codec's symbol field, so a lookup hashes and compares
+ * two primitives rather than a string, and symbols read from encoded bytes are resolved without building one.
+ * Longer or non-Latin-1 symbols still get ids through a plain map. Not thread safe.
+ */
+public class SymbolTable {
+
+    public static final int MAX_LENGTH = 16;
+    /**
+     * The id of no symbol: the empty symbol, an unknown one, or one past the table's limit.
+     */
+    public static final int NONE = -1;
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private final int maxSymbols;
+    private long[] lows;
+    private long[] highs;
+    private int[] ids;
+    private int mask;
+    private int resizeThreshold;
+    private int packedCount;
+    private String[] symbols = new String[16];
+    private int size;
+    private final Map<String, Integer> unpackable = new HashMap<>();
+
+    public SymbolTable() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxSymbols symbols beyond this many are not interned, so a stream of junk symbols cannot grow the table
+     */
+    public SymbolTable(int maxSymbols) {
+        if (maxSymbols <= 0) {
+            throw new IllegalArgumentException("Symbol limit must be positive: " + maxSymbols);
+        }
+        this.maxSymbols = maxSymbols;
+        allocate(64);
+    }
+
+    /**
+     * @param low  bytes 0 to 7 of the symbol, little-endian
+     * @param high bytes 8 to 15 of the symbol, little-endian
+     * @return the symbol's id, or {@link #NONE}
+     */
+    public int find(long low, long high) {
+        int index = indexOf(low, high);
+        int id;
+        while ((id = ids[index]) != NONE) {
+            if (lows[index] == low && highs[index] == high) {
+                return id;
+            }
+            index = (index + 1) & mask;
+        }
+        return NONE;
+    }
+
+    /**
+     * The id of the packed symbol, assigning the next one when it is new.
+     *
+     * @return the symbol's id, or {@link #NONE} for the empty symbol or a new symbol once the table is full
+     */
+    public int intern(long low, long high) {
+        if (low == 0 && high == 0) {
+            return NONE;
+        }
+        int index = indexOf(low, high);
+        int id;
+        while ((id = ids[index]) != NONE) {
+            if (lows[index] == low && highs[index] == high) {
+                return id;
+            }
+            index = (index + 1) & mask;
+        }
+        if (size == maxSymbols) {
+            return NONE;
+        }
+        id = add(unpack(low, high));
+        lows[index] = low;
+        highs[index] = high;
+        ids[index] = id;
+        if (++packedCount > resizeThreshold) {
+            resize(ids.length * 2);
+        }
+        return id;
+    }
+
+    public int find(CharSequence symbol) {
+        if (symbol == null || symbol.isEmpty()) {
+            return NONE;
+        }
+        if (!fits(symbol)) {
+            Integer id = unpackable.get(symbol.toString());
+            return id == null ? NONE : id;
+        }
+        return find(packLow(symbol), packHigh(symbol));
+    }
+
+    /**
+     * @return the symbol's id, or {@link #NONE} for a null or empty symbol or a new symbol once the table is full
+     */
+    public int intern(CharSequence symbol) {
+        if (symbol == null || symbol.isEmpty()) {
+            return NONE;
+        }
+        if (!fits(symbol)) {
+            String key = symbol.toString();
+            Integer id = unpackable.get(key);
+            if (id == null && size < maxSymbols) {
+                id = add(key);
+                unpackable.put(key, id);
+            }
+            return id == null ? NONE : id;
+        }
+        return intern(packLow(symbol), packHigh(symbol));
+    }
+
+    /**
+     * @return the canonical symbol of {@code id}, or null for {@link #NONE}
+     */
+    public String symbol(int id) {
+        return id == NONE ? null : symbols[id];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Whether the symbol packs into two longs: at most {@link #MAX_LENGTH} characters, each a non-zero Latin-1 one.
+     */
+    public static boolean fits(CharSequence symbol) {
+        if (symbol.length() > MAX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < symbol.length(); i++) {
+            char c = symbol.charAt(i);
+            if (c == 0 || c > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Bytes 0 to 7 of a symbol that {@link #fits}, little-endian and zero padded.
+     */
+    public static long packLow(CharSequence symbol) {
+        return pack(symbol, 0);
+    }
+
+    /**
+     * Bytes 8 to 15 of a symbol that {@link #fits}, little-endian and zero padded.
+     */
+    public static long packHigh(CharSequence symbol) {
+        return pack(symbol, Long.BYTES);
+    }
+
+    private static long pack(CharSequence symbol, int from) {
+        long packed = 0;
+        int to = Math.min(symbol.length(), from + Long.BYTES);
+        for (int i = from; i < to; i++) {
+            packed |= (long) (symbol.charAt(i) & 0xFF) << ((i - from) * 8);
+        }
+        return packed;
+    }
+
+    private static String unpack(long low, long high) {
+        char[] chars = new char[MAX_LENGTH];
+        int length = 0;
+        for (int i = 0; i < MAX_LENGTH; i++) {
+            long word = i < Long.BYTES ? low : high;
+            char c = (char) ((word >>> ((i % Long.BYTES) * 8)) & 0xFF);
+            chars[i] = c;
+            if (c != 0) {
+                length = i + 1;
+            }
+        }
+        return new String(chars, 0, length);
+    }
+
+    private int add(String symbol) {
+        if (size == symbols.length) {
+            symbols = Arrays.copyOf(symbols, size * 2);
+        }
+        symbols[size] = symbol;
+        return size++;
+    }
+
+    private int indexOf(long low, long high) {
+        long hash = (low * 0x9E3779B97F4A7C15L) ^ (high * 0xC2B2AE3D27D4EB4FL);
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void resize(int capacity) {
+        long[] oldLows = lows;
+        long[] oldHighs = highs;
+        int[] oldIds = ids;
+        allocate(capacity);
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldIds[i] != NONE) {
+                int index = indexOf(oldLows[i], oldHighs[i]);
+                while (ids[index] != NONE) {
+                    index = (index + 1) & mask;
+                }
+                lows[index] = oldLows[i];
+                highs[index] = oldHighs[i];
+                ids[index] = oldIds[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        lows = new long[capacity];
+        highs = new long[capacity];
+        ids = new int[capacity];
+        Arrays.fill(ids, NONE);
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+}
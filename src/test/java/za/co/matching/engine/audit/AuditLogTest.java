@@ -0,0 +1,67 @@
+package za.co.matching.engine.audit;
+
+import org.junit.jupiter.api.Test;
+import za.co.matching.engine.core.CommandJournal;
+import za.co.matching.engine.core.MatchingEngine;
+import za.co.matching.engine.event.EngineEventBus;
+import za.co.matching.engine.event.EngineEventType;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AuditLogTest {
+
+    @Test
+    void auditLogShouldDecodeEveryEngineEvent() throws Exception {
+        Path file = Files.createTempDirectory("audit").resolve("audit.bin");
+        EngineEventBus bus = new EngineEventBus(1_024);
+        MatchingEngine matchingEngine = new MatchingEngine(() -> 42L, CommandJournal.NONE, bus);
+
+        try (AuditLog auditLog = new AuditLog(bus, file)) {
+            matchingEngine.match(new Order(1, 7, "BTC/USD", 100, 10, Side.SELL, OrderType.LIMIT));
+            matchingEngine.match(new Order(2, 8, "BTC/USD", 100, 4, Side.BUY, OrderType.LIMIT));
+            matchingEngine.cancel(1);
+        }
+
+        List<AuditRecord> records = new ArrayList<>();
+        assertEquals(6, AuditLogReader.read(file, records::add));
+        assertEquals(List.of(EngineEventType.ACCEPTED, EngineEventType.ACCEPTED, EngineEventType.TRADE,
+                EngineEventType.FILLED, EngineEventType.PARTIALLY_FILLED, EngineEventType.CANCELLED),
+                records.stream().map(AuditRecord::type).toList());
+
+        AuditRecord trade = records.get(2);
+        assertEquals("2 42 TRADE BTC/USD buy=2 sell=1 price=100 qty=4", trade.format());
+        AuditRecord cancelled = records.get(5);
+        assertEquals(Side.SELL, cancelled.side());
+        assertEquals(4, cancelled.filledQuantity());
+        assertEquals(6, cancelled.remainingQuantity());
+    }
+
+    @Test
+    void cancelsAndReplacesOfNoOpenOrderShouldBeAuditedAsRejects() throws Exception {
+        Path file = Files.createTempDirectory("audit").resolve("audit.bin");
+        EngineEventBus bus = new EngineEventBus(1_024);
+        MatchingEngine matchingEngine = new MatchingEngine(() -> 42L, CommandJournal.NONE, bus);
+
+        try (AuditLog auditLog = new AuditLog(bus, file)) {
+            matchingEngine.match(new Order(1, 7, "BTC/USD", 100, 10, Side.SELL, OrderType.LIMIT));
+            matchingEngine.cancel(1);
+            matchingEngine.cancel(1);
+            matchingEngine.replace(9, 5, 101);
+        }
+
+        List<AuditRecord> records = new ArrayList<>();
+        assertEquals(4, AuditLogReader.read(file, records::add));
+        assertEquals(List.of(EngineEventType.ACCEPTED, EngineEventType.CANCELLED, EngineEventType.REJECTED,
+                EngineEventType.REJECTED), records.stream().map(AuditRecord::type).toList());
+        assertEquals("2 42 REJECTED order=1", records.get(2).format());
+        assertEquals("3 42 REJECTED order=9", records.get(3).format());
+    }
+}
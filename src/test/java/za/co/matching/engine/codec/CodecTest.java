@@ -0,0 +1,121 @@
+package za.co.matching.engine.codec;
+
+import org.junit.jupiter.api.Test;
+import za.co.matching.engine.core.DepthUpdateType;
+import za.co.matching.engine.event.EngineEvent;
+import za.co.matching.engine.event.EngineEventType;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CodecTest {
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(256);
+    private final MessageHeader header = new MessageHeader();
+
+    @Test
+    void newOrderShouldRoundTrip() {
+        Order order = new Order(7, 3, "BTC", 101, 25, Side.SELL, OrderType.STOP_LIMIT, 99, TimeInForce.IOC);
+        order.setSequence(42);
+        order.setTimestamp(1_000);
+        NewOrderCodec codec = new NewOrderCodec().wrapAndApplyHeader(buffer, 0, header).encode(order);
+        assertEquals(MessageHeader.ENCODED_LENGTH + NewOrderCodec.BLOCK_LENGTH, codec.encodedLength());
+
+        header.wrap(buffer, 0).checkSchema();
+        assertEquals(NewOrderCodec.TEMPLATE_ID, header.templateId());
+        assertEquals(NewOrderCodec.BLOCK_LENGTH, header.blockLength());
+
+        Order decoded = new NewOrderCodec().wrap(buffer, MessageHeader.ENCODED_LENGTH).decode(new Order());
+        assertEquals(7, decoded.getOrderId());
+        assertEquals(3, decoded.getCustomerId());
+        assertEquals("BTC", decoded.getSymbol());
+        assertEquals(101, decoded.getPrice());
+        assertEquals(99, decoded.getStopPrice());
+        assertEquals(25, decoded.getQuantity());
+        assertEquals(Side.SELL, decoded.getSide());
+        assertEquals(OrderType.STOP_LIMIT, decoded.getOrderType());
+        assertEquals(TimeInForce.IOC, decoded.getTimeInForce());
+        assertEquals(42, decoded.getSequence());
+        assertEquals(1_000, decoded.getTimestamp());
+    }
+
+    @Test
+    void eventsShouldRoundTrip() {
+        EngineEvent trade = new EngineEvent();
+        trade.setType(EngineEventType.TRADE);
+        trade.setTimestamp(5);
+        trade.setSymbol("ETH");
+        trade.setBuyOrderId(1);
+        trade.setSellOrderId(2);
+        trade.setPrice(300);
+        trade.setQuantity(4);
+        TradeCodec tradeCodec = new TradeCodec().wrapAndApplyHeader(buffer, 0, header).encode(trade, 9);
+        assertEquals(9, tradeCodec.sequence());
+        assertEquals(2, tradeCodec.sellOrderId());
+        assertEquals(300, tradeCodec.price());
+        assertEquals(4, tradeCodec.quantity());
+        assertEquals("ETH", tradeCodec.symbol());
+
+        DepthUpdateCodec depth = new DepthUpdateCodec().wrapAndApplyHeader(buffer, 0, header)
+                .sequence(11)
+                .type(DepthUpdateType.CHANGE)
+                .side(Side.BUY)
+                .price(299)
+                .quantity(1L << 40)
+                .orderCount(3)
+                .symbol("ETH");
+        assertEquals(DepthUpdateCodec.TEMPLATE_ID, header.wrap(buffer, 0).templateId());
+        assertEquals(DepthUpdateType.CHANGE, depth.type());
+        assertEquals(Side.BUY, depth.side());
+        assertEquals(1L << 40, depth.quantity());
+        assertEquals(3, depth.orderCount());
+    }
+
+    @Test
+    void symbolsShouldBeBoundedAndReused() {
+        NewOrderCodec codec = new NewOrderCodec().wrap(buffer, 0);
+        assertThrows(IllegalArgumentException.class, () -> codec.symbol("A_SYMBOL_LONGER_THAN_16"));
+
+        String first = codec.symbol("BTC").symbol();
+        assertSame(first, codec.symbol("BTC").symbol());
+        assertEquals("ETH", codec.symbol("ETH").symbol());
+        // Interned, so interleaved instruments still decode to the first instance
+        assertSame(first, codec.symbol("BTC").symbol());
+        assertSame(codec.symbol("ETH").symbol(), codec.symbol("ETH").symbol());
+        assertEquals("ABCDEFGHIJKLMNOP", codec.symbol("ABCDEFGHIJKLMNOP").symbol());
+    }
+
+    @Test
+    void encodingAndDecodingShouldNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Order order = new Order(1, 1, "BTC", 100, 10, Side.BUY, OrderType.LIMIT);
+        NewOrderCodec codec = new NewOrderCodec();
+        for (int i = 0; i < 100_000; i++) {
+            roundTrip(codec, order, i);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100_000; i++) {
+            roundTrip(codec, order, i);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertTrue(allocated < 1024, "Allocated " + allocated + " bytes");
+    }
+
+    private void roundTrip(NewOrderCodec codec, Order order, long orderId) {
+        order.setOrderId(orderId);
+        order.setSymbol(orderId % 3 == 0 ? "ETH" : "BTC");
+        codec.wrapAndApplyHeader(buffer, 0, header).encode(order);
+        codec.wrap(buffer, MessageHeader.ENCODED_LENGTH).decode(order);
+    }
+}
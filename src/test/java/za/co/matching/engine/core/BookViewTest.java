@@ -0,0 +1,121 @@
+package za.co.matching.engine.core;
+
+import org.junit.jupiter.api.Test;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderStatus;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookViewTest {
+
+    @Test
+    void shouldPublishTopLevelsAsOfTheLastCommand() {
+        MatchingEngine matchingEngine = new MatchingEngine();
+        matchingEngine.match(new Order(1, 1, "BTC", 101, 5, Side.SELL, OrderType.LIMIT));
+        matchingEngine.match(new Order(2, 1, "BTC", 102, 7, Side.SELL, OrderType.LIMIT));
+        matchingEngine.match(new Order(3, 2, "BTC", 99, 4, Side.BUY, OrderType.LIMIT));
+        matchingEngine.match(new Order(4, 2, "BTC", 99, 6, Side.BUY, OrderType.LIMIT));
+
+        DepthSnapshot view = matchingEngine.getBookView().read(new DepthSnapshot(1));
+        assertEquals(matchingEngine.getSequence(), view.getCommandSequence());
+        assertEquals(1, view.getBidLevels());
+        assertEquals(1, view.getAskLevels());
+        assertEquals(99, view.bidPrice(0));
+        assertEquals(10, view.bidQuantity(0));
+        assertEquals(2, view.bidOrderCount(0));
+        assertEquals(101, view.askPrice(0));
+
+        long sequence = matchingEngine.getSequence();
+        matchingEngine.cancel(42);
+        view = matchingEngine.getBookView().read(new DepthSnapshot(5));
+        // Nothing changed, so the view still reflects the last command that did
+        assertEquals(sequence, view.getCommandSequence());
+        assertEquals(2, view.getAskLevels());
+        assertEquals(102, view.askPrice(1));
+    }
+
+    @Test
+    void shouldLookUpOpenOrdersUntilTheyAreFilledOrCancelled() {
+        MatchingEngine matchingEngine = new MatchingEngine();
+        Order status = new Order();
+        matchingEngine.match(new Order(1, 7, "BTC", 100, 10, Side.SELL, OrderType.LIMIT));
+        assertEquals(matchingEngine.getSequence(), matchingEngine.orderStatus(1, status));
+        assertEquals(OrderStatus.NEW, status.getStatus());
+        assertEquals(7, status.getCustomerId());
+        assertEquals(Side.SELL, status.getSide());
+
+        matchingEngine.match(new Order(2, 8, "BTC", 100, 4, Side.BUY, OrderType.LIMIT));
+        assertEquals(matchingEngine.getSequence(), matchingEngine.orderStatus(1, status));
+        assertEquals(OrderStatus.PARTIALLY_FULFILLED, status.getStatus());
+        assertEquals(4, status.getFilledQuantity());
+        assertEquals(6, status.getRemainingQuantity());
+        assertEquals(OrderStatusTable.NOT_FOUND, matchingEngine.orderStatus(2, status));
+
+        matchingEngine.replace(1, 8, 100);
+        matchingEngine.orderStatus(1, status);
+        assertEquals(8, status.getQuantity());
+        assertEquals(4, status.getRemainingQuantity());
+
+        matchingEngine.cancel(1);
+        assertEquals(OrderStatusTable.NOT_FOUND, matchingEngine.orderStatus(1, status));
+        assertEquals(0, matchingEngine.getOrderStatuses().size());
+    }
+
+    @Test
+    void shouldGiveReadersConsistentViewsWhileTheEngineRuns() throws InterruptedException {
+        MatchingEngine matchingEngine = new MatchingEngine();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread[] readers = new Thread[3];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                DepthSnapshot view = new DepthSnapshot(BookView.DEFAULT_LEVELS);
+                Order status = new Order();
+                long lastSequence = 0;
+                while (running.get() && failure.get() == null) {
+                    matchingEngine.getBookView().read(view);
+                    if (view.getCommandSequence() < lastSequence) {
+                        failure.set("View went back from " + lastSequence + " to " + view.getCommandSequence());
+                    }
+                    lastSequence = view.getCommandSequence();
+                    // Every order rests at a price equal to its quantity, so a level holds price * orders
+                    for (int i = 0; i < view.getBidLevels(); i++) {
+                        if (view.bidQuantity(i) != view.bidPrice(i) * view.bidOrderCount(i)
+                                || i > 0 && view.bidPrice(i) >= view.bidPrice(i - 1)) {
+                            failure.set("Torn level " + i + " at " + view.getCommandSequence());
+                        }
+                    }
+                    for (long orderId = 1; orderId <= 64; orderId++) {
+                        if (matchingEngine.orderStatus(orderId, status) != OrderStatusTable.NOT_FOUND
+                                && (status.getOrderId() != orderId || status.getPrice() != status.getQuantity())) {
+                            failure.set("Torn status of order " + orderId + ": " + status);
+                        }
+                    }
+                }
+            });
+            readers[r].start();
+        }
+
+        for (int i = 0; i < 200_000 && failure.get() == null; i++) {
+            long orderId = i % 64 + 1;
+            int price = (int) (i * 31 % 50) + 1;
+            if (i >= 64) {
+                matchingEngine.cancel(orderId);
+            }
+            matchingEngine.match(new Order(orderId, 1, "BTC", price, price, Side.BUY, OrderType.LIMIT));
+        }
+        running.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertNull(failure.get());
+        assertTrue(matchingEngine.getBookView().read(new DepthSnapshot(1)).getCommandSequence() > 0);
+    }
+}
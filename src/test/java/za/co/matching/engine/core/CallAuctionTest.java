@@ -0,0 +1,104 @@
+package za.co.matching.engine.core;
+
+import org.junit.jupiter.api.Test;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderStatus;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+import za.co.matching.engine.model.Trade;
+import za.co.matching.engine.model.TradingPhase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CallAuctionTest {
+
+    @Test
+    void openingAuctionShouldUncrossAtTheMaximumVolumePriceAsOneBatch() {
+        MatchingEngine matchingEngine = new MatchingEngine();
+        matchingEngine.startAuction(TradingPhase.OPENING_AUCTION);
+        Order marketBuy = new Order(100, 1, "BTC", 0, 5, Side.BUY, OrderType.MARKET);
+        matchingEngine.match(new Order(101, 1, "BTC", 101, 10, Side.BUY, OrderType.LIMIT));
+        matchingEngine.match(new Order(102, 1, "BTC", 100, 20, Side.BUY, OrderType.LIMIT));
+        matchingEngine.match(new Order(103, 1, "BTC", 99, 10, Side.BUY, OrderType.LIMIT));
+        matchingEngine.match(new Order(201, 2, "BTC", 98, 15, Side.SELL, OrderType.LIMIT));
+        matchingEngine.match(new Order(202, 2, "BTC", 100, 10, Side.SELL, OrderType.LIMIT));
+        matchingEngine.match(new Order(203, 2, "BTC", 102, 30, Side.SELL, OrderType.LIMIT));
+        matchingEngine.match(marketBuy);
+        Order fillOrKill = new Order(104, 1, "BTC", 102, 5, Side.BUY, OrderType.LIMIT, TimeInForce.FOK);
+        matchingEngine.match(fillOrKill);
+
+        // Collected, not matched, even though the books cross
+        assertEquals(OrderStatus.CANCELLED, fillOrKill.getStatus());
+        assertEquals(0, matchingEngine.getTradeRecord().size());
+        assertEquals(101, matchingEngine.getBuyOrderBook().bestLevel().getPrice());
+        assertEquals(98, matchingEngine.getSellOrderBook().bestLevel().getPrice());
+
+        // Executable: 98 -> 15, 99 -> 15, 100 -> 25, 101 -> 15, 102 -> 5
+        AuctionResult result = matchingEngine.uncross();
+        assertEquals(new AuctionResult(100, 25, 10), result);
+        assertEquals(TradingPhase.CONTINUOUS, matchingEngine.getPhase());
+        assertEquals(3, matchingEngine.getTradeRecord().size());
+        long volume = 0;
+        for (Trade trade : matchingEngine.getTradeRecord().trades()) {
+            assertEquals(100, trade.getPrice());
+            volume += trade.getQuantity();
+        }
+        assertEquals(25, volume);
+        // The market buy executes first and in full
+        Trade first = matchingEngine.getTradeRecord().trades().getFirst();
+        assertEquals(marketBuy.getOrderId(), first.getBuyOrderId());
+        assertEquals(5, first.getQuantity());
+        assertEquals(0, matchingEngine.getAuctionMarketBuys().size());
+        assertEquals(100, matchingEngine.getBuyOrderBook().bestLevel().getPrice());
+        assertEquals(10, matchingEngine.getBuyOrderBook().bestLevel().getQuantity());
+        assertEquals(102, matchingEngine.getSellOrderBook().bestLevel().getPrice());
+
+        MarketData marketData = matchingEngine.getMarketData();
+        assertEquals(100, marketData.getOpenPrice());
+        assertEquals(25, marketData.getVolume());
+    }
+
+    @Test
+    void tiesShouldGoToMarketPressureThenTheReferencePrice() {
+        // Same volume and imbalance at 98 and 100, both sides fully matched
+        assertEquals(100, uncross(10, 10, 100).price());
+        assertEquals(98, uncross(10, 10, 97).price());
+        // Buyers left over at both prices
+        assertEquals(new AuctionResult(100, 10, 5), uncross(15, 10, 97));
+        // Sellers left over at both prices
+        assertEquals(new AuctionResult(98, 10, -5), uncross(10, 15, 100));
+    }
+
+    @Test
+    void closingAuctionShouldSetTheCloseAndCancelUnfilledMarketOrders() {
+        MatchingEngine matchingEngine = new MatchingEngine();
+        matchingEngine.match(new Order(201, 2, "BTC", 105, 5, Side.SELL, OrderType.LIMIT));
+        matchingEngine.match(new Order(101, 1, "BTC", 105, 5, Side.BUY, OrderType.LIMIT));
+
+        matchingEngine.startAuction(TradingPhase.CLOSING_AUCTION);
+        assertThrows(IllegalStateException.class, () -> matchingEngine.startAuction(TradingPhase.OPENING_AUCTION));
+        Order marketSell = new Order(202, 2, "BTC", 0, 20, Side.SELL, OrderType.MARKET);
+        matchingEngine.match(marketSell);
+        matchingEngine.match(new Order(102, 1, "BTC", 103, 8, Side.BUY, OrderType.LIMIT));
+
+        assertEquals(new AuctionResult(103, 8, -12), matchingEngine.uncross());
+        // Traded 8, the rest is cancelled
+        assertEquals(marketSell.getOrderId(), matchingEngine.getTradeRecord().last().getSellOrderId());
+        assertEquals(8, matchingEngine.getTradeRecord().last().getQuantity());
+        assertEquals(0, matchingEngine.getAuctionMarketSells().size());
+        MarketData marketData = matchingEngine.getMarketData();
+        assertEquals(105, marketData.getOpenPrice());
+        assertEquals(103, marketData.getClosePrice());
+        assertThrows(IllegalStateException.class, matchingEngine::uncross);
+    }
+
+    private static AuctionResult uncross(int bidQuantity, int askQuantity, long referencePrice) {
+        MatchingEngine matchingEngine = new MatchingEngine();
+        matchingEngine.startAuction(TradingPhase.OPENING_AUCTION);
+        matchingEngine.match(new Order(101, 1, "BTC", 100, bidQuantity, Side.BUY, OrderType.LIMIT));
+        matchingEngine.match(new Order(201, 2, "BTC", 98, askQuantity, Side.SELL, OrderType.LIMIT));
+        return matchingEngine.uncross(referencePrice);
+    }
+}
@@ -0,0 +1,77 @@
+package za.co.matching.engine.core;
+
+import org.junit.jupiter.api.Test;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DepthFeedTest {
+
+    @Test
+    void shouldConflateEachCommandIntoLevelUpdates() {
+        MatchingEngine matchingEngine = new MatchingEngine();
+        List<String> updates = new ArrayList<>();
+        matchingEngine.setDepthListener((sequence, type, side, price, quantity, orderCount) ->
+                updates.add(sequence + " " + type + " " + side + " " + price + " " + quantity + " " + orderCount));
+
+        matchingEngine.match(new Order(201, 1, "BTC", 100, 10, Side.SELL, OrderType.LIMIT));
+        matchingEngine.match(new Order(202, 1, "BTC", 100, 5, Side.SELL, OrderType.LIMIT));
+        matchingEngine.match(new Order(101, 2, "BTC", 100, 12, Side.BUY, OrderType.LIMIT));
+        matchingEngine.match(new Order(102, 2, "BTC", 100, 4, Side.BUY, OrderType.LIMIT));
+
+        assertEquals(List.of(
+                "1 ADD SELL 100 10 1",
+                "2 CHANGE SELL 100 15 2",
+                "3 CHANGE SELL 100 3 1",
+                "4 ADD BUY 100 1 1",
+                "5 DELETE SELL 100 0 0"), updates);
+    }
+
+    @Test
+    void deltasShouldRebuildTheSameDepthAsASnapshot() {
+        MatchingEngine matchingEngine = new MatchingEngine();
+        Map<Long, Long> bids = new TreeMap<>();
+        Map<Long, Long> asks = new TreeMap<>();
+        long[] lastSequence = {0};
+        matchingEngine.setDepthListener((sequence, type, side, price, quantity, orderCount) -> {
+            assertEquals(lastSequence[0] + 1, sequence);
+            lastSequence[0] = sequence;
+            Map<Long, Long> depth = side == Side.BUY ? bids : asks;
+            if (type == DepthUpdateType.DELETE) {
+                depth.remove(price);
+            } else {
+                depth.put(price, quantity);
+            }
+        });
+
+        Random random = new Random(7);
+        for (int i = 0; i < 2_000; i++) {
+            Side side = random.nextBoolean() ? Side.BUY : Side.SELL;
+            matchingEngine.match(new Order(i, 1, "BTC", 90 + random.nextInt(20), 1 + random.nextInt(20), side, OrderType.LIMIT));
+            if (i % 5 == 0) {
+                matchingEngine.cancel(random.nextInt(i + 1));
+            }
+        }
+
+        DepthSnapshot snapshot = matchingEngine.depthSnapshot(new DepthSnapshot(100));
+        assertEquals(lastSequence[0], snapshot.getSequence());
+        assertEquals(bids.size(), snapshot.getBidLevels());
+        assertEquals(asks.size(), snapshot.getAskLevels());
+        assertTrue(snapshot.getBidLevels() > 0 && snapshot.getAskLevels() > 0);
+        for (int level = 0; level < snapshot.getBidLevels(); level++) {
+            assertEquals(bids.get(snapshot.bidPrice(level)), snapshot.bidQuantity(level));
+        }
+        for (int level = 0; level < snapshot.getAskLevels(); level++) {
+            assertEquals(asks.get(snapshot.askPrice(level)), snapshot.askQuantity(level));
+        }
+    }
+}
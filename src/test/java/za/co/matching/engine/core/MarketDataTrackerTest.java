@@ -0,0 +1,55 @@
+package za.co.matching.engine.core;
+
+import org.junit.jupiter.api.Test;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MarketDataTrackerTest {
+
+    @Test
+    void shouldReportEmptyBookWithoutThrowing() {
+        MarketData marketData = new MatchingEngine().getMarketData();
+
+        assertEquals(0, marketData.getBestBidPrice());
+        assertEquals(0, marketData.getMidPrice());
+        assertEquals(0, marketData.getTradeCount());
+    }
+
+    @Test
+    void shouldTrackTopOfBookAndSessionStatistics() {
+        MatchingEngine matchingEngine = new MatchingEngine();
+        matchingEngine.match(new Order(201, 1, "BTC", 100, 10, Side.SELL, OrderType.LIMIT));
+        matchingEngine.match(new Order(202, 1, "BTC", 100, 5, Side.SELL, OrderType.LIMIT));
+        matchingEngine.match(new Order(203, 1, "BTC", 104, 10, Side.SELL, OrderType.LIMIT));
+        matchingEngine.match(new Order(101, 2, "BTC", 96, 7, Side.BUY, OrderType.LIMIT));
+        // 10 @ 100, 2 @ 100
+        matchingEngine.match(new Order(102, 2, "BTC", 100, 12, Side.BUY, OrderType.LIMIT));
+        // 3 @ 100, 1 @ 104
+        matchingEngine.match(new Order(103, 2, "BTC", 0, 4, Side.BUY, OrderType.MARKET));
+
+        MarketData marketData = matchingEngine.getMarketDataTracker().read(new MarketData());
+        assertEquals(96, marketData.getBestBidPrice());
+        assertEquals(7, marketData.getBestBidQuantity());
+        assertEquals(104, marketData.getBestAskPrice());
+        assertEquals(9, marketData.getBestAskQuantity());
+        assertEquals(100, marketData.getMidPrice());
+        assertEquals(100, marketData.getOpenPrice());
+        assertEquals(104, marketData.getHighPrice());
+        assertEquals(100, marketData.getLowPrice());
+        assertEquals(104, marketData.getClosePrice());
+        assertEquals(16, marketData.getVolume());
+        assertEquals(4, marketData.getTradeCount());
+        assertEquals((15 * 100 + 104) / 16.0, marketData.getVwap(), 1e-9);
+        assertEquals(matchingEngine.getSequence(), marketData.getSequence());
+
+        matchingEngine.cancel(203);
+        matchingEngine.startSession();
+        marketData = matchingEngine.getMarketData();
+        assertEquals(0, marketData.getBestAskQuantity());
+        assertEquals(0, marketData.getVolume());
+        assertEquals(104, marketData.getLastTradePrice());
+    }
+}
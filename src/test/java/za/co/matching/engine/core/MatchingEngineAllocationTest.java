@@ -0,0 +1,66 @@
+package za.co.matching.engine.core;
+
+import org.junit.jupiter.api.Test;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MatchingEngineAllocationTest {
+
+    private static final int ORDERS_PER_ROUND = 100_000;
+
+    @Test
+    void pooledOrdersShouldMatchWithoutAllocatingInSteadyState() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        MatchingEngine matchingEngine = new MatchingEngine(EngineClock.system());
+        long[] depthUpdates = {0};
+        matchingEngine.setDepthListener((sequence, type, side, price, quantity, orderCount) -> depthUpdates[0]++);
+        MarketData marketData = new MarketData();
+
+        // Warm up: fill the pools, grow the maps and rings to their working size and let the JIT compile the path
+        for (int round = 0; round < 5; round++) {
+            runRound(matchingEngine, round, marketData);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        runRound(matchingEngine, 5, marketData);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertTrue(allocated < 16 * 1024, "Allocated " + allocated + " bytes for " + ORDERS_PER_ROUND + " orders");
+        assertTrue(matchingEngine.getBuyOrderBook().size() <= 50);
+        assertTrue(matchingEngine.getTradeRecord().totalCount() > ORDERS_PER_ROUND / 4);
+        assertTrue(depthUpdates[0] > 0);
+        assertTrue(matchingEngine.getStopOrderBook().isEmpty());
+    }
+
+    /**
+     * Rests buys, rests and cancels sells, amends and sells into the bids, keeping the bid side at around 50 orders
+     * while levels are constantly created and emptied. Sell stops above the market are triggered by the next trade
+     * and buy stops far above it are placed and cancelled, so stop levels come and go as well.
+     */
+    private static void runRound(MatchingEngine matchingEngine, int round, MarketData marketData) {
+        OrderPool pool = matchingEngine.getOrderPool();
+        long firstId = (long) round * ORDERS_PER_ROUND;
+        for (int i = 0; i < ORDERS_PER_ROUND; i += 6) {
+            long id = firstId + i;
+            long bid = 1_000 + (i % 50);
+            if (matchingEngine.getBuyOrderBook().size() < 50) {
+                matchingEngine.match(pool.acquire().init(id, 1, "BTC", bid, 10, Side.BUY, OrderType.LIMIT, -1L, TimeInForce.GTC));
+                matchingEngine.match(pool.acquire().init(id + 1, 2, "BTC", 2_000 + (i % 7), 10, Side.SELL, OrderType.LIMIT, -1L, TimeInForce.GTC));
+                matchingEngine.cancel(id + 1);
+                matchingEngine.match(pool.acquire().init(id + 4, 3, "BTC", 0, 1, Side.SELL, OrderType.STOP, 1_100L + (i % 7), TimeInForce.GTC));
+                matchingEngine.match(pool.acquire().init(id + 5, 3, "BTC", 0, 1, Side.BUY, OrderType.STOP, 5_000L + (i % 13), TimeInForce.GTC));
+                matchingEngine.cancel(id + 5);
+                matchingEngine.match(pool.acquire().init(id + 2, 2, "BTC", 0, 5, Side.SELL, OrderType.MARKET, -1L, TimeInForce.GTC));
+                matchingEngine.replace(id, 8, bid + 1);
+            } else {
+                matchingEngine.match(pool.acquire().init(id + 3, 2, "BTC", 0, 10, Side.SELL, OrderType.MARKET, -1L, TimeInForce.GTC));
+            }
+            matchingEngine.getMarketDataTracker().read(marketData);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package za.co.matching.engine.core;
+
+import org.junit.jupiter.api.Test;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderStatus;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+import za.co.matching.engine.model.Trade;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MatchingEngineTest {
+
+    @Test
+    void cancelShouldRemoveRestingOrderFromBook() {
+        MatchingEngine matchingEngine = new MatchingEngine();
+        Order order = new Order(1, 1, "BTC", 100, 10, Side.BUY, OrderType.LIMIT);
+        matchingEngine.match(order);
+
+        assertTrue(matchingEngine.cancel(1));
+
+        assertEquals(0, matchingEngine.getBuyOrderBook().size());
+        assertNull(matchingEngine.getBuyOrderBook().findOrder(1));
+        assertFalse(matchingEngine.cancel(1));
+    }
+
+    @Test
+    void quantityReductionShouldKeepTimePriority() {
+        MatchingEngine matchingEngine = new MatchingEngine();
+        Order first = new Order(1, 1, "BTC", 100, 10, Side.SELL, OrderType.LIMIT);
+        Order second = new Order(2, 2, "BTC", 100, 10, Side.SELL, OrderType.LIMIT);
+        matchingEngine.match(first);
+        matchingEngine.match(second);
+
+        assertTrue(matchingEngine.replace(1, 4, 100));
+
+        Order best = matchingEngine.getSellOrderBook().bestOrder();
+        assertEquals(first.getOrderId(), best.getOrderId());
+        assertEquals(4, best.getRemainingQuantity());
+    }
+
+    @Test
+    void priceChangeShouldRequeueOrderBehindOrdersAtNewPrice() {
+        MatchingEngine matchingEngine = new MatchingEngine();
+        Order first = new Order(1, 1, "BTC", 101, 10, Side.SELL, OrderType.LIMIT);
+        Order second = new Order(2, 2, "BTC", 100, 10, Side.SELL, OrderType.LIMIT);
+        matchingEngine.match(first);
+        matchingEngine.match(second);
+
+        assertTrue(matchingEngine.replace(1, 10, 100));
+
+        assertEquals(second.getOrderId(), matchingEngine.getSellOrderBook().bestOrder().getOrderId());
+        assertEquals(matchingEngine.getSellOrderBook().find(1), matchingEngine.getSellOrderBook().bestLevel().getTail());
+        assertEquals(1, matchingEngine.getSellOrderBook().levels().size());
+    }
+
+    @Test
+    void priceChangeThatCrossesShouldTrade() {
+        MatchingEngine matchingEngine = new MatchingEngine();
+        Order buy = new Order(1, 1, "BTC", 99, 10, Side.BUY, OrderType.LIMIT);
+        Order sell = new Order(2, 2, "BTC", 100, 10, Side.SELL, OrderType.LIMIT);
+        matchingEngine.match(buy);
+        matchingEngine.match(sell);
+
+        assertTrue(matchingEngine.replace(1, 10, 100));
+
+        assertEquals(10, matchingEngine.getTradeRecord().last().getQuantity());
+        assertTrue(matchingEngine.getBuyOrderBook().isEmpty());
+        assertTrue(matchingEngine.getSellOrderBook().isEmpty());
+    }
+
+    @Test
+    void triggeredStopsShouldRunAfterTheAggressorAndCascade() {
+        MatchingEngine matchingEngine = new MatchingEngine();
+        matchingEngine.match(new Order(101, 1, "BTC", 100, 10, Side.BUY, OrderType.LIMIT));
+        matchingEngine.match(new Order(102, 1, "BTC", 98, 10, Side.BUY, OrderType.LIMIT));
+        matchingEngine.match(new Order(103, 1, "BTC", 96, 10, Side.BUY, OrderType.LIMIT));
+        Order firstStop = new Order(201, 2, "BTC", 0, 10, Side.SELL, OrderType.STOP, 100);
+        Order secondStop = new Order(202, 2, "BTC", 0, 10, Side.SELL, OrderType.STOP, 98);
+        matchingEngine.match(firstStop);
+        matchingEngine.match(secondStop);
+
+        Order aggressor = new Order(301, 3, "BTC", 100, 10, Side.SELL, OrderType.LIMIT);
+        matchingEngine.match(aggressor);
+
+        assertEquals(OrderStatus.FILLED, aggressor.getStatus());
+        assertTrue(matchingEngine.getStopOrderBook().isEmpty());
+        assertTrue(matchingEngine.getBuyOrderBook().isEmpty());
+        assertEquals(List.of(301L, 201L, 202L),
+                matchingEngine.getTradeRecord().trades().stream().map(Trade::getSellOrderId).toList());
+    }
+
+    @Test
+    void replacingAPendingStopShouldMoveItsTrigger() {
+        MatchingEngine matchingEngine = new MatchingEngine();
+        matchingEngine.match(new Order(1, 1, "BTC", 0, 10, Side.SELL, OrderType.STOP, 95));
+        matchingEngine.match(new Order(2, 1, "BTC", 97, 5, Side.SELL, OrderType.STOP_LIMIT, 99));
+
+        assertTrue(matchingEngine.replace(1, 8, 90));
+        assertTrue(matchingEngine.replace(2, 5, 94));
+        Order stop = matchingEngine.getStopOrderBook().findOrder(1);
+        assertEquals(90, stop.getStopPrice());
+        assertEquals(8, stop.getQuantity());
+        Order stopLimit = matchingEngine.getStopOrderBook().findOrder(2);
+        assertEquals(94, stopLimit.getStopPrice());
+        assertEquals(97, stopLimit.getPrice());
+
+        // A trade at 93 now only triggers the stop-limit, which rests at its unchanged limit
+        matchingEngine.match(new Order(10, 2, "BTC", 93, 1, Side.BUY, OrderType.LIMIT));
+        matchingEngine.match(new Order(11, 3, "BTC", 93, 1, Side.SELL, OrderType.LIMIT));
+        assertEquals(1, matchingEngine.getStopOrderBook().size());
+        assertEquals(97, matchingEngine.getSellOrderBook().bestOrder().getPrice());
+        assertEquals(2, matchingEngine.getSellOrderBook().bestOrder().getOrderId());
+
+        matchingEngine.match(new Order(12, 2, "BTC", 90, 20, Side.BUY, OrderType.LIMIT));
+        matchingEngine.match(new Order(13, 3, "BTC", 90, 1, Side.SELL, OrderType.LIMIT));
+        assertTrue(matchingEngine.getStopOrderBook().isEmpty());
+        Trade last = matchingEngine.getTradeRecord().last();
+        assertEquals(1, last.getSellOrderId());
+        assertEquals(8, last.getQuantity());
+    }
+
+    @Test
+    void fillOrKillShouldBeRejectedWithoutTouchingTheBookOrSweepSeveralLevels() {
+        MatchingEngine matchingEngine = new MatchingEngine();
+        Order first = new Order(201, 1, "BTC", 100, 10, Side.SELL, OrderType.LIMIT);
+        Order second = new Order(202, 1, "BTC", 101, 10, Side.SELL, OrderType.LIMIT);
+        matchingEngine.match(first);
+        matchingEngine.match(second);
+        matchingEngine.match(new Order(203, 1, "BTC", 102, 10, Side.SELL, OrderType.LIMIT));
+
+        Order killed = new Order(101, 2, "BTC", 101, 21, Side.BUY, OrderType.LIMIT, TimeInForce.FOK);
+        matchingEngine.match(killed);
+        assertEquals(OrderStatus.CANCELLED, killed.getStatus());
+        assertEquals(0, killed.getFilledQuantity());
+        assertEquals(3, matchingEngine.getSellOrderBook().size());
+        assertEquals(0, matchingEngine.getTradeRecord().size());
+
+        Order filled = new Order(102, 2, "BTC", 101, 15, Side.BUY, OrderType.LIMIT, TimeInForce.FOK);
+        matchingEngine.match(filled);
+        assertEquals(OrderStatus.FILLED, filled.getStatus());
+        assertNull(matchingEngine.getSellOrderBook().findOrder(201));
+        assertEquals(5, matchingEngine.getSellOrderBook().findOrder(202).getRemainingQuantity());
+        assertEquals(2, matchingEngine.getTradeRecord().size());
+        assertEquals(101, matchingEngine.getTradeRecord().lastPrice());
+    }
+
+    @Test
+    void immediateOrCancelShouldTradeUpToItsPriceAndCancelTheRest() {
+        MatchingEngine matchingEngine = new MatchingEngine();
+        matchingEngine.match(new Order(101, 1, "BTC", 100, 10, Side.BUY, OrderType.LIMIT));
+        matchingEngine.match(new Order(102, 1, "BTC", 99, 10, Side.BUY, OrderType.LIMIT));
+
+        Order order = new Order(201, 2, "BTC", 100, 15, Side.SELL, OrderType.LIMIT, TimeInForce.IOC);
+        matchingEngine.match(order);
+
+        assertEquals(OrderStatus.CANCELLED, order.getStatus());
+        assertEquals(10, order.getFilledQuantity());
+        assertNull(matchingEngine.getSellOrderBook().bestLevel());
+        assertEquals(99, matchingEngine.getBuyOrderBook().bestLevel().getPrice());
+    }
+}
@@ -2,39 +2,169 @@ package za.co.matching.engine.core;
 
 import org.junit.jupiter.api.Test;
 import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderStatus;
 import za.co.matching.engine.model.OrderType;
 import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
 
-import java.util.Comparator;
-import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 class OrderBookTest {
 
     @Test
-    void orderShouldSortedLowestPriceToHighestPriceNaturalOrder() {
+    void sellBookBestPriceShouldBeLowestPrice() {
 
-        OrderBook orderBook = new OrderBook(Comparator.naturalOrder());
-        orderBook.addOrder(new Order(UUID.randomUUID().toString(), UUID.randomUUID().toString(), "BTC/USD", 450, 2000, Side.BUY, OrderType.LIMIT));
-        orderBook.addOrder(new Order(UUID.randomUUID().toString(), UUID.randomUUID().toString(), "BTC/USD", 400, 1070, Side.BUY, OrderType.LIMIT));
-        orderBook.addOrder(new Order(UUID.randomUUID().toString(), UUID.randomUUID().toString(), "BTC/USD", 200, 1550, Side.BUY, OrderType.LIMIT));
+        OrderBook orderBook = new OrderBook(Side.SELL);
+        orderBook.addOrder(new Order(1, 1, "BTC/USD", 450, 2000, Side.SELL, OrderType.LIMIT));
+        orderBook.addOrder(new Order(2, 2, "BTC/USD", 400, 1070, Side.SELL, OrderType.LIMIT));
+        orderBook.addOrder(new Order(3, 3, "BTC/USD", 200, 1550, Side.SELL, OrderType.LIMIT));
 
-        assertEquals(200, orderBook.orders().getFirst().getPrice());
+        assertEquals(200, orderBook.bestOrder().getPrice());
+        assertEquals(200, orderBook.levels().iterator().next().getPrice());
 
     }
 
     @Test
-    void orderShouldSortedHighestPriceToLowestPriceReversedOrder() {
+    void buyBookBestPriceShouldBeHighestPrice() {
 
-        OrderBook orderBook = new OrderBook(Comparator.reverseOrder());
-        orderBook.addOrder(new Order(UUID.randomUUID().toString(), UUID.randomUUID().toString(), "BTC/USD", 450, 2000, Side.BUY, OrderType.LIMIT));
-        orderBook.addOrder(new Order(UUID.randomUUID().toString(), UUID.randomUUID().toString(), "BTC/USD", 400, 1070, Side.BUY, OrderType.LIMIT));
-        orderBook.addOrder(new Order(UUID.randomUUID().toString(), UUID.randomUUID().toString(), "BTC/USD", 200, 1550, Side.BUY, OrderType.LIMIT));
+        OrderBook orderBook = new OrderBook(Side.BUY);
+        orderBook.addOrder(new Order(4, 4, "BTC/USD", 450, 2000, Side.BUY, OrderType.LIMIT));
+        orderBook.addOrder(new Order(5, 5, "BTC/USD", 400, 1070, Side.BUY, OrderType.LIMIT));
+        orderBook.addOrder(new Order(6, 6, "BTC/USD", 200, 1550, Side.BUY, OrderType.LIMIT));
 
-        assertEquals(450, orderBook.orders().getFirst().getPrice());
+        assertEquals(450, orderBook.bestOrder().getPrice());
+        assertEquals(450, orderBook.levels().iterator().next().getPrice());
 
     }
 
+    @Test
+    void ordersAtTheSamePriceShouldKeepArrivalOrder() {
+
+        OrderBook orderBook = new OrderBook(Side.BUY);
+        Order first = new Order(1, 1, "BTC/USD", 100, 10, Side.BUY, OrderType.LIMIT);
+        Order second = new Order(2, 2, "BTC/USD", 100, 10, Side.BUY, OrderType.LIMIT);
+        Order third = new Order(3, 3, "BTC/USD", 100, 10, Side.BUY, OrderType.LIMIT);
+        // Identical price and timestamp must not collapse orders into one
+        second.setTimestamp(first.getTimestamp());
+        int firstHandle = orderBook.addOrder(first);
+        int secondHandle = orderBook.addOrder(second);
+        int thirdHandle = orderBook.addOrder(third);
+
+        assertEquals(3, orderBook.size());
+        assertEquals(3, orderBook.bestLevel().getOrderCount());
+        assertEquals(first, orderBook.bestOrder());
+
+        orderBook.removeOrder(firstHandle);
+        assertEquals(second, orderBook.bestOrder());
+
+        orderBook.removeOrder(thirdHandle);
+        assertEquals(secondHandle, orderBook.bestLevel().getTail());
+    }
+
+    @Test
+    void removingLastOrderAtBestLevelShouldMoveBestToNextLevel() {
+
+        OrderBook orderBook = new OrderBook(Side.SELL);
+        Order best = new Order(1, 1, "BTC/USD", 101, 10, Side.SELL, OrderType.LIMIT);
+        Order next = new Order(2, 2, "BTC/USD", 102, 10, Side.SELL, OrderType.LIMIT);
+        int nextHandle = orderBook.addOrder(next);
+        int bestHandle = orderBook.addOrder(best);
+
+        orderBook.removeOrder(bestHandle);
+        assertEquals(next, orderBook.bestOrder());
+
+        orderBook.removeOrder(nextHandle);
+        assertNull(orderBook.bestLevel());
+        assertEquals(0, orderBook.size());
+    }
+
+    @Test
+    void availableQuantityShouldStopAtLimitPriceOrOnceEnoughIsFound() {
+
+        OrderBook orderBook = new OrderBook(Side.BUY);
+        orderBook.addOrder(new Order(1, 1, "BTC/USD", 101, 10, Side.BUY, OrderType.LIMIT));
+        orderBook.addOrder(new Order(2, 1, "BTC/USD", 101, 5, Side.BUY, OrderType.LIMIT));
+        orderBook.addOrder(new Order(3, 2, "BTC/USD", 100, 20, Side.BUY, OrderType.LIMIT));
+        orderBook.addOrder(new Order(4, 2, "BTC/USD", 99, 30, Side.BUY, OrderType.LIMIT));
+
+        // A sell limited at 100 reaches the 101 and 100 levels only
+        assertEquals(35, orderBook.availableQuantity(100, 1_000));
+        assertEquals(15, orderBook.availableQuantity(101, 1_000));
+        assertEquals(0, orderBook.availableQuantity(102, 1_000));
+        // Stops at the first level that covers the wanted quantity
+        assertEquals(15, orderBook.availableQuantity(99, 12));
+        assertEquals(65, orderBook.availableQuantity(99, 65));
+    }
+
+    @Test
+    void removedOrdersShouldFreeTheirSlotsForReuse() {
+
+        OffHeapOrderStore store = new OffHeapOrderStore(16);
+        OrderBook orderBook = new OrderBook(Side.SELL, store);
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 16; i++) {
+                orderBook.addOrder(new Order(round * 16L + i, 1, "BTC/USD", 100 + i % 4, 10, Side.SELL, OrderType.LIMIT));
+            }
+            int handle;
+            while ((handle = orderBook.bestHandle()) != OffHeapOrderStore.NONE) {
+                orderBook.fill(handle, 10);
+            }
+        }
+
+        assertEquals(0, store.size());
+        assertEquals(16, store.capacity());
+        assertNull(orderBook.bestLevel());
+    }
+
+    @Test
+    void storeShouldGrowAndKeepEveryField() {
 
-}
\ No newline at end of file
+        OffHeapOrderStore store = new OffHeapOrderStore(16);
+        OrderBook orderBook = new OrderBook(Side.BUY, store);
+        for (int i = 0; i < 100; i++) {
+            orderBook.addOrder(new Order(i, 7, "ETH/USD", 500 - i, 10 + i, Side.BUY, OrderType.LIMIT));
+        }
+        Order partial = new Order(100, 8, "BTC/USD", 1_000, 30, Side.BUY, OrderType.STOP_LIMIT, 990, TimeInForce.GTC);
+        partial.setFilledQuantity(12);
+        partial.setRemainingQuantity(18);
+        partial.setStatus(OrderStatus.PARTIALLY_FULFILLED);
+        partial.setSequence(42);
+        partial.setTimestamp(1_234_567L);
+        orderBook.addOrder(partial);
+
+        assertEquals(128, store.capacity());
+        assertEquals(partial, orderBook.bestOrder());
+        assertEquals(partial, orderBook.findOrder(100));
+        assertEquals(new Order(57, 7, "ETH/USD", 443, 67, Side.BUY, OrderType.LIMIT), orderBook.findOrder(57));
+
+        orderBook.reduceQuantity(orderBook.find(100), 20);
+        assertEquals(8, orderBook.bestOrder().getRemainingQuantity());
+        assertEquals(8, orderBook.bestLevel().getQuantity());
+    }
+
+    @Test
+    void everyOrderShouldSurviveEachGrowth() {
+
+        OffHeapOrderStore store = new OffHeapOrderStore(16);
+        OrderBook orderBook = new OrderBook(Side.SELL, store);
+        int grows = 0;
+        for (int i = 0; i < 1_000; i++) {
+            int capacity = store.capacity();
+            orderBook.addOrder(new Order(i, i % 5, "BTC/USD", 100 + i % 50, i + 1, Side.SELL, OrderType.LIMIT));
+            if (store.capacity() != capacity) {
+                grows++;
+                assertEquals(capacity * 2, store.capacity());
+                for (int j = 0; j <= i; j++) {
+                    assertEquals(new Order(j, j % 5, "BTC/USD", 100 + j % 50, j + 1, Side.SELL, OrderType.LIMIT),
+                            orderBook.findOrder(j));
+                }
+            }
+        }
+
+        assertEquals(6, grows);
+        assertEquals(1_000, store.size());
+        assertEquals((long) store.capacity() * OffHeapOrderStore.SLOT_SIZE, store.byteSize());
+    }
+}
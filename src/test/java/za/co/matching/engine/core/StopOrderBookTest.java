@@ -0,0 +1,46 @@
+package za.co.matching.engine.core;
+
+import org.junit.jupiter.api.Test;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StopOrderBookTest {
+
+    @Test
+    void tradeAwayFromTriggersShouldReleaseNothing() {
+        StopOrderBook stopOrderBook = new StopOrderBook();
+        stopOrderBook.addOrder(new Order(1, 1, "BTC", 0, 10, Side.SELL, OrderType.STOP, 95));
+        stopOrderBook.addOrder(new Order(2, 1, "BTC", 0, 10, Side.BUY, OrderType.STOP, 105));
+
+        ArrayDeque<Order> triggered = new ArrayDeque<>();
+        stopOrderBook.drainTriggered(100, triggered, new OrderPool(0));
+
+        assertTrue(triggered.isEmpty());
+        assertEquals(2, stopOrderBook.size());
+    }
+
+    @Test
+    void sellStopsShouldTriggerHighestStopFirstAndLeaveTheRest() {
+        StopOrderBook stopOrderBook = new StopOrderBook();
+        stopOrderBook.addOrder(new Order(1, 1, "BTC", 0, 10, Side.SELL, OrderType.STOP, 97));
+        stopOrderBook.addOrder(new Order(2, 1, "BTC", 0, 10, Side.SELL, OrderType.STOP, 99));
+        stopOrderBook.addOrder(new Order(3, 1, "BTC", 0, 10, Side.SELL, OrderType.STOP, 99));
+        stopOrderBook.addOrder(new Order(4, 1, "BTC", 0, 10, Side.SELL, OrderType.STOP, 95));
+        stopOrderBook.addOrder(new Order(5, 1, "BTC", 0, 10, Side.BUY, OrderType.STOP, 96));
+
+        ArrayDeque<Order> triggered = new ArrayDeque<>();
+        stopOrderBook.drainTriggered(97, triggered, new OrderPool(0));
+
+        assertEquals(List.of(2L, 3L, 1L, 5L), triggered.stream().map(Order::getOrderId).toList());
+        assertEquals(1, stopOrderBook.size());
+        assertEquals(4, stopOrderBook.findOrder(4).getOrderId());
+        assertEquals(stopOrderBook.find(4), stopOrderBook.sellLevels().iterator().next().getHead());
+    }
+}
@@ -0,0 +1,120 @@
+package za.co.matching.engine.core;
+
+import org.junit.jupiter.api.Test;
+import za.co.matching.engine.event.EngineEventType;
+import za.co.matching.engine.event.EventPublisher;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SymbolRouterTest {
+
+    @Test
+    void ordersForDifferentSymbolsShouldNotMatch() throws Exception {
+        try (SymbolRouter router = new SymbolRouter(2, Map.of("BTC", 0, "BTC/USD", 1))) {
+            router.submit(new Order(1, 1, "BTC", 100, 10, Side.BUY, OrderType.LIMIT));
+            router.submit(new Order(2, 2, "BTC/USD", 100, 10, Side.SELL, OrderType.LIMIT));
+
+            assertEquals(1, router.query("BTC", engine -> engine.getBuyOrderBook().size()).get());
+            assertEquals(1, router.query("BTC/USD", engine -> engine.getSellOrderBook().size()).get());
+            assertEquals(0, router.query("BTC", engine -> engine.getTradeRecord().size()).get());
+        }
+    }
+
+    @Test
+    void ordersForTheSameSymbolShouldMatchInSubmissionOrder() throws Exception {
+        try (SymbolRouter router = new SymbolRouter(4)) {
+            router.submit(new Order(1, 1, "ETH", 100, 10, Side.BUY, OrderType.LIMIT));
+            router.submit(new Order(2, 2, "ETH", 100, 4, Side.SELL, OrderType.LIMIT));
+            router.cancel("ETH", 1);
+
+            assertEquals(1, router.query("ETH", engine -> engine.getTradeRecord().size()).get());
+            assertEquals(0, router.query("ETH", engine -> engine.getBuyOrderBook().size()).get());
+        }
+    }
+
+    @Test
+    void everyCommandAcceptedBeforeCloseShouldRun() throws Exception {
+        SymbolRouter router = new SymbolRouter(1);
+        AtomicLong accepted = new AtomicLong();
+        AtomicInteger ran = new AtomicInteger();
+        Thread[] producers = new Thread[4];
+        for (int p = 0; p < producers.length; p++) {
+            producers[p] = new Thread(() -> {
+                try {
+                    while (true) {
+                        router.query("BTC", engine -> ran.incrementAndGet());
+                        accepted.incrementAndGet();
+                    }
+                } catch (IllegalStateException closed) {
+                    // Refused once the router is closing
+                }
+            });
+            producers[p].start();
+        }
+        while (accepted.get() < 10_000) {
+            Thread.onSpinWait();
+        }
+        router.close();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertTrue(accepted.get() >= 10_000);
+        assertEquals(accepted.get(), ran.get());
+        assertThrows(IllegalStateException.class, () -> router.cancel("BTC", 1));
+    }
+
+    @Test
+    void enginesShouldComeFromTheFactoryWithTheirSymbol() throws Exception {
+        List<String> created = new CopyOnWriteArrayList<>();
+        List<String> accepted = new CopyOnWriteArrayList<>();
+        EventPublisher events = new EventPublisher() {
+            @Override
+            public void publishTrade(long timestamp, Order buyOrder, Order sellOrder, long price, int quantity) {
+            }
+
+            @Override
+            public void publishOrder(EngineEventType type, long timestamp, Order order) {
+                if (type == EngineEventType.ACCEPTED) {
+                    accepted.add(order.getSymbol() + " " + order.getOrderId());
+                }
+            }
+        };
+        try (SymbolRouter router = new SymbolRouter(2, symbol -> {
+            created.add(symbol);
+            return new MatchingEngine(EngineClock.system(), CommandJournal.NONE, events);
+        })) {
+            router.submit(new Order(1, 1, "BTC", 100, 10, Side.BUY, OrderType.LIMIT));
+            router.submit(new Order(2, 1, "ETH", 100, 10, Side.BUY, OrderType.LIMIT));
+            router.submit(new Order(3, 1, "BTC", 101, 10, Side.BUY, OrderType.LIMIT));
+
+            assertEquals(2, router.query("BTC", engine -> engine.getBuyOrderBook().size()).get());
+            assertEquals(1, router.query("ETH", engine -> engine.getBuyOrderBook().size()).get());
+        }
+        assertEquals(Set.of("BTC", "ETH"), Set.copyOf(created));
+        assertEquals(2, created.size());
+        assertEquals(Set.of("BTC 1", "ETH 2", "BTC 3"), Set.copyOf(accepted));
+    }
+
+    @Test
+    void nullSymbolsShouldBeRefused() {
+        try (SymbolRouter router = new SymbolRouter(2)) {
+            assertThrows(IllegalArgumentException.class, () -> router.shardOf(null));
+            assertThrows(IllegalArgumentException.class, () -> router.cancel(null, 1));
+            assertThrows(IllegalArgumentException.class,
+                    () -> router.submit(new Order(1, 1, null, 100, 10, Side.BUY, OrderType.LIMIT)));
+        }
+    }
+}
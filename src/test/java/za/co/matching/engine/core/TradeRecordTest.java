@@ -0,0 +1,52 @@
+package za.co.matching.engine.core;
+
+import org.junit.jupiter.api.Test;
+import za.co.matching.engine.event.EventPublisher;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TradeRecordTest {
+
+    @Test
+    void shouldHandOldestTradesToOverflowOnceFull() {
+        List<Long> overflowed = new ArrayList<>();
+        long[] time = {0};
+        MatchingEngine matchingEngine = new MatchingEngine(() -> ++time[0], CommandJournal.NONE, EventPublisher.NONE, 4,
+                (tradeSequence, buyOrderId, sellOrderId, price, quantity, timestamp) -> overflowed.add(price));
+
+        for (int i = 1; i <= 6; i++) {
+            matchingEngine.match(new Order(200 + i, 1, "BTC", 100 + i, 1, Side.SELL, OrderType.LIMIT));
+            matchingEngine.match(new Order(100 + i, 2, "BTC", 100 + i, 1, Side.BUY, OrderType.LIMIT));
+        }
+
+        TradeRecord tradeRecord = matchingEngine.getTradeRecord();
+        assertEquals(List.of(101L, 102L), overflowed);
+        assertEquals(4, tradeRecord.size());
+        assertEquals(6, tradeRecord.totalCount());
+        assertEquals(106, tradeRecord.lastPrice());
+        assertEquals(106, tradeRecord.last().getBuyOrderId());
+    }
+
+    @Test
+    void shouldVisitTradesWithinTimeRange() {
+        long[] time = {0};
+        MatchingEngine matchingEngine = new MatchingEngine(() -> time[0] += 10);
+        for (int i = 1; i <= 5; i++) {
+            matchingEngine.match(new Order(200 + i, 1, "BTC", 100 + i, 1, Side.SELL, OrderType.LIMIT));
+            matchingEngine.match(new Order(100 + i, 2, "BTC", 100 + i, 1, Side.BUY, OrderType.LIMIT));
+        }
+
+        // trades are stamped 20, 40, 60, 80, 100
+        List<Long> prices = new ArrayList<>();
+        matchingEngine.getTradeRecord().forEachBetween(35, 80,
+                (tradeSequence, buyOrderId, sellOrderId, price, quantity, timestamp) -> prices.add(price));
+
+        assertEquals(List.of(102L, 103L, 104L), prices);
+    }
+}
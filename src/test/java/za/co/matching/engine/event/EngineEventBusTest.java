@@ -0,0 +1,88 @@
+package za.co.matching.engine.event;
+
+import org.junit.jupiter.api.Test;
+import za.co.matching.engine.core.CommandJournal;
+import za.co.matching.engine.core.MatchingEngine;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EngineEventBusTest {
+
+    @Test
+    void shouldPublishOrderAndTradeEventsInEngineOrder() {
+        EngineEventBus bus = new EngineEventBus(64);
+        Subscription subscription = bus.newSubscription();
+        MatchingEngine matchingEngine = new MatchingEngine(() -> 1L, CommandJournal.NONE, bus);
+
+        matchingEngine.match(new Order(1, 1, "BTC", 100, 10, Side.SELL, OrderType.LIMIT));
+        matchingEngine.match(new Order(2, 2, "BTC", 100, 4, Side.BUY, OrderType.LIMIT));
+        matchingEngine.cancel(1);
+
+        List<EngineEventType> types = new ArrayList<>();
+        subscription.poll((event, sequence, endOfBatch) -> types.add(event.getType()), 100);
+
+        assertEquals(List.of(EngineEventType.ACCEPTED, EngineEventType.ACCEPTED, EngineEventType.TRADE,
+                EngineEventType.FILLED, EngineEventType.PARTIALLY_FILLED, EngineEventType.CANCELLED), types);
+        assertEquals(5, subscription.sequence());
+    }
+
+    @Test
+    void slowSubscriberShouldBeToldAboutOverwrittenEvents() {
+        EngineEventBus bus = new EngineEventBus(4);
+        Subscription subscription = bus.newSubscription();
+        for (int i = 0; i < 10; i++) {
+            bus.publishOrder(EngineEventType.ACCEPTED, i, new Order(i, 1, "BTC", 100, 1, Side.BUY, OrderType.LIMIT));
+        }
+
+        List<Long> sequences = new ArrayList<>();
+        long[] gap = new long[2];
+        subscription.poll(new EventHandler() {
+            @Override
+            public void onEvent(EngineEvent event, long sequence, boolean endOfBatch) {
+                sequences.add(sequence);
+                assertEquals(sequence, event.getTimestamp());
+            }
+
+            @Override
+            public void onGap(long fromSequence, long toSequence) {
+                gap[0] = fromSequence;
+                gap[1] = toSequence;
+            }
+        }, 100);
+
+        assertEquals(List.of(6L, 7L, 8L, 9L), sequences);
+        assertEquals(0, gap[0]);
+        assertEquals(5, gap[1]);
+        assertEquals(6, subscription.droppedCount());
+    }
+
+    @Test
+    void eventWhoseHandlerThrowsShouldNotBeDeliveredAgain() {
+        EngineEventBus bus = new EngineEventBus(16);
+        Subscription subscription = bus.newSubscription();
+        for (int i = 0; i < 3; i++) {
+            bus.publishOrder(EngineEventType.ACCEPTED, i, new Order(i, 1, "BTC", 100, 1, Side.BUY, OrderType.LIMIT));
+        }
+
+        List<Long> sequences = new ArrayList<>();
+        EventHandler handler = (event, sequence, endOfBatch) -> {
+            sequences.add(sequence);
+            if (sequence == 0) {
+                throw new IllegalStateException("Handler failed");
+            }
+        };
+        assertThrows(IllegalStateException.class, () -> subscription.poll(handler, 100));
+        assertEquals(0, subscription.sequence());
+
+        assertEquals(2, subscription.poll(handler, 100));
+        assertEquals(List.of(0L, 1L, 2L), sequences);
+        assertEquals(2, subscription.sequence());
+    }
+}
@@ -0,0 +1,176 @@
+package za.co.matching.engine.gateway;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import za.co.matching.engine.codec.OrderEventCodec;
+import za.co.matching.engine.codec.OrderRejectCodec;
+import za.co.matching.engine.codec.TradeCodec;
+import za.co.matching.engine.core.CommandJournal;
+import za.co.matching.engine.core.EngineClock;
+import za.co.matching.engine.core.MatchingEngine;
+import za.co.matching.engine.event.EngineEventBus;
+import za.co.matching.engine.event.EngineEventType;
+import za.co.matching.engine.ingress.BackPressure;
+import za.co.matching.engine.ingress.IngressConfig;
+import za.co.matching.engine.ingress.IngressPipeline;
+import za.co.matching.engine.ingress.WaitStrategy;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderGatewayTest {
+
+    private EngineEventBus bus;
+    private MatchingEngine matchingEngine;
+    private IngressPipeline pipeline;
+    private OrderGateway gateway;
+    private InetSocketAddress address;
+
+    @BeforeEach
+    void start() {
+        bus = new EngineEventBus(1 << 16);
+        matchingEngine = new MatchingEngine(EngineClock.system(), CommandJournal.NONE, bus);
+        pipeline = new IngressPipeline(matchingEngine,
+                new IngressConfig(1024, 64, WaitStrategy.YIELD, WaitStrategy.YIELD, BackPressure.REJECT));
+        gateway = new OrderGateway(pipeline, bus, GatewayConfig.defaults(0));
+        address = new InetSocketAddress("localhost", gateway.getPort());
+    }
+
+    @AfterEach
+    void stop() {
+        gateway.close();
+        pipeline.close();
+        bus.close();
+    }
+
+    @Test
+    void reportsShouldGoBackToTheSessionThatEnteredTheOrder() {
+        try (GatewayClient seller = new GatewayClient(address); GatewayClient buyer = new GatewayClient(address)) {
+            Reports sellerReports = new Reports();
+            Reports buyerReports = new Reports();
+
+            seller.newOrder(1, 1, "BTC", 100, 10, Side.SELL, OrderType.LIMIT, -1, TimeInForce.GTC).flush();
+            sellerReports.await(seller, 1);
+            buyer.newOrder(2, 2, "BTC", 100, 4, Side.BUY, OrderType.LIMIT, -1, TimeInForce.GTC).flush();
+            buyerReports.await(buyer, 3);
+            sellerReports.await(seller, 3);
+
+            assertEquals(List.of("ACCEPTED 1", "TRADE 2/1 4@100", "PARTIALLY_FILLED 1 6"), sellerReports.lines);
+            assertEquals(List.of("ACCEPTED 2", "TRADE 2/1 4@100", "FILLED 2 0"), buyerReports.lines);
+
+            seller.replace(1, 8, 101).cancel(1).flush();
+            sellerReports.await(seller, 5);
+            assertEquals(List.of("REPLACED 1 4", "CANCELLED 1 4"), sellerReports.lines.subList(3, 5));
+            assertTrue(matchingEngine.getSellOrderBook().isEmpty());
+        }
+    }
+
+    @Test
+    void commandsForOtherSessionsOrdersShouldBeRejected() {
+        try (GatewayClient owner = new GatewayClient(address); GatewayClient other = new GatewayClient(address)) {
+            Reports ownerReports = new Reports();
+            Reports otherReports = new Reports();
+
+            owner.newOrder(1, 1, "BTC", 100, 10, Side.BUY, OrderType.LIMIT, -1, TimeInForce.GTC).flush();
+            ownerReports.await(owner, 1);
+            other.cancel(1)
+                    .replace(1, 5, 99)
+                    .newOrder(1, 2, "BTC", 90, 10, Side.BUY, OrderType.LIMIT, -1, TimeInForce.GTC)
+                    .flush();
+            otherReports.await(other, 3);
+
+            assertEquals(List.of("REJECT 1 UNKNOWN_ORDER", "REJECT 1 UNKNOWN_ORDER", "REJECT 1 DUPLICATE_ORDER_ID"),
+                    otherReports.lines);
+            assertEquals(1, matchingEngine.getBuyOrderBook().size());
+            assertEquals(100, matchingEngine.getBuyOrderBook().bestOrder().getPrice());
+        }
+    }
+
+    @Test
+    void invalidOrdersShouldBeRejectedWithoutReachingTheEngine() {
+        try (GatewayClient client = new GatewayClient(address)) {
+            Reports reports = new Reports();
+
+            client.newOrder(1, 1, "BTC", 100, 0, Side.BUY, OrderType.LIMIT, -1, TimeInForce.GTC)
+                    .newOrder(2, 1, "BTC", 0, 10, Side.BUY, OrderType.LIMIT, -1, TimeInForce.GTC)
+                    .newOrder(3, 1, "BTC", 100, 10, Side.BUY, OrderType.STOP, -1, TimeInForce.GTC)
+                    .newOrder(4, 1, "BTC", 100, 10, Side.BUY, OrderType.LIMIT, -1, TimeInForce.GTC)
+                    .flush();
+            reports.await(client, 4);
+            client.replace(4, -5, 100).replace(4, 5, 0).flush();
+            reports.await(client, 6);
+
+            assertEquals(List.of("REJECT 1 INVALID_QUANTITY", "REJECT 2 INVALID_PRICE", "REJECT 3 INVALID_PRICE",
+                    "ACCEPTED 4", "REJECT 4 INVALID_QUANTITY", "REJECT 4 INVALID_PRICE"), reports.lines);
+            assertTrue(client.isConnected());
+            assertEquals(1, matchingEngine.getBuyOrderBook().size());
+            assertEquals(10, matchingEngine.getBuyOrderBook().bestOrder().getQuantity());
+        }
+    }
+
+    @Test
+    void manySessionsShouldBeServedByOneThread() {
+        int sessionCount = 200;
+        List<GatewayClient> clients = new ArrayList<>();
+        List<Reports> reports = new ArrayList<>();
+        try {
+            for (int i = 0; i < sessionCount; i++) {
+                GatewayClient client = new GatewayClient(address);
+                clients.add(client);
+                reports.add(new Reports());
+                for (int j = 0; j < 10; j++) {
+                    client.newOrder(i * 100L + j, i, "BTC", 100 - j, 1, Side.BUY, OrderType.LIMIT, -1, TimeInForce.GTC);
+                }
+                client.flush();
+            }
+            for (int i = 0; i < sessionCount; i++) {
+                reports.get(i).await(clients.get(i), 10);
+            }
+
+            assertEquals(sessionCount, gateway.sessionCount());
+            assertEquals(sessionCount * 10, matchingEngine.getBuyOrderBook().size());
+        } finally {
+            clients.forEach(GatewayClient::close);
+        }
+    }
+
+    private static class Reports implements ExecutionReportHandler {
+
+        private final List<String> lines = new ArrayList<>();
+
+        @Override
+        public void onOrderEvent(OrderEventCodec event) {
+            lines.add(event.type() == EngineEventType.ACCEPTED
+                    ? "ACCEPTED " + event.orderId()
+                    : event.type() + " " + event.orderId() + " " + event.remainingQuantity());
+        }
+
+        @Override
+        public void onTrade(TradeCodec trade) {
+            lines.add("TRADE " + trade.buyOrderId() + "/" + trade.sellOrderId() + " " + trade.quantity() + "@" + trade.price());
+        }
+
+        @Override
+        public void onReject(OrderRejectCodec reject) {
+            lines.add("REJECT " + reject.orderId() + " " + reject.reason());
+        }
+
+        void await(GatewayClient client, int count) {
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (lines.size() < count) {
+                assertTrue(System.nanoTime() < deadline, "Timed out with reports " + lines);
+                if (client.poll(this) == 0) {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+    }
+}
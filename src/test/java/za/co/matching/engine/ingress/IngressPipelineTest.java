@@ -0,0 +1,75 @@
+package za.co.matching.engine.ingress;
+
+import org.junit.jupiter.api.Test;
+import za.co.matching.engine.core.MatchingEngine;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IngressPipelineTest {
+
+    @Test
+    void ordersFromManyProducersShouldAllReachTheEngine() throws Exception {
+        MatchingEngine matchingEngine = new MatchingEngine();
+        int producers = 4;
+        int ordersPerProducer = 2_000;
+
+        IngressPipeline pipeline = new IngressPipeline(matchingEngine,
+                new IngressConfig(64, 16, WaitStrategy.YIELD, WaitStrategy.YIELD, BackPressure.BLOCK));
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < ordersPerProducer; i++) {
+                    // Every producer owns its own price band so nothing crosses
+                    pipeline.publishNew(producer * 1_000_000L + i, producer, "BTC", 100 + producer, 1,
+                            Side.BUY, OrderType.LIMIT, -1, TimeInForce.GTC);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        pipeline.close();
+
+        assertEquals(producers * ordersPerProducer, matchingEngine.getBuyOrderBook().size());
+        assertEquals(producers, matchingEngine.getBuyOrderBook().levels().size());
+    }
+
+    @Test
+    void cancelShouldBeAppliedAfterTheOrderItFollows() {
+        MatchingEngine matchingEngine = new MatchingEngine();
+        IngressPipeline pipeline = new IngressPipeline(matchingEngine, IngressConfig.defaults());
+
+        pipeline.publishNew(1, 1, "BTC", 100, 10, Side.SELL, OrderType.LIMIT, -1, TimeInForce.GTC);
+        pipeline.publishCancel(1);
+        pipeline.close();
+
+        assertTrue(matchingEngine.getSellOrderBook().isEmpty());
+    }
+
+    @Test
+    void ringShouldRefuseClaimsOnceFullUntilSlotsAreReleased() {
+        OrderRingBuffer ringBuffer = new OrderRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            long sequence = ringBuffer.tryNext();
+            assertEquals(i, sequence);
+            ringBuffer.publish(sequence);
+        }
+
+        assertEquals(-1, ringBuffer.tryNext());
+        assertEquals(3, ringBuffer.highestPublished(0, 10));
+
+        ringBuffer.release(1);
+        assertEquals(2, ringBuffer.remainingCapacity());
+        assertEquals(4, ringBuffer.tryNext());
+    }
+}
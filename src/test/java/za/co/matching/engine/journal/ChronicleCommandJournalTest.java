@@ -0,0 +1,111 @@
+package za.co.matching.engine.journal;
+
+import org.junit.jupiter.api.Test;
+import za.co.matching.engine.core.MarketData;
+import za.co.matching.engine.core.MatchingEngine;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+import za.co.matching.engine.model.TradingPhase;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ChronicleCommandJournalTest {
+
+    @Test
+    void replayShouldRebuildTheSameEngineState() throws Exception {
+        Path directory = Files.createTempDirectory("journal");
+        AtomicLong time = new AtomicLong(1_000);
+
+        MatchingEngine original;
+        try (ChronicleCommandJournal journal = new ChronicleCommandJournal(directory)) {
+            original = new MatchingEngine(time::incrementAndGet, journal);
+            original.match(new Order(1, 1, "BTC", 100, 10, Side.BUY, OrderType.LIMIT));
+            original.match(new Order(2, 1, "BTC", 99, 10, Side.BUY, OrderType.LIMIT));
+            original.match(new Order(3, 2, "BTC", 102, 10, Side.SELL, OrderType.LIMIT));
+            original.match(new Order(4, 3, "BTC", 0, 5, Side.SELL, OrderType.STOP, 99));
+            original.match(new Order(5, 2, "BTC", 100, 4, Side.SELL, OrderType.LIMIT, TimeInForce.IOC));
+            original.replace(2, 10, 101);
+            original.cancel(3);
+            original.match(new Order(6, 2, "BTC", 99, 20, Side.SELL, OrderType.LIMIT));
+
+            assertEquals(8, journal.appendCount());
+        }
+
+        MatchingEngine replayed = new MatchingEngine(() -> {
+            throw new AssertionError("Replay must use journaled timestamps");
+        });
+        try (ChronicleCommandJournal journal = new ChronicleCommandJournal(directory)) {
+            assertEquals(8, journal.replay(replayed));
+        }
+
+        assertEquals(original.getSequence(), replayed.getSequence());
+        assertEquals(original.getTradeRecord().trades(), replayed.getTradeRecord().trades());
+        assertEquals(original.getBuyOrderBook().size(), replayed.getBuyOrderBook().size());
+        assertEquals(original.getSellOrderBook().size(), replayed.getSellOrderBook().size());
+        assertEquals(original.getSellOrderBook().bestOrder(), replayed.getSellOrderBook().bestOrder());
+        assertEquals(original.getStopOrderBook().size(), replayed.getStopOrderBook().size());
+    }
+
+    @Test
+    void replayShouldRepeatAuctions() throws Exception {
+        Path directory = Files.createTempDirectory("journal");
+        AtomicLong time = new AtomicLong(1_000);
+
+        MatchingEngine original;
+        try (ChronicleCommandJournal journal = new ChronicleCommandJournal(directory)) {
+            original = new MatchingEngine(time::incrementAndGet, journal);
+            original.startAuction(TradingPhase.OPENING_AUCTION);
+            original.match(new Order(1, 1, "BTC", 101, 10, Side.BUY, OrderType.LIMIT));
+            original.match(new Order(2, 1, "BTC", 0, 5, Side.BUY, OrderType.MARKET));
+            original.match(new Order(3, 2, "BTC", 99, 12, Side.SELL, OrderType.LIMIT));
+            original.uncross(100);
+            original.match(new Order(4, 2, "BTC", 101, 10, Side.SELL, OrderType.LIMIT));
+        }
+
+        MatchingEngine replayed = new MatchingEngine();
+        try (ChronicleCommandJournal journal = new ChronicleCommandJournal(directory)) {
+            assertEquals(6, journal.replay(replayed));
+        }
+
+        assertEquals(TradingPhase.CONTINUOUS, replayed.getPhase());
+        assertEquals(original.getTradeRecord().trades(), replayed.getTradeRecord().trades());
+        assertEquals(original.getMarketData().getOpenPrice(), replayed.getMarketData().getOpenPrice());
+        assertEquals(original.getSellOrderBook().size(), replayed.getSellOrderBook().size());
+    }
+
+    @Test
+    void replayShouldStartTheSameSessions() throws Exception {
+        Path directory = Files.createTempDirectory("journal");
+        AtomicLong time = new AtomicLong(1_000);
+
+        MatchingEngine original;
+        try (ChronicleCommandJournal journal = new ChronicleCommandJournal(directory)) {
+            original = new MatchingEngine(time::incrementAndGet, journal);
+            original.match(new Order(1, 1, "BTC", 100, 10, Side.SELL, OrderType.LIMIT));
+            original.match(new Order(2, 2, "BTC", 100, 4, Side.BUY, OrderType.LIMIT));
+            original.startSession();
+            original.match(new Order(3, 2, "BTC", 100, 2, Side.BUY, OrderType.LIMIT));
+
+            assertEquals(4, journal.appendCount());
+            assertEquals(4, original.getSequence());
+        }
+
+        MatchingEngine replayed = new MatchingEngine();
+        try (ChronicleCommandJournal journal = new ChronicleCommandJournal(directory)) {
+            assertEquals(4, journal.replay(replayed));
+        }
+
+        MarketData marketData = replayed.getMarketData();
+        assertEquals(original.getSequence(), replayed.getSequence());
+        assertEquals(original.getSequence(), marketData.getSequence());
+        assertEquals(2, marketData.getVolume());
+        assertEquals(1, marketData.getTradeCount());
+        assertEquals(original.getMarketData().getOpenPrice(), marketData.getOpenPrice());
+    }
+}
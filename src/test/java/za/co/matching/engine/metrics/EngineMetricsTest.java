@@ -0,0 +1,78 @@
+package za.co.matching.engine.metrics;
+
+import org.junit.jupiter.api.Test;
+import za.co.matching.engine.core.MatchingEngine;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EngineMetricsTest {
+
+    @Test
+    void shouldCountOrdersTradesAndBookSizes() {
+        MatchingEngine matchingEngine = new MatchingEngine();
+        matchingEngine.match(new Order(201, 1, "BTC", 100, 10, Side.SELL, OrderType.LIMIT));
+        matchingEngine.match(new Order(202, 1, "BTC", 101, 10, Side.SELL, OrderType.LIMIT));
+        matchingEngine.match(new Order(203, 1, "BTC", 0, 5, Side.SELL, OrderType.STOP, 90));
+        MetricsSnapshot before = matchingEngine.getMetrics().snapshot();
+        // 10 @ 100, 5 @ 101
+        matchingEngine.match(new Order(101, 2, "BTC", 0, 15, Side.BUY, OrderType.MARKET));
+        // Nothing at 99 or better, killed
+        matchingEngine.match(new Order(102, 2, "BTC", 99, 5, Side.BUY, OrderType.LIMIT, TimeInForce.FOK));
+        matchingEngine.cancel(203);
+        matchingEngine.cancel(999);
+
+        MetricsSnapshot after = matchingEngine.getMetrics().snapshot();
+        assertEquals(5, after.get(EngineCounter.ORDERS));
+        assertEquals(2, after.get(EngineCounter.TRADES));
+        assertEquals(15, after.get(EngineCounter.TRADED_QUANTITY));
+        // 201 and 101
+        assertEquals(2, after.get(EngineCounter.FILLS));
+        assertEquals(2, after.get(EngineCounter.CANCELS));
+        assertEquals(1, after.get(EngineCounter.REJECTS));
+        assertEquals(0, after.get(EngineGauge.BID_ORDERS));
+        assertEquals(1, after.get(EngineGauge.ASK_ORDERS));
+        assertEquals(1, after.get(EngineGauge.ASK_LEVELS));
+        assertEquals(0, after.get(EngineGauge.STOP_ORDERS));
+        assertEquals(2, after.latency(OrderType.LIMIT, TimeInForce.GTC).getTotalCount());
+        assertEquals(1, after.latency(OrderType.LIMIT, TimeInForce.FOK).getTotalCount());
+        assertEquals(1, after.latency(OrderType.STOP).getTotalCount());
+        assertEquals(5, after.latency().getTotalCount());
+
+        MetricsSnapshot interval = after.since(before);
+        assertEquals(2, interval.get(EngineCounter.ORDERS));
+        assertEquals(2, interval.get(EngineCounter.TRADES));
+        assertEquals(1, interval.latency(OrderType.MARKET).getTotalCount());
+        assertEquals(0, interval.latency(OrderType.LIMIT, TimeInForce.GTC).getTotalCount());
+        assertTrue(interval.rate(EngineCounter.TRADES) > 0);
+    }
+
+    @Test
+    void shouldExposeMetricsThroughJmx() throws Exception {
+        MatchingEngine matchingEngine = new MatchingEngine();
+        matchingEngine.match(new Order(201, 1, "BTC", 100, 10, Side.SELL, OrderType.LIMIT));
+        matchingEngine.match(new Order(101, 2, "BTC", 100, 4, Side.BUY, OrderType.LIMIT, TimeInForce.IOC));
+
+        ObjectName name = EngineMetricsJmx.register("BTC", matchingEngine.getMetrics());
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            assertEquals(2L, server.getAttribute(name, "Orders"));
+            assertEquals(1L, server.getAttribute(name, "Trades"));
+            assertEquals(1L, server.getAttribute(name, "AskOrders"));
+            assertTrue((Long) server.getAttribute(name, "LatencyP999Nanos") > 0);
+            Object latency = server.invoke(name, "latencyAtPercentile", new Object[]{"LIMIT", "IOC", 99.0},
+                    new String[]{String.class.getName(), String.class.getName(), double.class.getName()});
+            assertTrue((Long) latency > 0);
+        } finally {
+            EngineMetricsJmx.unregister("BTC");
+        }
+    }
+}
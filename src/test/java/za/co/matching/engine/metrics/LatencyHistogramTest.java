@@ -0,0 +1,48 @@
+package za.co.matching.engine.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void shouldReportPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram(EngineMetrics.HIGHEST_TRACKABLE_LATENCY);
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value);
+        }
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(100_000, snapshot.getTotalCount());
+        assertEquals(1, snapshot.getMin());
+        assertWithinPrecision(50_000, snapshot.valueAtPercentile(50));
+        assertWithinPrecision(99_000, snapshot.valueAtPercentile(99));
+        assertWithinPrecision(99_900, snapshot.valueAtPercentile(99.9));
+        assertWithinPrecision(100_000, snapshot.getMax());
+        assertWithinPrecision(50_000, (long) snapshot.getMean());
+    }
+
+    @Test
+    void shouldClampOutliersAndSubtractEarlierSnapshots() {
+        LatencyHistogram histogram = new LatencyHistogram(1_000_000);
+        histogram.record(10);
+        HistogramSnapshot before = histogram.snapshot();
+        histogram.record(20);
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-5);
+
+        HistogramSnapshot interval = histogram.snapshot().minus(before);
+        assertEquals(3, interval.getTotalCount());
+        assertEquals(0, interval.getMin());
+        assertWithinPrecision(1_000_000, interval.getMax());
+        assertEquals(20, interval.valueAtPercentile(50));
+        assertEquals(4, interval.plus(before).getTotalCount());
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected >> (LatencyHistogram.SUB_BUCKET_BITS - 1),
+                "expected " + expected + " but was " + actual);
+    }
+}
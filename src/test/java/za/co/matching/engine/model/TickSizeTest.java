@@ -0,0 +1,36 @@
+package za.co.matching.engine.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TickSizeTest {
+
+    @Test
+    void shouldConvertDecimalPriceToTicksAndBack() {
+        TickSize tickSize = TickSize.of("0.01");
+
+        assertEquals(10_255, tickSize.toTicks(102.55));
+        assertEquals(new BigDecimal("102.55"), tickSize.toPrice(10_255));
+    }
+
+    @Test
+    void shouldRejectPriceThatIsNotOnATick() {
+        TickSize tickSize = TickSize.of("0.5");
+
+        assertThrows(IllegalArgumentException.class, () -> tickSize.toTicks(98.25));
+        assertEquals(197, tickSize.toTicks(98.5));
+    }
+
+    @Test
+    void shouldRoundOffTickPriceWhenRoundingModeIsGiven() {
+        TickSize tickSize = TickSize.of("0.01");
+
+        assertEquals(10_256, tickSize.toTicks(102.5551, RoundingMode.HALF_EVEN));
+        assertEquals(10_255, tickSize.toTicks(102.5551, RoundingMode.DOWN));
+    }
+}
@@ -0,0 +1,183 @@
+package za.co.matching.engine.pipeline;
+
+import org.junit.jupiter.api.Test;
+import za.co.matching.engine.codec.CancelOrderCodec;
+import za.co.matching.engine.codec.MessageHeader;
+import za.co.matching.engine.codec.NewOrderCodec;
+import za.co.matching.engine.codec.ReplaceOrderCodec;
+import za.co.matching.engine.codec.UncrossCodec;
+import za.co.matching.engine.core.CommandJournal;
+import za.co.matching.engine.core.EngineClock;
+import za.co.matching.engine.event.EngineEventType;
+import za.co.matching.engine.event.EventPublisher;
+import za.co.matching.engine.ingress.WaitStrategy;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.RejectReason;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+import za.co.matching.engine.model.TradingPhase;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StagedPipelineTest {
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(StagedPipeline.MAX_MESSAGE_LENGTH);
+    private final MessageHeader header = new MessageHeader();
+    private final List<String> events = new ArrayList<>();
+    private final List<Long> journaled = new ArrayList<>();
+    private final List<RejectReason> rejects = new ArrayList<>();
+    private final List<Long> depthSequences = new ArrayList<>();
+
+    private StagedPipeline newPipeline(PipelineConfig config) {
+        EventPublisher publisher = new EventPublisher() {
+            @Override
+            public void publishTrade(long timestamp, Order buyOrder, Order sellOrder, long price, int quantity) {
+                events.add("TRADE " + buyOrder.getOrderId() + "/" + sellOrder.getOrderId() + " " + quantity + "@" + price);
+            }
+
+            @Override
+            public void publishOrder(EngineEventType type, long timestamp, Order order) {
+                events.add(type + " " + order.getOrderId());
+            }
+        };
+        CommandJournal journal = new CommandJournal() {
+            @Override
+            public void appendNew(Order order) {
+                journaled.add(order.getSequence());
+            }
+
+            @Override
+            public void appendCancel(long sequence, long timestamp, long orderId) {
+                journaled.add(sequence);
+            }
+
+            @Override
+            public void appendReplace(long sequence, long timestamp, long orderId, int newQuantity, long newPrice) {
+                journaled.add(sequence);
+            }
+
+            @Override
+            public void appendStartAuction(long sequence, long timestamp, TradingPhase auction) {
+            }
+
+            @Override
+            public void appendUncross(long sequence, long timestamp, long referencePrice) {
+            }
+
+            @Override
+            public void appendStartSession(long sequence, long timestamp) {
+            }
+        };
+        return new StagedPipeline(EngineClock.system(), journal, publisher,
+                (sequence, type, side, price, quantity, orderCount) -> depthSequences.add(sequence),
+                (templateId, orderId, reason) -> rejects.add(reason), config);
+    }
+
+    private void offerNew(StagedPipeline pipeline, long orderId, long price, int quantity, Side side, OrderType orderType) {
+        NewOrderCodec message = new NewOrderCodec().wrapAndApplyHeader(buffer, 0, header)
+                .orderId(orderId)
+                .customerId(1)
+                .symbol("BTC")
+                .price(price)
+                .quantity(quantity)
+                .side(side)
+                .orderType(orderType)
+                .stopPrice(-1)
+                .timeInForce(TimeInForce.GTC);
+        offer(pipeline, message.encodedLength());
+    }
+
+    private void offer(StagedPipeline pipeline, int length) {
+        // The decode ring may be full for a moment
+        while (!pipeline.offer(buffer, 0, length)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Test
+    void ordersShouldFlowThroughEveryStageInSequence() {
+        StagedPipeline pipeline = newPipeline(new PipelineConfig(8, 4, WaitStrategy.YIELD));
+        for (int i = 1; i <= 20; i++) {
+            offerNew(pipeline, i, 100 + i % 3, 5, Side.SELL, OrderType.LIMIT);
+        }
+        offerNew(pipeline, 100, 102, 12, Side.BUY, OrderType.LIMIT);
+        CancelOrderCodec cancel = new CancelOrderCodec().wrapAndApplyHeader(buffer, 0, header).orderId(20);
+        offer(pipeline, cancel.encodedLength());
+        pipeline.close();
+
+        assertEquals(22, journaled.size());
+        for (int i = 0; i < journaled.size(); i++) {
+            assertEquals(i + 1, journaled.get(i));
+        }
+        assertEquals(22, pipeline.getMatchingEngine().getSequence());
+        assertTrue(events.contains("TRADE 100/3 5@100"));
+        assertTrue(events.contains("FILLED 100"));
+        assertEquals("CANCELLED 20", events.get(events.size() - 1));
+        for (int i = 0; i < depthSequences.size(); i++) {
+            assertEquals(i + 1, depthSequences.get(i));
+        }
+        assertEquals(17, pipeline.getMatchingEngine().getSellOrderBook().size());
+
+        List<StageSnapshot> stages = pipeline.stageSnapshots();
+        assertEquals(List.of("decode", "sequence", "match", "publish"), stages.stream().map(StageSnapshot::name).toList());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(22, stages.get(i).processed());
+            assertEquals(22, stages.get(i).latency().getTotalCount());
+            assertEquals(0, stages.get(i).queued());
+            assertTrue(stages.get(i).maxQueued() <= 8);
+        }
+        assertEquals(events.size() + depthSequences.size(), stages.get(3).processed());
+    }
+
+    @Test
+    void invalidCommandsShouldBeRejectedBeforeTheyAreSequenced() {
+        StagedPipeline pipeline = newPipeline(PipelineConfig.defaults());
+        offerNew(pipeline, 1, 100, 0, Side.BUY, OrderType.LIMIT);
+        offerNew(pipeline, 2, 0, 10, Side.BUY, OrderType.LIMIT);
+        offerNew(pipeline, 3, 0, 10, Side.BUY, OrderType.MARKET);
+        ReplaceOrderCodec replace = new ReplaceOrderCodec().wrapAndApplyHeader(buffer, 0, header).orderId(3).quantity(0).price(100);
+        assertTrue(pipeline.offer(buffer, 0, replace.encodedLength()));
+        UncrossCodec uncross = new UncrossCodec().wrapAndApplyHeader(buffer, 0, header);
+        assertTrue(pipeline.offer(buffer, 0, uncross.encodedLength()));
+        // A side byte no enum has
+        NewOrderCodec newOrder = new NewOrderCodec().wrapAndApplyHeader(buffer, 0, header).orderId(4).quantity(1)
+                .symbol("BTC").price(100).side(Side.BUY).orderType(OrderType.LIMIT).timeInForce(TimeInForce.GTC);
+        buffer.put(MessageHeader.ENCODED_LENGTH + 52, (byte) 9);
+        assertTrue(pipeline.offer(buffer, 0, newOrder.encodedLength()));
+        assertTrue(pipeline.offer(buffer, 0, 4));
+        pipeline.close();
+
+        assertEquals(List.of(RejectReason.INVALID_QUANTITY, RejectReason.INVALID_PRICE, RejectReason.INVALID_QUANTITY,
+                RejectReason.INVALID_MESSAGE, RejectReason.INVALID_MESSAGE, RejectReason.INVALID_MESSAGE), rejects);
+        assertEquals(6, pipeline.rejectedCount());
+        // Only the market order, which needs no price, got through
+        assertEquals(List.of(1L), journaled);
+        assertEquals(List.of("ACCEPTED 3", "CANCELLED 3"), events);
+    }
+
+    @Test
+    void ringShouldRefuseClaimsOnceFullUntilSlotsAreReleased() {
+        SpscRing<long[]> ring = new SpscRing<>(4, () -> new long[1]);
+        for (int i = 0; i < 4; i++) {
+            ring.claim()[0] = i;
+            ring.publish();
+        }
+        assertNull(ring.claim());
+        assertEquals(4, ring.size());
+
+        assertEquals(4, ring.available());
+        assertEquals(2, ring.get(2)[0]);
+        ring.release(3);
+        assertEquals(1, ring.available());
+        assertEquals(3, ring.get(0)[0]);
+        assertSame(ring.get(1), ring.claim());
+    }
+}
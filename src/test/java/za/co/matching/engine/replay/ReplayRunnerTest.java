@@ -0,0 +1,140 @@
+package za.co.matching.engine.replay;
+
+import org.junit.jupiter.api.Test;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+import za.co.matching.engine.model.TimeInForce;
+import za.co.matching.engine.model.TradingPhase;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplayRunnerTest {
+
+    private static final List<String> SYMBOLS = List.of("BTC", "ETH", "SOL", "XRP");
+
+    @Test
+    void partitionedReplayShouldMatchASingleEngineReplay() throws Exception {
+        Path file = Files.createTempFile("flow", ".bin");
+        try (OrderFlowWriter writer = new OrderFlowWriter(file)) {
+            generate(writer, 20_000);
+        }
+
+        ReplaySummary single = new ReplayRunner(1, 1).run(List.of(file));
+        ReplaySummary partitioned = new ReplayRunner(4, 4).run(List.of(file));
+
+        assertEquals(4, partitioned.results().size());
+        assertEquals(single.books(), partitioned.books().stream()
+                .sorted(Comparator.comparing(BookSummary::symbol)).toList());
+        assertEquals(single.commands(), partitioned.commands());
+        assertTrue(single.tradeCount() > 1_000);
+        assertEquals(SYMBOLS.size(), single.books().size());
+    }
+
+    @Test
+    void csvAndBinaryFlowsShouldReplayTheSame() throws Exception {
+        Path csv = Files.createTempFile("flow", ".csv");
+        Files.writeString(csv, """
+                # command,timestamp,...
+                NEW,1,1,7,BTC,100,10,SELL,LIMIT,-1,GTC
+                NEW,2,2,7,BTC,101,5,SELL,LIMIT,-1,GTC
+                NEW,3,3,8,BTC,101,12,BUY,LIMIT,-1,GTC\r
+                REPLACE,4,2,4,102
+
+                START_AUCTION,5,CLOSING_AUCTION
+                NEW,6,4,8,BTC,102,4,BUY,LIMIT,-1,GTC
+                UNCROSS,7,102
+                CANCEL,8,4
+                NEW,9,5,9,ETH,50,1,BUY,STOP,49,DAY""");
+        Path binary = Files.createTempFile("flow", ".bin");
+        try (OrderFlowWriter writer = new OrderFlowWriter(binary)) {
+            // A small window makes records straddle mapping boundaries
+            assertEquals(9, new CsvOrderFlowReader(64).read(csv, writer));
+        }
+
+        ReplaySummary fromCsv = new ReplayRunner(1, 1).run(List.of(csv));
+        ReplaySummary fromBinary = new ReplayRunner(1, 1).run(List.of(binary));
+
+        assertEquals(fromCsv.books(), fromBinary.books());
+        BookSummary btc = fromCsv.books().getFirst();
+        assertEquals(new BookSummary("BTC", 0, 0, 0, 0, 0, 3, 14, 102), btc);
+        assertEquals(1, fromCsv.books().get(1).stopOrders());
+        assertEquals(7, fromCsv.commands());
+    }
+
+    @Test
+    void binaryReaderShouldReadAcrossSmallWindows() throws Exception {
+        Path file = Files.createTempFile("flow", ".bin");
+        try (OrderFlowWriter writer = new OrderFlowWriter(file)) {
+            generate(writer, 1_000);
+        }
+        long[] orders = new long[1];
+        long records = new BinaryOrderFlowReader(1_000).read(file, new CountingHandler(orders));
+        assertEquals(new BinaryOrderFlowReader().read(file, new CountingHandler(new long[1])), records);
+        assertTrue(orders[0] > 0);
+    }
+
+    @Test
+    void malformedCsvShouldReportTheLine() throws Exception {
+        Path csv = Files.createTempFile("flow", ".csv");
+        Files.writeString(csv, "NEW,1,1,7,BTC,100,10,SELL,LIMIT,-1,GTC\nCANCEL,2,x\n");
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new CsvOrderFlowReader().read(csv, new CountingHandler(new long[1])));
+        assertTrue(e.getMessage().contains("line 2"), e.getMessage());
+    }
+
+    /**
+     * Seeded random flow over a few symbols: resting limits around a drifting price, crossing orders, cancels and
+     * replaces of earlier orders.
+     */
+    private static void generate(OrderFlowHandler handler, int count) {
+        Random random = new Random(7);
+        for (int i = 1; i <= count; i++) {
+            String symbol = SYMBOLS.get(random.nextInt(SYMBOLS.size()));
+            int action = random.nextInt(10);
+            if (action == 0 && i > 10) {
+                handler.onCancel(i, 1 + random.nextInt(i - 1));
+            } else if (action == 1 && i > 10) {
+                handler.onReplace(i, 1 + random.nextInt(i - 1), 1 + random.nextInt(20), 990 + random.nextInt(20));
+            } else {
+                Side side = random.nextBoolean() ? Side.BUY : Side.SELL;
+                OrderType type = action == 2 ? OrderType.MARKET : OrderType.LIMIT;
+                long price = type == OrderType.MARKET ? 0 : 990 + random.nextInt(20);
+                handler.onNew(i, i, random.nextInt(100), symbol, price, 1 + random.nextInt(20), side, type, -1,
+                        TimeInForce.GTC);
+            }
+        }
+    }
+
+    private record CountingHandler(long[] orders) implements OrderFlowHandler {
+
+        @Override
+        public void onNew(long timestamp, long orderId, long customerId, String symbol, long price, int quantity,
+                          Side side, OrderType orderType, long stopPrice, TimeInForce timeInForce) {
+            orders[0]++;
+        }
+
+        @Override
+        public void onCancel(long timestamp, long orderId) {
+        }
+
+        @Override
+        public void onReplace(long timestamp, long orderId, int newQuantity, long newPrice) {
+        }
+
+        @Override
+        public void onStartAuction(long timestamp, TradingPhase auction) {
+        }
+
+        @Override
+        public void onUncross(long timestamp, long referencePrice) {
+        }
+    }
+}
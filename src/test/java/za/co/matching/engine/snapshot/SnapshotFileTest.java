@@ -0,0 +1,120 @@
+package za.co.matching.engine.snapshot;
+
+import org.junit.jupiter.api.Test;
+import za.co.matching.engine.core.MarketData;
+import za.co.matching.engine.core.MatchingEngine;
+import za.co.matching.engine.journal.ChronicleCommandJournal;
+import za.co.matching.engine.model.Order;
+import za.co.matching.engine.model.OrderType;
+import za.co.matching.engine.model.Side;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotFileTest {
+
+    @Test
+    void snapshotShouldRestoreBooksStopsAndSequence() throws Exception {
+        Path directory = Files.createTempDirectory("snapshots");
+        MatchingEngine original = new MatchingEngine();
+        original.match(new Order(1, 1, "BTC", 100, 10, Side.BUY, OrderType.LIMIT));
+        original.match(new Order(2, 2, "BTC", 100, 5, Side.BUY, OrderType.LIMIT));
+        original.match(new Order(3, 3, "BTC", 103, 10, Side.SELL, OrderType.LIMIT));
+        original.match(new Order(4, 3, "BTC", 100, 4, Side.SELL, OrderType.LIMIT));
+        original.match(new Order(5, 4, "BTC", 0, 5, Side.SELL, OrderType.STOP, 95));
+
+        SnapshotInfo written = SnapshotFile.write(original, 42, directory);
+        MatchingEngine restored = new MatchingEngine();
+        SnapshotInfo read = SnapshotFile.read(SnapshotFile.latest(directory).orElseThrow(), restored);
+
+        assertEquals(written, read);
+        assertEquals(42, read.journalIndex());
+        assertEquals(original.getSequence(), restored.getSequence());
+        assertEquals(original.getBuyOrderBook().bestOrder(), restored.getBuyOrderBook().bestOrder());
+        assertEquals(6, restored.getBuyOrderBook().bestOrder().getRemainingQuantity());
+        assertEquals(restored.getBuyOrderBook().find(2), restored.getBuyOrderBook().bestLevel().getTail());
+        assertEquals(1, restored.getSellOrderBook().size());
+        assertEquals(1, restored.getStopOrderBook().size());
+        assertEquals(original.getTradeRecord().last(), restored.getTradeRecord().last());
+    }
+
+    @Test
+    void recoveryShouldLoadReplicaSnapshotAndReplayOnlyTheTail() throws Exception {
+        Path journalDirectory = Files.createTempDirectory("journal");
+        Path snapshotDirectory = Files.createTempDirectory("snapshots");
+        AtomicLong time = new AtomicLong();
+
+        MatchingEngine primary;
+        try (ChronicleCommandJournal journal = new ChronicleCommandJournal(journalDirectory)) {
+            primary = new MatchingEngine(time::incrementAndGet, journal);
+            try (ReplicaSnapshotter snapshotter = new ReplicaSnapshotter(journal, snapshotDirectory, 10)) {
+                for (int i = 0; i < 10; i++) {
+                    primary.match(new Order(100 + i, 1, "BTC", 100 - i, 10, Side.BUY, OrderType.LIMIT));
+                }
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (snapshotter.lastSnapshot() == null && System.nanoTime() < deadline) {
+                    Thread.sleep(5);
+                }
+                assertNotNull(snapshotter.lastSnapshot());
+            }
+            primary.match(new Order(201, 2, "BTC", 99, 15, Side.SELL, OrderType.LIMIT));
+            primary.cancel(105);
+        }
+
+        MatchingEngine recovered = new MatchingEngine();
+        try (ChronicleCommandJournal journal = new ChronicleCommandJournal(journalDirectory)) {
+            assertEquals(2, EngineRecovery.recover(recovered, snapshotDirectory, journal));
+        }
+
+        assertEquals(primary.getSequence(), recovered.getSequence());
+        assertEquals(primary.getBuyOrderBook().size(), recovered.getBuyOrderBook().size());
+        assertEquals(primary.getBuyOrderBook().bestOrder(), recovered.getBuyOrderBook().bestOrder());
+        assertTrue(recovered.getSellOrderBook().isEmpty());
+    }
+
+    @Test
+    void marketDataAfterRecoveryShouldMatchAFullReplay() throws Exception {
+        Path journalDirectory = Files.createTempDirectory("journal");
+        Path snapshotDirectory = Files.createTempDirectory("snapshots");
+        AtomicLong time = new AtomicLong();
+
+        MatchingEngine primary;
+        try (ChronicleCommandJournal journal = new ChronicleCommandJournal(journalDirectory)) {
+            primary = new MatchingEngine(time::incrementAndGet, journal);
+            try (ReplicaSnapshotter snapshotter = new ReplicaSnapshotter(journal, snapshotDirectory, 10)) {
+                for (int i = 0; i < 5; i++) {
+                    primary.match(new Order(100 + i, 1, "BTC", 100 - i, 10, Side.BUY, OrderType.LIMIT));
+                }
+                for (int i = 0; i < 5; i++) {
+                    primary.match(new Order(200 + i, 2, "BTC", 90, 3 + i, Side.SELL, OrderType.LIMIT));
+                }
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (snapshotter.lastSnapshot() == null && System.nanoTime() < deadline) {
+                    Thread.sleep(5);
+                }
+                assertNotNull(snapshotter.lastSnapshot());
+            }
+            primary.match(new Order(300, 2, "BTC", 97, 12, Side.SELL, OrderType.LIMIT));
+            primary.match(new Order(301, 3, "BTC", 105, 4, Side.BUY, OrderType.LIMIT));
+        }
+
+        MatchingEngine recovered = new MatchingEngine();
+        MatchingEngine replayed = new MatchingEngine();
+        try (ChronicleCommandJournal journal = new ChronicleCommandJournal(journalDirectory)) {
+            assertEquals(2, EngineRecovery.recover(recovered, snapshotDirectory, journal));
+            assertEquals(12, journal.replay(replayed));
+        }
+
+        MarketData expected = replayed.getMarketData();
+        // Seven trades before the snapshot and two in the replayed tail
+        assertEquals(9, expected.getTradeCount());
+        assertEquals(primary.getMarketData(), expected);
+        assertEquals(expected, recovered.getMarketData());
+    }
+}
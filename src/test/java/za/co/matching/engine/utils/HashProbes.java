@@ -0,0 +1,27 @@
+package za.co.matching.engine.utils;
+
+/**
+ * Finds keys that land on a chosen slot of the long-keyed hash tables, to build probe chains on purpose.
+ */
+final class HashProbes {
+
+    private HashProbes() {
+    }
+
+    static long[] keysWithHome(int home, int count, int capacity) {
+        long[] keys = new long[count];
+        int found = 0;
+        for (long key = 1; found < count; key++) {
+            if (home(key, capacity) == home) {
+                keys[found++] = key;
+            }
+        }
+        return keys;
+    }
+
+    // Same hash as LongIntHashMap and LongObjectHashMap
+    private static int home(long key, int capacity) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & (capacity - 1);
+    }
+}
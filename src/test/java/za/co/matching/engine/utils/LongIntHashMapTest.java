@@ -0,0 +1,65 @@
+package za.co.matching.engine.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongIntHashMapTest {
+
+    private static final int MISSING = -1;
+
+    @Test
+    void shouldKeepEveryMappingAcrossGrowth() {
+        LongIntHashMap map = new LongIntHashMap(4, MISSING);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(MISSING, map.put(i * 7919L, i));
+        }
+        assertEquals(10_000, map.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, map.get(i * 7919L));
+        }
+        assertEquals(MISSING, map.get(1));
+
+        for (int i = 0; i < 10_000; i += 2) {
+            assertEquals(i, map.remove(i * 7919L));
+        }
+        assertEquals(5_000, map.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i % 2 == 0 ? MISSING : i, map.get(i * 7919L));
+        }
+        assertEquals(1, map.put(7919L, 42));
+        assertEquals(42, map.get(7919L));
+    }
+
+    @Test
+    void removalShouldShiftBackAProbeChainThatWrapsAround() {
+        // Capacity 8: two keys that hash to the last slot and one to the first, so the chain runs 7, 0, 1
+        long[] last = HashProbes.keysWithHome(7, 2, 8);
+        long first = HashProbes.keysWithHome(0, 1, 8)[0];
+        LongIntHashMap map = new LongIntHashMap(4, MISSING);
+        map.put(last[0], 1);
+        map.put(last[1], 2);
+        map.put(first, 3);
+
+        assertEquals(1, map.remove(last[0]));
+        assertEquals(2, map.get(last[1]));
+        assertEquals(3, map.get(first));
+
+        assertEquals(2, map.remove(last[1]));
+        assertEquals(3, map.get(first));
+        assertEquals(MISSING, map.get(last[0]));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void theMissingValueShouldNotBeStorable() {
+        LongIntHashMap map = new LongIntHashMap(MISSING);
+        assertThrows(IllegalArgumentException.class, () -> map.put(1, MISSING));
+        map.put(1, 0);
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals(MISSING, map.get(1));
+    }
+}
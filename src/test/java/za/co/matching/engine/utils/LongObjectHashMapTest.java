@@ -0,0 +1,66 @@
+package za.co.matching.engine.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongObjectHashMapTest {
+
+    @Test
+    void shouldKeepEveryMappingAcrossGrowth() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>(4);
+        for (int i = 0; i < 10_000; i++) {
+            assertNull(map.put(-i * 104_729L, "v" + i));
+        }
+        assertEquals(10_000, map.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals("v" + i, map.get(-i * 104_729L));
+        }
+
+        for (int i = 0; i < 10_000; i += 3) {
+            assertEquals("v" + i, map.remove(-i * 104_729L));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i % 3 == 0 ? null : "v" + i, map.get(-i * 104_729L));
+        }
+        assertEquals(10_000 - 3_334, map.size());
+        assertEquals("v1", map.put(-104_729L, "again"));
+        assertEquals("again", map.get(-104_729L));
+    }
+
+    @Test
+    void removalShouldShiftBackAProbeChainThatWrapsAround() {
+        // Capacity 8: three keys that hash to the last slot and one to the first, so the chain runs 7, 0, 1, 2
+        long[] last = HashProbes.keysWithHome(7, 3, 8);
+        long first = HashProbes.keysWithHome(0, 1, 8)[0];
+        LongObjectHashMap<String> map = new LongObjectHashMap<>(4);
+        map.put(last[0], "a");
+        map.put(last[1], "b");
+        map.put(last[2], "c");
+        map.put(first, "d");
+
+        assertEquals("b", map.remove(last[1]));
+        assertEquals("a", map.get(last[0]));
+        assertEquals("c", map.get(last[2]));
+        assertEquals("d", map.get(first));
+
+        assertEquals("a", map.remove(last[0]));
+        assertEquals("c", map.get(last[2]));
+        assertEquals("d", map.get(first));
+        assertNull(map.remove(last[0]));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void nullValuesShouldBeRefused() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        assertThrows(IllegalArgumentException.class, () -> map.put(1, null));
+        map.put(1, "a");
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+    }
+}
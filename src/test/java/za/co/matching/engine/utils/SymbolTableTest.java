@@ -0,0 +1,104 @@
+package za.co.matching.engine.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SymbolTableTest {
+
+    @Test
+    void idsShouldBeDenseAndMapBackToOneCanonicalSymbol() {
+        SymbolTable symbols = new SymbolTable();
+        assertEquals(0, symbols.intern("BTC"));
+        assertEquals(1, symbols.intern("ETH"));
+        assertEquals(0, symbols.intern(new StringBuilder("BTC")));
+        assertEquals(2, symbols.size());
+
+        String btc = symbols.symbol(0);
+        assertEquals("BTC", btc);
+        assertSame(btc, symbols.symbol(symbols.intern("BTC")));
+        assertEquals(1, symbols.find("ETH"));
+        assertEquals(SymbolTable.NONE, symbols.find("XRP"));
+    }
+
+    @Test
+    void nullAndEmptySymbolsShouldInternToNone() {
+        SymbolTable symbols = new SymbolTable();
+        assertEquals(SymbolTable.NONE, symbols.intern((CharSequence) null));
+        assertEquals(SymbolTable.NONE, symbols.intern(""));
+        assertEquals(SymbolTable.NONE, symbols.intern(0, 0));
+        assertEquals(SymbolTable.NONE, symbols.find((CharSequence) null));
+        assertNull(symbols.symbol(SymbolTable.NONE));
+        assertEquals(0, symbols.size());
+    }
+
+    @Test
+    void symbolsOfEightToSixteenCharactersShouldUseBothWords() {
+        SymbolTable symbols = new SymbolTable();
+        String[] names = {"ABCDEFGH", "ABCDEFGHI", "ABCDEFGHIJKLMNO", "ABCDEFGHIJKLMNOP"};
+        for (int i = 0; i < names.length; i++) {
+            assertTrue(SymbolTable.fits(names[i]));
+            assertEquals(i, symbols.intern(names[i]));
+        }
+        assertEquals(0, SymbolTable.packHigh("ABCDEFGH"));
+        assertEquals('I', SymbolTable.packHigh("ABCDEFGHI"));
+        assertEquals(SymbolTable.packLow("ABCDEFGH"), SymbolTable.packLow("ABCDEFGHIJKLMNOP"));
+
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(names[i], symbols.symbol(i));
+            // Resolved straight from the packed words, as a codec does
+            assertEquals(i, symbols.find(SymbolTable.packLow(names[i]), SymbolTable.packHigh(names[i])));
+            assertEquals(i, symbols.intern(SymbolTable.packLow(names[i]), SymbolTable.packHigh(names[i])));
+        }
+        assertEquals(names.length, symbols.size());
+    }
+
+    @Test
+    void symbolsThatDoNotPackShouldStillBeInterned() {
+        SymbolTable symbols = new SymbolTable();
+        String tooLong = "ABCDEFGHIJKLMNOPQ";
+        String wide = "BTC\u20AC";
+        assertFalse(SymbolTable.fits(tooLong));
+        assertFalse(SymbolTable.fits(wide));
+
+        assertEquals(0, symbols.intern(tooLong));
+        assertEquals(1, symbols.intern(wide));
+        assertEquals(0, symbols.intern(tooLong));
+        assertEquals(0, symbols.find(tooLong));
+        assertEquals(tooLong, symbols.symbol(0));
+        assertEquals(wide, symbols.symbol(1));
+        // The 16 character prefix is a different symbol
+        assertNotEquals(0, symbols.intern(tooLong.substring(0, SymbolTable.MAX_LENGTH)));
+    }
+
+    @Test
+    void newSymbolsShouldBeRefusedOnceTheLimitIsReached() {
+        SymbolTable symbols = new SymbolTable(2);
+        assertEquals(0, symbols.intern("BTC"));
+        assertEquals(1, symbols.intern("ABCDEFGHIJKLMNOPQRSTUVWXYZ"));
+        assertEquals(SymbolTable.NONE, symbols.intern("ETH"));
+        assertEquals(SymbolTable.NONE, symbols.intern("ZYXWVUTSRQPONMLKJIHGFEDCBA"));
+        assertEquals(0, symbols.intern("BTC"));
+        assertEquals(2, symbols.size());
+        assertThrows(IllegalArgumentException.class, () -> new SymbolTable(0));
+    }
+
+    @Test
+    void everySymbolShouldSurviveGrowth() {
+        SymbolTable symbols = new SymbolTable();
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, symbols.intern("SYM" + i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            String symbol = "SYM" + i;
+            assertEquals(i, symbols.find(symbol));
+            assertEquals(symbol, symbols.symbol(i));
+        }
+    }
+}